@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,11 @@ package org.eclipse.debug.jdi.tests;
 import java.util.List;
 import java.util.ListIterator;
 
+import org.eclipse.jdi.internal.ArrayReferenceImpl;
+
 import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ArrayType;
+import com.sun.jdi.ByteValue;
 import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.DoubleValue;
 import com.sun.jdi.InvalidTypeException;
@@ -243,6 +247,69 @@ public class ArrayReferenceTest extends AbstractJDITest {
 		values = fArray.getValues(0, 2);
 		assertNull("12", values.get(0));
 	}
+	/**
+	 * Test that the list of values of an object array can be changed like any
+	 * other list returned by JDI.
+	 */
+	public void testJDIGetValuesListIsMutable() {
+		List<Value> values = fArray.getValues();
+		Value first = values.get(0);
+		Value last = values.get(2);
+		StringReference newValue = fVM.mirrorOf("new");
+		values.add(0, newValue);
+		assertEquals("1", 4, values.size());
+		assertEquals("2", newValue, values.get(0));
+		assertEquals("3", first, values.get(1));
+		assertEquals("4", first, values.remove(1));
+		values.add(null);
+		assertEquals("5", 4, values.size());
+		assertEquals("6", last, values.get(2));
+		assertNull("7", values.get(3));
+		values.set(3, first);
+		assertEquals("8", first, values.get(3));
+		assertEquals("9", 3, fArray.length());
+	}
+
+	/**
+	 * Test the bulk transfer of bytes with setByteValues(int,byte[],int,int)
+	 * and JDWP 'Array - Set values'.
+	 */
+	public void testJDISetByteValues() throws Exception {
+		ArrayType type = (ArrayType) getByteArrayReference().referenceType();
+		ArrayReferenceImpl array = (ArrayReferenceImpl) type.newInstance(100_000);
+		array.disableCollection();
+		try {
+			checkSetByteValues(array);
+		} finally {
+			array.enableCollection();
+		}
+	}
+
+	private void checkSetByteValues(ArrayReferenceImpl array) throws Exception {
+		byte[] bytes = new byte[array.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		array.setByteValues(0, bytes, 0, bytes.length);
+		List<Value> values = array.getValues();
+		assertEquals("1", bytes.length, values.size());
+		for (int i = 0; i < bytes.length; i++) {
+			assertEquals("2", bytes[i], ((ByteValue) values.get(i)).value());
+		}
+
+		array.setByteValues(10, new byte[] { 1, 2, 3 }, 1, 2);
+		assertEquals("3", 2, ((ByteValue) array.getValue(10)).value());
+		assertEquals("4", 3, ((ByteValue) array.getValue(11)).value());
+		assertEquals("5", 12, ((ByteValue) array.getValue(12)).value());
+
+		try {
+			((ArrayReferenceImpl) fDoubleArray).setByteValues(0, bytes, 0, 1);
+			fail("6");
+		} catch (InvalidTypeException e) {
+			// expected
+		}
+	}
+
 	/**
 	 * Test JDI length() and JDWP 'Array - Get length'.
 	 */
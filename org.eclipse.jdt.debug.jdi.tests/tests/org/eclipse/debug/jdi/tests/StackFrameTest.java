@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.jdi.internal.StackFrameImpl;
+
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.InvalidTypeException;
@@ -135,6 +137,17 @@ public class StackFrameTest extends AbstractJDITest {
 		ReferenceType referenceType = object.referenceType();
 		assertEquals("1", expected, referenceType);
 	}
+	/**
+	 * Test retrieving thisObject() of several frames at once.
+	 */
+	public void testJDIThisObjects() throws Exception {
+		List<StackFrame> frames = getThread().frames();
+		List<ObjectReference> objects = StackFrameImpl.thisObjects(frames);
+		assertEquals("1", frames.size(), objects.size());
+		for (int i = 0; i < frames.size(); i++) {
+			assertEquals("2", frames.get(i).thisObject(), objects.get(i));
+		}
+	}
 	/**
 	 * Test JDI thread().
 	 */
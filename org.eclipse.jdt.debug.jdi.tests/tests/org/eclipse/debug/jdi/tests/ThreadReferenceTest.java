@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.debug.jdi.tests;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
+
 import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.ClassType;
 import com.sun.jdi.IncompatibleThreadStateException;
@@ -134,6 +136,21 @@ public class ThreadReferenceTest extends AbstractJDITest {
 	public void testJDIName() {
 		assertEquals("1", "Test Thread", fThread.name());
 	}
+	/**
+	 * Test the pipelined name, status, frame count and top frame requests of
+	 * ThreadReferenceImpl against the one-by-one requests.
+	 */
+	public void testJDIBatchedRequests() {
+		List<ThreadReference> threads = List.of(fThread);
+		assertEquals("1", List.of(fThread.name()), ThreadReferenceImpl.names(threads));
+		assertEquals("2", fThread.status(), ThreadReferenceImpl.statuses(threads)[0]);
+		try {
+			assertEquals("3", fThread.frame(0), ThreadReferenceImpl.topFrames(threads).get(0));
+			assertEquals("4", fThread.frameCount(), ThreadReferenceImpl.frameCounts(threads)[0]);
+		} catch (IncompatibleThreadStateException e) {
+			fail("5");
+		}
+	}
 	/**
 	 * Test JDI ownedMonitors().
 	 */
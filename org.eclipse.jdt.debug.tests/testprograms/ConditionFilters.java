@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+public class ConditionFilters implements Runnable {
+
+	static final ConditionFilters SELECTED = new ConditionFilters();
+
+	static final Thread WORKER = new Thread(SELECTED, "Worker");
+
+	int count;
+
+	void hit() {
+		count++;
+	}
+
+	void step() {
+		count--;
+	}
+
+	@Override
+	public void run() {
+		for (int i = 0; i < 3; i++) {
+			step();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		ConditionFilters other = new ConditionFilters();
+		for (int i = 0; i < 3; i++) {
+			other.hit();
+			SELECTED.hit();
+			other.step();
+		}
+		WORKER.start();
+		WORKER.join();
+		System.out.println(SELECTED.count + other.count);
+	}
+}
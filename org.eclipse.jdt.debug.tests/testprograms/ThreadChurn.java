@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+public class ThreadChurn {
+
+	public static void main(String[] args) throws Exception {
+		int count = 50000;
+		int live = 64;
+		Thread[] threads = new Thread[live];
+		for (int i = 0; i < count; i++) {
+			int slot = i % live;
+			if (threads[slot] != null) {
+				threads[slot].join();
+			}
+			threads[slot] = new Thread("churn-" + i);
+			threads[slot].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		System.out.println(count);
+	}
+
+}
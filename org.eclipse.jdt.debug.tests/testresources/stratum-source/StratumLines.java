@@ -0,0 +1,18 @@
+public class StratumLines {
+	public static void main(String[] args) {
+		Inner inner = new Inner();
+		Malformed malformed = new Malformed();
+		int sum = inner.add(1, 2);
+		sum = inner.add(sum, 3);
+		System.out.println(sum + " " + malformed);
+	}
+
+	static class Inner {
+		int add(int a, int b) {
+			return a + b;
+		}
+	}
+
+	static class Malformed {
+	}
+}
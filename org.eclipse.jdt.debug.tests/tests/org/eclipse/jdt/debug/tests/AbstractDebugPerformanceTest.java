@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2004, 2011 IBM Corporation and others.
+ *  Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests;
 
+import java.lang.ref.Reference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
 import org.eclipse.jdt.debug.tests.ui.AbstractDebugUiTests;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
@@ -132,6 +136,47 @@ public class AbstractDebugPerformanceTest extends AbstractDebugUiTests {
 		fPerformanceMeter.commit();
 	}
 
+	/**
+	 * Measures the heap retained by the objects created by the given factory
+	 * and asserts the default properties of the measurements. The garbage
+	 * collector is run before and after each run, so that only the objects
+	 * still referenced at the end of the run are measured.
+	 *
+	 * @param runs the number of measured runs
+	 * @param factory creates the objects to measure
+	 */
+	protected void measureRetainedHeap(int runs, Supplier<?> factory) {
+		for (int i = 0; i < runs; i++) {
+			System.gc();
+			startMeasuring();
+			Object retained = factory.get();
+			System.gc();
+			stopMeasuring();
+			Reference.reachabilityFence(retained);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Measures the given computation and asserts the default properties of the
+	 * measurements. The computation must return a result other than 0, which
+	 * keeps the work from being optimized away.
+	 *
+	 * @param runs the number of measured runs
+	 * @param computation the computation to measure
+	 */
+	protected void measureComputation(int runs, LongSupplier computation) {
+		for (int i = 0; i < runs; i++) {
+			startMeasuring();
+			long result = computation.getAsLong();
+			stopMeasuring();
+			assertTrue("Computation failed", result != 0);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
 	/**
 	 * Asserts default properties of the measurements captured for this test case.
 	 *
@@ -56,6 +56,7 @@ import org.eclipse.jdt.debug.tests.breakpoints.TriggerPointBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.TypeNameBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.WatchpointTests;
 import org.eclipse.jdt.debug.tests.connectors.MultipleConnectionsTest;
+import org.eclipse.jdt.debug.tests.connectors.SocketChannelConnectionTests;
 import org.eclipse.jdt.debug.tests.console.ConsoleTerminateAllActionTests;
 import org.eclipse.jdt.debug.tests.console.IOConsoleTests;
 import org.eclipse.jdt.debug.tests.console.JavaDebugStackTraceConsoleTest;
@@ -72,6 +73,7 @@ import org.eclipse.jdt.debug.tests.core.ClasspathVariableTests;
 import org.eclipse.jdt.debug.tests.core.ConsoleInputTests;
 import org.eclipse.jdt.debug.tests.core.ConsoleTests;
 import org.eclipse.jdt.debug.tests.core.DebugEventTests;
+import org.eclipse.jdt.debug.tests.core.DeepStackTests;
 import org.eclipse.jdt.debug.tests.core.EEDefinitionTests;
 import org.eclipse.jdt.debug.tests.core.EnvironmentTests;
 import org.eclipse.jdt.debug.tests.core.EventDispatcherTest;
@@ -92,6 +94,7 @@ import org.eclipse.jdt.debug.tests.core.MultiReleaseLaunchTests;
 import org.eclipse.jdt.debug.tests.core.ProcessTests;
 import org.eclipse.jdt.debug.tests.core.ResolveRuntimeClasspathTests;
 import org.eclipse.jdt.debug.tests.core.RuntimeClasspathEntryTests;
+import org.eclipse.jdt.debug.tests.core.SourceDebugExtensionTests;
 import org.eclipse.jdt.debug.tests.core.StaticVariableTests;
 import org.eclipse.jdt.debug.tests.core.StratumTests;
 import org.eclipse.jdt.debug.tests.core.StringSubstitutionTests;
@@ -297,6 +300,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(WatchExpressionTests.class));
 		addTest(new TestSuite(StratumTests.class));
 		addTest(new TestSuite(JavaDebugTargetTests.class));
+		addTest(new TestSuite(DeepStackTests.class));
 		addTest(new TestSuite(WorkingDirectoryTests.class));
 		addTest(new TestSuite(EventDispatcherTest.class));
 		addTest(new TestSuite(SyntheticVariableTests.class));
@@ -333,6 +337,7 @@ public class AutomatedSuite extends DebugSuite {
 	// JDWP tests
 		addTest(new TestSuite(JDWPTests.class));
 		addTest(new TestSuite(MultipleConnectionsTest.class));
+		addTest(new TestSuite(SocketChannelConnectionTests.class));
 	// Refresh state tests
 		addTest(new TestSuite(RefreshStateTests.class));
 
@@ -432,6 +437,7 @@ public class AutomatedSuite extends DebugSuite {
 			addTest(new TestSuite(GenericsEvalTests.class));
 			addTest(new TestSuite(DetailFormatterTests.class));
 			addTest(new TestSuite(AlternateStratumTests.class));
+			addTest(new TestSuite(SourceDebugExtensionTests.class));
 		}
 		addTest(new TestSuite(ConditionalBreakpointsTests.class));
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2011 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,12 @@ import org.eclipse.jdt.debug.tests.performance.PerfBreakpointTests;
 import org.eclipse.jdt.debug.tests.performance.PerfConditionalBreakpointsTests;
 import org.eclipse.jdt.debug.tests.performance.PerfConsoleTests;
 import org.eclipse.jdt.debug.tests.performance.PerfContextualLaunchMenu;
+import org.eclipse.jdt.debug.tests.performance.PerfInterpreterTests;
+import org.eclipse.jdt.debug.tests.performance.PerfLineTableTests;
+import org.eclipse.jdt.debug.tests.performance.PerfMirrorCacheTests;
 import org.eclipse.jdt.debug.tests.performance.PerfSteppingTests;
+import org.eclipse.jdt.debug.tests.performance.PerfStratumLineTableTests;
+import org.eclipse.jdt.debug.tests.performance.PerfThreadChurnTests;
 import org.eclipse.jdt.debug.tests.performance.PerfVariableDetailTests;
 
 /**
@@ -50,5 +55,10 @@ public class PerformanceSuite extends DebugSuite {
         addTest(new TestSuite(PerfConsoleTests.class));
         addTest(new TestSuite(PerfVariableDetailTests.class));
         addTest(new TestSuite(BreakpointManagerPerfTests.class));
+        addTest(new TestSuite(PerfMirrorCacheTests.class));
+        addTest(new TestSuite(PerfThreadChurnTests.class));
+        addTest(new TestSuite(PerfInterpreterTests.class));
+        addTest(new TestSuite(PerfLineTableTests.class));
+        addTest(new TestSuite(PerfStratumLineTableTests.class));
     }
 }
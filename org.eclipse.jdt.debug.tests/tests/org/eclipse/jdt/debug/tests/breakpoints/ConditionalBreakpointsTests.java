@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,54 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.breakpoints;
 
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IValue;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.internal.ui.views.console.ProcessConsole;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaReferenceType;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestUtil;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.eval.RemoteEvaluator;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.ASTEvaluationEngine;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.SimpleCondition;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.NoOp;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushString;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.ReturnInstruction;
 
 /**
  * Tests conditional breakpoints.
@@ -63,6 +101,33 @@ public class ConditionalBreakpointsTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that the time taken to decide the condition is recorded for each
+	 * hit of the breakpoint
+	 */
+	public void testConditionEvaluationHistogram() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createConditionalLineBreakpoint(19, typeName, "ArgumentsTests.fact(i) == 24", true);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			long hits = 0;
+			for (long count : bp.getConditionEvaluationHistogram()) {
+				hits += count;
+			}
+			assertEquals("Condition should be decided for i = 0..4", 5, hits);
+
+			bp.setCondition("i == 5");
+			for (long count : bp.getConditionEvaluationHistogram()) {
+				assertEquals("Histogram should be reset with the condition", 0, count);
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests a static method call that has a conditional breakpoint on it
 	 */
@@ -221,6 +286,49 @@ public class ConditionalBreakpointsTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that a condition which has not started when its evaluation times
+	 * out does not run after the thread was suspended at the breakpoint
+	 */
+	public void testConditionTimeoutBeforeEvaluationStarts() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint first = createLineBreakpoint(19, typeName);
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		int timeout = prefs.getInt(JDIDebugModel.PREF_CONDITION_TIMEOUT, JDIDebugModel.DEF_CONDITION_TIMEOUT);
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, first);
+			// keep the evaluation of the condition queued in the thread
+			thread.queueRunnable(() -> {
+				blocked.countDown();
+				try {
+					release.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertTrue("Thread runnables should be blocked", blocked.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+			prefs.putInt(JDIDebugModel.PREF_CONDITION_TIMEOUT, 500);
+			first.delete();
+			IJavaLineBreakpoint conditional = createConditionalLineBreakpoint(20, typeName, "System.setProperty(\"conditionRan\", \"true\") == null", true);
+
+			thread = resumeToLineBreakpoint(thread, conditional);
+			release.countDown();
+			Job.getJobManager().join(thread, null);
+			assertTrue("Thread should be suspended", thread.isSuspended());
+			IValue value = doEval(thread, "System.getProperty(\"conditionRan\")");
+			assertTrue("Condition should not run after it timed out", ((IJavaValue) value).isNull());
+		} finally {
+			release.countDown();
+			prefs.putInt(JDIDebugModel.PREF_CONDITION_TIMEOUT, timeout);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests that a conditional breakpoint with an expression that will hit a breakpoint
 	 * will complete the conditional expression evaluation (bug 269231).
@@ -540,4 +648,435 @@ public class ConditionalBreakpointsTests extends AbstractDebugTest {
 			removeAllBreakpoints();
 		}
 	}
+
+	/**
+	 * Tests that a condition compiled at the same location is shared by
+	 * evaluation engines, and compiled again after the cache is cleared
+	 */
+	public void testCompiledConditionIsShared() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine1 = null;
+		ASTEvaluationEngine engine2 = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+			engine1 = new ASTEvaluationEngine(getProjectContext(), target);
+			engine2 = new ASTEvaluationEngine(getProjectContext(), target);
+			ICompiledExpression expression = engine1.getCompiledExpression("i == 3", frame);
+			assertFalse("Condition should compile", expression.hasErrors());
+			assertSame("Compiled condition should be shared", expression, engine2.getCompiledExpression("i == 3", frame));
+			assertNotSame("Different condition should be compiled", expression, engine2.getCompiledExpression("i == 4", frame));
+
+			CompiledExpressionCache.getDefault().clear();
+			assertNotSame("Condition should be compiled again", expression, engine2.getCompiledExpression("i == 3", frame));
+		} finally {
+			if (engine1 != null) {
+				engine1.dispose();
+			}
+			if (engine2 != null) {
+				engine2.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that compiled conditions are only removed from the cache when the
+	 * class path or the structure of the types of their project changes
+	 */
+	public void testCompiledConditionIsKeptOnBodyChange() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			IJavaProject project = getProjectContext();
+			engine = new ASTEvaluationEngine(project, (IJavaDebugTarget) thread.getDebugTarget());
+			CompiledExpressionCache cache = CompiledExpressionCache.getDefault();
+			ICompiledExpression expression = engine.getCompiledExpression("i == 3", frame);
+			assertFalse("Condition should compile", expression.hasErrors());
+
+			IType type = project.findType(typeName);
+			IMethod method = type.getMethod("main", new String[] { "[QString;" });
+			ICompilationUnit unit = type.getCompilationUnit();
+			int fineGrained = IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN;
+			cache.elementChanged(event(delta(unit, IJavaElementDelta.CHANGED, fineGrained,
+					delta(type, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN, delta(method, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT)))));
+			assertSame("Condition should be kept on a body change", expression, engine.getCompiledExpression("i == 3", frame));
+
+			IJavaProject other = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getProject("UnrelatedProject"));
+			cache.elementChanged(event(delta(other, IJavaElementDelta.CHANGED, IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)));
+			assertSame("Condition should be kept on a change of another project", expression, engine.getCompiledExpression("i == 3", frame));
+
+			cache.elementChanged(event(delta(unit, IJavaElementDelta.CHANGED, fineGrained,
+					delta(type, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN, delta(type.getMethod("added", new String[0]), IJavaElementDelta.ADDED, 0)))));
+			ICompiledExpression recompiled = engine.getCompiledExpression("i == 3", frame);
+			assertNotSame("Condition should be removed on a structural change", expression, recompiled);
+
+			cache.elementChanged(event(delta(project, IJavaElementDelta.CHANGED, IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)));
+			assertNotSame("Condition should be removed on a class path change", recompiled, engine.getCompiledExpression("i == 3", frame));
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private static ElementChangedEvent event(IJavaElementDelta delta) {
+		return new ElementChangedEvent(delta, ElementChangedEvent.POST_CHANGE);
+	}
+
+	private static IJavaElementDelta delta(IJavaElement element, int kind, int flags, IJavaElementDelta... children) {
+		return (IJavaElementDelta) Proxy.newProxyInstance(IJavaElementDelta.class.getClassLoader(), new Class<?>[] { IJavaElementDelta.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getElement" -> element;
+					case "getKind" -> Integer.valueOf(kind);
+					case "getFlags" -> Integer.valueOf(flags);
+					case "getAffectedChildren", "getChangedChildren" -> children;
+					case "getAddedChildren", "getRemovedChildren" -> new IJavaElementDelta[0];
+					case "toString" -> element.getElementName();
+					default -> null;
+				});
+	}
+
+	/**
+	 * Tests that compiled conditions are persisted and read again after the
+	 * cache is cleared, and that snippets compiled in the context of a type
+	 * are cached
+	 */
+	public void testCompiledConditionIsPersisted() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		File directory = JDIDebugPlugin.getDefault().getStateLocation().append("compiledExpressions").toFile();
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			CompiledExpressionCache.getDefault().clearPersisted();
+			InstructionSequence expression = (InstructionSequence) engine.getCompiledExpression("i == 3", frame);
+			assertFalse("Condition should compile", expression.hasErrors());
+			assertEquals("Condition should be persisted", 1, countPersisted(directory));
+
+			CompiledExpressionCache.getDefault().clear();
+			InstructionSequence persisted = (InstructionSequence) engine.getCompiledExpression("i == 3", frame);
+			assertNotSame("Condition should be read", expression, persisted);
+			assertEquals("Wrong snippet", expression.getSnippet(), persisted.getSnippet());
+			Instruction[] instructions = expression.getInstructions();
+			Instruction[] persistedInstructions = persisted.getInstructions();
+			assertEquals("Wrong number of instructions", instructions.length, persistedInstructions.length);
+			for (int i = 0; i < instructions.length; i++) {
+				assertEquals("Wrong instruction", instructions[i].toString(), persistedInstructions[i].toString());
+			}
+			assertSimpleCondition(engine, frame, "i == 3", Boolean.FALSE);
+
+			CompiledExpressionCache.getDefault().clear();
+			assertNotNull("Condition should be read again", engine.getCompiledExpression("i == 3", frame));
+			assertEquals("Condition should be read, not persisted again", 1, countPersisted(directory));
+
+			IType javaType = getProjectContext().findType(typeName);
+			IMethod method = javaType.getMethod("main", new String[] { "[QString;" });
+			CompiledExpressionCache.getDefault().elementChanged(event(delta(javaType.getCompilationUnit(), IJavaElementDelta.CHANGED,
+					IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN,
+					delta(javaType, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN, delta(method, IJavaElementDelta.ADDED, 0)))));
+			CompiledExpressionCache.getDefault().clear();
+			assertFalse("Condition should compile", engine.getCompiledExpression("i == 3", frame).hasErrors());
+			assertEquals("Condition should be compiled again after a structural change", 2, countPersisted(directory));
+
+			IJavaReferenceType type = frame.getReferenceType();
+			ICompiledExpression typeExpression = engine.getCompiledExpression("toString()", type);
+			assertFalse("Snippet should compile", typeExpression.hasErrors());
+			assertSame("Snippet compiled in type should be cached", typeExpression, engine.getCompiledExpression("toString()", type));
+		} finally {
+			CompiledExpressionCache.getDefault().clearPersisted();
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a persisted condition is not read again after a source of the
+	 * project changed while the workspace was closed, which no Java element
+	 * delta reports
+	 */
+	public void testPersistedConditionIsNotReadAfterOfflineChange() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		File directory = JDIDebugPlugin.getDefault().getStateLocation().append("compiledExpressions").toFile();
+		File source = getProjectContext().findType(typeName).getResource().getLocation().toFile();
+		long lastModified = source.lastModified();
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			CompiledExpressionCache.getDefault().clearPersisted();
+			assertFalse("Condition should compile", engine.getCompiledExpression("i == 3", frame).hasErrors());
+			assertEquals("Condition should be persisted", 1, countPersisted(directory));
+
+			// close and open the cache like the plug-in, changing the source
+			// in between
+			CompiledExpressionCache.getDefault().shutdown();
+			assertTrue("Source should be touched", source.setLastModified(lastModified + 2000));
+			CompiledExpressionCache.getDefault().startup();
+			assertFalse("Condition should compile", engine.getCompiledExpression("i == 3", frame).hasErrors());
+			assertEquals("Condition should be compiled again after an offline change", 2, countPersisted(directory));
+		} finally {
+			source.setLastModified(lastModified);
+			CompiledExpressionCache.getDefault().clearPersisted();
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private static int countPersisted(File directory) {
+		return directory.list((dir, name) -> name.endsWith(".ser")).length;
+	}
+
+	/**
+	 * Tests that simple conditions are recognized and decided from the values
+	 * of the frame, and that other conditions are left to the evaluation
+	 */
+	public void testSimpleConditionIsDecidedInFrame() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			assertSimpleCondition(engine, frame, "i == 0", Boolean.TRUE);
+			assertSimpleCondition(engine, frame, "0 != i", Boolean.FALSE);
+			assertSimpleCondition(engine, frame, "i == 'a'", Boolean.FALSE);
+			assertSimpleCondition(engine, frame, "args != null", Boolean.TRUE);
+			assertSimpleCondition(engine, frame, "return false;", Boolean.FALSE);
+			assertNull("Comparison should not be simple", SimpleCondition.analyze(engine.getCompiledExpression("i < 3", frame)));
+			assertNull("Method call should not be simple", SimpleCondition.analyze(engine.getCompiledExpression("ArgumentsTests.fact(i) == 24", frame)));
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that constant conditions are simple conditions, and that a
+	 * breakpoint with a constant condition suspends on its first hit
+	 */
+	public void testConstantConditionIsDecidedInFrame() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createConditionalLineBreakpoint(19, typeName, "true", true);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			IJavaPrimitiveValue value = (IJavaPrimitiveValue) findVariable(frame, "i").getValue();
+			assertEquals("Constant condition should suspend on the first hit", 0, value.getIntValue());
+
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+			assertSimpleCondition(engine, frame, "true", Boolean.TRUE);
+			assertSimpleCondition(engine, frame, "false", Boolean.FALSE);
+			assertSimpleCondition(engine, frame, "Integer.MAX_VALUE < 0", Boolean.FALSE);
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that constant expressions are compiled into a single push and that
+	 * only the branches taken by constant conditions are compiled
+	 */
+	public void testConstantsAreFolded() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			InstructionSequence expression = (InstructionSequence) engine.getCompiledExpression("\"a\" + \"b\" + Integer.MAX_VALUE", frame);
+			assertFalse("Expression should compile", expression.hasErrors());
+			List<Instruction> pushes = new ArrayList<>();
+			for (Instruction instruction : expression.getInstructions()) {
+				if (!(instruction instanceof NoOp || instruction instanceof ReturnInstruction)) {
+					pushes.add(instruction);
+				}
+			}
+			assertEquals("Expression should be a single push", 1, pushes.size());
+			assertEquals("Wrong folded value", "ab2147483647", ((PushString) pushes.get(0)).getValue());
+
+			assertSimpleCondition(engine, frame, "i == Integer.MAX_VALUE - Integer.MAX_VALUE", Boolean.TRUE);
+			assertSimpleCondition(engine, frame, "Integer.MAX_VALUE > 0 && i == 0", Boolean.TRUE);
+			assertSimpleCondition(engine, frame, "Integer.MAX_VALUE < 0 || i != 0", Boolean.FALSE);
+			assertSimpleCondition(engine, frame, "Integer.MAX_VALUE < 0 && ArgumentsTests.fact(i) == 24", Boolean.FALSE);
+			assertSimpleCondition(engine, frame, "(Integer.MAX_VALUE > 0 ? i : ArgumentsTests.fact(i)) == 0", Boolean.TRUE);
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a condition is compiled into a class injected into the target
+	 * and evaluated by it, and that conditions with side effects are not
+	 */
+	public void testRemoteCompiledCondition() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			assertNull("Condition with side effects should be interpreted", engine.getRemoteCompiledCondition("i++ > 0", frame));
+			ICompiledExpression expression = engine.getRemoteCompiledCondition("i < 1 && args.length == 0", frame);
+			assertNotNull("Condition should be compiled into an injected class", expression);
+			assertTrue("Condition should be evaluated by an injected class", ASTEvaluationEngine.isRemoteCondition(expression));
+
+			IEvaluationResult result = evaluate(engine, expression, frame);
+			assertFalse("Evaluation should not fail", result.hasErrors());
+			assertTrue("Condition should hold", ((IJavaPrimitiveValue) result.getValue()).getBooleanValue());
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that an exception thrown by a condition evaluated in an injected
+	 * class is an error of the condition, not a failure to inject the class
+	 */
+	public void testRemoteCompiledConditionRuntimeError() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		ASTEvaluationEngine engine = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+
+			ICompiledExpression expression = engine.getRemoteCompiledCondition("args[i + 1].length() > 0", frame);
+			assertNotNull("Condition should be compiled into an injected class", expression);
+			IEvaluationResult result = evaluate(engine, expression, frame);
+			assertTrue("Evaluation should fail", result.hasErrors());
+			assertNotNull("Missing exception", result.getException());
+			assertTrue("Exception should be thrown by the condition", RemoteEvaluator.INJECTION_FAILED != result.getException().getStatus().getCode());
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Evaluates the expression in the frame and waits for the result
+	 */
+	private IEvaluationResult evaluate(ASTEvaluationEngine engine, ICompiledExpression expression, IJavaStackFrame frame) throws Exception {
+		AtomicReference<IEvaluationResult> result = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		engine.evaluateExpression(expression, frame, r -> {
+			result.set(r);
+			done.countDown();
+		}, DebugEvent.EVALUATION_IMPLICIT, false);
+		assertTrue("Evaluation did not complete", done.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+		return result.get();
+	}
+
+	/**
+	 * Tests that a condition restricting the breakpoint to an instance is
+	 * pushed into the breakpoint request as an instance filter
+	 */
+	public void testConditionPushedAsInstanceFilter() throws Exception {
+		assertConditionPushed(24, "this == SELECTED");
+	}
+
+	/**
+	 * Tests that a condition restricting the breakpoint to a thread is pushed
+	 * into the breakpoint request as a thread filter
+	 */
+	public void testConditionPushedAsThreadFilter() throws Exception {
+		assertConditionPushed(28, "Thread.currentThread() == ConditionFilters.WORKER");
+	}
+
+	/**
+	 * Runs to the three hits of the breakpoint for which the given condition is
+	 * true. The condition is false for the other three hits, only the first of
+	 * which should be reported before the condition is pushed into the
+	 * request.
+	 */
+	private void assertConditionPushed(int lineNumber, String condition) throws Exception {
+		String typeName = "ConditionFilters";
+		IJavaLineBreakpoint bp = createConditionalLineBreakpoint(lineNumber, typeName, condition, true);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			thread = resumeToLineBreakpoint(thread, bp);
+			thread = resumeToLineBreakpoint(thread, bp);
+			long hits = 0;
+			for (long count : bp.getConditionEvaluationHistogram()) {
+				hits += count;
+			}
+			assertEquals("Hits for which the condition is false should not be reported", 4, hits);
+			resumeAndExit(thread);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private void assertSimpleCondition(ASTEvaluationEngine engine, IJavaStackFrame frame, String condition, Boolean expected) throws Exception {
+		SimpleCondition simple = SimpleCondition.analyze(engine.getCompiledExpression(condition, frame));
+		assertNotNull("Condition should be simple: " + condition, simple);
+		assertEquals("Wrong result for: " + condition, expected, simple.evaluate(frame));
+	}
 }
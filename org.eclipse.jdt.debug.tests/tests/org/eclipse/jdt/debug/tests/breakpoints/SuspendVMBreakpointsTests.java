@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2007 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.breakpoints;
 
+import java.lang.reflect.Field;
+
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IStackFrame;
@@ -26,6 +28,9 @@ import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaWatchpoint;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestUtil;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+
+import com.sun.jdi.ThreadReference;
 
 /**
  * Test that a SUSPEND_VM breakpoint suspends all threads
@@ -60,6 +65,51 @@ public class SuspendVMBreakpointsTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that the name, frame count and top frame of all suspended threads
+	 * are retrieved up front when a SUSPEND_VM breakpoint is hit
+	 */
+	public void testSuspendVmRefreshesThreads() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		IJavaLineBreakpoint bp = createLineBreakpoint(43, typeName);
+		bp.setSuspendPolicy(IJavaBreakpoint.SUSPEND_VM);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			int refreshed = 0;
+			for (IThread t : thread.getDebugTarget().getThreads()) {
+				JDIThread jdiThread = (JDIThread) t;
+				if (!jdiThread.isSuspended()) {
+					continue;
+				}
+				ThreadReference underlying = jdiThread.getUnderlyingThread();
+				assertTrue("Name not refreshed, thread=" + underlying.name(), ((Boolean) getField(JDIThread.class, "fNameRefreshed", jdiThread)).booleanValue());
+				Object frames = getField(JDIThread.class, "fStackFrames", jdiThread);
+				assertTrue("Frame count not refreshed, thread=" + underlying.name(), ((Integer) getField(frames.getClass(), "fStackDepth", frames)).intValue() >= 0);
+				assertEquals("Wrong name", underlying.name(), jdiThread.getName());
+				assertEquals("Wrong frame count", underlying.frameCount(), jdiThread.getFrameCount());
+				if (underlying.frameCount() > 0) {
+					assertEquals("Wrong top frame", underlying.frame(0).location().lineNumber(), jdiThread.getTopStackFrame().getLineNumber());
+				}
+				refreshed++;
+			}
+			assertTrue("Threads were not refreshed", refreshed >= 2);
+
+			bp.delete();
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private static Object getField(Class<?> type, String name, Object object) throws Exception {
+		Field field = type.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(object);
+	}
+
 	/**
 	 * Tests that the VM is suspended when a specific exception breakpoint is hit
 	 */
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.connectors;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.connect.PacketSendManager;
+import org.eclipse.jdi.internal.connect.SocketChannelConnection;
+import org.eclipse.jdi.internal.connect.SocketChannelTransportService;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * Tests the socket channel connection and the packet send manager over a
+ * loopback connection to a fake Virtual Machine.
+ */
+public class SocketChannelConnectionTests extends AbstractDebugTest {
+
+	private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes();
+
+	private ServerSocket fServer;
+	private Socket fPeer;
+	private Connection fConnection;
+
+	public SocketChannelConnectionTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fServer = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		CompletableFuture<Socket> peer = CompletableFuture.supplyAsync(() -> {
+			try {
+				Socket socket = fServer.accept();
+				byte[] handshake = new byte[HANDSHAKE.length];
+				new DataInputStream(socket.getInputStream()).readFully(handshake);
+				socket.getOutputStream().write(HANDSHAKE);
+				return socket;
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		fConnection = new SocketChannelTransportService().attach(InetAddress.getLoopbackAddress().getHostAddress(), fServer.getLocalPort(), 5000, 5000);
+		fPeer = peer.get(5, TimeUnit.SECONDS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fConnection != null) {
+			fConnection.close();
+		}
+		if (fPeer != null) {
+			fPeer.close();
+		}
+		fServer.close();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that packets written to the connection are received as is, and
+	 * that only the length given in the header of a packet is sent.
+	 */
+	public void testWritePacket() throws Exception {
+		assertTrue("Wrong connection", fConnection instanceof SocketChannelConnection);
+		byte[] first = packet(JdwpCommandPacket.VM_VERSION, 3);
+		byte[] second = packet(JdwpCommandPacket.VM_ALL_THREADS, 0);
+		byte[] padded = Arrays.copyOf(first, first.length + 16);
+		fConnection.writePacket(padded);
+		fConnection.writePacket(second);
+
+		DataInputStream in = new DataInputStream(fPeer.getInputStream());
+		assertPacket(first, readPacket(in));
+		assertPacket(second, readPacket(in));
+	}
+
+	/**
+	 * Tests reading packets that arrive together, a packet larger than the
+	 * initial read buffer, and a packet that arrives in pieces.
+	 */
+	public void testReadPackets() throws Exception {
+		byte[] small = packet(JdwpCommandPacket.VM_VERSION, 5);
+		byte[] large = packet(JdwpCommandPacket.VM_ALL_CLASSES, 200 * 1024);
+		byte[] split = packet(JdwpCommandPacket.VM_ALL_THREADS, 100);
+		OutputStream out = fPeer.getOutputStream();
+		byte[] together = new byte[small.length + large.length + small.length];
+		System.arraycopy(small, 0, together, 0, small.length);
+		System.arraycopy(large, 0, together, small.length, large.length);
+		System.arraycopy(small, 0, together, small.length + large.length, small.length);
+		out.write(together);
+		out.flush();
+		for (int i = 0; i < split.length; i += 7) {
+			out.write(split, i, Math.min(7, split.length - i));
+			out.flush();
+		}
+
+		assertPacket(small, fConnection.readPacket());
+		assertPacket(large, fConnection.readPacket());
+		JdwpPacket packet = JdwpPacket.build(((SocketChannelConnection) fConnection).readPacketBuffer());
+		assertPacket(small, packet.getPacketAsBytes());
+		assertPacket(split, fConnection.readPacket());
+	}
+
+	/**
+	 * Tests that a packet with a negative length is rejected.
+	 */
+	public void testRejectNegativeLength() throws Exception {
+		assertRejected(-1);
+	}
+
+	/**
+	 * Tests that a packet shorter than a packet header is rejected.
+	 */
+	public void testRejectShortLength() throws Exception {
+		assertRejected(10);
+	}
+
+	/**
+	 * Tests that a packet with an absurd length is rejected rather than
+	 * allocated.
+	 */
+	public void testRejectTooLargeLength() throws Exception {
+		assertRejected(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Tests that the packet send manager sends all queued packets, in order,
+	 * and that the packets queued while it is busy are sent with one flush.
+	 */
+	public void testPacketSendManager() throws Exception {
+		PacketSendManager sendManager = new PacketSendManager(fConnection);
+		Thread sendThread = new Thread(sendManager, "Test Packet Sender");
+		sendThread.setDaemon(true);
+		try {
+			int count = 500;
+			JdwpCommandPacket[] packets = new JdwpCommandPacket[count];
+			// the sender is not running yet, like a sender blocked in a write
+			for (int i = 0; i < count; i++) {
+				packets[i] = new JdwpCommandPacket(JdwpCommandPacket.VM_VERSION);
+				packets[i].setData(new byte[i % 50]);
+				sendManager.sendPacket(packets[i]);
+			}
+			sendThread.start();
+			DataInputStream in = new DataInputStream(fPeer.getInputStream());
+			for (int i = 0; i < count; i++) {
+				assertPacket(packets[i].getPacketAsBytes(), readPacket(in));
+			}
+			long timeout = System.currentTimeMillis() + 5000;
+			while (sendManager.getPacketCount() < count && System.currentTimeMillis() < timeout) {
+				Thread.sleep(10);
+			}
+			assertEquals("Wrong packet count", count, sendManager.getPacketCount());
+			assertTrue("Packets were not batched", sendManager.getFlushCount() < count);
+			assertEquals("Queued packets should be sent with one flush", count, sendManager.getLastFlushPacketCount());
+		} finally {
+			sendManager.disconnectVM();
+			sendThread.join(5000);
+		}
+		assertFalse("Send thread did not stop", sendThread.isAlive());
+	}
+
+	/**
+	 * Returns a command packet with the given amount of data.
+	 */
+	private static byte[] packet(int command, int dataLength) throws IOException {
+		JdwpCommandPacket packet = new JdwpCommandPacket(command);
+		byte[] data = new byte[dataLength];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		packet.setData(data);
+		return packet.getPacketAsBytes();
+	}
+
+	private static byte[] readPacket(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		byte[] packet = new byte[length];
+		packet[0] = (byte) (length >>> 24);
+		packet[1] = (byte) (length >>> 16);
+		packet[2] = (byte) (length >>> 8);
+		packet[3] = (byte) length;
+		in.readFully(packet, 4, length - 4);
+		return packet;
+	}
+
+	private static void assertPacket(byte[] expected, byte[] actual) {
+		assertEquals("Wrong packet length", expected.length, actual.length);
+		assertTrue("Wrong packet content", Arrays.equals(expected, actual));
+	}
+
+	/**
+	 * Sends a packet header with the given length and asserts that reading it
+	 * fails.
+	 */
+	private void assertRejected(int length) throws Exception {
+		DataOutputStream out = new DataOutputStream(fPeer.getOutputStream());
+		out.writeInt(length);
+		out.write(new byte[16]);
+		out.flush();
+		try {
+			fConnection.readPacket();
+			fail("Packet of length " + length + " should be rejected");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.util.List;
+
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+
+import com.sun.jdi.StackFrame;
+
+/**
+ * Tests the stack frames of a thread suspended deep in a recursion.
+ */
+public class DeepStackTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "DeepStack";
+
+	/**
+	 * Frames of <code>recurse()</code> plus the frame of <code>main()</code>
+	 */
+	private static final int STACK_DEPTH = 302;
+
+	public DeepStackTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that all frames of a deep stack are computed, in the order of the
+	 * underlying thread.
+	 */
+	public void testDeepStack() throws Exception {
+		createLineBreakpoint(25, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(TYPE_NAME);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			assertEquals("Wrong frame count", STACK_DEPTH, thread.getFrameCount());
+			IStackFrame[] frames = thread.getStackFrames();
+			assertEquals("Wrong number of frames", STACK_DEPTH, frames.length);
+			List<StackFrame> underlying = ((JDIThread) thread).getUnderlyingThread().frames();
+			assertEquals("Wrong number of underlying frames", STACK_DEPTH, underlying.size());
+			for (int i = 0; i < frames.length; i++) {
+				IJavaStackFrame frame = (IJavaStackFrame) frames[i];
+				StackFrame expected = underlying.get(i);
+				assertEquals("Wrong method of frame " + i, expected.location().method().name(), frame.getMethodName());
+				assertEquals("Wrong line of frame " + i, expected.location().lineNumber(), frame.getLineNumber());
+			}
+			assertEquals("Wrong top frame", frames[0], thread.getTopStackFrame());
+			assertEquals("Wrong bottom frame", "main", ((IJavaStackFrame) frames[STACK_DEPTH - 1]).getMethodName());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a range of frames retrieved before the frames above it are
+	 * the same frames as computed for the whole stack.
+	 */
+	public void testStackFrameRange() throws Exception {
+		createLineBreakpoint(25, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(TYPE_NAME);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIThread jdiThread = (JDIThread) thread;
+			IStackFrame[] range = jdiThread.getStackFrames(200, 10);
+			assertEquals("Wrong number of frames in range", 10, range.length);
+			IStackFrame[] tail = jdiThread.getStackFrames(STACK_DEPTH - 2, 10);
+			assertEquals("Wrong number of frames at the bottom", 2, tail.length);
+			assertEquals("Frames beyond the bottom", 0, jdiThread.getStackFrames(STACK_DEPTH, 10).length);
+			IStackFrame[] frames = thread.getStackFrames();
+			assertEquals("Wrong number of frames", STACK_DEPTH, frames.length);
+			for (int i = 0; i < range.length; i++) {
+				assertSame("Wrong frame " + (200 + i), frames[200 + i], range[i]);
+			}
+			assertSame("Wrong bottom frame", frames[STACK_DEPTH - 1], tail[1]);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the frames of a deep stack are kept when the thread suspends
+	 * again with the same frames on the stack.
+	 */
+	public void testFramesPreservedAfterStep() throws Exception {
+		createLineBreakpoint(25, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(TYPE_NAME);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			IStackFrame[] before = thread.getStackFrames();
+			thread = stepOver((IJavaStackFrame) before[0]);
+			IStackFrame[] after = thread.getStackFrames();
+			assertEquals("Wrong number of frames", before.length, after.length);
+			for (int i = 0; i < after.length; i++) {
+				assertSame("Frame " + i + " not preserved", before[i], after[i]);
+			}
+			assertEquals("Wrong line after step", 26, ((IJavaStackFrame) after[0]).getLineNumber());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the frames computed while the thread was suspended can still
+	 * be iterated after the thread resumed, and that no frames are returned
+	 * while the thread is running.
+	 */
+	public void testResumeDuringIteration() throws Exception {
+		createLineBreakpoint(25, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(TYPE_NAME);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIThread jdiThread = (JDIThread) thread;
+			assertEquals("Wrong number of frames in range", 10, jdiThread.getStackFrames(0, 10).length);
+			List<IJavaStackFrame> frames = jdiThread.computeStackFrames();
+			int count = 0;
+			for (IJavaStackFrame frame : frames) {
+				assertNotNull("Missing frame " + count, frame);
+				if (count == 100) {
+					removeAllBreakpoints();
+					resumeAndExit(thread);
+				}
+				count++;
+			}
+			assertEquals("Wrong number of frames iterated", STACK_DEPTH, count);
+			assertEquals("Frames of a running thread", 0, jdiThread.getStackFrames(0, 10).length);
+			assertEquals("Frames of a running thread", 0, thread.getStackFrames().length);
+			assertNull("Top frame of a running thread", thread.getTopStackFrame());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2017 salesforce.com.
+ *  Copyright (c) 2017, 2026 salesforce.com.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
@@ -26,14 +30,70 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.jdt.core.dom.Message;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaBreakpointListener;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaType;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher.AbstractDispatchJob;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
 public class EventDispatcherTest extends AbstractDebugTest {
 
+	private static final String PARALLEL_DISPATCH = "org.eclipse.jdt.internal.debug.core.EventDispatcher.parallel.enable";
+
+	/**
+	 * Records the value of the loop variable <code>i</code> of the threads
+	 * hitting a breakpoint, without suspending them
+	 */
+	private static class LoopRecorder implements IJavaBreakpointListener {
+
+		final Map<String, List<Integer>> fHits = new ConcurrentHashMap<>();
+
+		@Override
+		public int breakpointHit(IJavaThread thread, IJavaBreakpoint breakpoint) {
+			try {
+				IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+				int i = ((IJavaPrimitiveValue) frame.findVariable("i").getValue()).getIntValue();
+				fHits.computeIfAbsent(thread.getName(), name -> Collections.synchronizedList(new ArrayList<>())).add(Integer.valueOf(i));
+			} catch (DebugException e) {
+				fHits.put("failed: " + e.getMessage(), Collections.emptyList());
+			}
+			return DONT_SUSPEND;
+		}
+
+		@Override
+		public void addingBreakpoint(IJavaDebugTarget target, IJavaBreakpoint breakpoint) {
+		}
+
+		@Override
+		public int installingBreakpoint(IJavaDebugTarget target, IJavaBreakpoint breakpoint, IJavaType type) {
+			return DONT_CARE;
+		}
+
+		@Override
+		public void breakpointInstalled(IJavaDebugTarget target, IJavaBreakpoint breakpoint) {
+		}
+
+		@Override
+		public void breakpointRemoved(IJavaDebugTarget target, IJavaBreakpoint breakpoint) {
+		}
+
+		@Override
+		public void breakpointHasRuntimeException(IJavaLineBreakpoint breakpoint, DebugException exception) {
+		}
+
+		@Override
+		public void breakpointHasCompilationErrors(IJavaLineBreakpoint breakpoint, Message[] errors) {
+		}
+	}
+
 	private JobChangeAdapter jobListener;
 	private Map<AbstractDispatchJob, Object> jobs;
 
@@ -127,4 +187,100 @@ public class EventDispatcherTest extends AbstractDebugTest {
 		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), 2, jobs.size());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests that a conditional breakpoint with an expression that invokes a
+	 * method completes the evaluation when event sets are dispatched in
+	 * parallel, the event sets that occur during the evaluation are not queued
+	 * behind the breakpoint event
+	 */
+	public void testParallelConditionalExpressionEventDispatching() throws Exception {
+		String typeName = "BreakpointListenerTest";
+		createConditionalLineBreakpoint(18, typeName, "foo(); return false;", true);
+		IJavaLineBreakpoint breakpoint = createLineBreakpoint(20, typeName);
+		IJavaThread thread = null;
+		System.setProperty(PARALLEL_DISPATCH, Boolean.TRUE.toString());
+		try {
+			thread = launchToLineBreakpoint(typeName, breakpoint);
+			IStackFrame top = thread.getTopStackFrame();
+			assertNotNull("Missing top frame", top);
+			assertTrue("Thread should be suspended", thread.isSuspended());
+			assertEquals("Wrong location", breakpoint.getLineNumber(), top.getLineNumber());
+		} finally {
+			System.clearProperty(PARALLEL_DISPATCH);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the event sets of threads that are dispatched in parallel are
+	 * all dispatched before the death of the VM
+	 */
+	public void testParallelDispatchBeforeVMDeath() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		IJavaLineBreakpoint breakpoint = createConditionalLineBreakpoint(43, typeName, "i < 0", true);
+		IJavaDebugTarget target = null;
+		System.setProperty(PARALLEL_DISPATCH, Boolean.TRUE.toString());
+		try {
+			target = launchAndTerminate(typeName);
+			long evaluations = 0;
+			for (long count : breakpoint.getConditionEvaluationHistogram()) {
+				evaluations += count;
+			}
+			assertEquals("Conditions should be evaluated before the VM death is dispatched", 40, evaluations);
+		} finally {
+			System.clearProperty(PARALLEL_DISPATCH);
+			terminateAndRemove(target);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the event sets of each thread are dispatched in the order
+	 * they occur when event sets are dispatched by the event dispatcher thread
+	 */
+	public void testDispatchOrder() throws Exception {
+		assertDispatchOrder();
+	}
+
+	/**
+	 * Tests that the event sets of each thread are dispatched in the order
+	 * they occur when event sets of different threads are dispatched in
+	 * parallel
+	 */
+	public void testParallelDispatchOrder() throws Exception {
+		System.setProperty(PARALLEL_DISPATCH, Boolean.TRUE.toString());
+		try {
+			assertDispatchOrder();
+		} finally {
+			System.clearProperty(PARALLEL_DISPATCH);
+		}
+	}
+
+	/**
+	 * Runs the loops of the two threads of <code>MultiThreadedLoop</code> over
+	 * a breakpoint that does not suspend, and checks that the hits of each
+	 * thread are dispatched in the order of its loop
+	 */
+	private void assertDispatchOrder() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		createLineBreakpoint(43, typeName);
+		LoopRecorder recorder = new LoopRecorder();
+		IJavaDebugTarget target = null;
+		JDIDebugModel.addJavaBreakpointListener(recorder);
+		try {
+			target = launchAndTerminate(typeName);
+			List<Integer> loop = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				loop.add(Integer.valueOf(i));
+			}
+			assertEquals("Wrong threads hitting the breakpoint", Set.of("1stThread", "2ndThread"), recorder.fHits.keySet());
+			assertEquals("Wrong order of the hits of the first thread", loop, recorder.fHits.get("1stThread"));
+			assertEquals("Wrong order of the hits of the second thread", loop, recorder.fHits.get("2ndThread"));
+		} finally {
+			JDIDebugModel.removeJavaBreakpointListener(recorder);
+			terminateAndRemove(target);
+			removeAllBreakpoints();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,14 +18,23 @@ import static org.junit.Assert.assertNotEquals;
 import java.lang.reflect.Method;
 import java.util.List;
 
+import org.eclipse.core.resources.IResource;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.testplugin.DebugElementKindEventWaiter;
+import org.eclipse.jdt.debug.testplugin.DebugEventWaiter;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.ClassPrepareMultiplexer;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex;
+
+import com.sun.jdi.ReferenceType;
 
 /**
  * Tests IJavaDebugTarget API
@@ -178,6 +187,165 @@ public class JavaDebugTargetTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that the loaded type index answers queries consistently with the VM
+	 */
+	public void testLoadedTypeIndex() throws Exception {
+		String typeName = "Breakpoints";
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		LoadedTypeIndex index = null;
+		try {
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			index = new LoadedTypeIndex(target);
+
+			List<ReferenceType> types = index.getTypes(typeName);
+			assertEquals("Wrong types by name", target.getVM().classesByName(typeName), types);
+			assertEquals("Wrong number of types by name", 1, types.size());
+			ReferenceType type = types.get(0);
+
+			assertTrue("Type missing by prefix", index.getTypesWithPrefix("Break").contains(type));
+			assertFalse("Type should not have nested type prefix", index.getTypesWithPrefix(typeName + '$').contains(type));
+			for (ReferenceType nestedType : index.getNestedTypes(type)) {
+				assertTrue("Not a nested type", nestedType.name().startsWith(typeName + '$'));
+			}
+			assertTrue("Type missing by source name", index.getTypesBySourceName(null, "Breakpoints.java", null).contains(type));
+			assertTrue("Type missing by source name in Java stratum", index.getTypesBySourceName("Java", "Breakpoints.java", name -> name.startsWith("Break")).contains(type));
+			assertTrue("Filtered type should be missing", index.getTypesBySourceName(null, "Breakpoints.java", name -> false).isEmpty());
+			assertFalse("Missing java.lang.Object", index.getTypes("java.lang.Object").isEmpty());
+			assertTrue("Unknown type should be missing", index.getTypes("Breakpoints$Unknown").isEmpty());
+			assertTrue("Missing all types", index.getAllTypes().containsAll(target.getVM().classesByName("java.lang.String")));
+		} finally {
+			if (index != null) {
+				index.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that breakpoints in the same type share their class prepare
+	 * requests
+	 */
+	public void testClassPrepareRequestsShared() throws Exception {
+		String typeName = "Breakpoints";
+		createLineBreakpoint(55, typeName);
+		createLineBreakpoint(57, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			// one request for the type and one for its nested types
+			assertEquals("Wrong number of class prepare requests", 2, target.getClassPrepareMultiplexer().getRequestCount());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that breakpoints added together while the target runs are
+	 * installed as a batch
+	 */
+	public void testBreakpointsInstalledInBatch() throws Exception {
+		String typeName = "Breakpoints";
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+
+			IResource resource = getBreakpointResource(typeName);
+			IJavaLineBreakpoint first = JDIDebugModel.createLineBreakpoint(resource, typeName, 56, -1, -1, 0, false, null);
+			IJavaLineBreakpoint second = JDIDebugModel.createLineBreakpoint(resource, typeName, 57, -1, -1, 0, false, null);
+			getBreakpointManager().addBreakpoints(new IBreakpoint[] { first, second });
+			assertTrue("First breakpoint not installed", target.getBreakpoints().contains(first) && first.isInstalled());
+			assertTrue("Second breakpoint not installed", target.getBreakpoints().contains(second) && second.isInstalled());
+
+			thread = resumeToLineBreakpoint(thread, first);
+			thread = resumeToLineBreakpoint(thread, second);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that deferred breakpoints in nested and local types are installed
+	 * when their class prepare events are routed through shared requests, and
+	 * that the exclusion of nested type breakpoints is applied to the request
+	 * of the enclosing type's nested types
+	 */
+	public void testDeferredBreakpointsInNestedTypes() throws Exception {
+		String typeName = "Breakpoints";
+		String nestedTypes = typeName + "$*";
+		String innerTypeName = typeName + "$InnerBreakpoints";
+		IJavaLineBreakpoint innerBreakpoint = createLineBreakpoint(25, "", "Breakpoints.java", innerTypeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, innerBreakpoint);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ClassPrepareMultiplexer multiplexer = target.getClassPrepareMultiplexer();
+			assertEquals("Wrong number of class prepare requests", 2, multiplexer.getRequestCount());
+			assertEquals("Exclusion should be applied to the shared request", innerTypeName, multiplexer.getClassExclusionFilter(nestedTypes, null));
+
+			// the local type is prepared after the inner type is used
+			IJavaLineBreakpoint localBreakpoint = createLineBreakpoint(33, typeName);
+			assertEquals("Wrong number of class prepare requests", 3, multiplexer.getRequestCount());
+			assertNull("Exclusion should be removed from the shared request", multiplexer.getClassExclusionFilter(nestedTypes, null));
+			thread = resumeToLineBreakpoint(thread, localBreakpoint);
+
+			localBreakpoint.delete();
+			assertEquals("Exclusion should be restored on the shared request", innerTypeName, multiplexer.getClassExclusionFilter(nestedTypes, null));
+			thread = resumeToLineBreakpoint(thread, innerBreakpoint);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a breakpoint of a batch that is hit by a running thread before
+	 * the batch is installed suspends the thread. The breakpoints have a hit
+	 * count of 1, such that the VM reports only their first hit.
+	 */
+	public void testBreakpointHitWhileBatchIsInstalled() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		IJavaLineBreakpoint bp = createLineBreakpoint(43, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			bp.delete();
+			thread.resume();
+
+			IResource resource = getBreakpointResource(typeName);
+			IJavaLineBreakpoint first = JDIDebugModel.createLineBreakpoint(resource, typeName, 43, -1, -1, 1, false, null);
+			IJavaLineBreakpoint second = JDIDebugModel.createLineBreakpoint(resource, typeName, 45, -1, -1, 1, false, null);
+			DebugEventWaiter waiter = new DebugElementKindEventWaiter(DebugEvent.SUSPEND, IJavaThread.class);
+			waiter.setTimeout(DEFAULT_TIMEOUT);
+			getBreakpointManager().addBreakpoints(new IBreakpoint[] { first, second });
+			Object suspended = waiter.waitForEvent();
+			assertNotNull("Breakpoint of the batch not hit", suspended);
+			thread = (IJavaThread) suspended;
+			IBreakpoint[] hit = thread.getBreakpoints();
+			assertEquals("Wrong number of breakpoints hit", 1, hit.length);
+			assertTrue("Wrong breakpoint hit", hit[0] == first || hit[0] == second);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	private List<IBreakpoint> getUserBreakpoints(JDIDebugTarget target) {
 		List<IBreakpoint> breakpoints = target.getBreakpoints();
 		return breakpoints;
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.debug.testplugin.JavaTestPlugin;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.Location;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Tests the strata of types with a SMAP in their source debug extension. The
+ * types <code>StratumLines</code> and <code>StratumLines$Inner</code> share
+ * the same SMAP, with a <code>JSP</code> stratum of two files and a
+ * <code>Template</code> stratum, and <code>StratumLines$Malformed</code> has a
+ * SMAP with an undeclared file id.
+ */
+public class SourceDebugExtensionTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "StratumLines";
+	private static final String INNER_TYPE_NAME = "StratumLines$Inner";
+	private static final String MALFORMED_TYPE_NAME = "StratumLines$Malformed";
+
+	public SourceDebugExtensionTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests the strata of the types, the malformed SMAP being ignored
+	 */
+	public void testStrata() throws Exception {
+		IJavaThread thread = null;
+		try {
+			thread = launchToStratumLines();
+			VirtualMachine vm = getVM(thread);
+			for (String typeName : new String[] { TYPE_NAME, INNER_TYPE_NAME }) {
+				ReferenceType type = getReferenceType(vm, typeName);
+				assertEquals("Wrong default stratum of " + typeName, "JSP", type.defaultStratum());
+				assertEquals("Wrong available strata of " + typeName, Arrays.asList("JSP", "Template", "Java"), type.availableStrata());
+				assertEquals("Wrong source names of " + typeName, Arrays.asList("page.jsp", "header.jsp"), type.sourceNames("JSP"));
+				assertEquals("Wrong source paths of " + typeName, Arrays.asList("pages/page.jsp", "pages/header.jsp"), type.sourcePaths("JSP"));
+			}
+			ReferenceType malformed = getReferenceType(vm, MALFORMED_TYPE_NAME);
+			assertEquals("Wrong default stratum of malformed SMAP", "Java", malformed.defaultStratum());
+			assertEquals("Wrong available strata of malformed SMAP", Arrays.asList("Java"), malformed.availableStrata());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests the lines and source names of a location and of a stack frame in
+	 * each stratum
+	 */
+	public void testLineNumbers() throws Exception {
+		IJavaThread thread = null;
+		try {
+			thread = launchToStratumLines();
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("Wrong line in JSP stratum", 10, frame.getLineNumber("JSP"));
+			assertEquals("Wrong source name in JSP stratum", "page.jsp", frame.getSourceName("JSP"));
+			assertEquals("Wrong line in Java stratum", 7, frame.getLineNumber("Java"));
+
+			Location location = getReferenceType(getVM(thread), TYPE_NAME).locationsOfLine("Java", null, 7).get(0);
+			assertEquals("Wrong line in JSP stratum", 10, location.lineNumber("JSP"));
+			assertEquals("Wrong source name in JSP stratum", "page.jsp", location.sourceName("JSP"));
+			assertEquals("Wrong source path in JSP stratum", "pages/page.jsp", location.sourcePath("JSP"));
+			assertEquals("Wrong line in Template stratum", 1, location.lineNumber("Template"));
+			assertEquals("Wrong source name in Template stratum", "page.tpl", location.sourceName("Template"));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests the locations of lines of each stratum, including input lines
+	 * mapped with an output line increment of 0 (see bug 40022) and lines of
+	 * the <code>Template</code> stratum, which line section is parsed lazily
+	 * after the one of the <code>JSP</code> stratum
+	 */
+	public void testLocationsOfLine() throws Exception {
+		IJavaThread thread = null;
+		try {
+			thread = launchToStratumLines();
+			VirtualMachine vm = getVM(thread);
+			ReferenceType type = getReferenceType(vm, TYPE_NAME);
+			assertJavaLines("page.jsp line 1", type.locationsOfLine("JSP", "page.jsp", 1), 3);
+			assertJavaLines("page.jsp line 2", type.locationsOfLine("JSP", "page.jsp", 2), 4);
+			assertJavaLines("header.jsp line 1", type.locationsOfLine("JSP", "header.jsp", 1), 5);
+			assertJavaLines("page.jsp line 5", type.locationsOfLine("JSP", "page.jsp", 5));
+			assertJavaLines("all page.jsp lines", type.allLineLocations("JSP", "page.jsp"), 3, 4, 7);
+
+			ReferenceType inner = getReferenceType(vm, INNER_TYPE_NAME);
+			assertJavaLines("Template line 2", inner.locationsOfLine("Template", null, 2), 12);
+			List<Location> locations = inner.locationsOfLine("JSP", "page.jsp", 5);
+			assertJavaLines("page.jsp line 5", locations, 12);
+			assertJavaLines("page.jsp line 6", inner.locationsOfLine("JSP", "page.jsp", 6), 12);
+			assertEquals("Wrong JSP line of Java line 12", 5, locations.get(0).lineNumber("JSP"));
+			assertEquals("Wrong Template line of Java line 12", 2, locations.get(0).lineNumber("Template"));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the types with the same SMAP share it, and that a malformed
+	 * SMAP is still returned as is
+	 */
+	public void testSourceDebugExtension() throws Exception {
+		IJavaThread thread = null;
+		try {
+			thread = launchToStratumLines();
+			VirtualMachine vm = getVM(thread);
+			ReferenceType type = getReferenceType(vm, TYPE_NAME);
+			ReferenceType inner = getReferenceType(vm, INNER_TYPE_NAME);
+			assertEquals("Wrong default stratum", "JSP", type.defaultStratum());
+			assertEquals("Wrong default stratum", "JSP", inner.defaultStratum());
+			assertTrue("Wrong SMAP", type.sourceDebugExtension().startsWith("SMAP\nStratumLines.java\nJSP\n"));
+			assertSame("SMAP should be shared", type.sourceDebugExtension(), inner.sourceDebugExtension());
+
+			ReferenceType malformed = getReferenceType(vm, MALFORMED_TYPE_NAME);
+			assertEquals("Wrong default stratum of malformed SMAP", "Java", malformed.defaultStratum());
+			assertEquals("Wrong malformed SMAP", "SMAP\nStratumLines.java\nJSP\n*S JSP\n*F\n1 page.jsp\n*L\n1#2:3\n*E\n", malformed.sourceDebugExtension());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	@Override
+	protected IJavaProject getProjectContext() {
+		return get15Project();
+	}
+
+	private IJavaThread launchToStratumLines() throws Exception {
+		addStratumClasses();
+		createLineBreakpoint(7, TYPE_NAME);
+		IJavaThread thread = launchToBreakpoint(TYPE_NAME);
+		assertNotNull("Breakpoint not hit within timeout period", thread);
+		return thread;
+	}
+
+	private void addStratumClasses() throws Exception {
+		IPath src = getProjectContext().getPath().append(JavaProjectHelper.SRC_DIR).makeAbsolute();
+		File sources = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/stratum-source"));
+		JavaProjectHelper.importFile(new File(sources, TYPE_NAME + ".java"), src, null);
+		createLaunchConfiguration(TYPE_NAME);
+		waitForBuild();
+		// replace the compiled classes by the ones with a source debug extension
+		IPath bin = getProjectContext().getPath().append(JavaProjectHelper.BIN_DIR).makeAbsolute();
+		File classes = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/stratum"));
+		for (String typeName : new String[] { TYPE_NAME, INNER_TYPE_NAME, MALFORMED_TYPE_NAME }) {
+			JavaProjectHelper.importFile(new File(classes, typeName + ".class"), bin, null);
+		}
+	}
+
+	private static VirtualMachine getVM(IJavaThread thread) {
+		return ((JDIDebugTarget) thread.getDebugTarget()).getVM();
+	}
+
+	private static ReferenceType getReferenceType(VirtualMachine vm, String typeName) {
+		List<ReferenceType> types = vm.classesByName(typeName);
+		assertEquals("Wrong number of types " + typeName, 1, types.size());
+		return types.get(0);
+	}
+
+	private static void assertJavaLines(String message, List<Location> locations, int... javaLines) {
+		int[] lines = new int[locations.size()];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = locations.get(i).lineNumber("Java");
+		}
+		assertEquals("Wrong Java lines of " + message, Arrays.toString(javaLines), Arrays.toString(lines));
+	}
+}
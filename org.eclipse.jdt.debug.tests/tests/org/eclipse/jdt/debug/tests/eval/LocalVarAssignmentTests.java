@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2005 IBM Corporation and others.
+ * Copyright (c) 2002, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -492,5 +492,22 @@ public class LocalVarAssignmentTests extends Tests {
 		}
 	}
 
+	public void testIntValueReadAfterAssignment() throws Throwable {
+		try {
+		init();
+		eval(xVarInt + equalOp + xInt);
+		IValue value = eval("(" + xVarInt + equalOp + yInt + ") + " + xVarInt);
+		int intValue = ((IJavaPrimitiveValue)value).getIntValue();
+		assertEquals("int local variable read after assignment : wrong result : ", yIntValue + yIntValue, intValue);
+		value = eval(xVarInt + " + " + xVarInt);
+		intValue = ((IJavaPrimitiveValue)value).getIntValue();
+		assertEquals("int local variable read twice : wrong result : ", yIntValue + yIntValue, intValue);
+		value = eval(xVarInt + "++ + " + xVarInt);
+		intValue = ((IJavaPrimitiveValue)value).getIntValue();
+		assertEquals("int local variable read after increment : wrong result : ", yIntValue + yIntValue + 1, intValue);
+		} finally {
+		end();
+		}
+	}
 
 }
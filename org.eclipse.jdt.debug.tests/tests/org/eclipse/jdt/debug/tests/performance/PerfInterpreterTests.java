@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.performance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaClassObject;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaReferenceType;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.IRuntimeContext;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.Interpreter;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.ConditionalJump;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.EqualEqualOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.GreaterOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Jump;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.MultiplyOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.NoOp;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PlusOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Pop;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushBoolean;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushInt;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushLocalVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushNull;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.RemainderOperator;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Tests the performance of executing compiled conditions, on unboxed operands
+ * and interpreted. The instructions are assembled as the compiler does and
+ * executed in a runtime context with values that only exist in this VM, no
+ * target VM is launched such that only the execution is measured.
+ */
+public class PerfInterpreterTests extends AbstractDebugPerformanceTest {
+
+	private static final int EXECUTIONS = 100_000;
+
+	/**
+	 * Values of the target, implemented by the value of the given boxed
+	 * primitive
+	 */
+	private static class StubValue implements InvocationHandler {
+
+		private final Object fValue;
+
+		StubValue(Object value) {
+			fValue = value;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+				case "getSignature":
+					return fValue == null ? null : getSignature(fValue);
+				case "isNull":
+					return Boolean.valueOf(fValue == null);
+				case "getBooleanValue":
+					return fValue;
+				case "getCharValue":
+					return Character.valueOf(fValue instanceof Character c ? c.charValue() : (char) ((Number) fValue).intValue());
+				case "getByteValue":
+					return Byte.valueOf((byte) getLong());
+				case "getShortValue":
+					return Short.valueOf((short) getLong());
+				case "getIntValue":
+					return Integer.valueOf((int) getLong());
+				case "getLongValue":
+					return Long.valueOf(getLong());
+				case "equals":
+					return Boolean.valueOf(proxy == args[0]);
+				case "hashCode":
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "toString":
+					return String.valueOf(fValue);
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		}
+
+		private long getLong() {
+			if (fValue instanceof Character c) {
+				return c.charValue();
+			}
+			return ((Number) fValue).longValue();
+		}
+
+		private static String getSignature(Object value) {
+			if (value instanceof Boolean) {
+				return "Z";
+			}
+			if (value instanceof Character) {
+				return "C";
+			}
+			if (value instanceof Long) {
+				return "J";
+			}
+			if (value instanceof Byte) {
+				return "B";
+			}
+			if (value instanceof Short) {
+				return "S";
+			}
+			return "I";
+		}
+	}
+
+	/**
+	 * Runtime context of a stack frame with the given local variables
+	 */
+	private static class StubRuntimeContext implements IRuntimeContext {
+
+		private final IJavaDebugTarget fTarget;
+		private final Map<String, IJavaVariable> fLocals = new LinkedHashMap<>();
+
+		StubRuntimeContext() {
+			fTarget = (IJavaDebugTarget) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IJavaDebugTarget.class }, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "newValue":
+						return newValue(args[0]);
+					case "nullValue":
+						return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IJavaValue.class }, new StubValue(null));
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		}
+
+		void setLocal(String name, Object value) {
+			IJavaValue javaValue = newValue(value);
+			fLocals.put(name, (IJavaVariable) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IJavaVariable.class }, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "getName":
+						return name;
+					case "getValue":
+						return javaValue;
+					case "equals":
+						return Boolean.valueOf(proxy == args[0]);
+					case "hashCode":
+						return Integer.valueOf(System.identityHashCode(proxy));
+					case "toString":
+						return name;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			}));
+		}
+
+		IJavaValue newValue(Object value) {
+			return (IJavaValue) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IJavaPrimitiveValue.class }, new StubValue(value));
+		}
+
+		@Override
+		public IJavaDebugTarget getVM() {
+			return fTarget;
+		}
+
+		@Override
+		public IJavaVariable[] getLocals() {
+			return fLocals.values().toArray(new IJavaVariable[fLocals.size()]);
+		}
+
+		@Override
+		public IJavaObject getThis() {
+			return null;
+		}
+
+		@Override
+		public IJavaReferenceType getReceivingType() {
+			return null;
+		}
+
+		@Override
+		public IJavaProject getProject() {
+			return null;
+		}
+
+		@Override
+		public IJavaThread getThread() {
+			return null;
+		}
+
+		@Override
+		public boolean isConstructor() {
+			return false;
+		}
+
+		@Override
+		public IJavaClassObject classForName(String name) {
+			return null;
+		}
+	}
+
+	/**
+	 * Constructor
+	 */
+	public PerfInterpreterTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that conditions executed on unboxed operands compute the same
+	 * values as the interpreted instructions
+	 */
+	public void testPrimitiveProgramMatchesInterpreter() throws Exception {
+		StubRuntimeContext context = new StubRuntimeContext();
+		InstructionSequence[] conditions = { getSimpleCondition(false), getCompoundCondition(false) };
+		InstructionSequence[] interpreted = { getSimpleCondition(true), getCompoundCondition(true) };
+		for (int c = 0; c < conditions.length; c++) {
+			assertNotNull("Condition should be executed on unboxed operands", conditions[c].getPrimitiveProgram());
+			assertNull("Condition should be interpreted", interpreted[c].getPrimitiveProgram());
+			for (int i = -20; i <= 60; i++) {
+				context.setLocal("i", Integer.valueOf(i));
+				assertEquals("Wrong result for i = " + i, execute(interpreted[c], context), execute(conditions[c], context));
+			}
+		}
+	}
+
+	/**
+	 * Tests executing a comparison of a local variable with a literal on
+	 * unboxed operands
+	 */
+	public void testPrimitiveSimpleCondition() throws Exception {
+		tagAsSummary("Interpreter: i == 3", Dimension.ELAPSED_PROCESS);
+		runCondition(getSimpleCondition(false));
+	}
+
+	/**
+	 * Tests interpreting a comparison of a local variable with a literal, as a
+	 * baseline
+	 */
+	public void testInterpretSimpleCondition() throws Exception {
+		tagAsSummary("Interpreter: interpreted i == 3", Dimension.ELAPSED_PROCESS);
+		runCondition(getSimpleCondition(true));
+	}
+
+	/**
+	 * Tests executing a condition with arithmetic and short-circuit operators
+	 * on unboxed operands
+	 */
+	public void testPrimitiveCompoundCondition() throws Exception {
+		tagAsSummary("Interpreter: compound condition", Dimension.ELAPSED_PROCESS);
+		runCondition(getCompoundCondition(false));
+	}
+
+	/**
+	 * Tests interpreting a condition with arithmetic and short-circuit
+	 * operators, as a baseline
+	 */
+	public void testInterpretCompoundCondition() throws Exception {
+		tagAsSummary("Interpreter: interpreted compound condition", Dimension.ELAPSED_PROCESS);
+		runCondition(getCompoundCondition(true));
+	}
+
+	private void runCondition(InstructionSequence condition) throws Exception {
+		StubRuntimeContext context = new StubRuntimeContext();
+		context.setLocal("i", Integer.valueOf(0));
+		for (int run = 0; run < 12; run++) {
+			if (run >= 2) {
+				startMeasuring();
+			}
+			for (int n = 0; n < EXECUTIONS; n++) {
+				Interpreter interpreter = new Interpreter(condition, context);
+				interpreter.execute(false);
+				if (n == 0) {
+					assertFalse("Wrong result", ((IJavaPrimitiveValue) interpreter.getResult()).getBooleanValue());
+				}
+			}
+			if (run >= 2) {
+				stopMeasuring();
+			}
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private Object execute(InstructionSequence condition, IRuntimeContext context) throws Exception {
+		Interpreter interpreter = new Interpreter(condition, context);
+		interpreter.execute(false);
+		return Boolean.valueOf(((IJavaPrimitiveValue) interpreter.getResult()).getBooleanValue());
+	}
+
+	/**
+	 * Returns the instructions of <code>i == 3</code>
+	 *
+	 * @param interpreted
+	 *            whether the instructions cannot be executed on unboxed
+	 *            operands
+	 */
+	private InstructionSequence getSimpleCondition(boolean interpreted) {
+		return newSequence(interpreted, comparison("i", 3));
+	}
+
+	/**
+	 * Returns the instructions of
+	 * <code>i == 3 || (i &gt; 10 &amp;&amp; i % 2 == 0) || i * 7 + 1 == 50</code>
+	 *
+	 * @param interpreted
+	 *            whether the instructions cannot be executed on unboxed
+	 *            operands
+	 */
+	private InstructionSequence getCompoundCondition(boolean interpreted) {
+		Instruction[] greater = { new PushLocalVariable("i"), new PushInt(10), new GreaterOperator(Instruction.T_int, Instruction.T_int, 0) };
+		Instruction[] even = { new PushLocalVariable("i"), new PushInt(2),
+				new RemainderOperator(Instruction.T_int, Instruction.T_int, Instruction.T_int, 0), new PushInt(0),
+				new EqualEqualOperator(Instruction.T_int, Instruction.T_int, true, 0) };
+		Instruction[] product = { new PushLocalVariable("i"), new PushInt(7),
+				new MultiplyOperator(Instruction.T_int, Instruction.T_int, Instruction.T_int, 0), new PushInt(1),
+				new PlusOperator(Instruction.T_int, Instruction.T_int, Instruction.T_int, 0), new PushInt(50),
+				new EqualEqualOperator(Instruction.T_int, Instruction.T_int, true, 0) };
+		return newSequence(interpreted, conditional(true, comparison("i", 3), conditional(false, greater, even), product));
+	}
+
+	private static Instruction[] comparison(String local, int value) {
+		return new Instruction[] { new PushLocalVariable(local), new PushInt(value),
+				new EqualEqualOperator(Instruction.T_int, Instruction.T_int, true, 0) };
+	}
+
+	/**
+	 * Returns the instructions of the given operands of a conditional
+	 * operator, laid out as <code>ASTInstructionCompiler</code> does
+	 */
+	private static Instruction[] conditional(boolean isOrOr, Instruction[]... operands) {
+		List<Instruction> instructions = new ArrayList<>();
+		List<Integer> jumps = new ArrayList<>();
+		for (int i = 0; i < operands.length; i++) {
+			if (i > 0) {
+				jumps.add(Integer.valueOf(instructions.size()));
+				instructions.add(new ConditionalJump(isOrOr));
+			}
+			instructions.addAll(List.of(operands[i]));
+		}
+		Jump jump = new Jump();
+		jump.setOffset(1);
+		instructions.add(jump);
+		for (Integer address : jumps) {
+			((Jump) instructions.get(address.intValue())).setOffset(instructions.size() - address.intValue() - 1);
+		}
+		instructions.add(new PushBoolean(isOrOr));
+		for (int i = 1; i < operands.length; i++) {
+			instructions.add(new NoOp(0));
+		}
+		return instructions.toArray(new Instruction[instructions.size()]);
+	}
+
+	/**
+	 * Returns a sequence of the given instructions. Interpreted sequences
+	 * start with pushing and popping <code>null</code>, which cannot be
+	 * executed on unboxed operands.
+	 */
+	private static InstructionSequence newSequence(boolean interpreted, Instruction[] instructions) {
+		InstructionSequence sequence = new InstructionSequence("condition");
+		if (interpreted) {
+			sequence.add(new PushNull());
+			sequence.add(new Pop(0));
+		}
+		for (Instruction instruction : instructions) {
+			sequence.add(instruction);
+		}
+		return sequence;
+	}
+}
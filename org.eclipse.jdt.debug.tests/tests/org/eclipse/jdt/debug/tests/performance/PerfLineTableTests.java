@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.jdi.internal.LineTable;
+import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Tests the memory use and lookup time of the line tables of the methods of a
+ * large generated class, compared to line tables kept in boxed hash maps. Also
+ * tests that both answer the same lookups.
+ */
+public class PerfLineTableTests extends AbstractDebugPerformanceTest {
+
+	private static final int METHOD_COUNT = 10000;
+	private static final int LINES_PER_METHOD = 30;
+	private static final int LOOKUP_ROUNDS = 20;
+
+	/**
+	 * Line table of a method kept in maps, with the lookups formerly done by
+	 * <code>MethodImpl</code>, as a baseline
+	 */
+	private static class BoxedLineTable {
+
+		final long fLowestCodeIndex;
+		final long fHighestCodeIndex;
+		// the arrays were kept next to the maps
+		final long[] fCodeIndexTable;
+		final int[] fLineNumberTable;
+		final Map<Long, Integer> fCodeIndexToLine = new HashMap<>();
+		final Map<Integer, List<Long>> fLineToCodeIndexes = new HashMap<>();
+
+		BoxedLineTable(long lowestCodeIndex, long highestCodeIndex, long[] codeIndexes, int[] lines) {
+			fLowestCodeIndex = lowestCodeIndex;
+			fHighestCodeIndex = highestCodeIndex;
+			// the binary searches relied on the VM sending the entries in code
+			// index order
+			fCodeIndexTable = codeIndexes.clone();
+			Arrays.sort(fCodeIndexTable);
+			fLineNumberTable = lines;
+			for (int i = 0; i < codeIndexes.length; i++) {
+				Long codeIndex = Long.valueOf(codeIndexes[i]);
+				Integer line = Integer.valueOf(lines[i]);
+				fCodeIndexToLine.put(codeIndex, line);
+				fLineToCodeIndexes.computeIfAbsent(line, l -> new ArrayList<>()).add(codeIndex);
+			}
+		}
+
+		int lineContaining(long codeIndex) {
+			if (codeIndex > fHighestCodeIndex) {
+				return -1;
+			}
+			Integer line;
+			long index = codeIndex;
+			do {
+				line = fCodeIndexToLine.get(Long.valueOf(index));
+			} while (line == null && --index >= fLowestCodeIndex);
+			if (line == null && codeIndex >= fLowestCodeIndex) {
+				index = codeIndex;
+				do {
+					line = fCodeIndexToLine.get(Long.valueOf(index));
+				} while (line == null && ++index <= fHighestCodeIndex);
+			}
+			return line == null ? -1 : line.intValue();
+		}
+
+		List<Long> codeIndexesOfRanges(int... lines) {
+			Set<Long> codeIndexes = new TreeSet<>();
+			for (int line : lines) {
+				List<Long> lineCodeIndexes = fLineToCodeIndexes.get(Integer.valueOf(line));
+				if (lineCodeIndexes != null) {
+					codeIndexes.addAll(lineCodeIndexes);
+				}
+			}
+			List<Long> starts = new ArrayList<>();
+			for (Long codeIndex : codeIndexes) {
+				int position = Arrays.binarySearch(fCodeIndexTable, codeIndex.longValue());
+				if (position < 0) {
+					continue;
+				}
+				if (position == 0 || !codeIndexes.contains(Long.valueOf(fCodeIndexTable[position - 1]))) {
+					starts.add(codeIndex);
+				}
+			}
+			return starts;
+		}
+	}
+
+	/**
+	 * Creates a line table from the line number table of a method
+	 */
+	private interface LineTableFactory<T> {
+		T create(long lowestCodeIndex, long highestCodeIndex, long[] codeIndexes, int[] lines);
+	}
+
+	/**
+	 * Looks up the given entry of the line table of the given method
+	 */
+	private interface Lookup<T> {
+		int lookup(T table, int method, int entry);
+	}
+
+	/**
+	 * Constructor
+	 */
+	public PerfLineTableTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that line tables answer the same lookups as the boxed line tables,
+	 * for entries out of code index order, with duplicate code indexes and
+	 * with code indexes outside of the valid range of the method
+	 */
+	public void testLineTableMatchesBoxedLineTable() throws Exception {
+		// unsorted
+		assertSameLookups(0, 20, new long[] { 12, 0, 8, 4 }, new int[] { 13, 10, 12, 11 });
+		// duplicate code indexes, the last entry wins
+		assertSameLookups(0, 20, new long[] { 0, 4, 4, 9, 9, 15 }, new int[] { 10, 11, 12, 12, 11, 13 });
+		// entries below the lowest and above the highest code index
+		assertSameLookups(5, 20, new long[] { 2, 6, 11, 18, 24 }, new int[] { 9, 10, 11, 10, 14 });
+		// no entry at the lowest code index
+		assertSameLookups(0, 30, new long[] { 7, 14, 21 }, new int[] { 20, 21, 20 });
+
+		Random random = new Random(4711);
+		for (int i = 0; i < 1000; i++) {
+			int size = 1 + random.nextInt(12);
+			long lowest = random.nextInt(5);
+			long highest = lowest + random.nextInt(40);
+			long[] codeIndexes = new long[size];
+			int[] lines = new int[size];
+			for (int e = 0; e < size; e++) {
+				codeIndexes[e] = random.nextInt(50);
+				lines[e] = 1 + random.nextInt(6);
+			}
+			assertSameLookups(lowest, highest, codeIndexes, lines);
+		}
+	}
+
+	private static void assertSameLookups(long lowest, long highest, long[] codeIndexes, int[] lines) {
+		String description = "lowest " + lowest + ", highest " + highest + ", code indexes " + Arrays.toString(codeIndexes) + ", lines " + Arrays.toString(lines);
+		BoxedLineTable boxed = new BoxedLineTable(lowest, highest, codeIndexes.clone(), lines.clone());
+		LineTable table = new LineTable(lowest, highest, codeIndexes.clone(), lines.clone());
+		long min = Arrays.stream(codeIndexes).min().getAsLong();
+		long max = Arrays.stream(codeIndexes).max().getAsLong();
+		for (long codeIndex = Math.min(min, lowest) - 2; codeIndex <= Math.max(max, highest) + 2; codeIndex++) {
+			assertEquals("Wrong line of code index " + codeIndex + ": " + description, boxed.lineContaining(codeIndex), table.lineContaining(codeIndex));
+		}
+		int maxLine = Arrays.stream(lines).max().getAsInt();
+		for (int line = 0; line <= maxLine + 1; line++) {
+			assertEquals("Wrong code indexes of line " + line + ": " + description, boxed.codeIndexesOfRanges(line), toList(table.codeIndexesOfRanges(new int[] { line })));
+			for (int other = line + 1; other <= maxLine + 1; other++) {
+				assertEquals("Wrong code indexes of lines " + line + ", " + other + ": " + description, boxed.codeIndexesOfRanges(line, other), toList(table.codeIndexesOfRanges(new int[] { line, other })));
+			}
+		}
+	}
+
+	private static List<Long> toList(long[] values) {
+		List<Long> list = new ArrayList<>(values.length);
+		for (long value : values) {
+			list.add(Long.valueOf(value));
+		}
+		return list;
+	}
+
+	/**
+	 * Tests the memory used by the line tables of a 10k method class
+	 */
+	public void testLineTableMemory() throws Exception {
+		tagAsSummary("Line Tables: memory, 10k methods", Dimension.USED_JAVA_HEAP);
+		measureRetainedHeap(5, () -> createLineTables(LineTable::new));
+	}
+
+	/**
+	 * Tests the memory used by the boxed line tables of a 10k method class
+	 */
+	public void testBoxedLineTableMemory() throws Exception {
+		tagAsSummary("Line Tables: boxed memory, 10k methods", Dimension.USED_JAVA_HEAP);
+		measureRetainedHeap(5, () -> createLineTables(BoxedLineTable::new));
+	}
+
+	/**
+	 * Tests looking up the line of a code index and the locations of a line in
+	 * the line tables of a 10k method class
+	 */
+	public void testLineTableLookups() throws Exception {
+		tagAsSummary("Line Tables: lookups, 10k methods", Dimension.ELAPSED_PROCESS);
+		List<LineTable> tables = createLineTables(LineTable::new);
+		measureComputation(25, () -> lookup(tables, (table, m, l) -> table.lineContaining(codeIndex(l) + 3)
+				+ table.codeIndexesOfRanges(new int[] { line(m, l) }).length));
+	}
+
+	/**
+	 * Tests looking up the line of a code index and the locations of a line in
+	 * the boxed line tables of a 10k method class
+	 */
+	public void testBoxedLineTableLookups() throws Exception {
+		tagAsSummary("Line Tables: boxed lookups, 10k methods", Dimension.ELAPSED_PROCESS);
+		List<BoxedLineTable> tables = createLineTables(BoxedLineTable::new);
+		measureComputation(25, () -> lookup(tables, (table, m, l) -> table.lineContaining(codeIndex(l) + 3)
+				+ table.codeIndexesOfRanges(line(m, l)).size()));
+	}
+
+	/**
+	 * Runs the given lookup for all entries of the given line tables, a few
+	 * times, and returns the sum of the results
+	 */
+	private static <T> long lookup(List<T> tables, Lookup<T> lookup) {
+		long sum = 0;
+		for (int round = 0; round < LOOKUP_ROUNDS; round++) {
+			for (int m = 0; m < METHOD_COUNT; m++) {
+				T table = tables.get(m);
+				for (int l = 0; l < LINES_PER_METHOD; l++) {
+					sum += lookup.lookup(table, m, l);
+				}
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Code index of the given entry of a line table, like the instructions of
+	 * a method spanning a few bytes each
+	 */
+	private static long codeIndex(int entry) {
+		return entry * 7L;
+	}
+
+	/**
+	 * Line number of the given entry of the line table of the given method of
+	 * a generated class, where every method spans its own lines
+	 */
+	private static int line(int method, int entry) {
+		return method * LINES_PER_METHOD + entry + 1;
+	}
+
+	private static <T> List<T> createLineTables(LineTableFactory<T> factory) {
+		List<T> tables = new ArrayList<>(METHOD_COUNT);
+		for (int m = 0; m < METHOD_COUNT; m++) {
+			long[] codeIndexes = new long[LINES_PER_METHOD];
+			int[] lines = new int[LINES_PER_METHOD];
+			for (int l = 0; l < LINES_PER_METHOD; l++) {
+				codeIndexes[l] = codeIndex(l);
+				lines[l] = line(m, l);
+			}
+			tables.add(factory.create(0, codeIndex(LINES_PER_METHOD), codeIndexes, lines));
+		}
+		return tables;
+	}
+}
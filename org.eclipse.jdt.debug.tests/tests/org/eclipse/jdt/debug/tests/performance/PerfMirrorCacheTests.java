@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdi.internal.MirrorCache;
+import org.eclipse.jdi.internal.StripedValueCache;
+import org.eclipse.jdi.internal.ValueCache;
+import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
+import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Tests the performance of the caches used for mirror lookups by JDWP ID when
+ * they are accessed by several jobs at once, like views updating in parallel
+ * after a suspend.
+ */
+public class PerfMirrorCacheTests extends AbstractDebugPerformanceTest {
+
+	private static final int JOB_COUNT = 8;
+	private static final int MIRROR_COUNT = 20000;
+	private static final int LOOKUPS_PER_JOB = 200000;
+
+	private JdwpObjectID[] fIDs;
+	private Object[] fMirrors;
+	private ExecutorService fExecutor;
+
+	/**
+	 * Constructor
+	 */
+	public PerfMirrorCacheTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fIDs = new JdwpObjectID[MIRROR_COUNT];
+		fMirrors = new Object[MIRROR_COUNT];
+		for (int i = 0; i < MIRROR_COUNT; i++) {
+			// IDs handed out by VMs are sparse
+			fIDs[i] = newID(0x7f0000000000L + i * 24L);
+			fMirrors[i] = new Object();
+		}
+		fExecutor = Executors.newFixedThreadPool(JOB_COUNT);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fExecutor.shutdownNow();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests concurrent lookups in the {@link ValueCache}
+	 */
+	public void testValueCacheConcurrentLookups() throws Exception {
+		tagAsSummary("Mirror Cache: ValueCache, 8 jobs", Dimension.ELAPSED_PROCESS);
+		runLookups(new ValueCache());
+	}
+
+	/**
+	 * Tests concurrent lookups in the default {@link StripedValueCache}
+	 */
+	public void testStripedValueCacheConcurrentLookups() throws Exception {
+		tagAsSummary("Mirror Cache: StripedValueCache, 8 jobs", Dimension.ELAPSED_PROCESS);
+		runLookups(new StripedValueCache());
+	}
+
+	private void runLookups(MirrorCache cache) throws Exception {
+		for (int i = 0; i < MIRROR_COUNT; i++) {
+			cache.put(fIDs[i], fMirrors[i]);
+		}
+		for (int i = 0; i < 5; i++) {
+			lookupConcurrently(cache);
+		}
+		measureComputation(20, () -> lookupConcurrently(cache));
+	}
+
+	/**
+	 * Runs the lookup jobs and waits for all of them to complete. Every job
+	 * walks the IDs with its own stride and re-caches a mirror every now and
+	 * then, like mirrors being created for newly seen objects.
+	 *
+	 * @return the number of lookups
+	 */
+	private long lookupConcurrently(MirrorCache cache) {
+		List<Future<Integer>> jobs = new ArrayList<>(JOB_COUNT);
+		for (int j = 0; j < JOB_COUNT; j++) {
+			final int stride = 2 * j + 1;
+			jobs.add(fExecutor.submit(() -> {
+				int index = 0;
+				int lookups = 0;
+				for (int i = 0; i < LOOKUPS_PER_JOB; i++) {
+					index = (index + stride) % MIRROR_COUNT;
+					if (i % 64 == 0) {
+						cache.put(fIDs[index], fMirrors[index]);
+					} else {
+						assertSame("Wrong mirror cached", fMirrors[index], cache.get(fIDs[index]));
+						lookups++;
+					}
+				}
+				return Integer.valueOf(lookups);
+			}));
+		}
+		long lookups = 0;
+		for (Future<Integer> job : jobs) {
+			try {
+				lookups += job.get().intValue();
+			} catch (InterruptedException | ExecutionException e) {
+				throw new AssertionError("Lookup job failed", e);
+			}
+		}
+		return lookups;
+	}
+
+	private static JdwpObjectID newID(long value) throws IOException {
+		JdwpObjectID id = new JdwpObjectID(null) {
+			@Override
+			public int getSize() {
+				return Long.BYTES;
+			}
+		};
+		id.read(new DataInputStream(new ByteArrayInputStream(ByteBuffer.allocate(Long.BYTES).putLong(value).array())));
+		return id;
+	}
+}
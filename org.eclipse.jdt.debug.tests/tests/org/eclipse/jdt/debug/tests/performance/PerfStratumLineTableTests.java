@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.eclipse.jdi.internal.StratumLineTable;
+import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Tests the memory use and lookup time of the line tables of the strata of
+ * many generated JSP-like types, compared to line tables expanded into boxed
+ * hash maps. Also tests that both map the same lines.
+ */
+public class PerfStratumLineTableTests extends AbstractDebugPerformanceTest {
+
+	private static final int TYPE_COUNT = 1000;
+	private static final int LINE_INFOS_PER_TYPE = 50;
+	private static final int LOOKUP_ROUNDS = 50;
+
+	/**
+	 * Line table of a stratum expanded line by line into maps, as formerly done
+	 * by <code>ReferenceTypeImpl</code> for each type with a SMAP, as a
+	 * baseline
+	 */
+	private static class BoxedStratumLineTable {
+
+		/**
+		 * Input line to [output start line, output line increment] by file id
+		 */
+		final Map<Integer, Map<Integer, List<int[]>>> fFileLineInfos = new HashMap<>();
+
+		/**
+		 * Output line to [file id, input line]
+		 */
+		final Map<Integer, List<int[]>> fOutputLineToInputLines = new HashMap<>();
+
+		BoxedStratumLineTable(int[] lineInfos, int count) {
+			for (int i = 0; i < count * 5; i += 5) {
+				int inputLine = lineInfos[i];
+				int fileId = lineInfos[i + 1];
+				int outputLine = lineInfos[i + 3];
+				int increment = lineInfos[i + 4];
+				Map<Integer, List<int[]>> fileLineInfos = fFileLineInfos.computeIfAbsent(Integer.valueOf(fileId), f -> new HashMap<>());
+				for (int r = 0; r < lineInfos[i + 2]; r++, inputLine++) {
+					fileLineInfos.computeIfAbsent(Integer.valueOf(inputLine), l -> new ArrayList<>()).add(new int[] { outputLine, increment });
+					if (increment == 0) {
+						// see bug 40022
+						addInputLine(outputLine, fileId, inputLine);
+					} else {
+						for (int j = 0; j < increment; j++, outputLine++) {
+							addInputLine(outputLine, fileId, inputLine);
+						}
+					}
+				}
+			}
+		}
+
+		private void addInputLine(int outputLine, int fileId, int inputLine) {
+			fOutputLineToInputLines.computeIfAbsent(Integer.valueOf(outputLine), l -> new ArrayList<>()).add(new int[] { fileId, inputLine });
+		}
+
+		List<int[]> inputLines(int outputLine) {
+			return fOutputLineToInputLines.getOrDefault(Integer.valueOf(outputLine), Collections.emptyList());
+		}
+
+		List<Integer> outputLines(int fileId, int inputLine) {
+			List<Integer> outputLines = new ArrayList<>();
+			Map<Integer, List<int[]>> fileLineInfos = fFileLineInfos.get(Integer.valueOf(fileId));
+			List<int[]> infos = fileLineInfos == null ? null : fileLineInfos.get(Integer.valueOf(inputLine));
+			if (infos != null) {
+				for (int[] info : infos) {
+					for (int i = 0; i < Math.max(info[1], 1); i++) {
+						outputLines.add(Integer.valueOf(info[0] + i));
+					}
+				}
+			}
+			return outputLines;
+		}
+	}
+
+	/**
+	 * Maps the lines of the given line info of a stratum line table
+	 */
+	private interface Lookup<T> {
+		int lookup(T table, int lineInfo);
+	}
+
+	/**
+	 * Constructor
+	 */
+	public PerfStratumLineTableTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that stratum line tables map the same lines as the boxed stratum
+	 * line tables, in the same order, including line infos with an output line
+	 * increment of 0 and line infos overlapping each other
+	 */
+	public void testStratumLineTableMatchesBoxedStratumLineTable() throws Exception {
+		// output line increment of 0, see bug 40022
+		assertSameLines(new int[] { 1, 0, 3, 3, 1, 5, 0, 2, 12, 0, 8, 1, 1, 12, 2 });
+		// overlapping input and output lines of several files
+		assertSameLines(new int[] { 1, 0, 4, 10, 2, 3, 0, 2, 11, 1, 3, 1, 2, 9, 3, 2, 0, 1, 14, 0 });
+
+		Random random = new Random(4711);
+		for (int i = 0; i < 1000; i++) {
+			int[] lineInfos = new int[(1 + random.nextInt(8)) * 5];
+			for (int l = 0; l < lineInfos.length; l += 5) {
+				lineInfos[l] = 1 + random.nextInt(15);
+				lineInfos[l + 1] = random.nextInt(3);
+				lineInfos[l + 2] = 1 + random.nextInt(4);
+				lineInfos[l + 3] = 1 + random.nextInt(30);
+				lineInfos[l + 4] = random.nextInt(4);
+			}
+			assertSameLines(lineInfos);
+		}
+	}
+
+	private static void assertSameLines(int[] lineInfos) {
+		String description = "line infos " + Arrays.toString(lineInfos);
+		int count = lineInfos.length / 5;
+		BoxedStratumLineTable boxed = new BoxedStratumLineTable(lineInfos.clone(), count);
+		StratumLineTable table = new StratumLineTable(lineInfos.clone(), count);
+		for (int outputLine = 0; outputLine <= 50; outputLine++) {
+			assertEquals("Wrong input lines of output line " + outputLine + ": " + description, toString(boxed.inputLines(outputLine)), toString(table.inputLines(outputLine)));
+		}
+		for (int fileId = 0; fileId < 3; fileId++) {
+			for (int inputLine = 0; inputLine <= 20; inputLine++) {
+				assertEquals("Wrong output lines of input line " + inputLine + " of file " + fileId + ": " + description, boxed.outputLines(fileId, inputLine), table.outputLines(fileId, inputLine));
+			}
+		}
+	}
+
+	private static String toString(List<int[]> inputLines) {
+		StringBuilder buffer = new StringBuilder();
+		for (int[] inputLine : inputLines) {
+			buffer.append(Arrays.toString(inputLine));
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Tests the memory used by the stratum line tables of 1k types
+	 */
+	public void testStratumLineTableMemory() throws Exception {
+		tagAsSummary("Stratum Line Tables: memory, 1k types", Dimension.USED_JAVA_HEAP);
+		measureRetainedHeap(5, () -> createLineTables(lineInfos -> new StratumLineTable(lineInfos, LINE_INFOS_PER_TYPE)));
+	}
+
+	/**
+	 * Tests the memory used by the boxed stratum line tables of 1k types
+	 */
+	public void testBoxedStratumLineTableMemory() throws Exception {
+		tagAsSummary("Stratum Line Tables: boxed memory, 1k types", Dimension.USED_JAVA_HEAP);
+		measureRetainedHeap(5, () -> createLineTables(lineInfos -> new BoxedStratumLineTable(lineInfos, LINE_INFOS_PER_TYPE)));
+	}
+
+	/**
+	 * Tests mapping lines in both directions in the stratum line tables of 1k
+	 * types
+	 */
+	public void testStratumLineTableLookups() throws Exception {
+		tagAsSummary("Stratum Line Tables: lookups, 1k types", Dimension.ELAPSED_PROCESS);
+		List<StratumLineTable> tables = createLineTables(lineInfos -> new StratumLineTable(lineInfos, LINE_INFOS_PER_TYPE));
+		measureComputation(25, () -> lookup(tables, (table, l) -> table.inputLines(outputLine(l) + 1).size()
+				+ table.outputLines(0, inputLine(l)).size()));
+	}
+
+	/**
+	 * Tests mapping lines in both directions in the boxed stratum line tables
+	 * of 1k types
+	 */
+	public void testBoxedStratumLineTableLookups() throws Exception {
+		tagAsSummary("Stratum Line Tables: boxed lookups, 1k types", Dimension.ELAPSED_PROCESS);
+		List<BoxedStratumLineTable> tables = createLineTables(lineInfos -> new BoxedStratumLineTable(lineInfos, LINE_INFOS_PER_TYPE));
+		measureComputation(25, () -> lookup(tables, (table, l) -> table.inputLines(outputLine(l) + 1).size()
+				+ table.outputLines(0, inputLine(l)).size()));
+	}
+
+	/**
+	 * Runs the given lookup for all line infos of the given tables, a few
+	 * times, and returns the sum of the results
+	 */
+	private static <T> long lookup(List<T> tables, Lookup<T> lookup) {
+		long sum = 0;
+		for (int round = 0; round < LOOKUP_ROUNDS; round++) {
+			for (T table : tables) {
+				for (int l = 0; l < LINE_INFOS_PER_TYPE; l++) {
+					sum += lookup.lookup(table, l);
+				}
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * First input line of the given line info, like a tag spanning a few lines
+	 * of a JSP
+	 */
+	private static int inputLine(int lineInfo) {
+		return lineInfo * 3 + 1;
+	}
+
+	/**
+	 * First output line of the given line info, each input line being
+	 * translated to a few lines of Java code
+	 */
+	private static int outputLine(int lineInfo) {
+		return lineInfo * 12 + 40;
+	}
+
+	/**
+	 * Returns the line infos of a generated stratum, as input start line, file
+	 * id, repeat count, output start line and output line increment.
+	 */
+	private static int[] lineInfos() {
+		int[] lineInfos = new int[LINE_INFOS_PER_TYPE * 5];
+		for (int l = 0; l < LINE_INFOS_PER_TYPE; l++) {
+			lineInfos[l * 5] = inputLine(l);
+			lineInfos[l * 5 + 1] = 0;
+			lineInfos[l * 5 + 2] = 3;
+			lineInfos[l * 5 + 3] = outputLine(l);
+			lineInfos[l * 5 + 4] = 4;
+		}
+		return lineInfos;
+	}
+
+	private static <T> List<T> createLineTables(Function<int[], T> factory) {
+		List<T> tables = new ArrayList<>(TYPE_COUNT);
+		for (int t = 0; t < TYPE_COUNT; t++) {
+			tables.add(factory.apply(lineInfos()));
+		}
+		return tables;
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.performance;
+
+import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Tests the performance of the debug target when the target VM starts and ends
+ * a large number of short-lived threads.
+ */
+public class PerfThreadChurnTests extends AbstractDebugPerformanceTest {
+
+	/**
+	 * Constructor
+	 */
+	public PerfThreadChurnTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests launching a program that starts 50,000 threads, at most 64 of them
+	 * running at once, to a breakpoint after the threads have ended.
+	 */
+	public void testThreadChurn50000Threads() throws Exception {
+		tagAsSummary("Thread churn: 50,000 thread starts", Dimension.ELAPSED_PROCESS);
+		String typeName = "ThreadChurn";
+		createLineBreakpoint(32, typeName);
+		try {
+			for (int i = 0; i < 3; i++) {
+				IJavaThread thread = null;
+				try {
+					startMeasuring();
+					thread = launchToBreakpoint(typeName, false);
+					stopMeasuring();
+					for (IThread other : thread.getDebugTarget().getThreads()) {
+						assertNotNull("Missing thread", other);
+						assertFalse("Ended thread not removed: " + other.getName(), other.getName().startsWith("churn-"));
+					}
+				} finally {
+					terminateAndRemove(thread);
+				}
+			}
+			commitMeasurements();
+			assertPerformance();
+		} finally {
+			removeAllBreakpoints();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2006, 2024 IBM Corporation and others.
+ *  Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -95,6 +95,13 @@ public class JavaThreadContentProvider extends JavaElementContentProvider {
 		if (!thread.isSuspended()) {
 			return EMPTY;
 		}
+		if (thread instanceof JDIThread jThread && !isDisplayMonitors() && !getStackFrameProvider().isCollapseStackFrames()) {
+			// only retrieve the frames that are shown
+			if (!jThread.getDebugTarget().isSuspended() && jThread.isSuspendVoteInProgress()) {
+				return EMPTY;
+			}
+			return jThread.getStackFrames(index, length);
+		}
 		return getElements(getChildren(thread), index, length);
 	}
 
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval;
+
+import org.eclipse.jdt.debug.eval.IEvaluationListener;
+
+/**
+ * An evaluation listener that may stop waiting for the result of its
+ * evaluation, for example when a breakpoint condition times out. An abandoned
+ * evaluation that is still queued in its thread is not run, and one that has
+ * started is terminated before its next instruction. The listener is notified
+ * of a terminated result in both cases.
+ */
+public interface IAbandonableEvaluationListener extends IEvaluationListener {
+
+	/**
+	 * Returns whether the result of the evaluation is no longer awaited, in
+	 * which case the evaluation must not start.
+	 *
+	 * @return whether the evaluation was abandoned
+	 */
+	boolean isAbandoned();
+}
@@ -1,6 +1,6 @@
 /*******************************************************************************
 
- * Copyright (c) 2019, 2020 Jesper Steen Møller and others.
+ * Copyright (c) 2019, 2026 Jesper Steen Møller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,9 +17,11 @@ package org.eclipse.jdt.internal.debug.eval;
 
 import static org.eclipse.jdt.core.eval.ICodeSnippetRequestor.LOCAL_VAR_PREFIX;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -39,6 +41,7 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
@@ -51,16 +54,41 @@ import com.sun.jdi.ObjectReference;
 
 public class RemoteEvaluator {
 
+	/**
+	 * Status code of the exception thrown by
+	 * {@link #evaluate(IJavaThread, IJavaValue[])} when the classes of the
+	 * evaluation cannot be defined or instantiated in the target, as opposed to
+	 * the evaluation itself failing.
+	 */
+	public static final int INJECTION_FAILED = 180;
+
 	private final LinkedHashMap<String, byte[]> classFiles;
 
 	private final String codeSnippetClassName;
 
 	private final List<String> variableNames;
 
-	private final IJavaClassObject loadedClass = null;
-
 	private final String enclosingTypeName;
 
+	/**
+	 * Key of a class defined in a debug target by an evaluation, see
+	 * {@link JDIDebugTarget#getDefinedClass(Object)}. Classes are the same
+	 * when their class loader, name and class file are the same.
+	 */
+	private record DefinedClass(IJavaObject classLoader, String className, byte[] classFile) {
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof DefinedClass other && Objects.equals(classLoader, other.classLoader)
+					&& className.equals(other.className) && Arrays.equals(classFile, other.classFile);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(classLoader, className) * 31 + Arrays.hashCode(classFile);
+		}
+	}
+
 	/**
 	 * Constructs a new evaluation engine for the given VM in the context of the specified project. Class files required for the evaluation will be
 	 * deployed to the specified directory (which must be on the class path of the VM in order for evaluation to work).
@@ -73,10 +101,6 @@ public class RemoteEvaluator {
 	}
 
 	private IJavaClassObject loadTheClasses(IJavaThread theThread) throws DebugException {
-
-		if (loadedClass != null) {
-			return loadedClass;
-		}
 		JDIDebugTarget debugTarget = ((JDIDebugTarget) theThread.getDebugTarget());
 		IJavaClassObject theMainClass = null;
 		IJavaObject classloader = null;
@@ -86,9 +110,18 @@ public class RemoteEvaluator {
 
 		for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
 			String className = entry.getKey();
+			DefinedClass key = new DefinedClass(classloader, className, entry.getValue());
+			IJavaClassObject definedClass = debugTarget.getDefinedClass(key);
+			if (definedClass != null) {
+				if (codeSnippetClassName.equals(className)) {
+					theMainClass = definedClass;
+				}
+				continue;
+			}
 
 			IJavaReferenceType existingClass = tryLoadType(className, debugTarget);
 			if (existingClass != null) {
+				debugTarget.putDefinedClass(key, existingClass.getClassObject());
 				if (codeSnippetClassName.equals(className)) {
 					theMainClass = existingClass.getClassObject();
 				}
@@ -103,6 +136,7 @@ public class RemoteEvaluator {
 				};
 
 				IJavaClassObject theClass = (IJavaClassObject) classloader.sendMessage("defineClass", "(Ljava/lang/String;[BIILjava/security/ProtectionDomain;)Ljava/lang/Class;", defineClassArgs, theThread, false); //$NON-NLS-1$//$NON-NLS-2$
+				debugTarget.putDefinedClass(key, theClass);
 				if (codeSnippetClassName.equals(className)) {
 					theMainClass = theClass;
 				}
@@ -115,12 +149,7 @@ public class RemoteEvaluator {
 		IJavaReferenceType byteArrayType = findType("byte[]", debugTarget);//$NON-NLS-1$
 		byte[] classBytes = entry.getValue();
 		IJavaArray byteArray = ((IJavaArrayType) byteArrayType).newInstance(classBytes.length);
-
-		IJavaValue[] debugClassBytes = new IJavaValue[classBytes.length];
-		for (int ix = 0; ix < classBytes.length; ++ix) {
-			debugClassBytes[ix] = ((JDIDebugTarget) theThread.getDebugTarget()).newValue(classBytes[ix]);
-		}
-		byteArray.setValues(debugClassBytes);
+		((JDIArrayValue) byteArray).setByteValues(classBytes);
 		return byteArray;
 	}
 
@@ -299,7 +328,12 @@ public class RemoteEvaluator {
 		IJavaObject codeSnippetInstance = null;
 		IJavaDebugTarget debugTarget = ((IJavaDebugTarget) theThread.getDebugTarget());
 		try {
-			codeSnippetInstance = newInstance(theThread);
+			try {
+				codeSnippetInstance = newInstance(theThread);
+			} catch (DebugException e) {
+				IStatus status = e.getStatus();
+				throw new DebugException(new Status(IStatus.ERROR, JDIDebugModel.getPluginIdentifier(), INJECTION_FAILED, status.getMessage(), status.getException()));
+			}
 			initializeFreeVars(codeSnippetInstance, args);
 			codeSnippetInstance.sendMessage(ICodeSnippetRequestor.RUN_METHOD, "()V", null, theThread, false); //$NON-NLS-1$
 
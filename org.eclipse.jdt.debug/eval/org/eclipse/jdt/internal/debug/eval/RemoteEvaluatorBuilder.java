@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Jesper Steen Møller and others.
+ * Copyright (c) 2019, 2026 Jesper Steen Møller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,6 +86,18 @@ public class RemoteEvaluatorBuilder {
 		acceptFunctionalExpression(node, expectedResult);
 	}
 
+	/**
+	 * Accepts a boolean expression that is evaluated as a whole by the
+	 * injected class, such as a breakpoint condition.
+	 *
+	 * @param condition
+	 *            boolean expression
+	 */
+	public void acceptCondition(Expression condition) {
+		FunctionalEvalVisitor visitor = new FunctionalEvalVisitor();
+		condition.accept(visitor);
+		this.snippet = "(boolean)(" + visitor.buffer.toString() + ")"; //$NON-NLS-1$//$NON-NLS-2$
+	}
 
 	private void acceptFunctionalExpression(Expression node, ITypeBinding expectedResult) {
 		FunctionalEvalVisitor visitor = new FunctionalEvalVisitor();
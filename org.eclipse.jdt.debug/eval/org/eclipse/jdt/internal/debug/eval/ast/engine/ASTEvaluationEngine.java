@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -76,7 +77,13 @@ import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 import org.eclipse.jdt.internal.debug.core.model.LambdaUtils;
 import org.eclipse.jdt.internal.debug.core.model.SyntheticVariableUtils;
 import org.eclipse.jdt.internal.debug.eval.EvaluationResult;
+import org.eclipse.jdt.internal.debug.eval.IAbandonableEvaluationListener;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushLocalVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushThis;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.RemoteOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.ReturnInstruction;
 
 import com.sun.jdi.InvocationException;
 import com.sun.jdi.ObjectReference;
@@ -263,11 +270,64 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 	 */
 	@Override
 	public ICompiledExpression getCompiledExpression(String snippet, IJavaStackFrame frame) {
+		return getCompiledExpression(snippet, frame, false);
+	}
+
+	/**
+	 * Returns the given condition compiled in the context of the given frame
+	 * into a class that is injected into the target VM, such that each
+	 * evaluation of the condition is a single method invocation. Returns
+	 * <code>null</code> if the condition is not a single side effect free
+	 * expression or cannot be compiled into an injected class, in which case
+	 * {@link #getCompiledExpression(String, IJavaStackFrame)} must be used.
+	 *
+	 * @param snippet
+	 *            the condition
+	 * @param frame
+	 *            the frame in which the condition is evaluated
+	 * @return the compiled condition or <code>null</code>
+	 */
+	public ICompiledExpression getRemoteCompiledCondition(String snippet, IJavaStackFrame frame) {
+		ICompiledExpression expression = getCompiledExpression(snippet, frame, true);
+		if (expression.hasErrors() || !isRemoteCondition(expression)) {
+			return null;
+		}
+		return expression;
+	}
+
+	/**
+	 * Returns whether the given expression evaluates a condition in a class
+	 * injected into the target VM, see
+	 * {@link #getRemoteCompiledCondition(String, IJavaStackFrame)}.
+	 *
+	 * @param expression
+	 *            compiled expression
+	 * @return whether the expression is evaluated by an injected class
+	 */
+	public static boolean isRemoteCondition(ICompiledExpression expression) {
+		if (!(expression instanceof InstructionSequence)) {
+			return false;
+		}
+		Instruction[] instructions = ((InstructionSequence) expression).getInstructions();
+		int length = instructions.length;
+		if (length < 2 || !(instructions[length - 1] instanceof ReturnInstruction) || !(instructions[length - 2] instanceof RemoteOperator)) {
+			return false;
+		}
+		for (int i = 0; i < length - 2; i++) {
+			if (!(instructions[i] instanceof PushLocalVariable || instructions[i] instanceof PushThis)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private ICompiledExpression getCompiledExpression(String snippet, IJavaStackFrame frame, boolean remote) {
 		IJavaProject javaProject = getJavaProject();
 		RuntimeContext context = new RuntimeContext(javaProject, frame);
 
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		CompiledExpressionCache.Key key = null;
 		try {
 			List<IJavaVariable> localsVar = new ArrayList<>();
 			localsVar.addAll(Arrays.asList(context.getLocals()));
@@ -360,6 +420,14 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 				extraOptions = Collections.singletonMap(CompilerOptions.OPTION_JdtDebugCompileMode, JavaCore.ENABLED);
 			}
 
+			Map<String, String> options = new HashMap<>(javaProject.getOptions(true));
+			options.putAll(extraOptions);
+			key = new CompiledExpressionCache.Key(javaProject, snippet, receivingType.getName(), frame.getLineNumber(), frame.isStatic(), Arrays.asList(localTypesNames), Arrays.asList(localVariables), options, remote);
+			ICompiledExpression expression = CompiledExpressionCache.getDefault().get(key);
+			if (expression != null) {
+				return expression;
+			}
+
 			unit = parseCompilationUnit(mapper.getSource(receivingType, frame.getLineNumber(), javaProject, frame.isStatic()).toCharArray(), mapper.getCompilationUnitName(), javaProject, extraOptions);
 		} catch (CoreException e) {
 			InstructionSequence expression = new InstructionSequence(snippet);
@@ -367,7 +435,11 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			return expression;
 		}
 
-		return createExpressionFromAST(snippet, mapper, unit);
+		ICompiledExpression expression = createExpressionFromAST(snippet, mapper, unit, remote);
+		if (!mapper.isBinaryBased()) {
+			CompiledExpressionCache.getDefault().put(key, expression);
+		}
+		return expression;
 	}
 
 	private IVariable[] extractVariables(IJavaObject thisClass) throws DebugException {
@@ -533,7 +605,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			return expression;
 		}
 
-		return createExpressionFromAST(snippet, mapper, unit);
+		return createExpressionFromAST(snippet, mapper, unit, false);
 	}
 
 	/*
@@ -575,17 +647,30 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		CompiledExpressionCache.Key key = null;
 
 		mapper = new EvaluationSourceGenerator(new String[0], new String[0], snippet, getJavaProject());
 
 		try {
+			Map<String, String> options = new HashMap<>(javaProject.getOptions(true));
+			options.putAll(compileOptions);
+			key = new CompiledExpressionCache.Key(javaProject, snippet, type.getName(), -1, false, Collections.emptyList(), Collections.emptyList(), options, false);
+			ICompiledExpression expression = CompiledExpressionCache.getDefault().get(key);
+			if (expression != null) {
+				return expression;
+			}
+
 			unit = parseCompilationUnit(mapper.getSource(type, -1, javaProject, false).toCharArray(), mapper.getCompilationUnitName(), javaProject, compileOptions);
 		} catch (CoreException e) {
 			InstructionSequence expression = new InstructionSequence(snippet);
 			expression.addError(e.getStatus().getMessage());
 			return expression;
 		}
-		return createExpressionFromAST(snippet, mapper, unit);
+		ICompiledExpression expression = createExpressionFromAST(snippet, mapper, unit, false);
+		if (!mapper.isBinaryBased()) {
+			CompiledExpressionCache.getDefault().put(key, expression);
+		}
+		return expression;
 	}
 	/**
 	 * Creates a compiled expression for the given snippet using the given mapper and compilation unit (AST).
@@ -597,7 +682,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 	 * @param unit
 	 *            the compilation unit (AST) generated for the snippet
 	 */
-	private ICompiledExpression createExpressionFromAST(String snippet, EvaluationSourceGenerator mapper, CompilationUnit unit) {
+	private ICompiledExpression createExpressionFromAST(String snippet, EvaluationSourceGenerator mapper, CompilationUnit unit, boolean remote) {
 		IProblem[] problems = unit.getProblems();
 		if (problems.length != 0) {
 			boolean snippetError = false;
@@ -641,6 +726,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 		}
 
 		ASTInstructionCompiler visitor = new ASTInstructionCompiler(mapper.getSnippetStart(), snippet, getJavaProject());
+		visitor.setRemoteCondition(remote);
 		unit.accept(visitor);
 
 		return visitor.getInstructions();
@@ -731,6 +817,12 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 				JDIDebugOptions.trace(buf.toString());
 			}
 			EvaluationResult result = new EvaluationResult(ASTEvaluationEngine.this, fExpression.getSnippet(), fThread);
+			if (isAbandoned()) {
+				// the result is no longer awaited, the thread is not resumed
+				result.setTerminated(true);
+				evaluationFinished(result);
+				return;
+			}
 			if (fExpression.hasErrors()) {
 				String[] errors = fExpression.getErrorMessages();
 				for (String error : errors) {
@@ -760,6 +852,11 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 				@Override
 				public void run(IJavaThread jt, IProgressMonitor pm) {
+					if (isAbandoned()) {
+						// abandoned before this evaluation could be terminated
+						fTerminated = true;
+						return;
+					}
 					EventFilter filter = new EventFilter();
 					try {
 						DebugPlugin.getDefault().addDebugEventFilter(filter);
@@ -842,7 +939,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 						buf.append(value);
 						JDIDebugOptions.trace(buf.toString());
 					}
-				} else {
+				} else if (!er.fTerminated) {
 					result.addError(EvaluationEngineMessages.ASTEvaluationEngine_An_unknown_error_occurred_during_evaluation);
 				}
 			}
@@ -858,6 +955,14 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			evaluationFinished(result);
 		}
 
+		/**
+		 * Returns whether the listener no longer awaits the result, see
+		 * {@link IAbandonableEvaluationListener}.
+		 */
+		private boolean isAbandoned() {
+			return fListener instanceof IAbandonableEvaluationListener && ((IAbandonableEvaluationListener) fListener).isAbandoned();
+		}
+
 		private void evaluationFinished(IEvaluationResult result) {
 			// only notify if plug-in not yet shutdown - bug# 8693
 			if (JDIDebugPlugin.getDefault() != null) {
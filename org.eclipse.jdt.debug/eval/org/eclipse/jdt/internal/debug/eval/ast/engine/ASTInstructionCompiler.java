@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -161,6 +161,13 @@ public class ASTInstructionCompiler extends ASTVisitor {
 
 	private final IJavaProject fJavaProject;
 
+	/**
+	 * Whether a snippet that is a single side effect free expression is
+	 * compiled into a class injected into the target VM, see
+	 * {@link #setRemoteCondition(boolean)}
+	 */
+	private boolean fRemoteCondition;
+
 	/**
 	 * Create a new AST instruction compiler
 	 */
@@ -172,6 +179,21 @@ public class ASTInstructionCompiler extends ASTVisitor {
 		fJavaProject = javaProject;
 	}
 
+	/**
+	 * Sets whether a snippet that consists of a single side effect free
+	 * expression, such as a breakpoint condition, is compiled into a class
+	 * that is injected into the target VM. The generated instruction sequence
+	 * then pushes the variables referenced by the expression and evaluates it
+	 * with a single {@link RemoteOperator}. Errors compiling the injected class
+	 * are reported as errors of the instruction sequence.
+	 *
+	 * @param remote
+	 *            whether to compile the snippet into an injected class
+	 */
+	public void setRemoteCondition(boolean remote) {
+		fRemoteCondition = remote;
+	}
+
 	/**
 	 * Returns the instruction sequence generated by this AST instruction
 	 * compiler
@@ -534,6 +556,232 @@ public class ASTInstructionCompiler extends ASTVisitor {
 		return true;
 	}
 
+	/**
+	 * Compiles nodes whose value or control flow is known at compile time,
+	 * instead of visiting them:
+	 * <ul>
+	 * <li>a constant expression, including a reference to a
+	 * <code>static final</code> field initialized with a constant, is compiled
+	 * into a single push of its value, such that the interpreter neither
+	 * evaluates the operators nor reads the field from the target VM,</li>
+	 * <li>of an <code>if</code> statement or a conditional expression with a
+	 * constant condition only the branch taken is compiled,</li>
+	 * <li>the leading constant operands of a conditional and/or expression are
+	 * dropped, or decide the expression.</li>
+	 * </ul>
+	 *
+	 * @see ASTVisitor#preVisit2(ASTNode)
+	 */
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		if (!isActive() || hasErrors()) {
+			return true;
+		}
+		if (node instanceof IfStatement ifStatement) {
+			Boolean condition = getConstantCondition(ifStatement.getExpression());
+			if (condition == null) {
+				return true;
+			}
+			push(new NoOp(fCounter));
+			Statement statement = condition.booleanValue() ? ifStatement.getThenStatement() : ifStatement.getElseStatement();
+			if (statement != null) {
+				statement.accept(this);
+			}
+			storeInstruction();
+			return false;
+		}
+		if (!(node instanceof Expression expression)) {
+			return true;
+		}
+		Instruction constant = getConstantInstruction(expression);
+		if (constant != null) {
+			push(constant);
+			storeInstruction();
+			return false;
+		}
+		if (node instanceof ConditionalExpression conditionalExpression) {
+			Boolean condition = getConstantCondition(conditionalExpression.getExpression());
+			if (condition == null) {
+				return true;
+			}
+			push(new NoOp(fCounter));
+			if (condition.booleanValue()) {
+				conditionalExpression.getThenExpression().accept(this);
+			} else {
+				conditionalExpression.getElseExpression().accept(this);
+			}
+			storeInstruction();
+			return false;
+		}
+		if (node instanceof InfixExpression infixExpression) {
+			InfixExpression.Operator operator = infixExpression.getOperator();
+			if (operator != InfixExpression.Operator.CONDITIONAL_AND && operator != InfixExpression.Operator.CONDITIONAL_OR) {
+				return true;
+			}
+			boolean isOrOr = operator == InfixExpression.Operator.CONDITIONAL_OR;
+			List<Expression> operands = getOperands(infixExpression);
+			int first = 0;
+			while (first < operands.size()) {
+				Boolean value = getConstantCondition(operands.get(first));
+				if (value == null) {
+					break;
+				}
+				if (value.booleanValue() == isOrOr) {
+					// the remaining operands are never evaluated
+					push(new PushBoolean(isOrOr));
+					storeInstruction();
+					return false;
+				}
+				first++;
+			}
+			if (first == 0) {
+				return true;
+			}
+			operands = operands.subList(first, operands.size());
+			if (operands.isEmpty()) {
+				push(new PushBoolean(!isOrOr));
+				storeInstruction();
+			} else if (operands.size() == 1) {
+				Expression operand = operands.get(0);
+				ITypeBinding typeBinding = resolveTypeBinding(operand);
+				if (typeBinding != null) {
+					boolean storeRequired = unBoxing(typeBinding);
+					operand.accept(this);
+					if (storeRequired) {
+						storeInstruction();
+					}
+				}
+			} else {
+				for (int i = 1; i < operands.size(); i++) {
+					push(new NoOp(fCounter));
+				}
+				visitConditionalOperands(operands, isOrOr);
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the instruction that pushes the value of the given constant
+	 * expression or <code>null</code> if the expression is not constant or is
+	 * a literal, which is compiled into a push anyway. Constants of type
+	 * <code>byte</code> and <code>short</code> are not folded, they keep
+	 * their type when compiled as usual.
+	 */
+	private Instruction getConstantInstruction(Expression expression) {
+		if (expression instanceof NumberLiteral || expression instanceof BooleanLiteral || expression instanceof CharacterLiteral
+				|| expression instanceof StringLiteral || expression instanceof TextBlock) {
+			return null;
+		}
+		if (expression instanceof Name name) {
+			StructuralPropertyDescriptor location = name.getLocationInParent();
+			if (name.isDeclaration() || location == QualifiedName.NAME_PROPERTY || location == FieldAccess.NAME_PROPERTY
+					|| location == SuperFieldAccess.NAME_PROPERTY) {
+				return null;
+			}
+		} else if (expression instanceof FieldAccess fieldAccess && !(fieldAccess.getExpression() instanceof ThisExpression)) {
+			// the receiver is evaluated for its side effects
+			return null;
+		}
+		Object value = expression.resolveConstantExpressionValue();
+		if (value instanceof Integer) {
+			return new PushInt(((Integer) value).intValue());
+		}
+		if (value instanceof Long) {
+			return new PushLong(((Long) value).longValue());
+		}
+		if (value instanceof Character) {
+			return new PushChar(((Character) value).charValue());
+		}
+		if (value instanceof Boolean) {
+			return new PushBoolean(((Boolean) value).booleanValue());
+		}
+		if (value instanceof Float) {
+			return new PushFloat(((Float) value).floatValue());
+		}
+		if (value instanceof Double) {
+			return new PushDouble(((Double) value).doubleValue());
+		}
+		if (value instanceof String) {
+			return new PushString((String) value);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the value of the given condition if it is a constant expression
+	 * or <code>null</code>.
+	 */
+	private Boolean getConstantCondition(Expression condition) {
+		Object value = condition.resolveConstantExpressionValue();
+		return value instanceof Boolean ? (Boolean) value : null;
+	}
+
+	/**
+	 * Returns the left, right and extended operands of the given infix
+	 * expression.
+	 */
+	private List<Expression> getOperands(InfixExpression node) {
+		List<Expression> extendedOperands = node.extendedOperands();
+		List<Expression> operands = new ArrayList<>(extendedOperands.size() + 2);
+		operands.add(node.getLeftOperand());
+		operands.add(node.getRightOperand());
+		operands.addAll(extendedOperands);
+		return operands;
+	}
+
+	/**
+	 * Compiles the operands of a conditional and/or expression. A no-op for
+	 * each operator must be pushed before.
+	 */
+	private void visitConditionalOperands(List<Expression> operands, boolean isOrOr) {
+		int operatorNumber = operands.size() - 1;
+		ConditionalJump[] conditionalJumps = new ConditionalJump[operatorNumber];
+		int[] conditionalJumpAddresses = new int[operatorNumber];
+
+		for (int i = 0; i < operands.size(); i++) {
+			if (i > 0) {
+				ConditionalJump conditionalJump = new ConditionalJump(isOrOr);
+				conditionalJumps[i - 1] = conditionalJump;
+				conditionalJumpAddresses[i - 1] = fCounter;
+				push(conditionalJump);
+				storeInstruction();
+			}
+			Expression operand = operands.get(i);
+			ITypeBinding typeBinding = resolveTypeBinding(operand);
+			if (typeBinding == null) {
+				return;
+			}
+			boolean storeRequired = unBoxing(typeBinding);
+			operand.accept(this);
+			if (storeRequired) {
+				storeInstruction();
+			}
+		}
+
+		Jump jump = new Jump();
+		jump.setOffset(1);
+		push(jump);
+		storeInstruction();
+
+		for (int i = 0; i < operatorNumber; i++) {
+			conditionalJumps[i].setOffset(fCounter
+					- conditionalJumpAddresses[i] - 1);
+		}
+
+		push(new PushBoolean(isOrOr));
+		storeInstruction();
+
+		// store the no-op
+		// since we add no-op for number of operators (there will be more than one when we have extendedOperands),
+		// we need to store them as well to make sure the next expression such as PrefixExpressions can properly
+		// store the instruction in correct place.
+		for (int i = 0; i < operatorNumber; i++) {
+			storeInstruction();
+		}
+	}
+
 	/**
 	 * End visit methods
 	 *
@@ -2817,68 +3065,7 @@ public class ASTInstructionCompiler extends ASTVisitor {
 		iterator = extendedOperands.iterator();
 
 		if ((char0 == '&' && char1 == '&') || (char0 == '|' && char1 == '|')) {
-			boolean isOrOr = char0 == '|';
-
-			ConditionalJump[] conditionalJumps = new ConditionalJump[operatorNumber];
-			int[] conditionalJumpAddresses = new int[operatorNumber];
-
-			boolean storeRequired = unBoxing(leftBinding);
-			leftOperand.accept(this);
-			if (storeRequired) {
-				storeInstruction();
-			}
-
-			ConditionalJump conditionalJump = new ConditionalJump(isOrOr);
-			conditionalJumps[0] = conditionalJump;
-			conditionalJumpAddresses[0] = fCounter;
-			push(conditionalJump);
-			storeInstruction();
-
-			storeRequired = unBoxing(rightBinding);
-			rightOperand.accept(this);
-			if (storeRequired) {
-				storeInstruction();
-			}
-
-			for (int i = 1; i < operatorNumber; i++) {
-				conditionalJump = new ConditionalJump(isOrOr);
-				conditionalJumps[i] = conditionalJump;
-				conditionalJumpAddresses[i] = fCounter;
-				push(conditionalJump);
-				storeInstruction();
-				Expression operand = iterator.next();
-				ITypeBinding typeBinding = resolveTypeBinding(operand);
-				if (typeBinding == null) {
-					return false;
-				}
-				storeRequired = unBoxing(typeBinding);
-				operand.accept(this);
-				if (storeRequired) {
-					storeInstruction();
-				}
-			}
-
-			Jump jump = new Jump();
-			jump.setOffset(1);
-			push(jump);
-			storeInstruction();
-
-			for (int i = 0; i < operatorNumber; i++) {
-				conditionalJumps[i].setOffset(fCounter
-						- conditionalJumpAddresses[i] - 1);
-			}
-
-			push(new PushBoolean(isOrOr));
-			storeInstruction();
-
-			// store the no-op
-			// since we add no-op for number of operators (there will be more than one when we have extendedOperands),
-			// we need to store them as well to make sure the next expression such as PrefixExpressions can properly
-			// store the instruction in correct place.
-			for (int i = 0; i < operatorNumber; i++) {
-				storeInstruction();
-			}
-
+			visitConditionalOperands(getOperands(node), char0 == '|');
 		} else { // other operators
 
 			boolean storeRequired = false;
@@ -3769,9 +3956,62 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			return false;
 		}
 		push(new ReturnInstruction(fCounter));
+		if (fRemoteCondition && isRemoteCondition(node)) {
+			try {
+				RemoteEvaluatorBuilder builder = makeBuilder(node);
+				builder.acceptCondition(node.getExpression());
+				RemoteEvaluator remoteEvaluator = builder.build();
+				push(new RemoteOperator(builder.getSnippet(), node.getStartPosition(), remoteEvaluator));
+				storeInstruction();
+			} catch (JavaModelException | DebugException e) {
+				addErrorMessage(e.getMessage());
+				setHasError(true);
+			}
+			return false;
+		}
 		return true;
 	}
 
+	/**
+	 * Returns whether the given return statement is the only statement of the
+	 * snippet and returns an expression without side effects on the variables
+	 * of the frame, which are copied into the injected class.
+	 */
+	private boolean isRemoteCondition(ReturnStatement node) {
+		if (node.getExpression() == null || !(node.getParent() instanceof Block block) || block.statements().size() != 1) {
+			return false;
+		}
+		int start = block.getStartPosition();
+		if (start != fStartPosition && start != fStartPosition + 1) {
+			return false;
+		}
+		boolean[] sideEffects = new boolean[1];
+		node.getExpression().accept(new ASTVisitor() {
+			@Override
+			public boolean visit(Assignment assignment) {
+				sideEffects[0] = true;
+				return false;
+			}
+
+			@Override
+			public boolean visit(PostfixExpression expression) {
+				sideEffects[0] = true;
+				return false;
+			}
+
+			@Override
+			public boolean visit(PrefixExpression expression) {
+				PrefixExpression.Operator operator = expression.getOperator();
+				if (operator == PrefixExpression.Operator.INCREMENT || operator == PrefixExpression.Operator.DECREMENT) {
+					sideEffects[0] = true;
+					return false;
+				}
+				return true;
+			}
+		});
+		return !sideEffects[0];
+	}
+
 	/**
 	 * @see ASTVisitor#visit(SimpleName)
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,15 @@
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
 import org.eclipse.jdi.internal.TypeImpl;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.debug.core.IJavaClassObject;
@@ -27,14 +32,21 @@ import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaReferenceType;
 import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIFieldVariable;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionsEvaluationMessages;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushFieldVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushThis;
 
 import com.sun.jdi.InvocationException;
 
 /**
- * Common runtime context code for class loading and cache of class
- * loader/java.lang.Class.
+ * Common runtime context code for class loading, cache of class
+ * loader/java.lang.Class and cache of values read during an evaluation.
  *
  * @since 3.2
  */
@@ -56,6 +68,11 @@ public abstract class AbstractRuntimeContext implements IRuntimeContext {
 	 */
 	protected IJavaProject fProject;
 
+	/**
+	 * Values of variables of the target VM read during the current evaluation
+	 */
+	private final Map<IJavaVariable, IJavaValue> fValues = new HashMap<>();
+
 	public static final String CLASS = "java.lang.Class"; //$NON-NLS-1$
 	public static final String FOR_NAME = "forName"; //$NON-NLS-1$
 	public static final String FOR_NAME_SIGNATURE = "(Ljava/lang/String;ZLjava/lang/ClassLoader;)Ljava/lang/Class;"; //$NON-NLS-1$
@@ -189,6 +206,77 @@ public abstract class AbstractRuntimeContext implements IRuntimeContext {
 		return fProject;
 	}
 
+	/**
+	 * Reads the fields of 'this' that are accessed by the given instructions in
+	 * one request.
+	 *
+	 * @see IRuntimeContext#prefetchValues(Instruction[])
+	 */
+	@Override
+	public void prefetchValues(Instruction[] instructions) throws CoreException {
+		if (!(getThis() instanceof JDIObjectValue receiver)) {
+			return;
+		}
+		List<JDIFieldVariable> fields = new ArrayList<>();
+		for (int i = 1; i < instructions.length; i++) {
+			// 'this' is pushed right before the field is accessed
+			if (instructions[i - 1] instanceof PushThis pushThis && pushThis.getEnclosingLevel() == 0
+					&& instructions[i] instanceof PushFieldVariable pushField && pushField.getDeclaringTypeSignature() != null) {
+				IJavaFieldVariable field = receiver.getField(pushField.getName(), pushField.getDeclaringTypeSignature());
+				if (field instanceof JDIFieldVariable fieldVariable && receiver.getUnderlyingObject().equals(fieldVariable.getObjectReference())
+						&& !fields.contains(fieldVariable)) {
+					fields.add(fieldVariable);
+				}
+			}
+		}
+		if (!fields.isEmpty()) {
+			putValues(fields, receiver.getValues(fields));
+		}
+	}
+
+	/**
+	 * Caches values read for the given variables during the current
+	 * evaluation.
+	 *
+	 * @param variables
+	 *            variables of the target VM
+	 * @param values
+	 *            the values of the variables, in the same order
+	 */
+	protected void putValues(List<? extends IJavaVariable> variables, List<IJavaValue> values) {
+		for (int i = 0; i < variables.size(); i++) {
+			fValues.put(variables.get(i), values.get(i));
+		}
+	}
+
+	/**
+	 * Returns the value of the given variable, read from the target VM once
+	 * until the values are invalidated. Variables of the evaluation are not
+	 * cached.
+	 *
+	 * @see IRuntimeContext#getValue(IJavaVariable)
+	 */
+	@Override
+	public IJavaValue getValue(IJavaVariable variable) throws DebugException {
+		if (!(variable instanceof JDIVariable)) {
+			return (IJavaValue) variable.getValue();
+		}
+		IJavaValue value = fValues.get(variable);
+		if (value == null) {
+			value = (IJavaValue) variable.getValue();
+			fValues.put(variable, value);
+		}
+		return value;
+	}
+
+	/**
+	 * @see IRuntimeContext#invalidateValues()
+	 */
+	@Override
+	public void invalidateValues() {
+		fValues.clear();
+	}
+
 	/**
 	 * Returns whether the class loaded by the <code>otherLoader</code> is
 	 * compatible with the receiver's class loader. To be compatible, the
@@ -0,0 +1,770 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.engine;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+
+/**
+ * Cache of snippets compiled in the context of a stack frame or of a type,
+ * shared by all evaluation engines and therefore by all threads and debug
+ * targets. A conditional breakpoint that is hit by many threads compiles its
+ * condition in the context of the same location for every thread.
+ * <p>
+ * Compiled expressions are keyed by all input to the compilation: the
+ * snippet, the project, the declaring type, line number and static context of
+ * the frame, the names and types of the variables visible in the frame, the
+ * compiler options and whether the snippet is compiled into a class injected
+ * into the target VM. Snippets compiled against the structure of a type in
+ * the target VM, because the source of the type is not available, are not
+ * cached. The compiled expressions of a project are removed when the class
+ * path or the structure of the types of the project or of a project it
+ * requires changes, and all of them on hot code replace.
+ * </p>
+ * <p>
+ * Compiled expressions are also persisted in the state location of the JDI
+ * debug model plug-in, such that detail formatters, logical structures, watch
+ * expressions and conditions are not compiled again in every debug session.
+ * Persisted expressions are keyed by a digest of the key and of the class path
+ * of the project, which covers the resolved class path entries of the project
+ * and of required projects, the sizes and time stamps of libraries and of all
+ * files in their source and output folders, and a generation of each project
+ * that changes when the structure of its types changes. The files are
+ * stamped such that sources and class files changed while the workspace was
+ * closed, which no generation records, are covered too. Expressions compiled with errors or compiled into a
+ * class injected into the target VM are not persisted. The least recently
+ * used expressions are removed in the background when the number or size of
+ * persisted expressions exceeds a limit, and all of them when the format or
+ * the version of the plug-in changes.
+ * </p>
+ */
+public class CompiledExpressionCache implements IElementChangedListener, IJavaHotCodeReplaceListener {
+
+	/**
+	 * Maximum number of compiled expressions kept
+	 */
+	private static final int MAX_SIZE = 256;
+
+	/**
+	 * Maximum number and total size in bytes of persisted compiled expressions
+	 */
+	private static final int MAX_PERSISTED_COUNT = 2048;
+	private static final long MAX_PERSISTED_SIZE = 16L * 1024 * 1024;
+
+	/**
+	 * Version of the format of persisted compiled expressions, to be
+	 * incremented when the digest of keys or the content of entries changes
+	 */
+	private static final int FORMAT_VERSION = 3;
+
+	private static final String DIRECTORY_NAME = "compiledExpressions"; //$NON-NLS-1$
+	private static final String FILE_EXTENSION = ".ser"; //$NON-NLS-1$
+	private static final String TEMP_FILE_EXTENSION = ".tmp"; //$NON-NLS-1$
+	private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+	private static final String GENERATIONS_FILE_NAME = "generations.properties"; //$NON-NLS-1$
+
+	/**
+	 * Delay in milliseconds of the maintenance of persisted expressions after
+	 * startup and after a change
+	 */
+	private static final long MAINTENANCE_DELAY = 5000;
+
+	/**
+	 * Classes that may be read from persisted compiled expressions
+	 */
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+			"org.eclipse.jdt.internal.debug.eval.ast.instructions.*;java.util.ArrayList;java.lang.String;java.lang.Integer;java.lang.Number;!*"); //$NON-NLS-1$
+
+	/**
+	 * Key of a compiled expression, see {@link CompiledExpressionCache}. The
+	 * key of a snippet compiled in the context of a type has line number
+	 * <code>-1</code> and no variables.
+	 */
+	record Key(IJavaProject project, String snippet, String typeName, int lineNumber, boolean isStatic, List<String> variableTypes,
+			List<String> variableNames, Map<String, String> options, boolean remote) {
+	}
+
+	private static CompiledExpressionCache fgInstance;
+
+	/**
+	 * Compiled expressions in access order, guarded by itself
+	 */
+	private final Map<Key, ICompiledExpression> fExpressions = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, ICompiledExpression> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Directory of persisted compiled expressions or <code>null</code> if
+	 * compiled expressions are not persisted. Files in the directory are
+	 * guarded by this cache.
+	 */
+	private volatile File fDirectory;
+
+	/**
+	 * Version of the plug-in that persisted compiled expressions
+	 */
+	private volatile String fVersion;
+
+	/**
+	 * Digests of the class paths of projects
+	 */
+	private final Map<IJavaProject, byte[]> fClasspathDigests = new ConcurrentHashMap<>();
+
+	/**
+	 * Generations of the structure of the types of projects by project name,
+	 * persisted with the compiled expressions such that expressions compiled
+	 * against types that changed are not read
+	 */
+	private final Map<String, String> fGenerations = new ConcurrentHashMap<>();
+	private volatile boolean fGenerationsChanged;
+
+	/**
+	 * Saves the generations and removes the least recently used persisted
+	 * expressions that exceed the limits
+	 */
+	private final Job fMaintenanceJob = new MaintenanceJob();
+
+	private CompiledExpressionCache() {
+	}
+
+	/**
+	 * Returns the shared cache of compiled expressions
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized CompiledExpressionCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance = new CompiledExpressionCache();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Registers this cache for Java element changes and hot code replace. This
+	 * method is called by the JDI debug model plug-in on startup.
+	 */
+	public void startup() {
+		JDIDebugPlugin plugin = JDIDebugPlugin.getDefault();
+		fVersion = plugin.getBundle().getVersion().toString();
+		fDirectory = plugin.getStateLocation().append(DIRECTORY_NAME).toFile();
+		loadGenerations(fDirectory);
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+		JDIDebugModel.addHotCodeReplaceListener(this);
+		fMaintenanceJob.schedule(MAINTENANCE_DELAY);
+	}
+
+	/**
+	 * Unregisters this cache and clears it. This method is called by the JDI
+	 * debug model plug-in on shutdown.
+	 */
+	public void shutdown() {
+		JavaCore.removeElementChangedListener(this);
+		JDIDebugModel.removeHotCodeReplaceListener(this);
+		fMaintenanceJob.cancel();
+		clear();
+		fClasspathDigests.clear();
+		File directory = fDirectory;
+		if (directory != null) {
+			saveGenerations(directory);
+		}
+		fDirectory = null;
+	}
+
+	/**
+	 * Returns the expression compiled for the given key or <code>null</code>
+	 * if none.
+	 *
+	 * @param key
+	 *            the input of the compilation
+	 * @return the compiled expression or <code>null</code>
+	 */
+	ICompiledExpression get(Key key) {
+		synchronized (fExpressions) {
+			ICompiledExpression expression = fExpressions.get(key);
+			if (expression != null) {
+				return expression;
+			}
+		}
+		ICompiledExpression expression = read(key);
+		if (expression != null) {
+			synchronized (fExpressions) {
+				fExpressions.put(key, expression);
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * Caches the expression compiled for the given key.
+	 *
+	 * @param key
+	 *            the input of the compilation
+	 * @param expression
+	 *            the compiled expression
+	 */
+	void put(Key key, ICompiledExpression expression) {
+		synchronized (fExpressions) {
+			fExpressions.put(key, expression);
+		}
+		if (!key.remote() && !expression.hasErrors() && expression instanceof InstructionSequence) {
+			write(key, (InstructionSequence) expression);
+		}
+	}
+
+	/**
+	 * Removes all compiled expressions kept in memory. Persisted compiled
+	 * expressions are kept, they are keyed by the class path of the project
+	 * they are compiled in.
+	 */
+	public void clear() {
+		synchronized (fExpressions) {
+			fExpressions.clear();
+		}
+	}
+
+	/**
+	 * Removes all compiled expressions, including persisted compiled
+	 * expressions.
+	 */
+	public void clearPersisted() {
+		clear();
+		File directory = fDirectory;
+		synchronized (this) {
+			File[] files = directory == null ? null : directory.listFiles((dir, name) -> !name.equals(GENERATIONS_FILE_NAME));
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the persisted expression compiled for the given key or
+	 * <code>null</code> if none.
+	 */
+	private ICompiledExpression read(Key key) {
+		if (key.remote()) {
+			return null;
+		}
+		File file = getFile(key);
+		if (file == null) {
+			return null;
+		}
+		synchronized (this) {
+			if (!file.isFile()) {
+				return null;
+			}
+			InstructionSequence expression = null;
+			try (ObjectInputStream in = new EntryInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+				if (in.readInt() == FORMAT_VERSION && fVersion.equals(in.readUTF())) {
+					expression = (InstructionSequence) in.readObject();
+				}
+			} catch (IOException | ClassNotFoundException | ClassCastException e) {
+				// persisted by another version of the plug-in, or corrupt
+			}
+			if (expression == null || !key.snippet().equals(expression.getSnippet())) {
+				file.delete();
+				return null;
+			}
+			// the time stamp orders persisted expressions by their last use
+			file.setLastModified(System.currentTimeMillis());
+			return expression;
+		}
+	}
+
+	/**
+	 * Persists the expression compiled for the given key. The least recently
+	 * used persisted expressions that exceed the limits are removed later.
+	 */
+	private void write(Key key, InstructionSequence expression) {
+		File file = getFile(key);
+		if (file == null) {
+			return;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(fVersion);
+			out.writeObject(expression);
+		} catch (NotSerializableException e) {
+			// lambda expressions are compiled into classes injected into the
+			// target VM
+			return;
+		} catch (IOException e) {
+			JDIDebugPlugin.log(e);
+			return;
+		}
+		File directory = file.getParentFile();
+		synchronized (this) {
+			try {
+				directory.mkdirs();
+				File temp = new File(directory, file.getName() + TEMP_FILE_EXTENSION);
+				Files.write(temp.toPath(), bytes.toByteArray());
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				JDIDebugPlugin.log(e);
+				return;
+			}
+		}
+		fMaintenanceJob.schedule(MAINTENANCE_DELAY);
+	}
+
+	/**
+	 * Removes the least recently used persisted expressions while their number
+	 * or size exceeds the limits. Expressions read or written concurrently are
+	 * read again or compiled again, such that the files are not locked while
+	 * they are sorted.
+	 */
+	private void trim(File directory) {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+		if (files == null) {
+			return;
+		}
+		long size = 0;
+		for (File file : files) {
+			size += file.length();
+		}
+		if (files.length <= MAX_PERSISTED_COUNT && size <= MAX_PERSISTED_SIZE) {
+			return;
+		}
+		long[] lastModified = new long[files.length];
+		Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; i++) {
+			lastModified[i] = files[i].lastModified();
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i.intValue()]));
+		int count = files.length;
+		for (int i = 0; i < order.length && (count > MAX_PERSISTED_COUNT || size > MAX_PERSISTED_SIZE); i++) {
+			File file = files[order[i].intValue()];
+			long length = file.length();
+			if (file.delete()) {
+				count--;
+				size -= length;
+			}
+		}
+	}
+
+	/**
+	 * Returns the file of the expression compiled for the given key or
+	 * <code>null</code> if compiled expressions are not persisted.
+	 */
+	private File getFile(Key key) {
+		File directory = fDirectory;
+		if (directory == null) {
+			return null;
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			update(digest, Integer.toString(FORMAT_VERSION));
+			update(digest, key.project().getElementName());
+			update(digest, key.snippet());
+			update(digest, key.typeName());
+			update(digest, Integer.toString(key.lineNumber()));
+			update(digest, Boolean.toString(key.isStatic()));
+			update(digest, key.variableTypes());
+			update(digest, key.variableNames());
+			for (Map.Entry<String, String> option : new TreeMap<>(key.options()).entrySet()) {
+				update(digest, option.getKey());
+				update(digest, String.valueOf(option.getValue()));
+			}
+			digest.update(getClasspathDigest(key.project()));
+			return new File(directory, HexFormat.of().formatHex(digest.digest()) + FILE_EXTENSION);
+		} catch (NoSuchAlgorithmException | CoreException e) {
+			JDIDebugPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the generations of the structure of the projects persisted with
+	 * the compiled expressions. When they cannot be read, the persisted
+	 * expressions cannot be trusted and are removed.
+	 */
+	private void loadGenerations(File directory) {
+		File file = new File(directory, GENERATIONS_FILE_NAME);
+		if (!file.isFile()) {
+			return;
+		}
+		Properties generations = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			generations.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			clearPersisted();
+			file.delete();
+			return;
+		}
+		for (String name : generations.stringPropertyNames()) {
+			fGenerations.put(name, generations.getProperty(name));
+		}
+	}
+
+	/**
+	 * Persists the generations of the structure of the projects, if changed.
+	 */
+	private synchronized void saveGenerations(File directory) {
+		if (!fGenerationsChanged) {
+			return;
+		}
+		fGenerationsChanged = false;
+		Properties generations = new Properties();
+		generations.putAll(fGenerations);
+		try {
+			directory.mkdirs();
+			File file = new File(directory, GENERATIONS_FILE_NAME);
+			File temp = new File(directory, GENERATIONS_FILE_NAME + TEMP_FILE_EXTENSION);
+			try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+				generations.store(out, null);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			JDIDebugPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Returns the digest of the class path of the given project, computed once
+	 * until the class path or the structure of the types of the project or of
+	 * a project it requires changes.
+	 */
+	private byte[] getClasspathDigest(IJavaProject project) throws NoSuchAlgorithmException, CoreException {
+		byte[] classpathDigest = fClasspathDigests.get(project);
+		if (classpathDigest == null) {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			updateClasspath(digest, project, new HashSet<>());
+			classpathDigest = digest.digest();
+			fClasspathDigests.put(project, classpathDigest);
+		}
+		return classpathDigest;
+	}
+
+	/**
+	 * Updates the digest with the resolved class path of the given project and
+	 * of the projects it requires. Class files and source files are not read,
+	 * their changes are covered by their sizes and time stamps and by the
+	 * generation of the project.
+	 */
+	private void updateClasspath(MessageDigest digest, IJavaProject project, Set<IJavaProject> visited) throws CoreException {
+		if (!visited.add(project)) {
+			return;
+		}
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		update(digest, project.getElementName());
+		update(digest, fGenerations.getOrDefault(project.getElementName(), "")); //$NON-NLS-1$
+		updateStamp(digest, root, project.getOutputLocation());
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			IPath path = entry.getPath();
+			update(digest, Integer.toString(entry.getEntryKind()));
+			update(digest, path.toString());
+			switch (entry.getEntryKind()) {
+				case IClasspathEntry.CPE_PROJECT:
+					if (root.findMember(path) instanceof IProject required) {
+						IJavaProject requiredProject = JavaCore.create(required);
+						if (requiredProject.exists()) {
+							updateClasspath(digest, requiredProject, visited);
+						}
+					}
+					break;
+				case IClasspathEntry.CPE_SOURCE:
+					updateStamp(digest, root, path);
+					if (entry.getOutputLocation() != null) {
+						updateStamp(digest, root, entry.getOutputLocation());
+					}
+					break;
+				default:
+					updateStamp(digest, root, path);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Updates the digest with the size and time stamp of the file at the given
+	 * workspace or file system path, or of all files in the folder at that
+	 * path. The time stamp of a folder does not change when a file in one of
+	 * its packages is written.
+	 */
+	private static void updateStamp(MessageDigest digest, IWorkspaceRoot root, IPath path) {
+		IResource resource = root.findMember(path);
+		IPath location = resource == null ? path : resource.getLocation();
+		if (location == null) {
+			return;
+		}
+		File file = location.toFile();
+		if (!file.isDirectory()) {
+			update(digest, file.length() + ":" + file.lastModified()); //$NON-NLS-1$
+			return;
+		}
+		Path folder = file.toPath();
+		try (Stream<Path> members = Files.walk(folder)) {
+			members.filter(Files::isRegularFile).sorted().forEach(member -> {
+				File memberFile = member.toFile();
+				update(digest, folder.relativize(member).toString());
+				update(digest, memberFile.length() + ":" + memberFile.lastModified()); //$NON-NLS-1$
+			});
+		} catch (IOException | UncheckedIOException e) {
+			// the folder is changing, such that the expressions compiled now
+			// are not read again
+			update(digest, UUID.randomUUID().toString());
+		}
+	}
+
+	private static void update(MessageDigest digest, List<String> values) {
+		update(digest, Integer.toString(values.size()));
+		for (String value : values) {
+			update(digest, value);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		int length = bytes.length;
+		digest.update(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length });
+		digest.update(bytes);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		Set<IJavaProject> changed = new HashSet<>();
+		Set<IJavaProject> changedTypes = new HashSet<>();
+		collectChangedProjects(event.getDelta(), changed, changedTypes);
+		if (!changedTypes.isEmpty()) {
+			for (IJavaProject project : changedTypes) {
+				fGenerations.put(project.getElementName(), UUID.randomUUID().toString());
+			}
+			fGenerationsChanged = true;
+			fMaintenanceJob.schedule(MAINTENANCE_DELAY);
+		}
+		if (!changed.isEmpty()) {
+			invalidate(changed);
+		}
+	}
+
+	/**
+	 * Collects the projects of the given delta whose class path or structure
+	 * changed, and separately the projects the structure of the types of
+	 * which changed. Changes of method bodies and of resources do not affect
+	 * the compilation of snippets.
+	 */
+	private static void collectChangedProjects(IJavaElementDelta delta, Set<IJavaProject> changed, Set<IJavaProject> changedTypes) {
+		IJavaElement element = delta.getElement();
+		IJavaProject project = element.getJavaProject();
+		if (project != null && changedTypes.contains(project)) {
+			return;
+		}
+		if (project != null && isStructuralChange(delta)) {
+			changed.add(project);
+			if (element.getElementType() != IJavaElement.JAVA_PROJECT) {
+				changedTypes.add(project);
+				return;
+			}
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			collectChangedProjects(child, changed, changedTypes);
+		}
+	}
+
+	/**
+	 * Returns whether the given delta changes the class path of a project or
+	 * the structure of the types a snippet may reference.
+	 */
+	private static boolean isStructuralChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			return true;
+		}
+		int flags = delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+				| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+				| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+				| IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MOVED_FROM
+				| IJavaElementDelta.F_MOVED_TO)) != 0) {
+			return true;
+		}
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+			switch (delta.getElement().getElementType()) {
+				case IJavaElement.METHOD:
+				case IJavaElement.INITIALIZER:
+					// a changed body
+					return false;
+				case IJavaElement.COMPILATION_UNIT:
+					// the structural changes are described by the children of
+					// a fine grained delta
+					return (flags & IJavaElementDelta.F_FINE_GRAINED) == 0;
+				default:
+					// class files and constants
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the compiled expressions kept in memory of the given projects
+	 * and of the projects that require them, with the digests of their class
+	 * paths.
+	 */
+	private void invalidate(Set<IJavaProject> changed) {
+		Map<IJavaProject, Boolean> affected = new HashMap<>();
+		Predicate<IJavaProject> isAffected = project -> affected.computeIfAbsent(project, p -> Boolean.valueOf(requiresAny(p, changed, new HashSet<>()))).booleanValue();
+		synchronized (fExpressions) {
+			fExpressions.keySet().removeIf(key -> isAffected.test(key.project()));
+		}
+		fClasspathDigests.keySet().removeIf(isAffected);
+	}
+
+	/**
+	 * Returns whether the given project is one of the given projects or
+	 * requires one of them.
+	 */
+	private static boolean requiresAny(IJavaProject project, Set<IJavaProject> projects, Set<IJavaProject> visited) {
+		if (projects.contains(project)) {
+			return true;
+		}
+		if (!visited.add(project)) {
+			return false;
+		}
+		try {
+			for (String name : project.getRequiredProjectNames()) {
+				if (requiresAny(project.getJavaModel().getJavaProject(name), projects, visited)) {
+					return true;
+				}
+			}
+		} catch (JavaModelException e) {
+			// the project is gone or closed
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void hotCodeReplaceSucceeded(IJavaDebugTarget target) {
+		clear();
+	}
+
+	@Override
+	public void hotCodeReplaceFailed(IJavaDebugTarget target, DebugException exception) {
+		clear();
+	}
+
+	@Override
+	public void obsoleteMethods(IJavaDebugTarget target) {
+	}
+
+	/**
+	 * Maintains the persisted compiled expressions in the background
+	 */
+	private class MaintenanceJob extends Job {
+
+		MaintenanceJob() {
+			super(EvaluationEngineMessages.CompiledExpressionCache_0);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			File directory = fDirectory;
+			if (directory != null) {
+				saveGenerations(directory);
+				trim(directory);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Reads persisted compiled expressions, restricted to the classes of
+	 * instructions
+	 */
+	private static class EntryInputStream extends ObjectInputStream {
+
+		EntryInputStream(InputStream in) throws IOException {
+			super(in);
+			setObjectInputFilter(FILTER);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			// instructions are not visible to the class loader of the caller
+			// of ObjectInputStream
+			try {
+				return Class.forName(desc.getName(), false, InstructionSequence.class.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,4 +70,6 @@ public class EvaluationEngineMessages extends NLS {
 
 	public static String ASTEvaluationEngine_1;
 	public static String ArrayRuntimeContext_0;
+
+	public static String CompiledExpressionCache_0;
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,7 @@ public class EvaluationSourceGenerator {
 	private int fSnippetStartPosition;
 	private int fRunMethodStartPosition;
 	private int fRunMethodLength;
+	private boolean fBinaryBased;
 	private final IJavaProject fJavaProject;
 
 	/**
@@ -470,11 +471,22 @@ public class EvaluationSourceGenerator {
 				BinaryBasedSourceGenerator mapper = getInstanceSourceMapper(
 						(JDIReferenceType) type, isStatic, javaProject);
 				createEvaluationSourceFromJDIObject(mapper);
+				fBinaryBased = true;
 			}
 		}
 		return fSource;
 	}
 
+	/**
+	 * Returns whether the source was generated from the type in the target VM
+	 * because the source of the type is not available.
+	 *
+	 * @return whether the source was generated from the type in the target VM
+	 */
+	public boolean isBinaryBased() {
+		return fBinaryBased;
+	}
+
 	protected void setCompilationUnitName(String name) {
 		fCompilationUnitName = name;
 	}
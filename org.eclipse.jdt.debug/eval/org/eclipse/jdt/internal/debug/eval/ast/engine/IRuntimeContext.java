@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,7 +23,9 @@ import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaReferenceType;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 
 /**
  * The context in which an evaluation is to be performed. An evaluation is
@@ -147,4 +149,44 @@ public interface IRuntimeContext {
 		return (IJavaStackFrame) getThread().getTopStackFrame();
 	}
 
+	/**
+	 * Reads the values of the local variables and of the fields of 'this' that
+	 * the given instructions access, in as few requests to the virtual machine
+	 * as possible. The values are returned by {@link #getValue(IJavaVariable)}
+	 * until {@link #invalidateValues()} is called.
+	 *
+	 * @param instructions
+	 *            the instructions of the evaluation
+	 * @throws CoreException
+	 *             if the values cannot be read
+	 * @since 3.27
+	 */
+	default void prefetchValues(Instruction[] instructions) throws CoreException {
+	}
+
+	/**
+	 * Returns the value of the given variable. The value is read once during
+	 * an evaluation, until the values read are invalidated.
+	 *
+	 * @param variable
+	 *            variable to read
+	 * @return the value of the variable
+	 * @throws DebugException
+	 *             if the value cannot be read
+	 * @since 3.27
+	 */
+	default IJavaValue getValue(IJavaVariable variable) throws DebugException {
+		return (IJavaValue) variable.getValue();
+	}
+
+	/**
+	 * Discards the values read during the evaluation. Called after an
+	 * instruction that may assign variables or invoke methods is executed, and
+	 * when the evaluation completes.
+	 *
+	 * @since 3.27
+	 */
+	default void invalidateValues() {
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,12 @@
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -32,6 +33,7 @@ import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PrimitiveProgram;
 
 import com.sun.jdi.VMDisconnectedException;
 
@@ -39,9 +41,28 @@ public class Interpreter {
 	private final Instruction[] fInstructions;
 	private int fInstructionCounter;
 	private final IRuntimeContext fContext;
-	private Stack<Object> fStack;
+
+	/**
+	 * The instructions translated to operations on unboxed operands or
+	 * <code>null</code> if they have to be interpreted
+	 */
+	private final PrimitiveProgram fProgram;
+
+	/**
+	 * Operand stack, the top of the stack is at <code>fStackSize - 1</code>.
+	 * The stack is only used by the thread executing the instructions, so it
+	 * is not synchronized.
+	 */
+	private Object[] fStack;
+	private int fStackSize;
 	private IJavaValue fLastValue;
 
+	/**
+	 * Values of <code>true</code> and <code>false</code>, created on demand
+	 */
+	private IJavaValue fTrue;
+	private IJavaValue fFalse;
+
 	/**
 	 * The list of internal variables
 	 */
@@ -52,22 +73,38 @@ public class Interpreter {
 	 */
 	private List<IJavaObject> fPermStorage = null;
 
-	private boolean fStopped = false;
+	private volatile boolean fStopped = false;
 
 	public Interpreter(InstructionSequence instructions, IRuntimeContext context) {
 		fInstructions = instructions.getInstructions();
+		fProgram = instructions.getPrimitiveProgram();
 		fContext = context;
 		fInternalVariables = new HashMap<>();
 	}
 
 	public void execute(boolean disableGcOnResult) throws CoreException {
+		Interpreter previous = Instruction.setInterpreter(this);
 		try {
 			reset();
+			if (fProgram != null) {
+				IJavaValue result = fProgram.execute(this);
+				if (result != null) {
+					push(result);
+					return;
+				}
+			}
+			try {
+				fContext.prefetchValues(fInstructions);
+			} catch (CoreException e) {
+				// values are read when the instructions access them
+				fContext.invalidateValues();
+			}
 			while (fInstructionCounter < fInstructions.length && !fStopped) {
 				Instruction instruction = fInstructions[fInstructionCounter++];
-				instruction.setInterpreter(this);
 				instruction.execute();
-				instruction.setInterpreter(null);
+				if (!instruction.isReadOnly()) {
+					fContext.invalidateValues();
+				}
 			}
 		} catch (CoreException e) {
 			throw e;
@@ -75,6 +112,8 @@ public class Interpreter {
 			throw new CoreException(new Status(IStatus.ERROR,
 					JDIDebugModel.getPluginIdentifier(), e.getMessage(), e));
 		} finally {
+			Instruction.setInterpreter(previous);
+			fContext.invalidateValues();
 			releaseObjects(disableGcOnResult);
 		}
 	}
@@ -84,7 +123,9 @@ public class Interpreter {
 	}
 
 	private void reset() {
-		fStack = new Stack<>();
+		// instructions push at most one operand each, loops pop what they push
+		fStack = new Object[Math.max(8, Math.min(fInstructions.length, 64))];
+		fStackSize = 0;
 		fInstructionCounter = 0;
 	}
 
@@ -101,7 +142,10 @@ public class Interpreter {
 	 * evaluation completes.
 	 */
 	public void push(Object object) {
-		fStack.push(object);
+		if (fStackSize == fStack.length) {
+			fStack = Arrays.copyOf(fStack, fStackSize * 2);
+		}
+		fStack[fStackSize++] = object;
 		if (object instanceof IJavaObject) {
 			disableCollection((IJavaObject) object);
 		}
@@ -158,14 +202,44 @@ public class Interpreter {
 	 * Peeks at the top object of the stack
 	 */
 	public Object peek() {
-		return fStack.peek();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		return fStack[fStackSize - 1];
 	}
 
 	/**
 	 * Pops an object off of the stack
 	 */
 	public Object pop() {
-		return fStack.pop();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		Object top = fStack[--fStackSize];
+		fStack[fStackSize] = null;
+		return top;
+	}
+
+	/**
+	 * Returns the value of the given boolean in the target. The values of
+	 * <code>true</code> and <code>false</code> are created once per
+	 * evaluation, as most conditions produce many of them.
+	 *
+	 * @param value
+	 *            boolean
+	 * @return value in the target
+	 */
+	public IJavaValue newValue(boolean value) {
+		if (value) {
+			if (fTrue == null) {
+				fTrue = fContext.getVM().newValue(true);
+			}
+			return fTrue;
+		}
+		if (fFalse == null) {
+			fFalse = fContext.getVM().newValue(false);
+		}
+		return fFalse;
 	}
 
 	/**
@@ -176,13 +250,13 @@ public class Interpreter {
 	}
 
 	public IJavaValue getResult() {
-		if (fStack == null || fStack.isEmpty()) {
+		if (fStack == null || fStackSize == 0) {
 			if (fLastValue == null) {
 				return getContext().getVM().voidValue();
 			}
 			return fLastValue;
 		}
-		Object top = fStack.peek();
+		Object top = fStack[fStackSize - 1];
 		if (top instanceof IJavaVariable) {
 			try {
 				return (IJavaValue) ((IJavaVariable) top).getValue();
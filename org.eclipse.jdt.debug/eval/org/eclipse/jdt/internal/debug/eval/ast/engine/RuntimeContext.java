@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
@@ -21,6 +26,10 @@ import org.eclipse.jdt.debug.core.IJavaReferenceType;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.internal.debug.core.model.JDILocalVariable;
+import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushLocalVariable;
 
 public class RuntimeContext extends AbstractRuntimeContext {
 
@@ -29,6 +38,12 @@ public class RuntimeContext extends AbstractRuntimeContext {
 	 */
 	private IJavaStackFrame fFrame;
 
+	/**
+	 * Local variables of the frame, retrieved once until the values read
+	 * during the evaluation are invalidated, or <code>null</code>
+	 */
+	private IJavaVariable[] fLocals;
+
 	/**
 	 * Creates a runtime context for the given java project and stack frame.
 	 *
@@ -75,7 +90,51 @@ public class RuntimeContext extends AbstractRuntimeContext {
 	 */
 	@Override
 	public IJavaVariable[] getLocals() throws CoreException {
-		return getFrame().getLocalVariables();
+		if (fLocals == null) {
+			fLocals = getFrame().getLocalVariables();
+		}
+		return fLocals;
+	}
+
+	/**
+	 * Reads the local variables and the fields of 'this' that are accessed by
+	 * the given instructions, the local variables in one request.
+	 *
+	 * @see IRuntimeContext#prefetchValues(Instruction[])
+	 */
+	@Override
+	public void prefetchValues(Instruction[] instructions) throws CoreException {
+		super.prefetchValues(instructions);
+		if (!(getFrame() instanceof JDIStackFrame frame)) {
+			return;
+		}
+		Set<String> names = new HashSet<>();
+		for (Instruction instruction : instructions) {
+			if (instruction instanceof PushLocalVariable) {
+				names.add(((PushLocalVariable) instruction).getName());
+			}
+		}
+		if (names.isEmpty()) {
+			return;
+		}
+		List<JDILocalVariable> locals = new ArrayList<>(names.size());
+		for (IJavaVariable local : getLocals()) {
+			if (local instanceof JDILocalVariable && names.contains(local.getName())) {
+				locals.add((JDILocalVariable) local);
+			}
+		}
+		if (!locals.isEmpty()) {
+			putValues(locals, frame.getValues(locals));
+		}
+	}
+
+	/**
+	 * @see IRuntimeContext#invalidateValues()
+	 */
+	@Override
+	public void invalidateValues() {
+		super.invalidateValues();
+		fLocals = null;
 	}
 
 	/**
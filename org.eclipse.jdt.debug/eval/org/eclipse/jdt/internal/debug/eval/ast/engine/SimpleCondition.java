@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaFieldVariable;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaReferenceType;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaType;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.EqualEqualOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.NoOp;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Pop;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushBoolean;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushChar;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushInt;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushLocalVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushLong;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushNull;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushStaticFieldVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushString;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushThis;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.PushType;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.ReturnInstruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.SendMessage;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.SendStaticMessage;
+
+/**
+ * A condition recognized in a compiled expression that can be decided by
+ * reading values of the stack frame, without running the interpreter and
+ * without invoking methods in the target VM. Recognized conditions are boolean
+ * constants and
+ * <ul>
+ * <li><code>local == literal</code> and <code>local != literal</code> where
+ * the local variable is of an integral or boolean type and the literal is an
+ * integral, character or boolean literal,</li>
+ * <li><code>local == null</code>, <code>local == this</code> and
+ * <code>local == other</code> where the local variables are objects, and the
+ * negated forms,</li>
+ * <li><code>local.equals("literal")</code> where the local variable is a
+ * <code>java.lang.String</code>.</li>
+ * </ul>
+ * Static fields and <code>Thread.currentThread()</code> may be used in place
+ * of local variables. The operands may appear in either order.
+ * <p>
+ * The conditions <code>this == Type.FIELD</code> and
+ * <code>Thread.currentThread() == Type.FIELD</code>, where the field is a
+ * static final field, restrict the breakpoint to a single instance or thread.
+ * They are pushed into the breakpoint request as instance and thread filters,
+ * see {@link #getInstanceFilter(IJavaDebugTarget)} and
+ * {@link #getThreadFilter(IJavaDebugTarget)}, such that the target does not
+ * report the hits for which the condition is false.
+ * </p>
+ */
+public class SimpleCondition {
+
+	private static final String EQUALS_SELECTOR = "equals"; //$NON-NLS-1$
+	private static final String EQUALS_SIGNATURE = "(Ljava/lang/Object;)Z"; //$NON-NLS-1$
+	private static final String STRING_TYPE = "java.lang.String"; //$NON-NLS-1$
+	private static final String THREAD_TYPE = "java.lang.Thread"; //$NON-NLS-1$
+	private static final String CURRENT_THREAD_SELECTOR = "currentThread"; //$NON-NLS-1$
+	private static final String CURRENT_THREAD_SIGNATURE = "()Ljava/lang/Thread;"; //$NON-NLS-1$
+
+	/**
+	 * Kinds of operands
+	 */
+	private enum Kind {
+		LOCAL, THIS, CURRENT_THREAD, STATIC_FIELD, LITERAL
+	}
+
+	/**
+	 * An operand of a condition. The name is the name of a local variable or
+	 * of a static field declared by the given type. The value of a literal is
+	 * a {@link Long}, a {@link Boolean}, a {@link String} or <code>null</code>.
+	 */
+	private record Operand(Kind kind, String name, String typeName, Object literal) {
+
+		Operand(Kind kind) {
+			this(kind, null, null, null);
+		}
+
+		boolean isLiteral() {
+			return kind == Kind.LITERAL;
+		}
+	}
+
+	/**
+	 * Left and right operands, the right operand is <code>null</code> for a
+	 * constant condition
+	 */
+	private final Operand fLeft;
+	private final Operand fRight;
+
+	/**
+	 * Whether the operands are compared with <code>String.equals()</code>
+	 */
+	private final boolean fStringEquals;
+
+	/**
+	 * Whether the condition holds when the operands are equal
+	 */
+	private final boolean fEquals;
+
+	private SimpleCondition(Operand left, Operand right, boolean stringEquals, boolean equals) {
+		fLeft = left;
+		fRight = right;
+		fStringEquals = stringEquals;
+		fEquals = equals;
+	}
+
+	/**
+	 * Returns the simple condition compiled into the given expression or
+	 * <code>null</code> if the expression is not a simple condition.
+	 *
+	 * @param expression
+	 *            compiled expression
+	 * @return simple condition or <code>null</code>
+	 */
+	public static SimpleCondition analyze(ICompiledExpression expression) {
+		if (!(expression instanceof InstructionSequence) || expression.hasErrors()) {
+			return null;
+		}
+		List<Instruction> instructions = new ArrayList<>(4);
+		Instruction[] sequence = ((InstructionSequence) expression).getInstructions();
+		for (int i = 0; i < sequence.length; i++) {
+			Instruction instruction = sequence[i];
+			if (instruction instanceof PushType && i + 1 < sequence.length && sequence[i + 1] instanceof Pop) {
+				// the discarded type qualifying a static method call
+				i++;
+			} else if (!(instruction instanceof NoOp || instruction instanceof ReturnInstruction || instruction instanceof Pop)) {
+				instructions.add(instruction);
+			}
+		}
+		switch (instructions.size()) {
+			case 1:
+				if (instructions.get(0) instanceof PushBoolean) {
+					return new SimpleCondition(new Operand(Kind.LITERAL, null, null, Boolean.valueOf(((PushBoolean) instructions.get(0)).getValue())), null, false, true);
+				}
+				return null;
+			case 3:
+				Operand left = getOperand(instructions.get(0));
+				Operand right = getOperand(instructions.get(1));
+				if (left == null || right == null || (left.isLiteral() && right.isLiteral())) {
+					return null;
+				}
+				Instruction operator = instructions.get(2);
+				if (operator instanceof EqualEqualOperator) {
+					return new SimpleCondition(left, right, false, ((EqualEqualOperator) operator).isEquals());
+				}
+				if (operator instanceof SendMessage message && EQUALS_SELECTOR.equals(message.getSelector())
+						&& EQUALS_SIGNATURE.equals(message.getSignature())
+						&& (left.kind() == Kind.LOCAL || left.kind() == Kind.STATIC_FIELD)
+						&& instructions.get(1) instanceof PushString) {
+					return new SimpleCondition(left, right, true, true);
+				}
+				return null;
+			default:
+				return null;
+		}
+	}
+
+	private static Operand getOperand(Instruction instruction) {
+		if (instruction instanceof PushLocalVariable) {
+			return new Operand(Kind.LOCAL, ((PushLocalVariable) instruction).getName(), null, null);
+		}
+		if (instruction instanceof PushThis) {
+			if (((PushThis) instruction).getEnclosingLevel() == 0) {
+				return new Operand(Kind.THIS);
+			}
+			return null;
+		}
+		if (instruction instanceof PushStaticFieldVariable field) {
+			return new Operand(Kind.STATIC_FIELD, field.getFieldName(), field.getQualifiedTypeName(), null);
+		}
+		if (instruction instanceof SendStaticMessage message) {
+			if (THREAD_TYPE.equals(message.getTypeName()) && CURRENT_THREAD_SELECTOR.equals(message.getSelector())
+					&& CURRENT_THREAD_SIGNATURE.equals(message.getSignature())) {
+				return new Operand(Kind.CURRENT_THREAD);
+			}
+			return null;
+		}
+		if (instruction instanceof PushInt) {
+			return new Operand(Kind.LITERAL, null, null, Long.valueOf(((PushInt) instruction).getValue()));
+		}
+		if (instruction instanceof PushLong) {
+			return new Operand(Kind.LITERAL, null, null, Long.valueOf(((PushLong) instruction).getValue()));
+		}
+		if (instruction instanceof PushChar) {
+			return new Operand(Kind.LITERAL, null, null, Long.valueOf(((PushChar) instruction).getValue()));
+		}
+		if (instruction instanceof PushBoolean) {
+			return new Operand(Kind.LITERAL, null, null, Boolean.valueOf(((PushBoolean) instruction).getValue()));
+		}
+		if (instruction instanceof PushNull) {
+			return new Operand(Kind.LITERAL);
+		}
+		if (instruction instanceof PushString) {
+			return new Operand(Kind.LITERAL, null, null, ((PushString) instruction).getValue());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the object the breakpoint request can be restricted to with an
+	 * instance filter, when this condition is <code>this == Type.FIELD</code>
+	 * for a static final field that is set in the given target. Returns
+	 * <code>null</code> otherwise.
+	 *
+	 * @param target
+	 *            the target the breakpoint was hit in
+	 * @return the object to filter on or <code>null</code>
+	 * @throws DebugException
+	 *             if the field cannot be read
+	 */
+	public IJavaObject getInstanceFilter(IJavaDebugTarget target) throws DebugException {
+		return getFilter(Kind.THIS, target);
+	}
+
+	/**
+	 * Returns the thread object the breakpoint request can be restricted to
+	 * with a thread filter, when this condition is
+	 * <code>Thread.currentThread() == Type.FIELD</code> for a static final
+	 * field that is set in the given target. Returns <code>null</code>
+	 * otherwise.
+	 *
+	 * @param target
+	 *            the target the breakpoint was hit in
+	 * @return the thread object to filter on or <code>null</code>
+	 * @throws DebugException
+	 *             if the field cannot be read
+	 */
+	public IJavaObject getThreadFilter(IJavaDebugTarget target) throws DebugException {
+		return getFilter(Kind.CURRENT_THREAD, target);
+	}
+
+	private IJavaObject getFilter(Kind kind, IJavaDebugTarget target) throws DebugException {
+		if (fRight == null || fStringEquals || !fEquals) {
+			return null;
+		}
+		Operand field;
+		if (fLeft.kind() == kind) {
+			field = fRight;
+		} else if (fRight.kind() == kind) {
+			field = fLeft;
+		} else {
+			return null;
+		}
+		if (field.kind() != Kind.STATIC_FIELD) {
+			return null;
+		}
+		IJavaFieldVariable variable = getStaticField(field, target);
+		if (variable == null || !variable.isFinal()) {
+			// the value may change after the request was filtered
+			return null;
+		}
+		IJavaValue value = variable.getValue();
+		if (value instanceof IJavaObject object && !object.isNull()) {
+			return object;
+		}
+		// not initialized yet
+		return null;
+	}
+
+	/**
+	 * Returns the static field of the given operand or <code>null</code> if
+	 * its type is not loaded or is loaded by several class loaders, in which
+	 * case the expression must be evaluated.
+	 */
+	private static IJavaFieldVariable getStaticField(Operand operand, IJavaDebugTarget target) throws DebugException {
+		IJavaType[] types = target.getJavaTypes(operand.typeName());
+		if (types == null || types.length != 1 || !(types[0] instanceof IJavaReferenceType)) {
+			return null;
+		}
+		IJavaFieldVariable field = ((IJavaReferenceType) types[0]).getField(operand.name());
+		if (field == null || !field.isStatic()) {
+			return null;
+		}
+		return field;
+	}
+
+	/**
+	 * Decides this condition in the given stack frame. Returns
+	 * <code>null</code> if the condition cannot be decided from the values of
+	 * the frame, in which case the expression must be evaluated.
+	 *
+	 * @param frame
+	 *            the stack frame, suspended at the breakpoint
+	 * @return whether the condition holds or <code>null</code>
+	 * @throws DebugException
+	 *             if values of the frame cannot be retrieved
+	 */
+	public Boolean evaluate(IJavaStackFrame frame) throws DebugException {
+		if (fRight == null) {
+			return (Boolean) fLeft.literal();
+		}
+		Object left = getValue(fLeft, frame);
+		Object right = getValue(fRight, frame);
+		if (left == null || right == null) {
+			return null;
+		}
+		Boolean equal;
+		if (fStringEquals) {
+			equal = stringEquals((IJavaValue) left, (String) right);
+		} else {
+			equal = equal(left, right);
+		}
+		if (equal == null) {
+			return null;
+		}
+		return Boolean.valueOf(equal.booleanValue() == fEquals);
+	}
+
+	/**
+	 * Returns the value of the operand: an {@link IJavaValue} for variables,
+	 * the literal otherwise. Returns <code>null</code> if the variable does not
+	 * exist in the frame. The <code>null</code> literal is returned as
+	 * {@link Operand}.
+	 */
+	private Object getValue(Operand operand, IJavaStackFrame frame) throws DebugException {
+		switch (operand.kind()) {
+			case THIS:
+				return frame.getThis();
+			case CURRENT_THREAD:
+				return ((IJavaThread) frame.getThread()).getThreadObject();
+			case STATIC_FIELD:
+				IJavaFieldVariable field = getStaticField(operand, (IJavaDebugTarget) frame.getDebugTarget());
+				return field == null ? null : field.getValue();
+			case LITERAL:
+				return operand.literal() == null ? operand : operand.literal();
+			default:
+				for (IJavaVariable local : frame.getLocalVariables()) {
+					if (local.getName().equals(operand.name())) {
+						return local.getValue();
+					}
+				}
+				// may be a variable of an enclosing frame, see PushLocalVariable
+				return null;
+		}
+	}
+
+	private Boolean stringEquals(IJavaValue receiver, String literal) throws DebugException {
+		if (receiver.isNull() || !(receiver instanceof IJavaObject)) {
+			// a NullPointerException is reported by the evaluation
+			return null;
+		}
+		if (!STRING_TYPE.equals(receiver.getJavaType().getName())) {
+			return null;
+		}
+		return Boolean.valueOf(literal.equals(receiver.getValueString()));
+	}
+
+	private Boolean equal(Object left, Object right) throws DebugException {
+		if (right instanceof IJavaValue && !(left instanceof IJavaValue)) {
+			return equal(right, left);
+		}
+		IJavaValue value = (IJavaValue) left;
+		if (right instanceof Operand) {
+			// null literal
+			return value instanceof IJavaPrimitiveValue ? null : Boolean.valueOf(value.isNull());
+		}
+		if (value instanceof IJavaPrimitiveValue primitive) {
+			return primitiveEquals(primitive, right);
+		}
+		if (right instanceof IJavaValue other && !(other instanceof IJavaPrimitiveValue)) {
+			if (value.isNull() || other.isNull()) {
+				return Boolean.valueOf(value.isNull() && other.isNull());
+			}
+			return Boolean.valueOf(value.equals(other));
+		}
+		return null;
+	}
+
+	private Boolean primitiveEquals(IJavaPrimitiveValue value, Object literal) throws DebugException {
+		String signature = value.getSignature();
+		if (signature == null || signature.length() != 1) {
+			return null;
+		}
+		switch (signature.charAt(0)) {
+			case 'B':
+			case 'C':
+			case 'S':
+			case 'I':
+			case 'J':
+				if (literal instanceof Long) {
+					return Boolean.valueOf(value.getLongValue() == ((Long) literal).longValue());
+				}
+				return null;
+			case 'Z':
+				if (literal instanceof Boolean) {
+					return Boolean.valueOf(value.getBooleanValue() == ((Boolean) literal).booleanValue());
+				}
+				return null;
+			default:
+				// floating point comparisons are left to the evaluation
+				return null;
+		}
+	}
+}
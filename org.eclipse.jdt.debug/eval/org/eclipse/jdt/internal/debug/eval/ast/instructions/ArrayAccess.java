@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,8 @@ import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
  */
 public class ArrayAccess extends ArrayInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	public ArrayAccess(int start) {
 		super(start);
 	}
@@ -52,6 +54,11 @@ public class ArrayAccess extends ArrayInstruction {
 		push(array.getVariable(index));
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.ArrayAccess_array_access_1;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,8 @@ import org.eclipse.jdt.internal.debug.core.model.JDIPrimitiveValue;
 
 public class AssignmentOperator extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	protected int fVariableTypeId;
 	protected int fValueTypeId;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,9 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 
 public abstract class BinaryOperator extends CompoundInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	protected int fResultTypeId;
 	protected int fLeftTypeId;
 	protected int fRightTypeId;
@@ -44,6 +47,11 @@ public abstract class BinaryOperator extends CompoundInstruction {
 		}
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return !fIsAssignmentOperator;
+	}
+
 	private void executeAssignment() throws CoreException {
 		IJavaValue value = popValue();
 		IJavaVariable variable = (IJavaVariable) pop();
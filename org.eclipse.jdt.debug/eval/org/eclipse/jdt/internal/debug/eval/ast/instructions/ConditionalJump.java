@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,12 +20,25 @@ import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaValue;
 
 public class ConditionalJump extends Jump {
+
+	private static final long serialVersionUID = 1L;
+
 	private final boolean fJumpOnTrue;
 
 	public ConditionalJump(boolean jumpOnTrue) {
 		fJumpOnTrue = jumpOnTrue;
 	}
 
+	/**
+	 * Returns whether the jump is taken when the condition is
+	 * <code>true</code>.
+	 *
+	 * @return whether the jump is taken when the condition is <code>true</code>
+	 */
+	public boolean isJumpOnTrue() {
+		return fJumpOnTrue;
+	}
+
 	/*
 	 * @see Instruction#execute()
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,9 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 
 public class DivideOperator extends BinaryOperator {
+
+	private static final long serialVersionUID = 1L;
+
 	public DivideOperator(int resultId, int leftTypeId, int rightTypeId,
 			int start) {
 		this(resultId, leftTypeId, rightTypeId, false, start);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 
 public class EqualEqualOperator extends BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	private final boolean fIsEquals;
 
 	public EqualEqualOperator(int leftTypeId, int rightTypeId,
@@ -27,6 +29,16 @@ public class EqualEqualOperator extends BinaryOperator {
 		fIsEquals = isEquals;
 	}
 
+	/**
+	 * Returns whether this operator is <code>==</code> rather than
+	 * <code>!=</code>.
+	 *
+	 * @return whether this operator is <code>==</code>
+	 */
+	public boolean isEquals() {
+		return fIsEquals;
+	}
+
 	/*
 	 * @see BinaryOperator#getBooleanResult(IJavaValue, IJavaValue)
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,9 @@ import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
 import org.eclipse.osgi.util.NLS;
 
 public class InstanceOfOperator extends CompoundInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	public static final String IS_INSTANCE = "isInstance"; //$NON-NLS-1$
 	public static final String IS_INSTANCE_SIGNATURE = "(Ljava/lang/Object;)Z"; //$NON-NLS-1$
 
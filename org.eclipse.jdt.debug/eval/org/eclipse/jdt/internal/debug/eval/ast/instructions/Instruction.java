@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import java.io.Serializable;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -32,24 +34,51 @@ import org.eclipse.jdt.internal.debug.eval.ast.engine.Interpreter;
 import org.eclipse.osgi.util.NLS;
 
 /**
- * Common behavior for instructions.
+ * Common behavior for instructions. Instructions are serializable such that
+ * compiled expressions can be cached across sessions, see
+ * <code>CompiledExpressionCache</code>.
  */
-public abstract class Instruction {
+public abstract class Instruction implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
-	private Interpreter fInterpreter;
+	/**
+	 * The interpreter executing instructions in the current thread. Compiled
+	 * expressions are shared by threads, so the interpreter is not stored in
+	 * the instructions.
+	 */
+	private static final ThreadLocal<Interpreter> fgInterpreter = new ThreadLocal<>();
 
 	public abstract int getSize();
 
-	public void setInterpreter(Interpreter interpreter) {
-		fInterpreter = interpreter;
+	/**
+	 * Sets the interpreter executing instructions in the current thread.
+	 *
+	 * @param interpreter
+	 *            the interpreter or <code>null</code>
+	 * @return the interpreter that was executing instructions in the current
+	 *         thread before, or <code>null</code>
+	 */
+	public static Interpreter setInterpreter(Interpreter interpreter) {
+		Interpreter previous = fgInterpreter.get();
+		if (interpreter == null) {
+			fgInterpreter.remove();
+		} else {
+			fgInterpreter.set(interpreter);
+		}
+		return previous;
+	}
+
+	private static Interpreter getInterpreter() {
+		return fgInterpreter.get();
 	}
 
 	public void setLastValue(IJavaValue value) {
-		fInterpreter.setLastValue(value);
+		getInterpreter().setLastValue(value);
 	}
 
 	public void stop() {
-		fInterpreter.stop();
+		getInterpreter().stop();
 	}
 
 	public static int getBinaryPromotionType(int left, int right) {
@@ -58,8 +87,20 @@ public abstract class Instruction {
 
 	public abstract void execute() throws CoreException;
 
+	/**
+	 * Returns whether this instruction only reads values, and does neither
+	 * assign variables nor invoke methods in the target VM. Values read during
+	 * an evaluation are reused until an instruction that is not read-only is
+	 * executed, see {@link IRuntimeContext#getValue(IJavaVariable)}.
+	 *
+	 * @return whether this instruction only reads values
+	 */
+	public boolean isReadOnly() {
+		return false;
+	}
+
 	protected IRuntimeContext getContext() {
-		return fInterpreter.getContext();
+		return getInterpreter().getContext();
 	}
 
 	protected IJavaDebugTarget getVM() {
@@ -72,7 +113,7 @@ public abstract class Instruction {
 	 * @see Interpreter#getInternalVariable(String)
 	 */
 	protected IVariable getInternalVariable(String name) {
-		return fInterpreter.getInternalVariable(name);
+		return getInterpreter().getInternalVariable(name);
 	}
 
 	/**
@@ -82,7 +123,7 @@ public abstract class Instruction {
 	 */
 	protected IVariable createInternalVariable(String name,
 			IJavaType referencType) {
-		return fInterpreter.createInternalVariable(name, referencType);
+		return getInterpreter().createInternalVariable(name, referencType);
 	}
 
 	/**
@@ -96,35 +137,36 @@ public abstract class Instruction {
 	}
 
 	protected void jump(int offset) {
-		fInterpreter.jump(offset);
+		getInterpreter().jump(offset);
 	}
 
 	protected void push(Object object) {
-		fInterpreter.push(object);
+		getInterpreter().push(object);
 	}
 
 	protected Object pop() {
-		return fInterpreter.pop();
+		return getInterpreter().pop();
 	}
 
 	protected IJavaValue popValue() throws CoreException {
-		Object element = fInterpreter.pop();
+		Object element = getInterpreter().pop();
 		if (element instanceof IJavaVariable) {
-			return (IJavaValue) ((IJavaVariable) element).getValue();
+			return getContext().getValue((IJavaVariable) element);
 		}
 		return (IJavaValue) element;
 	}
 
 	protected void pushNewValue(boolean value) {
-		fInterpreter.push(newValue(value));
+		Interpreter interpreter = getInterpreter();
+		interpreter.push(interpreter.newValue(value));
 	}
 
 	protected IJavaValue newValue(boolean value) {
-		return getVM().newValue(value);
+		return getInterpreter().newValue(value);
 	}
 
 	protected void pushNewValue(byte value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(byte value) {
@@ -132,7 +174,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(short value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(short value) {
@@ -140,7 +182,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(int value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(int value) {
@@ -148,7 +190,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(long value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(long value) {
@@ -156,7 +198,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(char value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(char value) {
@@ -164,7 +206,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(float value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(float value) {
@@ -172,7 +214,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(double value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(double value) {
@@ -180,7 +222,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(String value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(String value) {
@@ -188,7 +230,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNullValue() {
-		fInterpreter.push(nullValue());
+		getInterpreter().push(nullValue());
 	}
 
 	protected IJavaValue nullValue() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,7 +21,9 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.dom.Message;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
 
-public class InstructionSequence implements ICompiledExpression {
+public class InstructionSequence implements ICompiledExpression, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final List<Instruction> fInstructions;
 	/**
@@ -29,9 +32,16 @@ public class InstructionSequence implements ICompiledExpression {
 	 */
 	private final List<String> fErrors;
 	private final String fSnippet;
-	private CoreException fException;
+	private transient CoreException fException;
 	private final List<Integer> fProblemIDs;
 
+	/**
+	 * The instructions translated to operations on unboxed operands, computed
+	 * once on first execution
+	 */
+	private transient PrimitiveProgram fPrimitiveProgram;
+	private transient volatile boolean fPrimitiveProgramCompiled;
+
 	public InstructionSequence(String snippet) {
 		fInstructions = new ArrayList<>(10);
 		fErrors = new ArrayList<>();
@@ -106,6 +116,22 @@ public class InstructionSequence implements ICompiledExpression {
 		return instructions;
 	}
 
+	/**
+	 * Returns the instructions translated to operations on unboxed operands,
+	 * or <code>null</code> if the instructions have to be interpreted. The
+	 * translation is done once, after the sequence is complete.
+	 *
+	 * @return the program or <code>null</code>
+	 * @see PrimitiveProgram
+	 */
+	public PrimitiveProgram getPrimitiveProgram() {
+		if (!fPrimitiveProgramCompiled) {
+			fPrimitiveProgram = PrimitiveProgram.compile(getInstructions());
+			fPrimitiveProgramCompiled = true;
+		}
+		return fPrimitiveProgram;
+	}
+
 	/**
 	 * Answer the instruction at the given address
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,9 @@ package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 import org.eclipse.core.runtime.CoreException;
 
 public class Jump extends SimpleInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	protected int fOffset;
 
 	public void setOffset(int offset) {
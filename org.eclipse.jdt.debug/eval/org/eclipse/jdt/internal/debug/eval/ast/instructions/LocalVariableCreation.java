@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,8 @@ import com.sun.jdi.VirtualMachine;
 
 public class LocalVariableCreation extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Indicate if the type is a primitive type.
 	 */
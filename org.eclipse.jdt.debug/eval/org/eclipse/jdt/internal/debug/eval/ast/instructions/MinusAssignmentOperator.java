@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
 public class MinusAssignmentOperator extends MinusOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	public MinusAssignmentOperator(int variableTypeId, int valueTypeId,
 			int start) {
 		super(variableTypeId, variableTypeId, valueTypeId, true, start);
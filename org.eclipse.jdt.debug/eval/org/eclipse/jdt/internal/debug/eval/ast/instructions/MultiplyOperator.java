@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,9 @@ import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaValue;
 
 public class MultiplyOperator extends BinaryOperator {
+
+	private static final long serialVersionUID = 1L;
+
 	public MultiplyOperator(int resultId, int leftTypeId, int rightTypeId,
 			int start) {
 		this(resultId, leftTypeId, rightTypeId, false, start);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
 
 public class PlusOperator extends BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	public static final String NULL = "null"; //$NON-NLS-1$
 	public static final String TOSTRING_SELECTOR = "toString"; //$NON-NLS-1$
 	public static final String TOSTRING_SIGNATURE = "()Ljava/lang/String;"; //$NON-NLS-1$
@@ -35,6 +37,15 @@ public class PlusOperator extends BinaryOperator {
 		super(resultId, leftTypeId, rightTypeId, isAssignmentOperator, start);
 	}
 
+	/**
+	 * Returns <code>false</code> for a string concatenation with an object,
+	 * which is converted by invoking <code>toString()</code>.
+	 */
+	@Override
+	public boolean isReadOnly() {
+		return super.isReadOnly() && (fResultTypeId != T_String || (fLeftTypeId != T_Object && fRightTypeId != T_Object));
+	}
+
 	private String getString(IJavaValue value, int typeId)
 			throws DebugException {
 
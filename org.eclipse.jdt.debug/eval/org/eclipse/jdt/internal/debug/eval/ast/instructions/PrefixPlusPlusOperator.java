@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import org.eclipse.jdt.debug.core.IJavaVariable;
 
 public class PrefixPlusPlusOperator extends XfixOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	public PrefixPlusPlusOperator(int variableTypeId, int start) {
 		super(variableTypeId, start);
 	}
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.instructions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.IRuntimeContext;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.Interpreter;
+
+/**
+ * An instruction sequence that only reads local variables of primitive type
+ * and computes <code>boolean</code>, <code>int</code> and <code>long</code>
+ * values, translated once into operations on unboxed operands. Typical
+ * breakpoint conditions such as <code>i == 3 &amp;&amp; j &gt; 0</code> are
+ * evaluated without creating a value in the target for each intermediate
+ * result, only the result of the expression is created in the target.
+ * <p>
+ * The operations have no side effect, such that the instructions can be
+ * interpreted as usual when the program cannot compute the result, for
+ * example when a local variable is not of primitive type or an integer is
+ * divided by zero.
+ * </p>
+ */
+public final class PrimitiveProgram {
+
+	private static final int LOAD = 0;
+	private static final int CONST = 1;
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	private static final int REM = 6;
+	private static final int AND = 7;
+	private static final int OR = 8;
+	private static final int XOR = 9;
+	private static final int SHL = 10;
+	private static final int SHR = 11;
+	private static final int USHR = 12;
+	private static final int EQ = 13;
+	private static final int NE = 14;
+	private static final int LT = 15;
+	private static final int LE = 16;
+	private static final int GT = 17;
+	private static final int GE = 18;
+	private static final int NEG = 19;
+	private static final int NOT = 20;
+	private static final int TWIDDLE = 21;
+	private static final int JUMP = 22;
+	private static final int JUMP_IF_TRUE = 23;
+	private static final int JUMP_IF_FALSE = 24;
+	private static final int POP = 25;
+	private static final int RETURN = 26;
+	private static final int NO_OP = 27;
+
+	/**
+	 * Operation codes, one per instruction such that jump offsets are kept
+	 */
+	private final int[] fOperations;
+
+	/**
+	 * Type of the value computed by each operation, one of the
+	 * <code>Instruction.T_*</code> constants
+	 */
+	private final int[] fTypes;
+
+	/**
+	 * Constant, jump offset or index of the local variable of each operation
+	 */
+	private final long[] fArguments;
+
+	/**
+	 * Names of the local variables read by the program
+	 */
+	private final String[] fLocals;
+
+	private PrimitiveProgram(int[] operations, int[] types, long[] arguments, String[] locals) {
+		fOperations = operations;
+		fTypes = types;
+		fArguments = arguments;
+		fLocals = locals;
+	}
+
+	/**
+	 * Translates the given instructions into a program on unboxed operands.
+	 *
+	 * @param instructions
+	 *            compiled instructions
+	 * @return the program or <code>null</code> if one of the instructions
+	 *         cannot be executed on unboxed operands
+	 */
+	public static PrimitiveProgram compile(Instruction[] instructions) {
+		if (instructions.length == 0) {
+			return null;
+		}
+		int[] operations = new int[instructions.length];
+		int[] types = new int[instructions.length];
+		long[] arguments = new long[instructions.length];
+		List<String> locals = new ArrayList<>();
+		for (int i = 0; i < instructions.length; i++) {
+			Instruction instruction = instructions[i];
+			int operation;
+			int type = Instruction.T_undefined;
+			long argument = 0;
+			if (instruction instanceof PushLocalVariable push) {
+				operation = LOAD;
+				int index = locals.indexOf(push.getName());
+				if (index < 0) {
+					index = locals.size();
+					locals.add(push.getName());
+				}
+				argument = index;
+			} else if (instruction instanceof PushInt push) {
+				operation = CONST;
+				type = Instruction.T_int;
+				argument = push.getValue();
+			} else if (instruction instanceof PushLong push) {
+				operation = CONST;
+				type = Instruction.T_long;
+				argument = push.getValue();
+			} else if (instruction instanceof PushChar push) {
+				operation = CONST;
+				type = Instruction.T_char;
+				argument = push.getValue();
+			} else if (instruction instanceof PushBoolean push) {
+				operation = CONST;
+				type = Instruction.T_boolean;
+				argument = push.getValue() ? 1 : 0;
+			} else if (instruction instanceof BinaryOperator operator) {
+				if (operator.fIsAssignmentOperator) {
+					return null;
+				}
+				operation = getOperation(operator);
+				if (operation < 0) {
+					return null;
+				}
+				type = operator.fResultTypeId;
+			} else if (instruction instanceof UnaryOperator operator) {
+				if (instruction instanceof NotOperator) {
+					operation = NOT;
+					type = Instruction.T_boolean;
+				} else if (instruction instanceof UnaryMinusOperator) {
+					operation = NEG;
+					type = getIntegralType(Instruction.getUnaryPromotionType(operator.fExpressionTypeId));
+				} else if (instruction instanceof TwiddleOperator) {
+					operation = TWIDDLE;
+					type = getIntegralType(Instruction.getUnaryPromotionType(operator.fExpressionTypeId));
+				} else {
+					return null;
+				}
+				if (type == Instruction.T_undefined) {
+					return null;
+				}
+			} else if (instruction instanceof Jump jump) {
+				if (jump.fOffset < 0) {
+					// loops are interpreted, such that the evaluation can be stopped
+					return null;
+				}
+				if (jump instanceof ConditionalJump conditionalJump) {
+					operation = conditionalJump.isJumpOnTrue() ? JUMP_IF_TRUE : JUMP_IF_FALSE;
+				} else {
+					operation = JUMP;
+				}
+				argument = jump.fOffset;
+			} else if (instruction instanceof Pop) {
+				operation = POP;
+			} else if (instruction instanceof ReturnInstruction) {
+				operation = RETURN;
+			} else if (instruction instanceof NoOp) {
+				operation = NO_OP;
+			} else {
+				return null;
+			}
+			operations[i] = operation;
+			types[i] = type;
+			arguments[i] = argument;
+		}
+		return new PrimitiveProgram(operations, types, arguments, locals.toArray(new String[locals.size()]));
+	}
+
+	/**
+	 * Returns the operation computing the given binary operator or
+	 * <code>-1</code> if the operands or the result are not integral or
+	 * <code>boolean</code>.
+	 */
+	private static int getOperation(BinaryOperator operator) {
+		int resultType = operator.fResultTypeId;
+		int operandType = operator.getInternResultType();
+		boolean integral = operandType == Instruction.T_int || operandType == Instruction.T_long;
+		boolean logical = operandType == Instruction.T_boolean;
+		if (operator instanceof EqualEqualOperator equals) {
+			return integral || logical ? (equals.isEquals() ? EQ : NE) : -1;
+		}
+		if (operator instanceof LessOperator) {
+			return integral ? LT : -1;
+		}
+		if (operator instanceof LessEqualOperator) {
+			return integral ? LE : -1;
+		}
+		if (operator instanceof GreaterOperator) {
+			return integral ? GT : -1;
+		}
+		if (operator instanceof GreaterEqualOperator) {
+			return integral ? GE : -1;
+		}
+		if (resultType == Instruction.T_boolean && logical) {
+			if (operator instanceof AndOperator) {
+				return AND;
+			}
+			if (operator instanceof OrOperator) {
+				return OR;
+			}
+			if (operator instanceof XorOperator) {
+				return XOR;
+			}
+			return -1;
+		}
+		if (resultType != Instruction.T_int && resultType != Instruction.T_long) {
+			return -1;
+		}
+		if (operator instanceof LeftShiftOperator) {
+			return SHL;
+		}
+		if (operator instanceof RightShiftOperator) {
+			return SHR;
+		}
+		if (operator instanceof UnsignedRightShiftOperator) {
+			return USHR;
+		}
+		if (!integral) {
+			return -1;
+		}
+		if (operator instanceof PlusOperator) {
+			return ADD;
+		}
+		if (operator instanceof MinusOperator) {
+			return SUB;
+		}
+		if (operator instanceof MultiplyOperator) {
+			return MUL;
+		}
+		if (operator instanceof DivideOperator) {
+			return DIV;
+		}
+		if (operator instanceof RemainderOperator) {
+			return REM;
+		}
+		if (operator instanceof AndOperator) {
+			return AND;
+		}
+		if (operator instanceof OrOperator) {
+			return OR;
+		}
+		if (operator instanceof XorOperator) {
+			return XOR;
+		}
+		return -1;
+	}
+
+	private static int getIntegralType(int typeId) {
+		return typeId == Instruction.T_int || typeId == Instruction.T_long ? typeId : Instruction.T_undefined;
+	}
+
+	/**
+	 * Executes the program in the context of the given interpreter.
+	 *
+	 * @param interpreter
+	 *            interpreter of the instructions the program was compiled
+	 *            from
+	 * @return the result of the expression or <code>null</code> if the
+	 *         instructions have to be interpreted
+	 * @throws CoreException
+	 *             if the local variables cannot be read
+	 */
+	public IJavaValue execute(Interpreter interpreter) throws CoreException {
+		IRuntimeContext context = interpreter.getContext();
+		long[] locals = new long[fLocals.length];
+		int[] localTypes = new int[fLocals.length];
+		if (!readLocals(context, locals, localTypes)) {
+			return null;
+		}
+		long[] stack = new long[fOperations.length];
+		int[] stackTypes = new int[fOperations.length];
+		int size = 0;
+		int pc = 0;
+		while (pc < fOperations.length) {
+			int index = pc++;
+			int type = fTypes[index];
+			boolean isLong = type == Instruction.T_long;
+			switch (fOperations[index]) {
+				case LOAD: {
+					int local = (int) fArguments[index];
+					stackTypes[size] = localTypes[local];
+					stack[size++] = locals[local];
+					continue;
+				}
+				case CONST:
+					stackTypes[size] = type;
+					stack[size++] = fArguments[index];
+					continue;
+				case JUMP:
+					pc += (int) fArguments[index];
+					continue;
+				case JUMP_IF_TRUE:
+					if (stack[--size] != 0) {
+						pc += (int) fArguments[index];
+					}
+					continue;
+				case JUMP_IF_FALSE:
+					if (stack[--size] == 0) {
+						pc += (int) fArguments[index];
+					}
+					continue;
+				case POP:
+					size--;
+					continue;
+				case RETURN:
+					pc = fOperations.length;
+					continue;
+				case NO_OP:
+					continue;
+				case NOT:
+					stack[size - 1] = stack[size - 1] == 0 ? 1 : 0;
+					stackTypes[size - 1] = type;
+					continue;
+				case NEG:
+					stack[size - 1] = isLong ? -stack[size - 1] : -(int) stack[size - 1];
+					stackTypes[size - 1] = type;
+					continue;
+				case TWIDDLE:
+					stack[size - 1] = isLong ? ~stack[size - 1] : ~(int) stack[size - 1];
+					stackTypes[size - 1] = type;
+					continue;
+				default:
+					break;
+			}
+			long right = stack[--size];
+			long left = stack[size - 1];
+			long result;
+			switch (fOperations[index]) {
+				case ADD:
+					result = left + right;
+					break;
+				case SUB:
+					result = left - right;
+					break;
+				case MUL:
+					result = left * right;
+					break;
+				case DIV:
+					if (right == 0) {
+						return null;
+					}
+					result = left / right;
+					break;
+				case REM:
+					if (right == 0) {
+						return null;
+					}
+					result = left % right;
+					break;
+				case AND:
+					result = left & right;
+					break;
+				case OR:
+					result = left | right;
+					break;
+				case XOR:
+					result = left ^ right;
+					break;
+				case SHL:
+					result = isLong ? left << right : (int) left << right;
+					break;
+				case SHR:
+					result = isLong ? left >> right : (int) left >> right;
+					break;
+				case USHR:
+					result = isLong ? left >>> right : (int) left >>> right;
+					break;
+				case EQ:
+					result = left == right ? 1 : 0;
+					break;
+				case NE:
+					result = left != right ? 1 : 0;
+					break;
+				case LT:
+					result = left < right ? 1 : 0;
+					break;
+				case LE:
+					result = left <= right ? 1 : 0;
+					break;
+				case GT:
+					result = left > right ? 1 : 0;
+					break;
+				case GE:
+					result = left >= right ? 1 : 0;
+					break;
+				default:
+					return null;
+			}
+			stack[size - 1] = type == Instruction.T_int ? (int) result : result;
+			stackTypes[size - 1] = type;
+		}
+		if (size == 0) {
+			return null;
+		}
+		return newValue(interpreter, stack[size - 1], stackTypes[size - 1]);
+	}
+
+	/**
+	 * Reads the values of the local variables of the program, returns whether
+	 * all of them are found and of integral or <code>boolean</code> type.
+	 */
+	private boolean readLocals(IRuntimeContext context, long[] values, int[] types) throws CoreException {
+		if (fLocals.length == 0) {
+			return true;
+		}
+		IJavaVariable[] variables = context.getLocals();
+		for (int i = 0; i < fLocals.length; i++) {
+			IJavaVariable variable = null;
+			for (IJavaVariable local : variables) {
+				if (local.getName().equals(fLocals[i])) {
+					variable = local;
+					break;
+				}
+			}
+			if (variable == null || !(context.getValue(variable) instanceof IJavaPrimitiveValue value)) {
+				return false;
+			}
+			String signature = value.getSignature();
+			if (signature == null || signature.length() != 1) {
+				return false;
+			}
+			switch (signature.charAt(0)) {
+				case 'Z':
+					values[i] = value.getBooleanValue() ? 1 : 0;
+					types[i] = Instruction.T_boolean;
+					break;
+				case 'B':
+					values[i] = value.getByteValue();
+					types[i] = Instruction.T_byte;
+					break;
+				case 'S':
+					values[i] = value.getShortValue();
+					types[i] = Instruction.T_short;
+					break;
+				case 'C':
+					values[i] = value.getCharValue();
+					types[i] = Instruction.T_char;
+					break;
+				case 'I':
+					values[i] = value.getIntValue();
+					types[i] = Instruction.T_int;
+					break;
+				case 'J':
+					values[i] = value.getLongValue();
+					types[i] = Instruction.T_long;
+					break;
+				default:
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static IJavaValue newValue(Interpreter interpreter, long value, int type) {
+		IJavaDebugTarget target = interpreter.getContext().getVM();
+		switch (type) {
+			case Instruction.T_boolean:
+				return interpreter.newValue(value != 0);
+			case Instruction.T_byte:
+				return target.newValue((byte) value);
+			case Instruction.T_short:
+				return target.newValue((short) value);
+			case Instruction.T_char:
+				return target.newValue((char) value);
+			case Instruction.T_int:
+				return target.newValue((int) value);
+			case Instruction.T_long:
+				return target.newValue(value);
+			default:
+				return null;
+		}
+	}
+}
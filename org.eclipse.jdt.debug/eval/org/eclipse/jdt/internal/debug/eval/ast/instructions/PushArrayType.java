@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import org.eclipse.core.runtime.CoreException;
 
 public class PushArrayType extends ArrayInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String fTypeSignature;
 
 	private final int fDimension;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,24 @@ package org.eclipse.jdt.internal.debug.eval.ast.instructions;
  * Pushes a boolean literal onto the stack.
  */
 public class PushBoolean extends SimpleInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	private final boolean fValue;
 
 	public PushBoolean(boolean value) {
 		fValue = value;
 	}
 
+	/**
+	 * Returns the value to push onto the stack.
+	 *
+	 * @return the value to push onto the stack
+	 */
+	public boolean getValue() {
+		return fValue;
+	}
+
 	@Override
 	public void execute() {
 		pushNewValue(fValue);
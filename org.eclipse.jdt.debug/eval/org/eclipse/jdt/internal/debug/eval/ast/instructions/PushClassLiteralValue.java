@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,9 @@ import org.eclipse.jdt.debug.core.IJavaType;
  * Handles code like "new Object().class"
  */
 public class PushClassLiteralValue extends CompoundInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	public PushClassLiteralValue(int start) {
 		super(start);
 	}
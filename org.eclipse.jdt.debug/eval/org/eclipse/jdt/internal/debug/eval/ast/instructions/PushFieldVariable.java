@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class PushFieldVariable extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private String fDeclaringTypeSignature;
 
 	private final String fName;
@@ -96,6 +98,31 @@ public class PushFieldVariable extends CompoundInstruction {
 		push(field);
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
+	/**
+	 * Returns the name of the field to push onto the stack.
+	 *
+	 * @return the name of the field
+	 */
+	public String getName() {
+		return fName;
+	}
+
+	/**
+	 * Returns the signature of the type declaring the field or
+	 * <code>null</code> if the field is looked up in a super class of the
+	 * receiver.
+	 *
+	 * @return the signature of the declaring type or <code>null</code>
+	 */
+	public String getDeclaringTypeSignature() {
+		return fDeclaringTypeSignature;
+	}
+
 	@Override
 	public String toString() {
 		return NLS.bind(InstructionsEvaluationMessages.PushFieldVariable_push_field__0__2,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class PushLocalVariable extends SimpleInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Name of variable to push.
 	 */
@@ -92,7 +94,7 @@ public class PushLocalVariable extends SimpleInstruction {
 	 *
 	 * @return the name of the variable to push onto the stack
 	 */
-	protected String getName() {
+	public String getName() {
 		return fName;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,12 +18,23 @@ package org.eclipse.jdt.internal.debug.eval.ast.instructions;
  */
 public class PushLong extends SimpleInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final long fValue;
 
 	public PushLong(long value) {
 		fValue = value;
 	}
 
+	/**
+	 * Returns the value to push onto the stack.
+	 *
+	 * @return the value to push onto the stack
+	 */
+	public long getValue() {
+		return fValue;
+	}
+
 	@Override
 	public void execute() {
 		pushNewValue(fValue);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import org.eclipse.core.runtime.CoreException;
  */
 public class PushPrimitiveType extends SimpleInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String fName;
 
 	public PushPrimitiveType(String name) {
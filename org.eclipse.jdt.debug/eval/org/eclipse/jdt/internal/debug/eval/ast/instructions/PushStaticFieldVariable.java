@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class PushStaticFieldVariable extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String fFieldName;
 
 	private final String fQualifiedTypeName;
@@ -39,6 +41,24 @@ public class PushStaticFieldVariable extends CompoundInstruction {
 		fQualifiedTypeName = qualifiedTypeName;
 	}
 
+	/**
+	 * Returns the name of the field to push.
+	 *
+	 * @return the name of the field to push
+	 */
+	public String getFieldName() {
+		return fFieldName;
+	}
+
+	/**
+	 * Returns the name of the type declaring the field to push.
+	 *
+	 * @return the name of the type declaring the field to push
+	 */
+	public String getQualifiedTypeName() {
+		return fQualifiedTypeName;
+	}
+
 	@Override
 	public void execute() throws CoreException {
 		IJavaType receiver = getType(fQualifiedTypeName);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,12 +26,24 @@ import org.eclipse.jdt.internal.debug.eval.ast.engine.IRuntimeContext;
  */
 public class PushThis extends SimpleInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final int fEnclosingLevel;
 
 	public PushThis(int enclosingLevel) {
 		fEnclosingLevel = enclosingLevel;
 	}
 
+	/**
+	 * Returns the level of the enclosing instance to push, <code>0</code> for
+	 * <code>this</code>.
+	 *
+	 * @return the level of the enclosing instance to push
+	 */
+	public int getEnclosingLevel() {
+		return fEnclosingLevel;
+	}
+
 	@Override
 	public void execute() throws CoreException {
 		IRuntimeContext context = getContext();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import org.eclipse.core.runtime.CoreException;
  */
 public class PushType extends SimpleInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String fTypeName;
 
 	public PushType(String signature) {
@@ -31,6 +33,14 @@ public class PushType extends SimpleInstruction {
 		push(getType(fTypeName));
 	}
 
+	/**
+	 * Returns <code>false</code>, loading the type may initialize it.
+	 */
+	@Override
+	public boolean isReadOnly() {
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.PushType_push_type__1 + fTypeName;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, Jesper Steen Møller and others.
+ * Copyright (c) 2020, 2026 Jesper Steen Møller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.jdt.internal.debug.eval.RemoteEvaluator;
  */
 public class RemoteOperator extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final RemoteEvaluator fEvaluator;
 	private final String fSignature;
 
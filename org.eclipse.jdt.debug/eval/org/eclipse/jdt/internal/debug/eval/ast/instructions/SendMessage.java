@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class SendMessage extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final int fArgCount;
 	private final String fSelector;
 	private final String fSignature;
@@ -42,6 +44,24 @@ public class SendMessage extends CompoundInstruction {
 		fDeclaringType = declaringType;
 	}
 
+	/**
+	 * Returns the name of the method to invoke.
+	 *
+	 * @return the name of the method to invoke
+	 */
+	public String getSelector() {
+		return fSelector;
+	}
+
+	/**
+	 * Returns the signature of the method to invoke.
+	 *
+	 * @return the signature of the method to invoke
+	 */
+	public String getSignature() {
+		return fSignature;
+	}
+
 	@Override
 	public void execute() throws CoreException {
 		IJavaValue[] args = new IJavaValue[fArgCount];
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class SendStaticMessage extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	private final int fArgCount;
 	private final String fSelector;
 	private final String fSignature;
@@ -44,6 +46,33 @@ public class SendStaticMessage extends CompoundInstruction {
 		fTypeName = typeName;
 	}
 
+	/**
+	 * Returns the name of the type declaring the method to invoke.
+	 *
+	 * @return the name of the type declaring the method to invoke
+	 */
+	public String getTypeName() {
+		return fTypeName;
+	}
+
+	/**
+	 * Returns the name of the method to invoke.
+	 *
+	 * @return the name of the method to invoke
+	 */
+	public String getSelector() {
+		return fSelector;
+	}
+
+	/**
+	 * Returns the signature of the method to invoke.
+	 *
+	 * @return the signature of the method to invoke
+	 */
+	public String getSignature() {
+		return fSignature;
+	}
+
 	@Override
 	public void execute() throws CoreException {
 		IJavaValue[] args = new IJavaValue[fArgCount];
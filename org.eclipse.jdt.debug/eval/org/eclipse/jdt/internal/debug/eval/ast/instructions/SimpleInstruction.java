@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ package org.eclipse.jdt.internal.debug.eval.ast.instructions;
  */
 public abstract class SimpleInstruction extends Instruction {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Constructor for SimpleInstruction.
 	 */
@@ -31,4 +33,9 @@ public abstract class SimpleInstruction extends Instruction {
 		return 1;
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
 }
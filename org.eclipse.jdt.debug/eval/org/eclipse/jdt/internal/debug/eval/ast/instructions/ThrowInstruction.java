@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2015 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.jdt.debug.core.IJavaThread;
  */
 public class ThrowInstruction extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	public ThrowInstruction(int start) {
 		super(start);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,18 @@
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
 public abstract class UnaryOperator extends CompoundInstruction {
+
+	private static final long serialVersionUID = 1L;
+
 	protected int fExpressionTypeId;
 
 	public UnaryOperator(int expressionTypeId, int start) {
 		super(start);
 		fExpressionTypeId = expressionTypeId;
 	}
+
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
 }
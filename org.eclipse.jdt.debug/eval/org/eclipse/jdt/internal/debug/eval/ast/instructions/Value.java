@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import org.eclipse.core.runtime.CoreException;
  */
 public class Value extends CompoundInstruction {
 
+	private static final long serialVersionUID = 1L;
+
 	public Value(int start) {
 		super(start);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,12 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 	/** JDWP Tag. */
 	public static final byte tag = JdwpID.ARRAY_TAG;
 
+	/**
+	 * Maximum number of bytes sent in one <code>ArrayReference.SetValues</code>
+	 * command by {@link #setByteValues(int, byte[], int, int)}
+	 */
+	private static final int SET_BYTE_VALUES_CHUNK_SIZE = 64 * 1024;
+
 	private int fLength = -1;
 
 	/**
@@ -189,13 +195,7 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 	 */
 	private List<Value> readObjectSequence(int length, DataInputStream in)
 			throws IOException {
-		List<Value> elements = new ArrayList<>(length);
-		for (int i = 0; i < length; i++) {
-			ValueImpl value = ObjectReferenceImpl
-					.readObjectRefWithTag(this, in);
-			elements.add(value);
-		}
-		return elements;
+		return ObjectReferenceImpl.readObjectRefsWithTag(this, length, in);
 	}
 
 	/**
@@ -380,6 +380,83 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 		}
 	}
 
+	/**
+	 * Replaces a range of components of this <code>byte</code> array. Unlike
+	 * {@link #setValues(int, List, int, int)}, no value mirrors are created:
+	 * the bytes are written untagged, in chunks of at most 64KB per
+	 * <code>ArrayReference.SetValues</code> command.
+	 *
+	 * @param index
+	 *            offset in this array to start replacing values at
+	 * @param values
+	 *            replacement values
+	 * @param srcIndex
+	 *            the first offset where values are copied from the given
+	 *            replacement values
+	 * @param length
+	 *            the number of values to replace in this array
+	 * @throws InvalidTypeException
+	 *             if this is not a <code>byte</code> array
+	 * @throws ClassNotLoadedException
+	 *             thrown if the class type for the {@link ArrayReference} is
+	 *             not loaded or has been GC'd
+	 */
+	public void setByteValues(int index, byte[] values, int srcIndex, int length)
+			throws InvalidTypeException, ClassNotLoadedException {
+		if (length == 0) {
+			return;
+		}
+		int arrayLength = length();
+		if (index < 0 || index >= arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_index_1);
+		}
+		if (srcIndex < 0 || srcIndex >= values.length) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_srcIndex_2);
+		}
+		if (length < 0) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_number_of_value_to_set_in_array_3);
+		} else if (index + length > arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_set_more_values_in_array_than_length_of_array_3);
+		} else if (srcIndex + length > values.length) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_set_more_values_in_array_than_given_4);
+		}
+		if (!"B".equals(((ArrayTypeImpl) referenceType()).componentSignature())) { //$NON-NLS-1$
+			throw new InvalidTypeException();
+		}
+
+		for (int offset = 0; offset < length; offset += SET_BYTE_VALUES_CHUNK_SIZE) {
+			int chunkLength = Math.min(SET_BYTE_VALUES_CHUNK_SIZE, length - offset);
+			initJdwpRequest();
+			try {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream(chunkLength + 16);
+				DataOutputStream outData = new DataOutputStream(outBytes);
+				write(this, outData);
+				writeInt(index + offset, "index", outData); //$NON-NLS-1$
+				writeInt(chunkLength, "length", outData); //$NON-NLS-1$
+				writeByteArray(values, srcIndex + offset, chunkLength, "values", outData); //$NON-NLS-1$
+
+				JdwpReplyPacket replyPacket = requestVM(
+						JdwpCommandPacket.AR_SET_VALUES, outBytes);
+				switch (replyPacket.errorCode()) {
+				case JdwpReplyPacket.TYPE_MISMATCH:
+					throw new InvalidTypeException();
+				case JdwpReplyPacket.INVALID_CLASS:
+					throw new ClassNotLoadedException(type().name());
+				}
+				defaultReplyErrorHandler(replyPacket.errorCode());
+			} catch (IOException e) {
+				defaultIOExceptionHandler(e);
+			} finally {
+				handledJdwpRequest();
+			}
+		}
+	}
+
 	/**
 	 * Check the type and the VM of the values. If the given type is a primitive
 	 * type, the values may be converted to match this type.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -172,20 +172,14 @@ public class ArrayTypeImpl extends ReferenceTypeImpl implements ArrayType {
 	public static ArrayTypeImpl read(MirrorImpl target, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpArrayID ID = new JdwpArrayID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null)
-			target.fVerboseWriter.println("arrayType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("arrayType", value); //$NON-NLS-1$
 
-		if (ID.isNull())
+		if (value == JdwpID.VALUE_NULL)
 			return null;
 
-		ArrayTypeImpl mirror = (ArrayTypeImpl) vmImpl.getCachedMirror(ID);
-		if (mirror == null) {
-			mirror = new ArrayTypeImpl(vmImpl, ID);
-			vmImpl.addCachedMirror(mirror);
-		}
-		return mirror;
+		return mirrorOf(vmImpl, value);
 	}
 
 	/**
@@ -255,26 +249,38 @@ public class ArrayTypeImpl extends ReferenceTypeImpl implements ArrayType {
 			boolean withGenericSignature, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpArrayID ID = new JdwpArrayID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null)
-			target.fVerboseWriter.println("arrayType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("arrayType", value); //$NON-NLS-1$
 
 		String signature = target.readString("signature", in); //$NON-NLS-1$
 		String genericSignature = null;
 		if (withGenericSignature) {
 			genericSignature = target.readString("generic signature", in); //$NON-NLS-1$
 		}
-		if (ID.isNull())
+		if (value == JdwpID.VALUE_NULL)
 			return null;
 
-		ArrayTypeImpl mirror = (ArrayTypeImpl) vmImpl.getCachedMirror(ID);
+		ArrayTypeImpl mirror = mirrorOf(vmImpl, value);
+		mirror.setSignature(signature);
+		mirror.setGenericSignature(genericSignature);
+		return mirror;
+	}
+
+	/**
+	 * @param vmImpl the VM
+	 * @param value the value of the array type ID
+	 * @return Returns known ArrayTypeImpl with the given ID value, or if the
+	 *         ID is unknown a newly created ArrayTypeImpl.
+	 */
+	static ArrayTypeImpl mirrorOf(VirtualMachineImpl vmImpl, long value) {
+		ArrayTypeImpl mirror = (ArrayTypeImpl) vmImpl.getCachedRefTypeMirror(value);
 		if (mirror == null) {
+			JdwpArrayID ID = new JdwpArrayID(vmImpl);
+			ID.setValue(value);
 			mirror = new ArrayTypeImpl(vmImpl, ID);
 			vmImpl.addCachedMirror(mirror);
 		}
-		mirror.setSignature(signature);
-		mirror.setGenericSignature(genericSignature);
 		return mirror;
 	}
 
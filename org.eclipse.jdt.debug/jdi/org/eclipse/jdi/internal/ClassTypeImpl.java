@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -324,20 +324,14 @@ public class ClassTypeImpl extends ReferenceTypeImpl implements ClassType {
 	public static ClassTypeImpl read(MirrorImpl target, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpClassID ID = new JdwpClassID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null)
-			target.fVerboseWriter.println("classType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("classType", value); //$NON-NLS-1$
 
-		if (ID.isNull())
+		if (value == JdwpID.VALUE_NULL)
 			return null;
 
-		ClassTypeImpl mirror = (ClassTypeImpl) vmImpl.getCachedMirror(ID);
-		if (mirror == null) {
-			mirror = new ClassTypeImpl(vmImpl, ID);
-			vmImpl.addCachedMirror(mirror);
-		}
-		return mirror;
+		return mirrorOf(vmImpl, value);
 	}
 
 	/*
@@ -348,26 +342,36 @@ public class ClassTypeImpl extends ReferenceTypeImpl implements ClassType {
 			boolean withGenericSignature, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpClassID ID = new JdwpClassID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null)
-			target.fVerboseWriter.println("classType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("classType", value); //$NON-NLS-1$
 
 		String signature = target.readString("signature", in); //$NON-NLS-1$
 		String genericSignature = null;
 		if (withGenericSignature) {
 			genericSignature = target.readString("generic signature", in); //$NON-NLS-1$
 		}
-		if (ID.isNull())
+		if (value == JdwpID.VALUE_NULL)
 			return null;
 
-		ClassTypeImpl mirror = (ClassTypeImpl) vmImpl.getCachedMirror(ID);
+		ClassTypeImpl mirror = mirrorOf(vmImpl, value);
+		mirror.setSignature(signature);
+		mirror.setGenericSignature(genericSignature);
+		return mirror;
+	}
+
+	/**
+	 * @return Returns known ClassTypeImpl with the given ID value, or if the
+	 *         ID is unknown a newly created ClassTypeImpl.
+	 */
+	static ClassTypeImpl mirrorOf(VirtualMachineImpl vmImpl, long value) {
+		ClassTypeImpl mirror = (ClassTypeImpl) vmImpl.getCachedRefTypeMirror(value);
 		if (mirror == null) {
+			JdwpClassID ID = new JdwpClassID(vmImpl);
+			ID.setValue(value);
 			mirror = new ClassTypeImpl(vmImpl, ID);
 			vmImpl.addCachedMirror(mirror);
 		}
-		mirror.setSignature(signature);
-		mirror.setGenericSignature(genericSignature);
 		return mirror;
 	}
 
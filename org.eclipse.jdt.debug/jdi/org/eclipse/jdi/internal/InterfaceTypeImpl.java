@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -217,23 +217,16 @@ public class InterfaceTypeImpl extends ReferenceTypeImpl implements
 	public static InterfaceTypeImpl read(MirrorImpl target, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpInterfaceID ID = new JdwpInterfaceID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null) {
-			target.fVerboseWriter.println("interfaceType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("interfaceType", value); //$NON-NLS-1$
 		}
 
-		if (ID.isNull()) {
+		if (value == JdwpID.VALUE_NULL) {
 			return null;
 		}
 
-		InterfaceTypeImpl mirror = (InterfaceTypeImpl) vmImpl
-				.getCachedMirror(ID);
-		if (mirror == null) {
-			mirror = new InterfaceTypeImpl(vmImpl, ID);
-			vmImpl.addCachedMirror(mirror);
-		}
-		return mirror;
+		return mirrorOf(vmImpl, value);
 	}
 
 	/**
@@ -244,10 +237,9 @@ public class InterfaceTypeImpl extends ReferenceTypeImpl implements
 			boolean withGenericSignature, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpInterfaceID ID = new JdwpInterfaceID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.referenceTypeIDSize(), in);
 		if (target.fVerboseWriter != null) {
-			target.fVerboseWriter.println("interfaceType", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("interfaceType", value); //$NON-NLS-1$
 		}
 
 		String signature = target.readString("signature", in); //$NON-NLS-1$
@@ -255,18 +247,29 @@ public class InterfaceTypeImpl extends ReferenceTypeImpl implements
 		if (withGenericSignature) {
 			genericSignature = target.readString("generic signature", in); //$NON-NLS-1$
 		}
-		if (ID.isNull()) {
+		if (value == JdwpID.VALUE_NULL) {
 			return null;
 		}
 
+		InterfaceTypeImpl mirror = mirrorOf(vmImpl, value);
+		mirror.setSignature(signature);
+		mirror.setGenericSignature(genericSignature);
+		return mirror;
+	}
+
+	/**
+	 * @return Returns known InterfaceTypeImpl with the given ID value, or if
+	 *         the ID is unknown a newly created InterfaceTypeImpl.
+	 */
+	static InterfaceTypeImpl mirrorOf(VirtualMachineImpl vmImpl, long value) {
 		InterfaceTypeImpl mirror = (InterfaceTypeImpl) vmImpl
-				.getCachedMirror(ID);
+				.getCachedRefTypeMirror(value);
 		if (mirror == null) {
+			JdwpInterfaceID ID = new JdwpInterfaceID(vmImpl);
+			ID.setValue(value);
 			mirror = new InterfaceTypeImpl(vmImpl, ID);
 			vmImpl.addCachedMirror(mirror);
 		}
-		mirror.setSignature(signature);
-		mirror.setGenericSignature(genericSignature);
 		return mirror;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -85,6 +85,7 @@ public class JDIMessages extends NLS {
 	public static String StackFrameImpl_no_argument_values_available;
 	public static String StackFrameImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_1;
 	public static String StringReferenceImpl__Garbage_Collected__StringReference__3;
+	public static String StripedValueCache_0;
 
 	public static String ThreadReferenceImpl_incapatible_return_type;
 	public static String ThreadReferenceImpl_no_force_early_return_on_threads;
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.Arrays;
+
+/**
+ * The Java stratum line table of a method, as returned by the JDWP LineTable
+ * command. The entries are kept in primitive arrays, once sorted by code index
+ * and once sorted by line number, such that both directions of the mapping
+ * are looked up with a binary search and without boxing. A table takes about
+ * 24 bytes per entry.
+ */
+public final class LineTable {
+
+	private final long fLowestCodeIndex;
+	private final long fHighestCodeIndex;
+
+	/** Code indexes in ascending order and their line numbers. */
+	private final long[] fCodeIndexes;
+	private final int[] fLines;
+
+	/**
+	 * Line numbers in ascending order and their code indexes, ascending per
+	 * line.
+	 */
+	private final int[] fSortedLines;
+	private final long[] fSortedLineCodeIndexes;
+
+	/**
+	 * Creates a line table. The given arrays are owned by the table from now
+	 * on.
+	 *
+	 * @param lowestCodeIndex
+	 *            lowest valid code index of the method
+	 * @param highestCodeIndex
+	 *            highest valid code index of the method
+	 * @param codeIndexes
+	 *            code indexes of the entries
+	 * @param lines
+	 *            line numbers of the entries
+	 */
+	public LineTable(long lowestCodeIndex, long highestCodeIndex, long[] codeIndexes, int[] lines) {
+		fLowestCodeIndex = lowestCodeIndex;
+		fHighestCodeIndex = highestCodeIndex;
+		fCodeIndexes = codeIndexes;
+		fLines = lines;
+		sortByCodeIndex(codeIndexes, lines);
+
+		// sort (line, position) pairs packed into longs, which keeps the
+		// entries of a line in code index order
+		long[] packed = new long[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			packed[i] = ((long) lines[i] << 32) | i;
+		}
+		Arrays.sort(packed);
+		fSortedLines = new int[lines.length];
+		fSortedLineCodeIndexes = new long[lines.length];
+		for (int i = 0; i < packed.length; i++) {
+			fSortedLines[i] = (int) (packed[i] >> 32);
+			fSortedLineCodeIndexes[i] = codeIndexes[(int) packed[i]];
+		}
+	}
+
+	/**
+	 * Sorts the entries by code index. VMs usually return them in that order
+	 * already, so a stable insertion sort is linear in practice.
+	 */
+	private static void sortByCodeIndex(long[] codeIndexes, int[] lines) {
+		for (int i = 1; i < codeIndexes.length; i++) {
+			long codeIndex = codeIndexes[i];
+			int line = lines[i];
+			int j = i - 1;
+			while (j >= 0 && codeIndexes[j] > codeIndex) {
+				codeIndexes[j + 1] = codeIndexes[j];
+				lines[j + 1] = lines[j];
+				j--;
+			}
+			codeIndexes[j + 1] = codeIndex;
+			lines[j + 1] = line;
+		}
+	}
+
+	/**
+	 * @return Returns the number of entries of this table.
+	 */
+	public int size() {
+		return fCodeIndexes.length;
+	}
+
+	/**
+	 * @return Returns the lowest valid code index of the method.
+	 */
+	public long lowestCodeIndex() {
+		return fLowestCodeIndex;
+	}
+
+	/**
+	 * @return Returns the highest valid code index of the method.
+	 */
+	public long highestCodeIndex() {
+		return fHighestCodeIndex;
+	}
+
+	/**
+	 * @return Returns the code indexes of the entries in ascending order. The
+	 *         array must not be modified.
+	 */
+	public long[] codeIndexes() {
+		return fCodeIndexes;
+	}
+
+	/**
+	 * @return Returns the line numbers of the entries in the order of
+	 *         {@link #codeIndexes()}. The array must not be modified.
+	 */
+	public int[] lines() {
+		return fLines;
+	}
+
+	/**
+	 * @return Returns the line number of the entry with the given code index or
+	 *         -1 if there is no such entry.
+	 */
+	public int lineOf(long codeIndex) {
+		int position = Arrays.binarySearch(fCodeIndexes, codeIndex);
+		if (position < 0) {
+			return -1;
+		}
+		// the last of duplicate entries wins
+		while (position + 1 < fCodeIndexes.length && fCodeIndexes[position + 1] == codeIndex) {
+			position++;
+		}
+		return fLines[position];
+	}
+
+	/**
+	 * Returns the line number of the code at the given code index. This is the
+	 * line of the closest entry at or before the code index, or else of the
+	 * closest entry after it.
+	 *
+	 * @return Returns the line number or -1 if the code index is not valid.
+	 */
+	public int lineContaining(long codeIndex) {
+		if (codeIndex > fHighestCodeIndex) {
+			return -1;
+		}
+		int position = Arrays.binarySearch(fCodeIndexes, codeIndex);
+		if (position >= 0) {
+			return lineOf(codeIndex);
+		}
+		int insertion = -position - 1;
+		if (insertion > 0 && fCodeIndexes[insertion - 1] >= fLowestCodeIndex) {
+			return lineOf(fCodeIndexes[insertion - 1]);
+		}
+		if (codeIndex >= fLowestCodeIndex && insertion < fCodeIndexes.length
+				&& fCodeIndexes[insertion] <= fHighestCodeIndex) {
+			return lineOf(fCodeIndexes[insertion]);
+		}
+		return -1;
+	}
+
+	/**
+	 * @return Returns the code indexes of the entries of the given line in
+	 *         ascending order, possibly none.
+	 */
+	public long[] codeIndexesOf(int line) {
+		int from = lowerBound(line);
+		int to = lowerBound(line + 1L);
+		return Arrays.copyOfRange(fSortedLineCodeIndexes, from, to);
+	}
+
+	/**
+	 * Returns the first position in {@link #fSortedLines} with a line number
+	 * not less than the given one.
+	 */
+	private int lowerBound(long line) {
+		int low = 0;
+		int high = fSortedLines.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (fSortedLines[middle] < line) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the code index at which each disjoint range of code of the given
+	 * lines starts. A range starts at an entry of the lines whose preceding
+	 * entry in code index order is not one of the lines.
+	 *
+	 * @param lines
+	 *            line numbers
+	 * @return Returns the code indexes in ascending order, possibly none.
+	 */
+	public long[] codeIndexesOfRanges(int[] lines) {
+		int count = 0;
+		int[] from = new int[lines.length];
+		int[] to = new int[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			from[i] = lowerBound(lines[i]);
+			to[i] = lowerBound(lines[i] + 1L);
+			count += to[i] - from[i];
+		}
+		long[] codeIndexes = new long[count];
+		count = 0;
+		for (int i = 0; i < lines.length; i++) {
+			System.arraycopy(fSortedLineCodeIndexes, from[i], codeIndexes, count, to[i] - from[i]);
+			count += to[i] - from[i];
+		}
+		if (lines.length > 1) {
+			Arrays.sort(codeIndexes);
+		}
+		long[] starts = new long[count];
+		count = 0;
+		for (int i = 0; i < codeIndexes.length; i++) {
+			long codeIndex = codeIndexes[i];
+			if (i > 0 && codeIndexes[i - 1] == codeIndex) {
+				continue;
+			}
+			int position = Arrays.binarySearch(fCodeIndexes, codeIndex);
+			if (position == 0 || Arrays.binarySearch(codeIndexes, fCodeIndexes[position - 1]) < 0) {
+				starts[count++] = codeIndex;
+			}
+		}
+		return count == starts.length ? starts : Arrays.copyOf(starts, count);
+	}
+}
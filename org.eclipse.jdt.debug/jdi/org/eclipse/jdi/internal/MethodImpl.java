@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,14 +22,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpMethodID;
@@ -60,10 +58,7 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 
 	/** The following are the stored results of JDWP calls. */
 	private List<LocalVariable> fVariables = null;
-	private long fLowestValidCodeIndex = -1;
-	private long fHighestValidCodeIndex = -1;
-	private Map<Long, Integer> fCodeIndexToLine = null;
-	private Map<Integer, List<Long>> fLineToCodeIndexes = null;
+	private LineTable fLineTable = null;
 	private Map<String, Map<String, List<Location>>> fStratumAllLineLocations = null;
 	private int fArgumentSlotsCount = -1;
 	private List<LocalVariable> fArguments = null;
@@ -71,8 +66,6 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	private List<String> fArgumentTypeNames = null;
 	private List<String> fArgumentTypeSignatures = null;
 	private byte[] fByteCodes = null;
-	private long[] fCodeIndexTable;
-	private int[] fJavaStratumLineNumberTable;
 
 	private String fReturnTypeName = null;
 
@@ -93,13 +86,8 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	 */
 	protected void flushStoredJdwpResults() {
 		fVariables = null;
-		fLowestValidCodeIndex = -1;
-		fHighestValidCodeIndex = -1;
-		fCodeIndexToLine = null;
-		fLineToCodeIndexes = null;
+		fLineTable = null;
 		fStratumAllLineLocations = null;
-		fCodeIndexTable = null;
-		fJavaStratumLineNumberTable = null;
 		fArgumentSlotsCount = -1;
 		fArguments = null;
 		fArgumentTypes = null;
@@ -115,30 +103,6 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		return fMethodID;
 	}
 
-	/**
-	 * @return Returns map of location to line number.
-	 */
-	protected Map<Long, Integer> javaStratumCodeIndexToLine()
-			throws AbsentInformationException {
-		if (isAbstract()) {
-			return Collections.EMPTY_MAP;
-		}
-		getLineTable();
-		return fCodeIndexToLine;
-	}
-
-	/**
-	 * @return Returns map of line number to locations.
-	 */
-	protected List<Long> javaStratumLineToCodeIndexes(int line) throws AbsentInformationException {
-		if (isAbstract() || isNative()) {
-			return null;
-		}
-		getLineTable();
-
-		return fLineToCodeIndexes.get(Integer.valueOf(line));
-	}
-
 	/**
 	 * Gets line table from VM.
 	 */
@@ -146,8 +110,8 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		if (isObsolete()) {
 			return;
 		}
-		if (fCodeIndexToLine != null) {
-			if (fCodeIndexToLine.isEmpty()) {
+		if (fLineTable != null) {
+			if (fLineTable.size() == 0) {
 				throw new AbsentInformationException(
 						JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_1);
 			}
@@ -156,59 +120,104 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
-			writeWithReferenceType(this, outData);
-
 			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.M_LINE_TABLE, outBytes);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.ABSENT_INFORMATION:
-				throw new AbsentInformationException(
-						JDIMessages.MethodImpl_No_line_number_information_available_2);
-			case JdwpReplyPacket.NATIVE_METHOD:
-				throw new AbsentInformationException(
-						JDIMessages.MethodImpl_No_line_number_information_available_2);
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
+					JdwpCommandPacket.M_LINE_TABLE, lineTableRequestData());
+			readLineTable(replyPacket);
+		} catch (IOException e) {
+			fLineTable = null;
+			defaultIOExceptionHandler(e);
+		} finally {
+			handledJdwpRequest();
+		}
+	}
 
-			DataInputStream replyData = replyPacket.dataInStream();
-			fLowestValidCodeIndex = readLong("lowest index", replyData); //$NON-NLS-1$
-			fHighestValidCodeIndex = readLong("highest index", replyData); //$NON-NLS-1$
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			fCodeIndexToLine = new HashMap<>();
-			fLineToCodeIndexes = new HashMap<>();
-			if (nrOfElements == 0) {
-				throw new AbsentInformationException(
-						JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_3);
+	/**
+	 * Retrieves the line tables of all given methods that are not known yet.
+	 * The requests are sent back-to-back, such that the whole batch costs a
+	 * single round trip to the VM. Methods without line information are
+	 * skipped.
+	 *
+	 * @param methods
+	 *            the methods to retrieve the line tables of
+	 */
+	public static void prefetchLineTables(List<? extends Method> methods) {
+		List<MethodImpl> needed = new ArrayList<>();
+		for (Method method : methods) {
+			if (method instanceof MethodImpl methodImpl && methodImpl.fLineTable == null
+					&& !methodImpl.isAbstract() && !methodImpl.isNative() && !methodImpl.isObsolete()) {
+				needed.add(methodImpl);
 			}
-			fCodeIndexTable = new long[nrOfElements];
-			fJavaStratumLineNumberTable = new int[nrOfElements];
-			for (int i = 0; i < nrOfElements; i++) {
-				long lineCodeIndex = readLong("code index", replyData); //$NON-NLS-1$
-				Long lineCodeIndexLong = Long.valueOf(lineCodeIndex);
-				int lineNr = readInt("line nr", replyData); //$NON-NLS-1$
-				Integer lineNrInt = Integer.valueOf(lineNr);
-
-				// Add entry to code-index to line mapping.
-				fCodeIndexToLine.put(lineCodeIndexLong, lineNrInt);
-
-				fCodeIndexTable[i] = lineCodeIndex;
-				fJavaStratumLineNumberTable[i] = lineNr;
-
-				List<Long> lineNrEntry = fLineToCodeIndexes.get(lineNrInt);
-				if (lineNrEntry == null) {
-					lineNrEntry = new ArrayList<>();
-					fLineToCodeIndexes.put(lineNrInt, lineNrEntry);
+		}
+		if (needed.isEmpty()) {
+			return;
+		}
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(needed.size());
+		try {
+			for (MethodImpl method : needed) {
+				try {
+					replies.add(method.requestVMAsync(JdwpCommandPacket.M_LINE_TABLE, method.lineTableRequestData()));
+				} catch (IOException e) {
+					method.defaultIOExceptionHandler(e);
+				}
+			}
+			for (int i = 0; i < needed.size(); i++) {
+				MethodImpl method = needed.get(i);
+				method.initJdwpRequest();
+				try {
+					JdwpReplyPacket replyPacket = method.waitForReply(replies.get(i));
+					if (method.fLineTable == null) {
+						method.readLineTable(replyPacket);
+					}
+				} catch (AbsentInformationException e) {
+					// reported again when the line table is used
+				} catch (IOException e) {
+					method.fLineTable = null;
+					method.defaultIOExceptionHandler(e);
+				} finally {
+					method.handledJdwpRequest();
 				}
-				lineNrEntry.add(lineCodeIndexLong);
 			}
-		} catch (IOException e) {
-			fCodeIndexToLine = null;
-			fLineToCodeIndexes = null;
-			defaultIOExceptionHandler(e);
 		} finally {
-			handledJdwpRequest();
+			cancelReplies(replies);
+		}
+	}
+
+	private ByteArrayOutputStream lineTableRequestData() throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		writeWithReferenceType(this, outData);
+		return outBytes;
+	}
+
+	/**
+	 * Reads the line table of this method from the reply to a line table
+	 * request.
+	 */
+	private void readLineTable(JdwpReplyPacket replyPacket) throws IOException, AbsentInformationException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.ABSENT_INFORMATION:
+			throw new AbsentInformationException(
+					JDIMessages.MethodImpl_No_line_number_information_available_2);
+		case JdwpReplyPacket.NATIVE_METHOD:
+			throw new AbsentInformationException(
+					JDIMessages.MethodImpl_No_line_number_information_available_2);
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+
+		DataInputStream replyData = replyPacket.dataInStream();
+		long lowestValidCodeIndex = readLong("lowest index", replyData); //$NON-NLS-1$
+		long highestValidCodeIndex = readLong("highest index", replyData); //$NON-NLS-1$
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		long[] codeIndexTable = new long[nrOfElements];
+		int[] lineNumberTable = new int[nrOfElements];
+		for (int i = 0; i < nrOfElements; i++) {
+			codeIndexTable[i] = readLong("code index", replyData); //$NON-NLS-1$
+			lineNumberTable[i] = readInt("line nr", replyData); //$NON-NLS-1$
+		}
+		fLineTable = new LineTable(lowestValidCodeIndex, highestValidCodeIndex, codeIndexTable, lineNumberTable);
+		if (nrOfElements == 0) {
+			throw new AbsentInformationException(
+					JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_3);
 		}
 	}
 
@@ -222,32 +231,14 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			return -1;
 		}
 		getLineTable();
-		if (lineCodeIndex > fHighestValidCodeIndex) {
-			throw new AbsentInformationException(JDIMessages.MethodImpl_Invalid_code_index_of_a_location_given_4);
+		if (fLineTable == null) {
+			return -1;
 		}
-
-		Long lineCodeIndexObj;
-		Integer lineNrObj;
-		long index = lineCodeIndex;
-		// Search for the line where this code index is located.
-		do {
-			lineCodeIndexObj = Long.valueOf(index);
-			lineNrObj = javaStratumCodeIndexToLine().get(lineCodeIndexObj);
-		} while (lineNrObj == null && --index >= fLowestValidCodeIndex);
-		if (lineNrObj == null) {
-			if (lineCodeIndex >= fLowestValidCodeIndex) {
-				index = lineCodeIndex;
-				do {
-					lineCodeIndexObj = Long.valueOf(index);
-					lineNrObj = javaStratumCodeIndexToLine().get(lineCodeIndexObj);
-				} while (lineNrObj == null && ++index <= fHighestValidCodeIndex);
-				if (lineNrObj != null) {
-					return lineNrObj.intValue();
-				}
-			}
+		int lineNr = fLineTable.lineContaining(lineCodeIndex);
+		if (lineNr == -1) {
 			throw new AbsentInformationException(JDIMessages.MethodImpl_Invalid_code_index_of_a_location_given_4);
 		}
-		return lineNrObj.intValue();
+		return lineNr;
 	}
 
 	/* (non-Javadoc)
@@ -467,8 +458,8 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			return null;
 		}
 		try {
-			Integer lineNrInt = javaStratumCodeIndexToLine().get(Long.valueOf(index));
-			if (lineNrInt == null) {
+			getLineTable();
+			if (fLineTable != null && fLineTable.lineOf(index) == -1) {
 				throw new AbsentInformationException(MessageFormat.format(JDIMessages.MethodImpl_No_valid_location_at_the_specified_code_index__0__2, new Object[] { Long.toString(index) }));
 			}
 		} catch (AbsentInformationException e) {
@@ -655,7 +646,7 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 
 		// Return location with Lowest Valid Code Index.
 		return new LocationImpl(virtualMachineImpl(), this,
-				fLowestValidCodeIndex);
+				fLineTable == null ? -1 : fLineTable.lowestCodeIndex());
 	}
 
 	/**
@@ -849,7 +840,9 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		if (allLineLocations == null) { // the line locations are not know,
 										// compute and store them
 			getLineTable();
-			allLineLocations = referenceTypeImpl().allLineLocations(stratum, sourceName, this, fCodeIndexTable, fJavaStratumLineNumberTable);
+			long[] codeIndexTable = fLineTable == null ? null : fLineTable.codeIndexes();
+			int[] lineNumberTable = fLineTable == null ? null : fLineTable.lines();
+			allLineLocations = referenceTypeImpl().allLineLocations(stratum, sourceName, this, codeIndexTable, lineNumberTable);
 			sourceNameAllLineLocations.put(sourceName, allLineLocations);
 		}
 		return allLineLocations;
@@ -874,27 +867,20 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	 * the specified lines.
 	 */
 	protected List<Location> javaStratumLocationsOfLines(List<Integer> javaLines)	throws AbsentInformationException {
-		Set<Long> tmpLocations = new TreeSet<>();
-		for (Integer key : javaLines) {
-			List<Long> indexes = javaStratumLineToCodeIndexes(key.intValue());
-			if (indexes != null) {
-				tmpLocations.addAll(indexes);
-			}
+		if (isAbstract() || isNative()) {
+			return new ArrayList<>();
 		}
+		getLineTable();
 		List<Location> locations = new ArrayList<>();
-		for (Long location : tmpLocations) {
-			long index = location.longValue();
-			int position = Arrays.binarySearch(fCodeIndexTable, index);
-			if(position < 0) {
-				//https://bugs.eclipse.org/bugs/show_bug.cgi?id=388172
-				//the key is not in the code index, we should not insert it as the line table is supposed to be
-				//constant unless the parent class is redefined.
-				//See http://docs.oracle.com/javase/6/docs/platform/jpda/jdwp/jdwp-protocol.html#JDWP_Method_LineTable for more information
-				continue;
-			}
-			if (position == 0 || !tmpLocations.contains(Long.valueOf(fCodeIndexTable[position - 1]))) {
-				locations.add(new LocationImpl(virtualMachineImpl(), this, index));
-			}
+		if (fLineTable == null) {
+			return locations;
+		}
+		int[] lines = new int[javaLines.size()];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = javaLines.get(i).intValue();
+		}
+		for (long index : fLineTable.codeIndexesOfRanges(lines)) {
+			locations.add(new LocationImpl(virtualMachineImpl(), this, index));
 		}
 		return locations;
 	}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.Collection;
+
+/**
+ * A cache of values that may be garbage collected at any time, such as the
+ * mirrors of a Virtual Machine.
+ *
+ * @see ValueCache
+ * @see StripedValueCache
+ */
+public interface MirrorCache {
+
+	/**
+	 * Put a new entry in the cache under the given key.
+	 */
+	void put(Object key, Object value);
+
+	/**
+	 * Get entry from the cache.
+	 *
+	 * @return Returns value that is cached under the given key, or null if the
+	 *         value has not been cached or has been garbage collected.
+	 */
+	Object get(Object key);
+
+	/**
+	 * Get entry from the cache by the <code>long</code> value of a JDWP ID,
+	 * without creating an ID object.
+	 *
+	 * @return Returns value that is cached under the ID with the given value,
+	 *         or null if the value has not been cached or has been garbage
+	 *         collected.
+	 */
+	Object get(long key);
+
+	/**
+	 * Removes the key and its corresponding value from this cache.
+	 *
+	 * @return Returns the value to which the key had been mapped, or null if
+	 *         the key did not have a mapping.
+	 */
+	Object remove(Object key);
+
+	/**
+	 * Returns a Collection view of the values contained in this cache.
+	 */
+	Collection<Object> values();
+
+	/**
+	 * Returns a Collection view of the values contained in this cache that have
+	 * the same runtime class as the given Class.
+	 */
+	Collection<Object> valuesWithType(Class<?> type);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,11 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.TimeoutException;
@@ -205,8 +209,36 @@ public class MirrorImpl implements Mirror {
 
 		JdwpReplyPacket reply = fVirtualMachineImpl.packetReceiveManager()
 				.getReply(commandPacket);
-		long recieved = System.currentTimeMillis();
+		traceRequestTime(commandPacket, reply, sent);
+		writeVerboseReplyPacketHeader(reply);
+
+		return reply;
+	}
+
+	/**
+	 * Writes the header of a received reply packet to the verbose writer, if
+	 * any.
+	 */
+	private void writeVerboseReplyPacketHeader(JdwpReplyPacket reply) {
+		if (fVerboseWriter != null) {
+			fVerboseWriter.println();
+			fVerboseWriter.println("Received reply"); //$NON-NLS-1$
+			fVerboseWriter.println("length", reply.getLength()); //$NON-NLS-1$
+			fVerboseWriter.println("id", reply.getId()); //$NON-NLS-1$
+			fVerboseWriter.println(
+					"flags", reply.getFlags(), JdwpPacket.getFlagMap()); //$NON-NLS-1$
+			fVerboseWriter
+					.println(
+							"error code", reply.errorCode(), JdwpReplyPacket.errorMap()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Traces the response time of a VM request if request time tracing is on.
+	 */
+	private void traceRequestTime(JdwpCommandPacket commandPacket, JdwpReplyPacket reply, long sent) {
 		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+			long recieved = System.currentTimeMillis();
 			StringBuilder buf = new StringBuilder();
 			buf.append(JDIDebugOptions.FORMAT.format(Instant.ofEpochMilli(sent)));
 			buf.append(" JDI Request: "); //$NON-NLS-1$
@@ -218,21 +250,117 @@ public class MirrorImpl implements Mirror {
 			buf.append(reply.getLength());
 			JDIDebugOptions.trace(buf.toString());
 		}
+	}
+
+	/**
+	 * Performs a VM request without waiting for the reply. Several requests
+	 * can be sent back-to-back this way and their replies collected
+	 * afterwards, see {@link #waitForReply(CompletableFuture)}.
+	 *
+	 * @return Returns a future that is completed with the reply data, or
+	 *         exceptionally with a {@link TimeoutException} or
+	 *         {@link VMDisconnectedException}.
+	 */
+	public CompletableFuture<JdwpReplyPacket> requestVMAsync(int command, byte[] outData) {
+		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
+		commandPacket.setData(outData);
+		// register for the reply before sending so it cannot be missed
+		CompletableFuture<JdwpReplyPacket> reply = fVirtualMachineImpl
+				.packetReceiveManager().getReplyAsync(commandPacket);
+		long sent = System.currentTimeMillis();
+		fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
+		writeVerboseCommandPacketHeader(commandPacket);
 		if (fVerboseWriter != null) {
+			// the reply is written when it is waited for
 			fVerboseWriter.println();
-			fVerboseWriter.println("Received reply"); //$NON-NLS-1$
-			fVerboseWriter.println("length", reply.getLength()); //$NON-NLS-1$
-			fVerboseWriter.println("id", reply.getId()); //$NON-NLS-1$
-			fVerboseWriter.println(
-					"flags", reply.getFlags(), JdwpPacket.getFlagMap()); //$NON-NLS-1$
-			fVerboseWriter
-					.println(
-							"error code", reply.errorCode(), JdwpReplyPacket.errorMap()); //$NON-NLS-1$
+			fVerboseWriter.flush();
+		}
+		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+			// trace when the reply is received, as for blocking requests
+			reply.thenAccept(packet -> traceRequestTime(commandPacket, packet, sent));
 		}
-
 		return reply;
 	}
 
+	/**
+	 * Cancels the given requests sent with one of the
+	 * <code>requestVMAsync</code> methods whose replies have not been waited
+	 * for, so that their replies are discarded when they are received.
+	 * Batches of pipelined requests call this once they are done, whether
+	 * they completed or failed.
+	 */
+	public static void cancelReplies(Collection<CompletableFuture<JdwpReplyPacket>> replies) {
+		for (CompletableFuture<JdwpReplyPacket> reply : replies) {
+			if (reply != null) {
+				reply.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Performs a VM request without waiting for the reply.
+	 *
+	 * @return Returns a future that is completed with the reply data.
+	 */
+	public CompletableFuture<JdwpReplyPacket> requestVMAsync(int command, ByteArrayOutputStream outData) {
+		return requestVMAsync(command, outData.toByteArray());
+	}
+
+	/**
+	 * Performs a VM request for a specified object without waiting for the
+	 * reply.
+	 *
+	 * @return Returns a future that is completed with the reply data.
+	 */
+	public CompletableFuture<JdwpReplyPacket> requestVMAsync(int command, ObjectReferenceImpl object) {
+		ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+		DataOutputStream dataOutStream = new DataOutputStream(byteOutStream);
+		try {
+			object.write(this, dataOutStream);
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+		}
+		return requestVMAsync(command, byteOutStream);
+	}
+
+	/**
+	 * Performs a VM request for a specified reference type without waiting for
+	 * the reply.
+	 *
+	 * @return Returns a future that is completed with the reply data.
+	 */
+	public CompletableFuture<JdwpReplyPacket> requestVMAsync(int command, ReferenceTypeImpl refType) {
+		ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+		DataOutputStream dataOutStream = new DataOutputStream(byteOutStream);
+		try {
+			refType.write(this, dataOutStream);
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+		}
+		return requestVMAsync(command, byteOutStream);
+	}
+
+	/**
+	 * Waits for the reply of a request sent with one of the
+	 * <code>requestVMAsync</code> methods. Failures are reported the same way
+	 * as for the blocking <code>requestVM</code> methods.
+	 *
+	 * @return Returns reply data.
+	 */
+	public JdwpReplyPacket waitForReply(CompletableFuture<JdwpReplyPacket> reply) {
+		fPendingJdwpRequest = true;
+		try {
+			JdwpReplyPacket packet = reply.join();
+			writeVerboseReplyPacketHeader(packet);
+			return packet;
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new InternalException(e.getMessage());
+		}
+	}
+
 	/**
 	 * Performs a VM request.
 	 *
@@ -554,6 +682,17 @@ public class MirrorImpl implements Mirror {
 		}
 	}
 
+	/**
+	 * Writes Jdwp data and, if verbose is on, outputs verbose info.
+	 */
+	public void writeByteArray(byte[] value, int offset, int length, String description, DataOutputStream out)
+			throws IOException {
+		out.write(value, offset, length);
+		if (fVerboseWriter != null) {
+			fVerboseWriter.println(description, Arrays.copyOfRange(value, offset, offset + length));
+		}
+	}
+
 	/**
 	 * Writes Jdwp data and, if verbose is on, outputs verbose info.
 	 */
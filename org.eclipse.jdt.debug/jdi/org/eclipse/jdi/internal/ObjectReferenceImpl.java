@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,11 +22,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.jdi.internal.jdwp.JdwpClassLoaderID;
+import org.eclipse.jdi.internal.jdwp.JdwpClassObjectID;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpID;
 import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpStringID;
 
 import com.sun.jdi.ArrayType;
 import com.sun.jdi.ClassNotLoadedException;
@@ -252,11 +256,7 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 			if (max > 0 && elements > max) {
 				elements = max;
 			}
-			ArrayList<ObjectReference> list = new ArrayList<>();
-			for (int i = 0; i < elements; i++) {
-				list.add((ObjectReference)ValueImpl.readWithTag(this, replyData));
-			}
-			return list;
+			return readObjectRefsWithTag(this, elements, replyData);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -323,18 +323,7 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 
 			JdwpReplyPacket replyPacket = requestVM(
 					JdwpCommandPacket.OR_GET_VALUES, outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			if (nrOfElements != nonStaticFieldsSize)
-				throw new InternalError(
-						JDIMessages.ObjectReferenceImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_1);
-
-			for (int i = 0; i < nrOfElements; i++) {
-				resultMap.put(nonStaticFields.get(i),
-						ValueImpl.readWithTag(this, replyData));
-			}
+			readValues(replyPacket, nonStaticFields, resultMap);
 			return resultMap;
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
@@ -344,6 +333,103 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		}
 	}
 
+	/**
+	 * Reads the values contained in the reply to a get values request for the
+	 * given non-static fields into the given map.
+	 */
+	private void readValues(JdwpReplyPacket replyPacket, List<FieldImpl> nonStaticFields, Map<Field, Value> resultMap) throws IOException {
+		defaultReplyErrorHandler(replyPacket.errorCode());
+
+		DataInputStream replyData = replyPacket.dataInStream();
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		if (nrOfElements != nonStaticFields.size())
+			throw new InternalError(
+					JDIMessages.ObjectReferenceImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_1);
+
+		for (int i = 0; i < nrOfElements; i++) {
+			resultMap.put(nonStaticFields.get(i),
+					ValueImpl.readWithTag(this, replyData));
+		}
+	}
+
+	/**
+	 * Returns the values of the given fields for each of the given objects. The
+	 * requests for the instance fields of all objects are sent back-to-back
+	 * and the replies are collected afterwards, so the whole batch costs a
+	 * single round trip to the VM instead of one per object.
+	 *
+	 * @param objectFields
+	 *            the fields to retrieve the values of, per object
+	 * @return Returns the field values per object, see
+	 *         {@link #getValues(List)}
+	 */
+	public static Map<ObjectReference, Map<Field, Value>> getValues(Map<? extends ObjectReference, ? extends List<? extends Field>> objectFields) {
+		List<ObjectReferenceImpl> objects = new ArrayList<>(objectFields.size());
+		List<List<Field>> staticFields = new ArrayList<>(objectFields.size());
+		List<List<FieldImpl>> nonStaticFields = new ArrayList<>(objectFields.size());
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(objectFields.size());
+		try {
+			for (Map.Entry<? extends ObjectReference, ? extends List<? extends Field>> entry : objectFields.entrySet()) {
+				ObjectReferenceImpl object = (ObjectReferenceImpl) entry.getKey();
+				List<Field> statics = new ArrayList<>();
+				List<FieldImpl> nonStatics = new ArrayList<>();
+				for (Field field : entry.getValue()) {
+					object.checkVM(field);
+					if (field.isStatic()) {
+						statics.add(field);
+					} else {
+						nonStatics.add((FieldImpl) field);
+					}
+				}
+				CompletableFuture<JdwpReplyPacket> reply = null;
+				if (!nonStatics.isEmpty()) {
+					try {
+						ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+						DataOutputStream outData = new DataOutputStream(outBytes);
+						object.write(object, outData);
+						object.writeInt(nonStatics.size(), "size", outData); //$NON-NLS-1$
+						for (FieldImpl field : nonStatics) {
+							field.write(object, outData);
+						}
+						reply = object.requestVMAsync(JdwpCommandPacket.OR_GET_VALUES, outBytes);
+					} catch (IOException e) {
+						object.defaultIOExceptionHandler(e);
+					}
+				}
+				objects.add(object);
+				staticFields.add(statics);
+				nonStaticFields.add(nonStatics);
+				replies.add(reply);
+			}
+
+			Map<ObjectReference, Map<Field, Value>> result = new HashMap<>();
+			for (int i = 0; i < objects.size(); i++) {
+				ObjectReferenceImpl object = objects.get(i);
+				Map<Field, Value> resultMap;
+				if (staticFields.get(i).isEmpty()) {
+					resultMap = new HashMap<>();
+				} else {
+					resultMap = object.referenceType().getValues(staticFields.get(i));
+				}
+				CompletableFuture<JdwpReplyPacket> reply = replies.get(i);
+				if (reply != null) {
+					object.initJdwpRequest();
+					try {
+						object.readValues(object.waitForReply(reply), nonStaticFields.get(i), resultMap);
+					} catch (IOException e) {
+						object.defaultIOExceptionHandler(e);
+					} finally {
+						object.handledJdwpRequest();
+					}
+				}
+				result.put(object, resultMap);
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
 	/**
 	 * @return Returns the hash code value.
 	 */
@@ -539,6 +625,51 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		}
 	}
 
+	/**
+	 * Returns the reference type of each of the given objects. The requests for
+	 * all objects whose type is not known yet are sent back-to-back and the
+	 * replies are collected afterwards.
+	 *
+	 * @param objects
+	 *            the objects to retrieve the type of
+	 * @return Returns the type of each object, in the order of the given list
+	 */
+	public static List<ReferenceType> referenceTypes(List<? extends ObjectReference> objects) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(objects.size());
+		try {
+			for (ObjectReference object : objects) {
+				ObjectReferenceImpl objectImpl = (ObjectReferenceImpl) object;
+				if (objectImpl.fReferenceType == null) {
+					replies.add(objectImpl.requestVMAsync(JdwpCommandPacket.OR_REFERENCE_TYPE, objectImpl));
+				} else {
+					replies.add(null);
+				}
+			}
+			List<ReferenceType> result = new ArrayList<>(objects.size());
+			for (int i = 0; i < objects.size(); i++) {
+				ObjectReferenceImpl objectImpl = (ObjectReferenceImpl) objects.get(i);
+				CompletableFuture<JdwpReplyPacket> reply = replies.get(i);
+				if (reply != null) {
+					objectImpl.initJdwpRequest();
+					try {
+						JdwpReplyPacket replyPacket = objectImpl.waitForReply(reply);
+						objectImpl.defaultReplyErrorHandler(replyPacket.errorCode());
+						DataInputStream replyData = replyPacket.dataInStream();
+						objectImpl.fReferenceType = ReferenceTypeImpl.readWithTypeTag(objectImpl, replyData);
+					} catch (IOException e) {
+						objectImpl.defaultIOExceptionHandler(e);
+					} finally {
+						objectImpl.handledJdwpRequest();
+					}
+				}
+				result.add(objectImpl.fReferenceType);
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
 	/**
 	 * @return Returns the Type that mirrors the type of this object.
 	 */
@@ -667,6 +798,73 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 						+ objectTag);
 	}
 
+	/**
+	 * Reads the given number of tagged object references. Unless JDWP traffic
+	 * is traced, only the IDs are read and the mirrors are created when the
+	 * elements of the returned list are first accessed.
+	 *
+	 * @return Returns the list of object references, containing null for null
+	 *         IDs.
+	 */
+	public static <E extends Value> List<E> readObjectRefsWithTag(
+			MirrorImpl target, int length, DataInputStream in)
+			throws IOException {
+		if (target.fVerboseWriter == null) {
+			return new ObjectReferenceList<>(target, length, in);
+		}
+		List<E> list = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			@SuppressWarnings("unchecked")
+			E element = (E) readObjectRefWithTag(target, in);
+			list.add(element);
+		}
+		return list;
+	}
+
+	/**
+	 * @return Returns a mirror for the object with the given tag and ID value
+	 *         that were read from JDWP, or null for the null ID.
+	 */
+	static ObjectReferenceImpl mirrorOf(VirtualMachineImpl vmImpl, byte objectTag, long value) {
+		if (value == JdwpID.VALUE_NULL) {
+			return null;
+		}
+		switch (objectTag) {
+		case ObjectReferenceImpl.tag: {
+			JdwpObjectID ID = new JdwpObjectID(vmImpl);
+			ID.setValue(value);
+			return new ObjectReferenceImpl(vmImpl, ID);
+		}
+		case ArrayReferenceImpl.tag: {
+			JdwpObjectID ID = new JdwpObjectID(vmImpl);
+			ID.setValue(value);
+			return new ArrayReferenceImpl(vmImpl, ID);
+		}
+		case ClassLoaderReferenceImpl.tag: {
+			JdwpClassLoaderID ID = new JdwpClassLoaderID(vmImpl);
+			ID.setValue(value);
+			return new ClassLoaderReferenceImpl(vmImpl, ID);
+		}
+		case ClassObjectReferenceImpl.tag: {
+			JdwpClassObjectID ID = new JdwpClassObjectID(vmImpl);
+			ID.setValue(value);
+			return new ClassObjectReferenceImpl(vmImpl, ID);
+		}
+		case StringReferenceImpl.tag: {
+			JdwpStringID ID = new JdwpStringID(vmImpl);
+			ID.setValue(value);
+			return new StringReferenceImpl(vmImpl, ID);
+		}
+		case ThreadGroupReferenceImpl.tag:
+			return ThreadGroupReferenceImpl.mirrorOf(vmImpl, value);
+		case ThreadReferenceImpl.tag:
+			return ThreadReferenceImpl.mirrorOf(vmImpl, value);
+		}
+		throw new InternalException(
+				JDIMessages.ObjectReferenceImpl_Invalid_ObjectID_tag_encountered___9
+						+ objectTag);
+	}
+
 	/**
 	 * Writes JDWP representation without tag.
 	 */
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.jdi.internal.jdwp.JdwpID;
+
+import com.sun.jdi.Value;
+
+/**
+ * List of tagged object references read from a JDWP reply. Only the tags and
+ * ID values are read from the reply, the mirror for an element is created
+ * when the element is first accessed. Large replies, like the instances of a
+ * type or the elements of an object array, are usually only viewed in part.
+ * <p>
+ * The list is mutable like the lists previously returned for these replies.
+ * Its elements are copied to an {@link ArrayList} on the first change of its
+ * size, after which all operations are delegated to that list.
+ * </p>
+ */
+class ObjectReferenceList<E extends Value> extends AbstractList<E> implements RandomAccess {
+
+	private final VirtualMachineImpl fVirtualMachine;
+	private final byte[] fTags;
+	private final long[] fIDs;
+	private final Object[] fMirrors;
+	/**
+	 * The elements once the size of the list changed, or <code>null</code>
+	 */
+	private List<E> fElements;
+
+	/**
+	 * Reads the given number of tagged object IDs.
+	 */
+	ObjectReferenceList(MirrorImpl target, int length, DataInputStream in) throws IOException {
+		fVirtualMachine = target.virtualMachineImpl();
+		fTags = new byte[length];
+		fIDs = new long[length];
+		fMirrors = new Object[length];
+		int size = fVirtualMachine.objectIDSize();
+		for (int i = 0; i < length; i++) {
+			fTags[i] = in.readByte();
+			if (fTags[i] != 0) {
+				fIDs[i] = JdwpID.readValue(size, in);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E get(int index) {
+		if (fElements != null) {
+			return fElements.get(index);
+		}
+		Object mirror = fMirrors[index];
+		if (mirror == null && fIDs[index] != JdwpID.VALUE_NULL) {
+			mirror = ObjectReferenceImpl.mirrorOf(fVirtualMachine, fTags[index], fIDs[index]);
+			fMirrors[index] = mirror;
+		}
+		return (E) mirror;
+	}
+
+	@Override
+	public E set(int index, E element) {
+		if (fElements != null) {
+			return fElements.set(index, element);
+		}
+		E previous = get(index);
+		fMirrors[index] = element;
+		fIDs[index] = JdwpID.VALUE_NULL;
+		return previous;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		elements().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public E remove(int index) {
+		E previous = elements().remove(index);
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		if (fElements != null) {
+			return fElements.size();
+		}
+		return fIDs.length;
+	}
+
+	/**
+	 * Returns the elements as a list that can change size, creating the
+	 * remaining mirrors when first called.
+	 */
+	private List<E> elements() {
+		if (fElements == null) {
+			List<E> elements = new ArrayList<>(fIDs.length);
+			for (int i = 0; i < fIDs.length; i++) {
+				elements.add(get(i));
+			}
+			fElements = elements;
+		}
+		return fElements;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,9 +27,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpFieldID;
@@ -98,13 +100,6 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		 */
 		protected String fAbsoluteFileName;
 
-		/**
-		 * Map line number in the input source file -> list of [start line in
-		 * the output source file, range in the output source file]. (Integer ->
-		 * List of int[2]).
-		 */
-		private final HashMap<Integer, List<int[]>> fLineInfo;
-
 		/**
 		 * FileInfo constructor.
 		 *
@@ -119,57 +114,6 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			fFileId = fileId;
 			fFileName = fileName;
 			fAbsoluteFileName = absoluteFileName;
-			fLineInfo = new HashMap<>();
-		}
-
-		/**
-		 * Add information about the mapping of one line. Associate a line in
-		 * the input source file to a snippet of code in the output source file.
-		 *
-		 * @param inputLine
-		 *            the line number in the input source file.
-		 * @param outputStartLine
-		 *            the number of the first line of the corresponding snippet
-		 *            in the output source file.
-		 * @param outputLineRange
-		 *            the size of the corresponding snippet in the output source
-		 *            file.
-		 */
-		public void addLineInfo(int inputLine, int outputStartLine,
-				int outputLineRange) {
-			Integer key = Integer.valueOf(inputLine);
-			List<int[]> outputLines = fLineInfo.get(key);
-			if (outputLines == null) {
-				outputLines = new ArrayList<>();
-				fLineInfo.put(key, outputLines);
-			}
-			outputLines.add(new int[] { outputStartLine, outputLineRange });
-		}
-
-		/**
-		 * Return a list of line information about the code in the output source
-		 * file associated to the given line in the input source file.
-		 *
-		 * @param lineNumber
-		 *            the line number in the input source file.
-		 * @return a List of int[2].
-		 */
-		public List<Integer> getOutputLinesForLine(int lineNumber) {
-			List<Integer> list = new ArrayList<>();
-			List<int[]> outputLines = fLineInfo.get(Integer.valueOf(lineNumber));
-			if (outputLines != null) {
-				for (int[] info : outputLines) {
-					int outputLineNumber = info[0];
-					int length = info[1];
-					if (length == 0) {
-						length = length + 1;
-					}
-					for (int i = 0; i < length; i++) {
-						list.add(Integer.valueOf(outputLineNumber++));
-					}
-				}
-			}
-			return list;
 		}
 
 		/**
@@ -186,7 +130,9 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	}
 
 	/**
-	 * Represent the information contained in the SMAP about one stratum.
+	 * Represent the information contained in the SMAP about one stratum. The
+	 * line section of the stratum is parsed into a line table when the lines
+	 * of the stratum are first queried.
 	 */
 	protected static class Stratum {
 
@@ -206,10 +152,16 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		private int fPrimaryFileId;
 
 		/**
-		 * Map line number in the output source file -> list of line numbers in
-		 * the input source file. (Integer -> List of Integer)
+		 * The SMAP and the offset of the line section of this stratum in it.
+		 */
+		private String fSmap;
+		private int fLineSectionOffset;
+
+		/**
+		 * The line mapping of this stratum, <code>null</code> until the
+		 * lines are queried.
 		 */
-		private final HashMap<Integer, List<int[]>> fOutputLineToInputLine;
+		private StratumLineTable fLineTable;
 
 		/**
 		 * Stratum constructor.
@@ -220,7 +172,6 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		public Stratum(String id) {
 			fId = id;
 			fFileInfos = new ArrayList<>();
-			fOutputLineToInputLine = new HashMap<>();
 			fPrimaryFileId = -1;
 		}
 
@@ -261,63 +212,52 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		}
 
 		/**
-		 * Add line mapping information.
+		 * Check that a line info refers to a file info of this stratum.
 		 *
-		 * @param inputStartLine
-		 *            number of the first line in the input source file.
 		 * @param lineFileId
 		 *            id of the input source file.
-		 * @param repeatCount
-		 *            number of iterations.
-		 * @param outputStartLine
-		 *            number of the first line in the output source file.
-		 * @param outputLineIncrement
-		 *            number of line to increment at each iteration.
 		 */
-		public void addLineInfo(int inputStartLine, int lineFileId,
-				int repeatCount, int outputStartLine, int outputLineIncrement)
+		public void checkLineFileId(int lineFileId)
 				throws AbsentInformationException {
-			FileInfo fileInfo = null;
-			// get the FileInfo object
 			for (FileInfo element : fFileInfos) {
 				if (element.fFileId == lineFileId) {
-					fileInfo = element;
-				}
-			}
-			if (fileInfo == null) {
-				throw new AbsentInformationException(NLS.bind(
-						JDIMessages.ReferenceTypeImpl_29,
-						Integer.toString(lineFileId)));
-			}
-			// add the data to the different hash maps.
-			for (int i = 0; i < repeatCount; i++, inputStartLine++) {
-				fileInfo.addLineInfo(inputStartLine, outputStartLine,
-						outputLineIncrement);
-				if (outputLineIncrement == 0) {
-					// see bug 40022
-					addLineInfoToMap(inputStartLine, lineFileId,
-							outputStartLine);
-				} else {
-					for (int j = 0; j < outputLineIncrement; j++, outputStartLine++) {
-						addLineInfoToMap(inputStartLine, lineFileId,
-								outputStartLine);
-					}
+					return;
 				}
 			}
+			throw new AbsentInformationException(NLS.bind(
+					JDIMessages.ReferenceTypeImpl_29,
+					Integer.toString(lineFileId)));
+		}
+
+		/**
+		 * Set the location of the line section of this stratum, parsed when
+		 * the lines are queried.
+		 *
+		 * @param smap
+		 *            the SMAP.
+		 * @param lineSectionOffset
+		 *            the offset following the <code>*L</code> of the line
+		 *            section.
+		 */
+		public void setLineSection(String smap, int lineSectionOffset) {
+			fSmap = smap;
+			fLineSectionOffset = lineSectionOffset;
 		}
 
 		/**
-		 * Add the data to the map.
+		 * Return the line mapping of this stratum, parsing the line section
+		 * of the SMAP on the first call.
 		 */
-		private void addLineInfoToMap(int inputStartLine, int lineFileId,
-				int outputStartLine) {
-			Integer key = Integer.valueOf(outputStartLine);
-			List<int[]> inputLines = fOutputLineToInputLine.get(key);
-			if (inputLines == null) {
-				inputLines = new ArrayList<>();
-				fOutputLineToInputLine.put(key, inputLines);
+		private synchronized StratumLineTable getLineTable() {
+			if (fLineTable == null) {
+				try {
+					fLineTable = SourceDebugExtensionParser.parseLineSection(fSmap, fLineSectionOffset);
+				} catch (AbsentInformationException e) {
+					// the line section has been validated with the SMAP
+					fLineTable = new StratumLineTable(new int[0], 0);
+				}
 			}
-			inputLines.add(new int[] { lineFileId, inputStartLine });
+			return fLineTable;
 		}
 
 		/**
@@ -337,8 +277,101 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			return null;
 		}
 
+		/**
+		 * Return the lines in the output source file associated to the given
+		 * line in the given input source file.
+		 *
+		 * @param fileInfo
+		 *            the input source file.
+		 * @param lineNumber
+		 *            the line number in the input source file.
+		 */
+		public List<Integer> getOutputLinesForLine(FileInfo fileInfo, int lineNumber) {
+			return getLineTable().outputLines(fileInfo.fFileId, lineNumber);
+		}
+
+		/**
+		 * Return the lines in the input source files associated to the given
+		 * line in the output source file, or <code>null</code> if there is
+		 * none.
+		 *
+		 * @return a List of int[2]: [fileId, inputLineNumber].
+		 */
 		public List<int[]> getInputLineInfos(int outputLineNumber) {
-			return fOutputLineToInputLine.get(Integer.valueOf(outputLineNumber));
+			List<int[]> lineInfos = getLineTable().inputLines(outputLineNumber);
+			return lineInfos.isEmpty() ? null : lineInfos;
+		}
+
+	}
+
+	/**
+	 * Represent the information contained in a SMAP. A source map does not
+	 * depend on the type it was read from, and is shared by all the types of
+	 * a VM with the same SMAP, see {@link VirtualMachineImpl#sourceMap(String)}.
+	 */
+	protected static class SourceMap {
+
+		/**
+		 * The SMAP.
+		 */
+		private final String fSmap;
+
+		/**
+		 * The name of the output file, i.e. the .java file used to generate
+		 * the bytecode.
+		 */
+		private String fOutputFileName;
+
+		/**
+		 * The default stratum id.
+		 */
+		private String fDefaultStratumId;
+
+		/**
+		 * A map of the defined strata. Map stratum id -> Stratum object.
+		 * (String -> Stratum).
+		 */
+		private final Map<String, Stratum> fStrata;
+
+		/**
+		 * SourceMap constructor.
+		 *
+		 * @param smap
+		 *            the SMAP.
+		 */
+		public SourceMap(String smap) {
+			fSmap = smap;
+			fStrata = new HashMap<>();
+		}
+
+		/**
+		 * Set the output file name, i.e. the .java file used to generate the
+		 * bytecode.
+		 */
+		public void setOutputFileName(String outputFileName) {
+			fOutputFileName = outputFileName;
+		}
+
+		/**
+		 * Set the default stratum. This stratum will be used for the method
+		 * on strata related data, but with no stratum parameter.
+		 */
+		public void setDefaultStratumId(String defaultStratumId) {
+			fDefaultStratumId = defaultStratumId;
+		}
+
+		/**
+		 * Return the default stratum id.
+		 */
+		public String getDefaultStratumId() {
+			return fDefaultStratumId;
+		}
+
+		/**
+		 * Add a new stratum to this source map.
+		 */
+		public void addStratum(Stratum stratum) {
+			fStrata.put(stratum.fId, stratum);
 		}
 
 	}
@@ -373,20 +406,14 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	private boolean fSourceDebugExtensionAvailable = true; // JSR-045 addition
 
 	/**
-	 * The default stratum id.
-	 */
-	private String fDefaultStratumId; // JSR-045 addition
-
-	/**
-	 * A map of the defined strata. Map stratum id -> Stratum object. (String ->
-	 * Stratum).
+	 * The source map string returned by the VM.
 	 */
-	private Map<String, Stratum> fStrata; // JSR-045 addition
+	private String fSmap; // JSR-045 addition
 
 	/**
-	 * The source map string returned by the VM.
+	 * The parsed source map, shared with the types with the same SMAP.
 	 */
-	private String fSmap; // JSR-045 addition
+	private SourceMap fSourceMap; // JSR-045 addition
 
 	/**
 	 * Creates new instance.
@@ -453,9 +480,8 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 
 		// JSR-045
 		fSourceDebugExtensionAvailable = true;
-		fDefaultStratumId = null;
-		fStrata = null;
 		fSmap = null;
+		fSourceMap = null;
 
 		// The following cached results are stored higher up in the class
 		// hierarchy.
@@ -928,19 +954,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			int jdwpCommand = withGenericSignature ? JdwpCommandPacket.RT_FIELDS_WITH_GENERIC
 					: JdwpCommandPacket.RT_FIELDS;
 			JdwpReplyPacket replyPacket = requestVM(jdwpCommand, this);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			List<Field> elements = new ArrayList<>();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			for (int i = 0; i < nrOfElements; i++) {
-				FieldImpl elt = FieldImpl.readWithNameSignatureModifiers(this,
-						this, withGenericSignature, replyData);
-				if (elt == null) {
-					continue;
-				}
-				elements.add(elt);
-			}
-			fFields = elements;
+			fFields = readFields(replyPacket, withGenericSignature);
 			return fFields;
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
@@ -950,6 +964,25 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		}
 	}
 
+	/**
+	 * @return Returns the fields contained in the reply to a fields request.
+	 */
+	private List<Field> readFields(JdwpReplyPacket replyPacket, boolean withGenericSignature) throws IOException {
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		List<Field> elements = new ArrayList<>();
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		for (int i = 0; i < nrOfElements; i++) {
+			FieldImpl elt = FieldImpl.readWithNameSignatureModifiers(this,
+					this, withGenericSignature, replyData);
+			if (elt == null) {
+				continue;
+			}
+			elements.add(elt);
+		}
+		return elements;
+	}
+
 	/**
 	 * @return Returns FieldImpl of a field in the reference specified by a
 	 *         given fieldID, or null if not found.
@@ -1135,19 +1168,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			int jdwpCommand = withGenericSignature ? JdwpCommandPacket.RT_METHODS_WITH_GENERIC
 					: JdwpCommandPacket.RT_METHODS;
 			JdwpReplyPacket replyPacket = requestVM(jdwpCommand, this);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			List<Method> elements = new ArrayList<>();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			for (int i = 0; i < nrOfElements; i++) {
-				MethodImpl elt = MethodImpl.readWithNameSignatureModifiers(
-						this, this, withGenericSignature, replyData);
-				if (elt == null) {
-					continue;
-				}
-				elements.add(elt);
-			}
-			fMethods = elements;
+			fMethods = readMethods(replyPacket, withGenericSignature);
 			return fMethods;
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
@@ -1157,6 +1178,140 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		}
 	}
 
+	/**
+	 * @return Returns the methods contained in the reply to a methods request.
+	 */
+	private List<Method> readMethods(JdwpReplyPacket replyPacket, boolean withGenericSignature) throws IOException {
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		List<Method> elements = new ArrayList<>();
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		for (int i = 0; i < nrOfElements; i++) {
+			MethodImpl elt = MethodImpl.readWithNameSignatureModifiers(
+					this, this, withGenericSignature, replyData);
+			if (elt == null) {
+				continue;
+			}
+			elements.add(elt);
+		}
+		return elements;
+	}
+
+	/**
+	 * Retrieves the declared methods and fields of all given types that are not
+	 * known yet. The requests for all types are sent back-to-back and the
+	 * replies are collected afterwards, so the whole batch costs a single round
+	 * trip to the VM instead of one per type and kind of member.
+	 *
+	 * @param types
+	 *            the types to retrieve the members of
+	 */
+	public static void prefetchMembers(List<? extends ReferenceType> types) {
+		prefetchMembers(types, true, true);
+	}
+
+	/**
+	 * Retrieves the declared methods of all given types that are not known
+	 * yet, in a single round trip to the VM.
+	 *
+	 * @param types
+	 *            the types to retrieve the methods of
+	 * @see #prefetchMembers(List)
+	 */
+	public static void prefetchMethods(List<? extends ReferenceType> types) {
+		prefetchMembers(types, true, false);
+	}
+
+	/**
+	 * Retrieves the declared methods of all given types and the line tables of
+	 * these methods that are not known yet. Methods and line tables are each
+	 * retrieved in a single round trip to the VM.
+	 *
+	 * @param types
+	 *            the types to retrieve the line tables of
+	 * @see MethodImpl#prefetchLineTables(List)
+	 */
+	public static void prefetchLineTables(List<? extends ReferenceType> types) {
+		prefetchMethods(types);
+		List<Method> methods = new ArrayList<>();
+		for (ReferenceType type : new LinkedHashSet<>(types)) {
+			if (type instanceof ReferenceTypeImpl && !(type instanceof ArrayTypeImpl) && ((ReferenceTypeImpl) type).fMethods != null) {
+				methods.addAll(((ReferenceTypeImpl) type).fMethods);
+			}
+		}
+		MethodImpl.prefetchLineTables(methods);
+	}
+
+	private static void prefetchMembers(List<? extends ReferenceType> types, boolean prefetchMethods, boolean prefetchFields) {
+		List<ReferenceTypeImpl> methodsNeeded = new ArrayList<>();
+		List<ReferenceTypeImpl> fieldsNeeded = new ArrayList<>();
+		for (ReferenceType type : new LinkedHashSet<>(types)) {
+			// array types answer their (empty) members on their own
+			if (!(type instanceof ReferenceTypeImpl) || type instanceof ArrayTypeImpl) {
+				continue;
+			}
+			ReferenceTypeImpl typeImpl = (ReferenceTypeImpl) type;
+			if (prefetchMethods && typeImpl.fMethods == null) {
+				methodsNeeded.add(typeImpl);
+			}
+			if (prefetchFields && typeImpl.fFields == null) {
+				fieldsNeeded.add(typeImpl);
+			}
+		}
+		if (methodsNeeded.isEmpty() && fieldsNeeded.isEmpty()) {
+			return;
+		}
+		VirtualMachineImpl vm = (methodsNeeded.isEmpty() ? fieldsNeeded : methodsNeeded).get(0).virtualMachineImpl();
+		boolean withGenericSignature = vm.isJdwpVersionGreaterOrEqual(1, 5);
+		int methodsCommand = withGenericSignature ? JdwpCommandPacket.RT_METHODS_WITH_GENERIC
+				: JdwpCommandPacket.RT_METHODS;
+		int fieldsCommand = withGenericSignature ? JdwpCommandPacket.RT_FIELDS_WITH_GENERIC
+				: JdwpCommandPacket.RT_FIELDS;
+
+		List<CompletableFuture<JdwpReplyPacket>> methodReplies = new ArrayList<>(methodsNeeded.size());
+		List<CompletableFuture<JdwpReplyPacket>> fieldReplies = new ArrayList<>(fieldsNeeded.size());
+		try {
+			for (ReferenceTypeImpl type : methodsNeeded) {
+				methodReplies.add(type.requestVMAsync(methodsCommand, type));
+			}
+			for (ReferenceTypeImpl type : fieldsNeeded) {
+				fieldReplies.add(type.requestVMAsync(fieldsCommand, type));
+			}
+
+			for (int i = 0; i < methodsNeeded.size(); i++) {
+				ReferenceTypeImpl type = methodsNeeded.get(i);
+				type.initJdwpRequest();
+				try {
+					List<Method> methods = type.readMethods(type.waitForReply(methodReplies.get(i)), withGenericSignature);
+					if (type.fMethods == null) {
+						type.fMethods = methods;
+					}
+				} catch (IOException e) {
+					type.defaultIOExceptionHandler(e);
+				} finally {
+					type.handledJdwpRequest();
+				}
+			}
+			for (int i = 0; i < fieldsNeeded.size(); i++) {
+				ReferenceTypeImpl type = fieldsNeeded.get(i);
+				type.initJdwpRequest();
+				try {
+					List<Field> fields = type.readFields(type.waitForReply(fieldReplies.get(i)), withGenericSignature);
+					if (type.fFields == null) {
+						type.fFields = fields;
+					}
+				} catch (IOException e) {
+					type.defaultIOExceptionHandler(e);
+				} finally {
+					type.handledJdwpRequest();
+				}
+			}
+		} finally {
+			cancelReplies(methodReplies);
+			cancelReplies(fieldReplies);
+		}
+	}
+
 	/**
 	 * @return Returns a List containing each visible Method that has the given
 	 *         name.
@@ -1227,6 +1382,59 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		}
 	}
 
+	/**
+	 * Retrieves the signatures, and the generic signatures if supported by the
+	 * VM, of all given types that are not known yet. Like
+	 * {@link #prefetchMembers(List)} the whole batch costs a single round trip
+	 * to the VM.
+	 *
+	 * @param types
+	 *            the types to retrieve the signatures of
+	 */
+	public static void prefetchSignatures(List<? extends ReferenceType> types) {
+		List<ReferenceTypeImpl> needed = new ArrayList<>();
+		boolean withGenericSignature = false;
+		for (ReferenceType type : new LinkedHashSet<>(types)) {
+			if (!(type instanceof ReferenceTypeImpl typeImpl)) {
+				continue;
+			}
+			withGenericSignature = typeImpl.virtualMachineImpl().isJdwpVersionGreaterOrEqual(1, 5);
+			if (typeImpl.fSignature == null || (withGenericSignature && !typeImpl.fGenericSignatureKnown)) {
+				needed.add(typeImpl);
+			}
+		}
+		if (needed.isEmpty()) {
+			return;
+		}
+		int command = withGenericSignature ? JdwpCommandPacket.RT_SIGNATURE_WITH_GENERIC
+				: JdwpCommandPacket.RT_SIGNATURE;
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(needed.size());
+		try {
+			for (ReferenceTypeImpl type : needed) {
+				replies.add(type.requestVMAsync(command, type));
+			}
+			for (int i = 0; i < needed.size(); i++) {
+				ReferenceTypeImpl type = needed.get(i);
+				type.initJdwpRequest();
+				try {
+					JdwpReplyPacket replyPacket = type.waitForReply(replies.get(i));
+					type.defaultReplyErrorHandler(replyPacket.errorCode());
+					DataInputStream replyData = replyPacket.dataInStream();
+					type.setSignature(type.readString("signature", replyData)); //$NON-NLS-1$
+					if (withGenericSignature) {
+						type.setGenericSignature(type.readString("generic signature", replyData)); //$NON-NLS-1$
+					}
+				} catch (IOException e) {
+					type.defaultIOExceptionHandler(e);
+				} finally {
+					type.handledJdwpRequest();
+				}
+			}
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
 	/**
 	 * @return Returns a List containing each ReferenceType declared within this
 	 *         type.
@@ -1352,6 +1560,28 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		write(target, out);
 	}
 
+	/**
+	 * @return Returns known ReferenceTypeImpl with the given type tag and ID
+	 *         value, or if the ID is unknown a newly created ReferenceTypeImpl,
+	 *         or null for the null ID.
+	 */
+	static ReferenceTypeImpl mirrorOf(VirtualMachineImpl vmImpl, byte typeTag, long value) {
+		if (value == JdwpID.VALUE_NULL) {
+			return null;
+		}
+		switch (typeTag) {
+		case ArrayTypeImpl.typeTag:
+			return ArrayTypeImpl.mirrorOf(vmImpl, value);
+		case ClassTypeImpl.typeTag:
+			return ClassTypeImpl.mirrorOf(vmImpl, value);
+		case InterfaceTypeImpl.typeTag:
+			return InterfaceTypeImpl.mirrorOf(vmImpl, value);
+		}
+		throw new InternalException(
+				JDIMessages.ReferenceTypeImpl_Invalid_ReferenceTypeID_tag_encountered___8
+						+ typeTag);
+	}
+
 	/**
 	 * @return Reads JDWP representation and returns new or cached instance.
 	 */
@@ -1576,13 +1806,24 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public String sourceDebugExtension() throws AbsentInformationException {
-		if (isSourceDebugExtensionAvailable()) {
-			return fSmap;
-		}
 		if (!virtualMachine().canGetSourceDebugExtension()) {
 			throw new UnsupportedOperationException("1"); //$NON-NLS-1$
 		}
-		throw new AbsentInformationException();
+		// the SMAP is returned as is, without being parsed
+		synchronized (this) {
+			if (fSmap == null) {
+				if (!fSourceDebugExtensionAvailable) {
+					throw new AbsentInformationException();
+				}
+				try {
+					getSourceDebugExtension();
+				} catch (AbsentInformationException e) {
+					fSourceDebugExtensionAvailable = false;
+					throw e;
+				}
+			}
+			return fSmap;
+		}
 	}
 
 	/* (non-Javadoc)
@@ -1673,7 +1914,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		List<String> list = new ArrayList<>();
 		// The strata defined in the SMAP.
 		if (isSourceDebugExtensionAvailable()) {
-			list.addAll(fStrata.keySet());
+			list.addAll(fSourceMap.fStrata.keySet());
 		}
 		// plus the Java stratum
 		list.add(VirtualMachineImpl.JAVA_STRATUM_NAME);
@@ -1686,7 +1927,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	@Override
 	public String defaultStratum() {
 		if (isSourceDebugExtensionAvailable()) {
-			return fDefaultStratumId;
+			return fSourceMap.fDefaultStratumId;
 		}
 		// if not defined, return Java.
 		return VirtualMachineImpl.JAVA_STRATUM_NAME;
@@ -1718,11 +1959,12 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	private Stratum getStratum(String stratumId) {
 		if (!VirtualMachineImpl.JAVA_STRATUM_NAME.equals(stratumId)
 				&& isSourceDebugExtensionAvailable()) {
-			if (stratumId == null || !fStrata.containsKey(stratumId)) {
-				stratumId = fDefaultStratumId;
+			Map<String, Stratum> strata = fSourceMap.fStrata;
+			if (stratumId == null || !strata.containsKey(stratumId)) {
+				stratumId = fSourceMap.fDefaultStratumId;
 			}
 			if (!VirtualMachineImpl.JAVA_STRATUM_NAME.equals(stratumId)) {
-				return fStrata.get(stratumId);
+				return strata.get(stratumId);
 			}
 		}
 		return null;
@@ -1754,12 +1996,10 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		// ABSENT_INFORMATION
 		// error if the source debug extension is not available.
 		if ("".equals(fSmap)) { //$NON-NLS-1$
+			fSmap = null;
 			throw new AbsentInformationException(
 					JDIMessages.ReferenceTypeImpl_31);
 		}
-		// parse the source map.
-		fStrata = new HashMap<>();
-		SourceDebugExtensionParser.parse(fSmap, this);
 	}
 
 	/**
@@ -1794,7 +2034,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 * operations which need data from the SMAP. Return <code>false</code> if
 	 * the source debug extension is not available for any reason.
 	 * <code>true</code> indicates that the source debug extension is available
-	 * and the information has been parsed and stored in the maps and lists.
+	 * and has been parsed into the source map.
 	 */
 	private synchronized boolean isSourceDebugExtensionAvailable() {
 		if (!fSourceDebugExtensionAvailable) {
@@ -1804,40 +2044,23 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			fSourceDebugExtensionAvailable = false;
 			return false;
 		}
-		if (fSmap == null) {
+		if (fSourceMap == null) {
 			try {
-				getSourceDebugExtension();
+				if (fSmap == null) {
+					getSourceDebugExtension();
+				}
+				fSourceMap = virtualMachineImpl().sourceMap(fSmap);
 			} catch (AbsentInformationException e) {
 				fSourceDebugExtensionAvailable = false;
 				return false;
 			}
+			// keep the SMAP of the shared source map only
+			fSmap = fSourceMap.fSmap;
+			fSourceName = fSourceMap.fOutputFileName;
 		}
 		return true;
 	}
 
-	/**
-	 * Set the output file name, i.e. the .java file used to generate the
-	 * bytecode.
-	 */
-	protected void setOutputFileName(String outputFileName) {
-		fSourceName = outputFileName;
-	}
-
-	/**
-	 * Set the default stratum. This stratum will be used for the method on
-	 * strata related data, but with no stratum parameter.
-	 */
-	protected void setDefaultStratumId(String defaultStratumId) {
-		fDefaultStratumId = defaultStratumId;
-	}
-
-	/**
-	 * Add a new stratum to this type.
-	 */
-	protected void addStratum(Stratum stratum) {
-		fStrata.put(stratum.fId, stratum);
-	}
-
 	/**
 	 * Return the name of the input source file of which the given code index is
 	 * part of the translation, for this stratum. If the code at the given index
@@ -2005,7 +2228,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			for (Iterator<FileInfo> iter = stratum.fFileInfos.iterator(); iter.hasNext() && !found;) {
 				FileInfo fileInfo = iter.next();
 				if (sourceName == null || (found = sourceName.equals(fileInfo.fFileName))) {
-					javaLines.addAll(fileInfo.getOutputLinesForLine(lineNumber));
+					javaLines.addAll(stratum.getOutputLinesForLine(fileInfo, lineNumber));
 				}
 			}
 			if (sourceName != null && !found) {
@@ -2189,11 +2412,8 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			if (max > 0 && elements > max) {
 				elements = max;
 			}
-			ArrayList<ObjectReference> list = new ArrayList<>();
-			for (int i = 0; i < elements; i++) {
-				list.add((ObjectReference) ValueImpl.readWithTag(this, replyData));
-			}
-			return list;
+			return ObjectReferenceImpl.readObjectRefsWithTag(this, elements,
+					replyData);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
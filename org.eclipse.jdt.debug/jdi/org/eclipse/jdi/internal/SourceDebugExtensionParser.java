@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2003, 2012 IBM Corporation and others.
+ *  Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,19 @@
 package org.eclipse.jdi.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.osgi.util.NLS;
 
 import com.sun.jdi.AbsentInformationException;
 
+/**
+ * Parses a SMAP (JSR-045) into a source map. The SMAP is parsed in a single
+ * pass, which validates it completely, but the line sections are not
+ * stored: the line section of a stratum is parsed again into a line table
+ * when the lines of the stratum are first queried.
+ */
 public class SourceDebugExtensionParser {
 
 	private static class Lexer {
@@ -44,19 +51,32 @@ public class SourceDebugExtensionParser {
 		static final int SHARP = 16;
 		static final int PLUS = 17;
 
-		private final char[] fSmap;
+		private final String fSmap;
 		private int fPointer;
 		private char fChar;
 
-		private char[] fLexem;
+		/**
+		 * The current lexem is the range [fLexemStart, fLexemEnd[ of the
+		 * SMAP, copied only when requested.
+		 */
+		private int fLexemStart;
+		private int fLexemEnd;
 		private int fLexemType;
+		private int fNumber;
 
 		private boolean fEOF;
 
 		public Lexer(String smap) {
-			fSmap = smap.toCharArray();
+			this(smap, 0);
+		}
+
+		/**
+		 * Creates a lexer starting at the given offset of the SMAP.
+		 */
+		public Lexer(String smap, int offset) {
+			fSmap = smap;
 			fLexemType = UNKNOWN;
-			fPointer = -1;
+			fPointer = offset - 1;
 			nextChar();
 		}
 
@@ -75,15 +95,18 @@ public class SourceDebugExtensionParser {
 		}
 
 		private char nextChar() {
-			if (++fPointer == fSmap.length) {
+			if (++fPointer >= fSmap.length()) {
+				fPointer = fSmap.length();
 				fEOF = true;
-				return '\000';
+				fChar = '\000';
+				return fChar;
 			}
-			fChar = fSmap[fPointer];
+			fChar = fSmap.charAt(fPointer);
 			return fChar;
 		}
 
 		private void startWith() throws AbsentInformationException {
+			fLexemStart = fPointer;
 			switch (fChar) {
 			case '\n':
 			case '\r':
@@ -93,22 +116,18 @@ public class SourceDebugExtensionParser {
 				startWithAsterisk();
 				break;
 			case ':':
-				fLexem = new char[] { ':' };
 				fLexemType = COLON;
 				nextChar();
 				break;
 			case ',':
-				fLexem = new char[] { ',' };
 				fLexemType = COMMA;
 				nextChar();
 				break;
 			case '#':
-				fLexem = new char[] { '#' };
 				fLexemType = SHARP;
 				nextChar();
 				break;
 			case '+':
-				fLexem = new char[] { '+' };
 				fLexemType = PLUS;
 				nextChar();
 				break;
@@ -116,6 +135,7 @@ public class SourceDebugExtensionParser {
 				startWithOtherChar();
 				break;
 			}
+			fLexemEnd = fPointer;
 		}
 
 		private void startWithOtherChar() {
@@ -132,11 +152,7 @@ public class SourceDebugExtensionParser {
 			while (fChar != '\n' && fChar != '\r' && !fEOF) {
 				nextChar();
 			}
-			int length = fPointer - lexemStart;
-			fLexem = new char[length];
-			System.arraycopy(fSmap, lexemStart, fLexem, 0, length);
-			if (length == 4 && fLexem[0] == 'S' && fLexem[1] == 'M'
-					&& fLexem[2] == 'A' && fLexem[3] == 'P') {
+			if (fPointer - lexemStart == 4 && fSmap.startsWith("SMAP", lexemStart)) { //$NON-NLS-1$
 				fLexemType = SMAP;
 			} else {
 				fLexemType = NON_ASTERISK_STRING;
@@ -144,14 +160,14 @@ public class SourceDebugExtensionParser {
 		}
 
 		private void number(int lexemStart) {
+			int value = 0;
 			while (fChar >= '0' && fChar <= '9') {
+				value = value * 10 + fChar - '0';
 				nextChar();
 			}
 			consumeWhiteSpace();
 			fLexemType = NUMBER;
-			int length = fPointer - lexemStart;
-			fLexem = new char[length];
-			System.arraycopy(fSmap, lexemStart, fLexem, 0, length);
+			fNumber = value;
 		}
 
 		private void startWithAsterisk() throws AbsentInformationException {
@@ -186,20 +202,15 @@ public class SourceDebugExtensionParser {
 				fLexemType = ASTERISK_CHAR;
 				break;
 			}
-			fLexem = new char[] { '*', fChar };
 			nextChar();
 		}
 
 		private void startWithCR() {
 			if (fChar == '\r') {
 				if (nextChar() == '\n') {
-					fLexem = new char[] { '\r', '\n' };
 					nextChar();
-				} else {
-					fLexem = new char[] { '\r' };
 				}
 			} else {
-				fLexem = new char[] { fChar };
 				nextChar();
 			}
 			fLexemType = CR;
@@ -215,7 +226,37 @@ public class SourceDebugExtensionParser {
 		 * @return the value of the current lexem.
 		 */
 		public char[] lexem() {
-			return fLexem;
+			char[] lexem = new char[fLexemEnd - fLexemStart];
+			fSmap.getChars(fLexemStart, fLexemEnd, lexem, 0);
+			return lexem;
+		}
+
+		/**
+		 * Append the value of the current lexem to the given buffer.
+		 */
+		public void appendLexem(StringBuilder buffer) {
+			buffer.append(fSmap, fLexemStart, fLexemEnd);
+		}
+
+		/**
+		 * @return the value of the current lexem, which is a number.
+		 */
+		public int number() {
+			return fNumber;
+		}
+
+		/**
+		 * @return the SMAP.
+		 */
+		public String smap() {
+			return fSmap;
+		}
+
+		/**
+		 * @return the offset following the current lexem in the SMAP.
+		 */
+		public int offset() {
+			return fLexemEnd;
 		}
 
 		/**
@@ -228,9 +269,9 @@ public class SourceDebugExtensionParser {
 	}
 
 	/**
-	 * The reference type to which this source debug extension is associated.
+	 * The source map built from the source debug extension.
 	 */
-	private final ReferenceTypeImpl fReferenceType;
+	private final ReferenceTypeImpl.SourceMap fSourceMap;
 
 	private final List<String> fDefinedStrata;
 
@@ -240,16 +281,52 @@ public class SourceDebugExtensionParser {
 	private boolean fLineSectionDefinedForCurrentStratum;
 	private int fCurrentLineFileId;
 
-	public static void parse(String smap, ReferenceTypeImpl referenceType)
+	/**
+	 * The line infos read from a line section, <code>null</code> while the
+	 * whole SMAP is parsed.
+	 */
+	private int[] fLineInfos;
+	private int fLineInfoCount;
+
+	/**
+	 * Parses the given SMAP into a source map.
+	 *
+	 * @param smap
+	 *            the SMAP.
+	 * @return the source map.
+	 * @throws AbsentInformationException
+	 *             if the SMAP is not valid.
+	 */
+	public static ReferenceTypeImpl.SourceMap parse(String smap)
 			throws AbsentInformationException {
-		new SourceDebugExtensionParser(referenceType).parseSmap(smap);
+		ReferenceTypeImpl.SourceMap sourceMap = new ReferenceTypeImpl.SourceMap(smap);
+		new SourceDebugExtensionParser(sourceMap).parseSmap(smap);
+		return sourceMap;
+	}
+
+	/**
+	 * Parses the line section of a stratum of a SMAP already parsed by
+	 * {@link #parse(String)} into a line table.
+	 *
+	 * @param smap
+	 *            the SMAP.
+	 * @param offset
+	 *            the offset following the <code>*L</code> of the line section.
+	 * @return the line table of the stratum.
+	 */
+	static StratumLineTable parseLineSection(String smap, int offset)
+			throws AbsentInformationException {
+		SourceDebugExtensionParser parser = new SourceDebugExtensionParser(null);
+		parser.fLineInfos = new int[StratumLineTable.LINE_INFO_SIZE * 16];
+		parser.parseLineSection(new Lexer(smap, offset));
+		return new StratumLineTable(parser.fLineInfos, parser.fLineInfoCount);
 	}
 
 	/**
 	 * SourceDebugExtension constructor.
 	 */
-	private SourceDebugExtensionParser(ReferenceTypeImpl referenceType) {
-		fReferenceType = referenceType;
+	private SourceDebugExtensionParser(ReferenceTypeImpl.SourceMap sourceMap) {
+		fSourceMap = sourceMap;
 		fDefinedStrata = new ArrayList<>();
 		fDefinedStrata.add(VirtualMachineImpl.JAVA_STRATUM_NAME);
 	}
@@ -258,7 +335,7 @@ public class SourceDebugExtensionParser {
 		Lexer lexer = new Lexer(smap);
 		parseHeader(lexer);
 		parseSections(lexer);
-		if (!fDefinedStrata.contains(fReferenceType.defaultStratum())) {
+		if (!fDefinedStrata.contains(fSourceMap.getDefaultStratumId())) {
 			throw new AbsentInformationException(
 					JDIMessages.SourceDebugExtensionParser_2);
 		}
@@ -278,12 +355,12 @@ public class SourceDebugExtensionParser {
 			throw new AbsentInformationException(
 					JDIMessages.SourceDebugExtensionParser_5);
 		}
-		fReferenceType.setOutputFileName(getNonAsteriskString(lexer));
+		fSourceMap.setOutputFileName(getNonAsteriskString(lexer));
 		if (isAsteriskLexem(lexer.lexemType())) {
 			throw new AbsentInformationException(
 					JDIMessages.SourceDebugExtensionParser_6);
 		}
-		fReferenceType.setDefaultStratumId(getNonAsteriskString(lexer));
+		fSourceMap.setDefaultStratumId(getNonAsteriskString(lexer));
 	}
 
 	private void parseSections(Lexer lexer) throws AbsentInformationException {
@@ -329,6 +406,7 @@ public class SourceDebugExtensionParser {
 							JDIMessages.SourceDebugExtensionParser_11,
 							stratumId));
 				}
+				fCurrentStratum.setLineSection(lexer.smap(), lexer.offset());
 				parseLineSection(lexer);
 				fLineSectionDefinedForCurrentStratum = true;
 				break;
@@ -356,7 +434,7 @@ public class SourceDebugExtensionParser {
 					stratumId));
 		}
 		fDefinedStrata.add(stratumId);
-		fReferenceType.addStratum(fCurrentStratum);
+		fSourceMap.addStratum(fCurrentStratum);
 	}
 
 	private void parseFileSection(Lexer lexer)
@@ -376,7 +454,7 @@ public class SourceDebugExtensionParser {
 		int lexemType = lexer.lexemType();
 		switch (lexemType) {
 			case Lexer.NUMBER:
-				int fileId = integerValue(lexer.lexem());
+				int fileId = lexer.number();
 				if (isAsteriskLexem(lexer.nextLexem())) {
 					throw new AbsentInformationException(
 							JDIMessages.SourceDebugExtensionParser_16);
@@ -388,7 +466,7 @@ public class SourceDebugExtensionParser {
 					throw new AbsentInformationException(
 							JDIMessages.SourceDebugExtensionParser_17);
 				}
-				fileId = integerValue(lexer.lexem());
+				fileId = lexer.number();
 				if (isAsteriskLexem(lexer.nextLexem())) {
 					throw new AbsentInformationException(
 							JDIMessages.SourceDebugExtensionParser_16);
@@ -424,14 +502,14 @@ public class SourceDebugExtensionParser {
 			throw new AbsentInformationException(
 					JDIMessages.SourceDebugExtensionParser_22);
 		}
-		int inputStartLine = integerValue(lexer.lexem());
+		int inputStartLine = lexer.number();
 		int lexemType = lexer.nextLexem();
 		if (lexemType == Lexer.SHARP) {
 			if (lexer.nextLexem() != Lexer.NUMBER) {
 				throw new AbsentInformationException(
 						JDIMessages.SourceDebugExtensionParser_23);
 			}
-			fCurrentLineFileId = integerValue(lexer.lexem());
+			fCurrentLineFileId = lexer.number();
 			lexemType = lexer.nextLexem();
 		}
 		int repeatCount;
@@ -440,7 +518,7 @@ public class SourceDebugExtensionParser {
 				throw new AbsentInformationException(
 						JDIMessages.SourceDebugExtensionParser_24);
 			}
-			repeatCount = integerValue(lexer.lexem());
+			repeatCount = lexer.number();
 			lexemType = lexer.nextLexem();
 		} else {
 			repeatCount = 1;
@@ -453,7 +531,7 @@ public class SourceDebugExtensionParser {
 			throw new AbsentInformationException(
 					JDIMessages.SourceDebugExtensionParser_26);
 		}
-		int outputStartLine = integerValue(lexer.lexem());
+		int outputStartLine = lexer.number();
 		lexemType = lexer.nextLexem();
 		int outputLineIncrement;
 		if (lexemType == Lexer.COMMA) {
@@ -461,7 +539,7 @@ public class SourceDebugExtensionParser {
 				throw new AbsentInformationException(
 						JDIMessages.SourceDebugExtensionParser_27);
 			}
-			outputLineIncrement = integerValue(lexer.lexem());
+			outputLineIncrement = lexer.number();
 			lexemType = lexer.nextLexem();
 		} else {
 			outputLineIncrement = 1;
@@ -471,8 +549,20 @@ public class SourceDebugExtensionParser {
 					JDIMessages.SourceDebugExtensionParser_28);
 		}
 		lexer.nextLexem();
-		fCurrentStratum.addLineInfo(inputStartLine, fCurrentLineFileId,
-				repeatCount, outputStartLine, outputLineIncrement);
+		if (fLineInfos == null) {
+			// the line infos are stored when the stratum is queried
+			fCurrentStratum.checkLineFileId(fCurrentLineFileId);
+			return;
+		}
+		if (fLineInfoCount * StratumLineTable.LINE_INFO_SIZE == fLineInfos.length) {
+			fLineInfos = Arrays.copyOf(fLineInfos, fLineInfos.length * 2);
+		}
+		int index = fLineInfoCount++ * StratumLineTable.LINE_INFO_SIZE;
+		fLineInfos[index] = inputStartLine;
+		fLineInfos[index + 1] = fCurrentLineFileId;
+		fLineInfos[index + 2] = repeatCount;
+		fLineInfos[index + 3] = outputStartLine;
+		fLineInfos[index + 4] = outputLineIncrement;
 	}
 
 	private void parseVendorSection(Lexer lexer)
@@ -508,7 +598,7 @@ public class SourceDebugExtensionParser {
 		StringBuilder string = new StringBuilder();
 		int lexemType = lexer.lexemType();
 		while (lexemType != Lexer.CR) {
-			string.append(lexer.lexem());
+			lexer.appendLexem(string);
 			lexemType = lexer.nextLexem();
 		}
 		lexer.nextLexem();
@@ -521,23 +611,6 @@ public class SourceDebugExtensionParser {
 		return string.delete(0, i).toString();
 	}
 
-	private int integerValue(char[] lexem) {
-		int i = 0;
-		char c = lexem[0];
-		while (c == ' ' || c == '\t') {
-			c = lexem[++i];
-		}
-		int value = 0;
-		while (c >= '0' && c <= '9') {
-			value = value * 10 + c - '0';
-			if (++i == lexem.length) {
-				break;
-			}
-			c = lexem[i];
-		}
-		return value;
-	}
-
 	private boolean isAsteriskLexem(int lexemType) {
 		switch (lexemType) {
 		case Lexer.ASTERISK_C:
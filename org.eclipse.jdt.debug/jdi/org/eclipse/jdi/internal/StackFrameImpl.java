@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpFrameID;
@@ -264,6 +265,69 @@ public class StackFrameImpl extends MirrorImpl implements StackFrame, Locatable
 		}
 	}
 
+	/**
+	 * Retrieves the 'this' object of each of the given frames. The requests
+	 * for all frames are sent back-to-back and the replies are collected
+	 * afterwards, so the whole batch costs a single round trip to the VM.
+	 * Frames of static methods are not requested.
+	 *
+	 * @param frames
+	 *            the frames to retrieve the 'this' object of
+	 * @return Returns the 'this' object of each frame, in the order of the
+	 *         given list, or <code>null</code> for frames of static methods
+	 *         and frames that are no longer valid
+	 */
+	public static List<ObjectReference> thisObjects(List<? extends StackFrame> frames) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(frames.size());
+		try {
+			for (StackFrame frame : frames) {
+				StackFrameImpl frameImpl = (StackFrameImpl) frame;
+				CompletableFuture<JdwpReplyPacket> reply = null;
+				if (!frameImpl.fLocation.method().isStatic()) {
+					try {
+						ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+						DataOutputStream outData = new DataOutputStream(outBytes);
+						frameImpl.writeWithThread(frameImpl, outData);
+						reply = frameImpl.requestVMAsync(JdwpCommandPacket.SF_THIS_OBJECT, outBytes);
+					} catch (IOException e) {
+						frameImpl.defaultIOExceptionHandler(e);
+					}
+				}
+				replies.add(reply);
+			}
+			List<ObjectReference> result = new ArrayList<>(frames.size());
+			for (int i = 0; i < frames.size(); i++) {
+				StackFrameImpl frameImpl = (StackFrameImpl) frames.get(i);
+				CompletableFuture<JdwpReplyPacket> reply = replies.get(i);
+				ObjectReference thisObject = null;
+				if (reply != null) {
+					frameImpl.initJdwpRequest();
+					try {
+						JdwpReplyPacket replyPacket = frameImpl.waitForReply(reply);
+						switch (replyPacket.errorCode()) {
+						case JdwpReplyPacket.INVALID_FRAMEID:
+						case JdwpReplyPacket.INVALID_THREAD:
+						case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
+							// the thread was resumed in the meantime
+							break;
+						default:
+							frameImpl.defaultReplyErrorHandler(replyPacket.errorCode());
+							thisObject = ObjectReferenceImpl.readObjectRefWithTag(frameImpl, replyPacket.dataInStream());
+						}
+					} catch (IOException e) {
+						frameImpl.defaultIOExceptionHandler(e);
+					} finally {
+						frameImpl.handledJdwpRequest();
+					}
+				}
+				result.add(thisObject);
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.StackFrame#thread()
 	 */
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The line section of a stratum of a SMAP (JSR-045), mapping lines of the
+ * input source files to lines of the output source file and back.
+ * <p>
+ * The line infos are kept as they appear in the SMAP, each one an interval of
+ * input lines and an interval of output lines, rather than expanded line by
+ * line. Each direction of the mapping is an array of the intervals sorted by
+ * start line with the running maximum of their end lines, such that the line
+ * infos containing a line are found with a binary search and a short backward
+ * walk. A table takes about 36 bytes per line info.
+ * </p>
+ */
+public final class StratumLineTable {
+
+	/**
+	 * Fields of a line info in {@link #fLineInfos}
+	 */
+	private static final int INPUT_START_LINE = 0;
+	private static final int FILE_ID = 1;
+	private static final int REPEAT_COUNT = 2;
+	private static final int OUTPUT_START_LINE = 3;
+	private static final int OUTPUT_LINE_INCREMENT = 4;
+	static final int LINE_INFO_SIZE = 5;
+
+	/**
+	 * The line infos in the order of the SMAP, {@link #LINE_INFO_SIZE} ints
+	 * each.
+	 */
+	private final int[] fLineInfos;
+
+	/**
+	 * Line infos sorted by input start line and the maximum exclusive input
+	 * end line of the line infos up to each position.
+	 */
+	private final int[] fByInputLine;
+	private final int[] fInputEnds;
+
+	/**
+	 * Line infos sorted by output start line and the maximum exclusive output
+	 * end line of the line infos up to each position.
+	 */
+	private final int[] fByOutputLine;
+	private final int[] fOutputEnds;
+
+	/**
+	 * Creates a line table. The given array is owned by the table from now on.
+	 *
+	 * @param lineInfos
+	 *            the line infos in the order of the SMAP, each one given as
+	 *            input start line, file id, repeat count, output start line and
+	 *            output line increment
+	 * @param count
+	 *            the number of line infos in the array
+	 */
+	public StratumLineTable(int[] lineInfos, int count) {
+		fLineInfos = lineInfos.length == count * LINE_INFO_SIZE ? lineInfos : Arrays.copyOf(lineInfos, count * LINE_INFO_SIZE);
+		fByInputLine = new int[count];
+		fInputEnds = new int[count];
+		fByOutputLine = new int[count];
+		fOutputEnds = new int[count];
+		index(INPUT_START_LINE, fByInputLine, fInputEnds);
+		index(OUTPUT_START_LINE, fByOutputLine, fOutputEnds);
+	}
+
+	/**
+	 * Sorts the line infos by the given start line field, stably, and computes
+	 * the running maximum of their end lines.
+	 */
+	private void index(int startField, int[] order, int[] ends) {
+		// sort (start line, line info) pairs packed into longs
+		long[] packed = new long[order.length];
+		for (int i = 0; i < packed.length; i++) {
+			packed[i] = ((long) field(i, startField) << 32) | i;
+		}
+		Arrays.sort(packed);
+		int maxEnd = Integer.MIN_VALUE;
+		for (int i = 0; i < packed.length; i++) {
+			order[i] = (int) packed[i];
+			maxEnd = Math.max(maxEnd, end(order[i], startField));
+			ends[i] = maxEnd;
+		}
+	}
+
+	private int field(int lineInfo, int field) {
+		return fLineInfos[lineInfo * LINE_INFO_SIZE + field];
+	}
+
+	/**
+	 * Returns the exclusive end line of the given line info in the input or
+	 * output source file. An output line increment of 0 maps all repeated
+	 * input lines to the output start line (see bug 40022).
+	 */
+	private int end(int lineInfo, int startField) {
+		long start = field(lineInfo, startField);
+		long repeatCount = field(lineInfo, REPEAT_COUNT);
+		long length;
+		if (startField == INPUT_START_LINE) {
+			length = repeatCount;
+		} else {
+			int increment = field(lineInfo, OUTPUT_LINE_INCREMENT);
+			length = increment == 0 ? Math.min(repeatCount, 1) : repeatCount * increment;
+		}
+		return (int) Math.min(start + Math.max(length, 0), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return Returns the number of line infos of this table.
+	 */
+	public int size() {
+		return fByInputLine.length;
+	}
+
+	/**
+	 * Returns the line infos whose input or output lines contain the given
+	 * line, in the order of the SMAP.
+	 */
+	private int[] lineInfosContaining(int line, int startField, int[] order, int[] ends) {
+		int low = 0;
+		int high = order.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (field(order[middle], startField) <= line) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		int[] lineInfos = new int[4];
+		int count = 0;
+		// no line info at or before a position whose maximum end is not after
+		// the line can contain it
+		for (int i = low - 1; i >= 0 && ends[i] > line; i--) {
+			if (end(order[i], startField) > line) {
+				if (count == lineInfos.length) {
+					lineInfos = Arrays.copyOf(lineInfos, count * 2);
+				}
+				lineInfos[count++] = order[i];
+			}
+		}
+		lineInfos = Arrays.copyOf(lineInfos, count);
+		Arrays.sort(lineInfos);
+		return lineInfos;
+	}
+
+	/**
+	 * Returns the lines in the input source files mapped to the given line in
+	 * the output source file.
+	 *
+	 * @param outputLine
+	 *            the line number in the output source file
+	 * @return Returns a list of int[2]: [fileId, inputLine], in the order of
+	 *         the SMAP, possibly empty.
+	 */
+	public List<int[]> inputLines(int outputLine) {
+		List<int[]> inputLines = new ArrayList<>(1);
+		for (int lineInfo : lineInfosContaining(outputLine, OUTPUT_START_LINE, fByOutputLine, fOutputEnds)) {
+			int inputStartLine = field(lineInfo, INPUT_START_LINE);
+			int fileId = field(lineInfo, FILE_ID);
+			int increment = field(lineInfo, OUTPUT_LINE_INCREMENT);
+			if (increment == 0) {
+				for (int i = 0, repeatCount = field(lineInfo, REPEAT_COUNT); i < repeatCount; i++) {
+					inputLines.add(new int[] { fileId, inputStartLine + i });
+				}
+			} else {
+				int i = (outputLine - field(lineInfo, OUTPUT_START_LINE)) / increment;
+				inputLines.add(new int[] { fileId, inputStartLine + i });
+			}
+		}
+		return inputLines;
+	}
+
+	/**
+	 * Returns the lines in the output source file mapped to the given line in
+	 * the given input source file.
+	 *
+	 * @param fileId
+	 *            the id of the input source file
+	 * @param inputLine
+	 *            the line number in the input source file
+	 * @return Returns the line numbers in the order of the SMAP, possibly none.
+	 */
+	public List<Integer> outputLines(int fileId, int inputLine) {
+		List<Integer> outputLines = new ArrayList<>();
+		for (int lineInfo : lineInfosContaining(inputLine, INPUT_START_LINE, fByInputLine, fInputEnds)) {
+			if (field(lineInfo, FILE_ID) != fileId) {
+				continue;
+			}
+			int increment = field(lineInfo, OUTPUT_LINE_INCREMENT);
+			int outputLine = field(lineInfo, OUTPUT_START_LINE) + (inputLine - field(lineInfo, INPUT_START_LINE)) * increment;
+			for (int i = 0, length = Math.max(increment, 1); i < length; i++) {
+				outputLines.add(Integer.valueOf(outputLine++));
+			}
+		}
+		return outputLines;
+	}
+}
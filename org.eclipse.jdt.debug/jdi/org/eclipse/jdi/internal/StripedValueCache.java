@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+import org.eclipse.jdi.internal.jdwp.JdwpID;
+
+/**
+ * A cache of values keyed by the <code>long</code> value of JDWP IDs. Like
+ * {@link ValueCache} it uses soft references to store cached values, but it
+ * is safe for concurrent use without a global lock: the keys are spread over
+ * a fixed number of stripes, each an open addressing hash table with its own
+ * lock, and lookups usually do not lock at all. Entries whose values were
+ * garbage collected are removed by a background thread shared by all caches,
+ * so neither lookups nor insertions pay for it. The thread stops once all
+ * caches were garbage collected, and is started again with the next cache.
+ *
+ * The <code>Object</code> keyed methods expect {@link JdwpID} keys.
+ */
+public class StripedValueCache implements MirrorCache {
+
+	/** Number of stripes, must be a power of two. */
+	private static final int STRIPE_COUNT = 16;
+
+	/** Initial capacity of each stripe, must be a power of two. */
+	private static final int INITIAL_STRIPE_CAPACITY = 64;
+
+	/**
+	 * The reference-queue that is registered with the soft references of all
+	 * caches and with the phantom references of the caches themselves. The
+	 * garbage collector will enqueue references that are garbage collected.
+	 */
+	private static final ReferenceQueue<Object> fgRefQueue = new ReferenceQueue<>();
+
+	/**
+	 * Phantom references to the caches that were not garbage collected yet.
+	 * Guarded by the class.
+	 */
+	private static final Set<Reference<?>> fgCaches = new HashSet<>();
+
+	/**
+	 * Thread removing garbage collected entries, started with the first cache
+	 * and stopped with the last one. Guarded by the class.
+	 */
+	private static Thread fgReclaimer;
+
+	/**
+	 * Soft reference to a cached value that remembers its key and stripe, so
+	 * it can be removed from the stripe once the value is garbage collected.
+	 */
+	private static final class Entry extends SoftReference<Object> {
+		final long fKey;
+		final Stripe fStripe;
+
+		Entry(long key, Object value, Stripe stripe) {
+			super(value, fgRefQueue);
+			fKey = key;
+			fStripe = stripe;
+		}
+	}
+
+	/**
+	 * Open addressing hash table with linear probing. Removal shifts
+	 * following entries back so no tombstones are needed.
+	 */
+	private static final class Stripe {
+		private final StampedLock fLock = new StampedLock();
+		private Entry[] fTable = new Entry[INITIAL_STRIPE_CAPACITY];
+		private int fSize;
+
+		Entry get(long key) {
+			long stamp = fLock.tryOptimisticRead();
+			Entry entry = find(fTable, key);
+			if (!fLock.validate(stamp)) {
+				stamp = fLock.readLock();
+				try {
+					entry = find(fTable, key);
+				} finally {
+					fLock.unlockRead(stamp);
+				}
+			}
+			return entry;
+		}
+
+		void put(Entry entry) {
+			long stamp = fLock.writeLock();
+			try {
+				Entry[] table = fTable;
+				int mask = table.length - 1;
+				int index = index(entry.fKey, mask);
+				while (table[index] != null) {
+					if (table[index].fKey == entry.fKey) {
+						table[index] = entry;
+						return;
+					}
+					index = (index + 1) & mask;
+				}
+				table[index] = entry;
+				if (++fSize * 2 > table.length) {
+					resize();
+				}
+			} finally {
+				fLock.unlockWrite(stamp);
+			}
+		}
+
+		/**
+		 * Removes the entry for the given key. If an expected entry is given,
+		 * it is only removed if it is still the one stored for the key.
+		 */
+		Entry remove(long key, Entry expected) {
+			long stamp = fLock.writeLock();
+			try {
+				Entry[] table = fTable;
+				int mask = table.length - 1;
+				int index = index(key, mask);
+				while (table[index] != null) {
+					Entry entry = table[index];
+					if (entry.fKey == key) {
+						if (expected != null && entry != expected) {
+							return null;
+						}
+						shiftBack(table, index);
+						fSize--;
+						return entry;
+					}
+					index = (index + 1) & mask;
+				}
+				return null;
+			} finally {
+				fLock.unlockWrite(stamp);
+			}
+		}
+
+		void collectValues(List<Object> values, Class<?> type) {
+			long stamp = fLock.readLock();
+			try {
+				for (Entry entry : fTable) {
+					if (entry == null) {
+						continue;
+					}
+					Object value = entry.get();
+					if (value != null && (type == null || value.getClass().equals(type))) {
+						values.add(value);
+					}
+				}
+			} finally {
+				fLock.unlockRead(stamp);
+			}
+		}
+
+		private void resize() {
+			Entry[] old = fTable;
+			Entry[] table = new Entry[old.length * 2];
+			int mask = table.length - 1;
+			for (Entry entry : old) {
+				if (entry != null) {
+					int index = index(entry.fKey, mask);
+					while (table[index] != null) {
+						index = (index + 1) & mask;
+					}
+					table[index] = entry;
+				}
+			}
+			fTable = table;
+		}
+
+		private static void shiftBack(Entry[] table, int hole) {
+			int mask = table.length - 1;
+			int index = (hole + 1) & mask;
+			while (table[index] != null) {
+				int home = index(table[index].fKey, mask);
+				// move the entry into the hole if its home slot is not between
+				// the hole and its current slot (cyclically)
+				if (((index - home) & mask) >= ((index - hole) & mask)) {
+					table[hole] = table[index];
+					hole = index;
+				}
+				index = (index + 1) & mask;
+			}
+			table[hole] = null;
+		}
+
+		private static Entry find(Entry[] table, long key) {
+			int mask = table.length - 1;
+			int index = index(key, mask);
+			// bounded, the table may be modified while reading optimistically
+			for (int probes = 0; probes < table.length; probes++) {
+				Entry entry = table[index];
+				if (entry == null) {
+					return null;
+				}
+				if (entry.fKey == key) {
+					return entry;
+				}
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+
+		private static int index(long key, int mask) {
+			return (int) (mix(key) >>> 32) & mask;
+		}
+	}
+
+	private final Stripe[] fStripes = new Stripe[STRIPE_COUNT];
+
+	public StripedValueCache() {
+		for (int i = 0; i < fStripes.length; i++) {
+			fStripes[i] = new Stripe();
+		}
+		register(this);
+	}
+
+	/**
+	 * Registers a new cache, starting the reclaimer thread if it is not
+	 * running.
+	 */
+	private static synchronized void register(StripedValueCache cache) {
+		fgCaches.add(new PhantomReference<>(cache, fgRefQueue));
+		if (fgReclaimer == null) {
+			fgReclaimer = new Thread(StripedValueCache::reclaim, JDIMessages.StripedValueCache_0);
+			fgReclaimer.setDaemon(true);
+			fgReclaimer.start();
+		}
+	}
+
+	/**
+	 * Unregisters a garbage collected cache.
+	 *
+	 * @return whether it was the last cache, in which case the reclaimer
+	 *         thread must stop
+	 */
+	private static synchronized boolean unregister(Reference<?> cache) {
+		fgCaches.remove(cache);
+		if (fgCaches.isEmpty()) {
+			fgReclaimer = null;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the entries of all caches for which the values were garbage
+	 * collected, as they are enqueued, until the last cache is garbage
+	 * collected. Entries enqueued after that are removed by the next reclaimer
+	 * thread, if any.
+	 */
+	private static void reclaim() {
+		while (true) {
+			try {
+				Reference<?> reference = fgRefQueue.remove();
+				if (reference instanceof Entry) {
+					Entry entry = (Entry) reference;
+					entry.fStripe.remove(entry.fKey, entry);
+				} else if (unregister(reference)) {
+					return;
+				}
+			} catch (InterruptedException e) {
+				// keep reclaiming, the thread lives as long as the caches
+			}
+		}
+	}
+
+	private static long mix(long key) {
+		return key * 0x9E3779B97F4A7C15L;
+	}
+
+	private Stripe stripe(long key) {
+		return fStripes[(int) mix(key) >>> 28 & (STRIPE_COUNT - 1)];
+	}
+
+	private static long keyOf(Object key) {
+		return ((JdwpID) key).value();
+	}
+
+	/**
+	 * Put a new entry in the cache under the given key.
+	 */
+	public void put(long key, Object value) {
+		Stripe stripe = stripe(key);
+		stripe.put(new Entry(key, value, stripe));
+	}
+
+	/**
+	 * Get entry from the cache.
+	 *
+	 * @return Returns value that is cached under the given key, or null if the
+	 *         value has not been cached or has been garbage collected.
+	 */
+	@Override
+	public Object get(long key) {
+		Entry entry = stripe(key).get(key);
+		return entry == null ? null : entry.get();
+	}
+
+	/**
+	 * Removes the key and its corresponding value from this cache.
+	 *
+	 * @return Returns the value to which the key had been mapped, or null if
+	 *         the key did not have a mapping.
+	 */
+	public Object remove(long key) {
+		Entry entry = stripe(key).remove(key, null);
+		return entry == null ? null : entry.get();
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		put(keyOf(key), value);
+	}
+
+	@Override
+	public Object get(Object key) {
+		return get(keyOf(key));
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return remove(keyOf(key));
+	}
+
+	@Override
+	public Collection<Object> values() {
+		return valuesWithType(null);
+	}
+
+	@Override
+	public Collection<Object> valuesWithType(Class<?> type) {
+		List<Object> returnValues = new ArrayList<>();
+		for (Stripe stripe : fStripes) {
+			stripe.collectValues(returnValues, type);
+		}
+		return returnValues;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -227,19 +227,29 @@ public class ThreadGroupReferenceImpl extends ObjectReferenceImpl implements
 	public static ThreadGroupReferenceImpl read(MirrorImpl target,
 			DataInputStream in) throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpThreadGroupID ID = new JdwpThreadGroupID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.objectIDSize(), in);
 		if (target.fVerboseWriter != null) {
-			target.fVerboseWriter.println("threadGroupReference", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("threadGroupReference", value); //$NON-NLS-1$
 		}
 
-		if (ID.isNull()) {
+		if (value == JdwpID.VALUE_NULL) {
 			return null;
 		}
 
+		return mirrorOf(vmImpl, value);
+	}
+
+	/**
+	 * @return Returns known ThreadGroupReferenceImpl with the given ID value,
+	 *         or if the ID is unknown a newly created ThreadGroupReferenceImpl.
+	 */
+	static ThreadGroupReferenceImpl mirrorOf(VirtualMachineImpl vmImpl,
+			long value) {
 		ThreadGroupReferenceImpl mirror = (ThreadGroupReferenceImpl) vmImpl
-				.getCachedMirror(ID);
+				.getCachedObjectMirror(value);
 		if (mirror == null) {
+			JdwpThreadGroupID ID = new JdwpThreadGroupID(vmImpl);
+			ID.setValue(value);
 			mirror = new ThreadGroupReferenceImpl(vmImpl, ID);
 			vmImpl.addCachedMirror(mirror);
 		}
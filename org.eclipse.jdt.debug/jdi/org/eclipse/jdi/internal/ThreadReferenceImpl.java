@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.OpaqueFrameException;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
@@ -227,18 +228,7 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		try {
 			JdwpReplyPacket replyPacket = requestVM(
 					JdwpCommandPacket.TR_FRAME_COUNT, this);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.INVALID_THREAD:
-				throw new ObjectCollectedException();
-			case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
-				throw new IncompatibleThreadStateException(
-						JDIMessages.ThreadReferenceImpl_Thread_was_not_suspended_1);
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
-
-			DataInputStream replyData = replyPacket.dataInStream();
-			int result = readInt("frame count", replyData); //$NON-NLS-1$
-			return result;
+			return readFrameCount(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return 0;
@@ -247,6 +237,62 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * Returns the number of frames on the stack and adds the top frame, if
+	 * any, to the given list. Both requests are sent back-to-back, costing a
+	 * single round trip to the VM.
+	 *
+	 * @param topFrame
+	 *            receives the top frame, unless the stack is empty
+	 * @return Returns the number of frames on the stack.
+	 */
+	public int frameCount(List<StackFrame> topFrame) throws IncompatibleThreadStateException {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(2);
+		try {
+			replies.add(requestVMAsync(JdwpCommandPacket.TR_FRAME_COUNT, this));
+			replies.add(requestVMAsync(JdwpCommandPacket.TR_FRAMES, framesRequestData(0, 1)));
+			int frameCount;
+			initJdwpRequest();
+			try {
+				frameCount = readFrameCount(waitForReply(replies.get(0)));
+			} finally {
+				handledJdwpRequest();
+			}
+			if (frameCount > 0) {
+				initJdwpRequest();
+				try {
+					topFrame.addAll(readFrames(waitForReply(replies.get(1))));
+				} finally {
+					handledJdwpRequest();
+				}
+			}
+			return frameCount;
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return 0;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
+	/**
+	 * @return Returns the frame count contained in the reply to a frame count
+	 *         request.
+	 */
+	private int readFrameCount(JdwpReplyPacket replyPacket) throws IOException, IncompatibleThreadStateException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.INVALID_THREAD:
+			throw new ObjectCollectedException();
+		case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
+			throw new IncompatibleThreadStateException(
+					JDIMessages.ThreadReferenceImpl_Thread_was_not_suspended_1);
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+
+		DataInputStream replyData = replyPacket.dataInStream();
+		return readInt("frame count", replyData); //$NON-NLS-1$
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.ThreadReference#frames()
 	 */
@@ -264,38 +310,9 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
-			write(this, outData);
-			writeInt(start, "start", outData); //$NON-NLS-1$
-			writeInt(length, "length", outData); //$NON-NLS-1$
-
 			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.TR_FRAMES, outBytes);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.INVALID_THREAD:
-				throw new ObjectCollectedException();
-			case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
-				throw new IncompatibleThreadStateException(
-						JDIMessages.ThreadReferenceImpl_Thread_was_not_suspended_1);
-			case JdwpReplyPacket.INVALID_INDEX:
-				throw new IndexOutOfBoundsException(
-						JDIMessages.ThreadReferenceImpl_Invalid_index_of_stack_frames_given_4);
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
-
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			List<StackFrame> frames = new ArrayList<>(nrOfElements);
-			for (int i = 0; i < nrOfElements; i++) {
-				StackFrameImpl frame = StackFrameImpl.readWithLocation(this,
-						this, replyData);
-				if (frame == null) {
-					continue;
-				}
-				frames.add(frame);
-			}
-			return frames;
+					JdwpCommandPacket.TR_FRAMES, framesRequestData(start, length));
+			return readFrames(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -304,6 +321,80 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * @return Returns the frames request data for the given range of frames.
+	 */
+	private byte[] framesRequestData(int start, int length) throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		write(this, outData);
+		writeInt(start, "start", outData); //$NON-NLS-1$
+		writeInt(length, "length", outData); //$NON-NLS-1$
+		return outBytes.toByteArray();
+	}
+
+	/**
+	 * @return Returns the stack frames contained in the reply to a frames
+	 *         request.
+	 */
+	private List<StackFrame> readFrames(JdwpReplyPacket replyPacket) throws IOException, IncompatibleThreadStateException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.INVALID_THREAD:
+			throw new ObjectCollectedException();
+		case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
+			throw new IncompatibleThreadStateException(
+					JDIMessages.ThreadReferenceImpl_Thread_was_not_suspended_1);
+		case JdwpReplyPacket.INVALID_INDEX:
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ThreadReferenceImpl_Invalid_index_of_stack_frames_given_4);
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		prefetchFrameMethods(replyPacket);
+
+		DataInputStream replyData = replyPacket.dataInStream();
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		List<StackFrame> frames = new ArrayList<>(nrOfElements);
+		for (int i = 0; i < nrOfElements; i++) {
+			StackFrameImpl frame = StackFrameImpl.readWithLocation(this,
+					this, replyData);
+			if (frame == null) {
+				continue;
+			}
+			frames.add(frame);
+		}
+		return frames;
+	}
+
+	/**
+	 * Retrieves the methods of the declaring types of all frames in a frames
+	 * reply at once, before the frames are read. Otherwise reading the
+	 * location of each frame costs a round trip to the VM for every declaring
+	 * type of which the methods are not known yet.
+	 */
+	private void prefetchFrameMethods(JdwpReplyPacket replyPacket) throws IOException {
+		VirtualMachineImpl vmImpl = virtualMachineImpl();
+		DataInputStream replyData = replyPacket.dataInStream();
+		int nrOfElements = replyData.readInt();
+		if (nrOfElements < 2) {
+			return;
+		}
+		List<ReferenceTypeImpl> types = new ArrayList<>(nrOfElements);
+		for (int i = 0; i < nrOfElements; i++) {
+			// same layout as read by StackFrameImpl.readWithLocation()
+			if (JdwpID.readValue(vmImpl.frameIDSize(), replyData) == JdwpID.VALUE_NULL) {
+				continue;
+			}
+			byte typeTag = replyData.readByte();
+			long typeID = JdwpID.readValue(vmImpl.referenceTypeIDSize(), replyData);
+			replyData.skipBytes(vmImpl.methodIDSize() + Long.BYTES);
+			ReferenceTypeImpl type = ReferenceTypeImpl.mirrorOf(vmImpl, typeTag, typeID);
+			if (type != null) {
+				types.add(type);
+			}
+		}
+		ReferenceTypeImpl.prefetchMethods(types);
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.ThreadReference#interrupt()
 	 */
@@ -402,13 +493,7 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		try {
 			JdwpReplyPacket replyPacket = requestVM(JdwpCommandPacket.TR_NAME,
 					this);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.INVALID_THREAD:
-				throw new ObjectCollectedException();
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			return readString("name", replyData); //$NON-NLS-1$
+			return readName(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -417,6 +502,19 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * @return Returns the thread name contained in the reply to a name request.
+	 */
+	private String readName(JdwpReplyPacket replyPacket) throws IOException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.INVALID_THREAD:
+			throw new ObjectCollectedException();
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		return readString("name", replyData); //$NON-NLS-1$
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.ThreadReference#ownedMonitors()
 	 */
@@ -533,34 +631,7 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		try {
 			JdwpReplyPacket replyPacket = requestVM(
 					JdwpCommandPacket.TR_STATUS, this);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.ABSENT_INFORMATION:
-				return THREAD_STATUS_UNKNOWN;
-			case JdwpReplyPacket.INVALID_THREAD:
-				return THREAD_STATUS_NOT_STARTED;
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			int threadStatus = readInt(
-					"thread status", threadStatusMap(), replyData); //$NON-NLS-1$
-			readInt("suspend status", suspendStatusStrings(), replyData); //$NON-NLS-1$
-			switch (threadStatus) {
-			case JDWP_THREAD_STATUS_ZOMBIE:
-				return THREAD_STATUS_ZOMBIE;
-			case JDWP_THREAD_STATUS_RUNNING:
-				return THREAD_STATUS_RUNNING;
-			case JDWP_THREAD_STATUS_SLEEPING:
-				return THREAD_STATUS_SLEEPING;
-			case JDWP_THREAD_STATUS_MONITOR:
-				return THREAD_STATUS_MONITOR;
-			case JDWP_THREAD_STATUS_WAIT:
-				return THREAD_STATUS_WAIT;
-			case -1: // see bug 30816
-				return THREAD_STATUS_UNKNOWN;
-			}
-			throw new InternalException(
-					JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
-							+ threadStatus);
+			return readStatus(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return 0;
@@ -569,6 +640,200 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * @return Returns the thread status contained in the reply to a status
+	 *         request.
+	 */
+	private int readStatus(JdwpReplyPacket replyPacket) throws IOException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.ABSENT_INFORMATION:
+			return THREAD_STATUS_UNKNOWN;
+		case JdwpReplyPacket.INVALID_THREAD:
+			return THREAD_STATUS_NOT_STARTED;
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		int threadStatus = readInt(
+				"thread status", threadStatusMap(), replyData); //$NON-NLS-1$
+		readInt("suspend status", suspendStatusStrings(), replyData); //$NON-NLS-1$
+		switch (threadStatus) {
+		case JDWP_THREAD_STATUS_ZOMBIE:
+			return THREAD_STATUS_ZOMBIE;
+		case JDWP_THREAD_STATUS_RUNNING:
+			return THREAD_STATUS_RUNNING;
+		case JDWP_THREAD_STATUS_SLEEPING:
+			return THREAD_STATUS_SLEEPING;
+		case JDWP_THREAD_STATUS_MONITOR:
+			return THREAD_STATUS_MONITOR;
+		case JDWP_THREAD_STATUS_WAIT:
+			return THREAD_STATUS_WAIT;
+		case -1: // see bug 30816
+			return THREAD_STATUS_UNKNOWN;
+		}
+		throw new InternalException(
+				JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
+						+ threadStatus);
+	}
+
+	/**
+	 * Returns the status of each of the given threads. The requests for all
+	 * threads are sent back-to-back and the replies are collected afterwards.
+	 *
+	 * @param threads
+	 *            the threads to retrieve the status of
+	 * @return Returns the status of each thread, in the order of the given
+	 *         list, see {@link #status()}
+	 */
+	public static int[] statuses(List<? extends ThreadReference> threads) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) thread;
+				replies.add(threadImpl.requestVMAsync(JdwpCommandPacket.TR_STATUS, threadImpl));
+			}
+			int[] result = new int[threads.size()];
+			for (int i = 0; i < result.length; i++) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) threads.get(i);
+				threadImpl.initJdwpRequest();
+				try {
+					result[i] = threadImpl.readStatus(threadImpl.waitForReply(replies.get(i)));
+				} catch (IOException e) {
+					threadImpl.defaultIOExceptionHandler(e);
+				} finally {
+					threadImpl.handledJdwpRequest();
+				}
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
+	/**
+	 * Returns the name of each of the given threads. The requests for all
+	 * threads are sent back-to-back and the replies are collected afterwards.
+	 * Threads that have been collected in the meantime have a <code>null</code>
+	 * name.
+	 *
+	 * @param threads
+	 *            the threads to retrieve the name of
+	 * @return Returns the name of each thread, in the order of the given list
+	 */
+	public static List<String> names(List<? extends ThreadReference> threads) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) thread;
+				replies.add(threadImpl.requestVMAsync(JdwpCommandPacket.TR_NAME, threadImpl));
+			}
+			List<String> result = new ArrayList<>(threads.size());
+			for (int i = 0; i < threads.size(); i++) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) threads.get(i);
+				String name = null;
+				threadImpl.initJdwpRequest();
+				try {
+					name = threadImpl.readName(threadImpl.waitForReply(replies.get(i)));
+				} catch (ObjectCollectedException e) {
+					// thread is gone, no name
+				} catch (IOException e) {
+					threadImpl.defaultIOExceptionHandler(e);
+				} finally {
+					threadImpl.handledJdwpRequest();
+				}
+				result.add(name);
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
+	/**
+	 * Returns the number of frames on the stack of each of the given threads.
+	 * The requests for all threads are sent back-to-back and the replies are
+	 * collected afterwards. Threads that are not suspended or have been
+	 * collected have a frame count of -1.
+	 *
+	 * @param threads
+	 *            the threads to retrieve the frame count of
+	 * @return Returns the frame count of each thread, in the order of the
+	 *         given list
+	 */
+	public static int[] frameCounts(List<? extends ThreadReference> threads) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) thread;
+				replies.add(threadImpl.requestVMAsync(JdwpCommandPacket.TR_FRAME_COUNT, threadImpl));
+			}
+			int[] result = new int[threads.size()];
+			for (int i = 0; i < result.length; i++) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) threads.get(i);
+				result[i] = -1;
+				threadImpl.initJdwpRequest();
+				try {
+					result[i] = threadImpl.readFrameCount(threadImpl.waitForReply(replies.get(i)));
+				} catch (IncompatibleThreadStateException | ObjectCollectedException e) {
+					// not suspended or gone
+				} catch (IOException e) {
+					threadImpl.defaultIOExceptionHandler(e);
+				} finally {
+					threadImpl.handledJdwpRequest();
+				}
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
+	/**
+	 * Returns the top stack frame of each of the given threads. The requests
+	 * for all threads are sent back-to-back and the replies are collected
+	 * afterwards. Threads that are not suspended, have been collected or have
+	 * no frames have a <code>null</code> top frame.
+	 *
+	 * @param threads
+	 *            the threads to retrieve the top frame of
+	 * @return Returns the top frame of each thread, in the order of the given
+	 *         list
+	 */
+	public static List<StackFrame> topFrames(List<? extends ThreadReference> threads) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) thread;
+				try {
+					replies.add(threadImpl.requestVMAsync(JdwpCommandPacket.TR_FRAMES, threadImpl.framesRequestData(0, 1)));
+				} catch (IOException e) {
+					threadImpl.defaultIOExceptionHandler(e);
+				}
+			}
+			List<StackFrame> result = new ArrayList<>(threads.size());
+			for (int i = 0; i < threads.size(); i++) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) threads.get(i);
+				StackFrame frame = null;
+				threadImpl.initJdwpRequest();
+				try {
+					List<StackFrame> frames = threadImpl.readFrames(threadImpl.waitForReply(replies.get(i)));
+					if (!frames.isEmpty()) {
+						frame = frames.get(0);
+					}
+				} catch (IncompatibleThreadStateException | IndexOutOfBoundsException | ObjectCollectedException e) {
+					// not suspended, no frames or gone
+				} catch (IOException e) {
+					threadImpl.defaultIOExceptionHandler(e);
+				} finally {
+					threadImpl.handledJdwpRequest();
+				}
+				result.add(frame);
+			}
+			return result;
+		} finally {
+			cancelReplies(replies);
+		}
+	}
+
 	/**
 	 * Stops this thread with an asynchronous exception.
 	 *
@@ -756,20 +1021,29 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 	public static ThreadReferenceImpl read(MirrorImpl target, DataInputStream in)
 			throws IOException {
 		VirtualMachineImpl vmImpl = target.virtualMachineImpl();
-		JdwpThreadID ID = new JdwpThreadID(vmImpl);
-		ID.read(in);
+		long value = JdwpID.readValue(vmImpl.objectIDSize(), in);
 		if (target.fVerboseWriter != null)
 		 {
-			target.fVerboseWriter.println("threadReference", ID.value()); //$NON-NLS-1$
+			target.fVerboseWriter.println("threadReference", value); //$NON-NLS-1$
 		}
 
-		if (ID.isNull()) {
+		if (value == JdwpID.VALUE_NULL) {
 			return null;
 		}
 
+		return mirrorOf(vmImpl, value);
+	}
+
+	/**
+	 * @return Returns known ThreadReferenceImpl with the given ID value, or if
+	 *         the ID is unknown a newly created ThreadReferenceImpl.
+	 */
+	static ThreadReferenceImpl mirrorOf(VirtualMachineImpl vmImpl, long value) {
 		ThreadReferenceImpl mirror = (ThreadReferenceImpl) vmImpl
-				.getCachedMirror(ID);
+				.getCachedObjectMirror(value);
 		if (mirror == null) {
+			JdwpThreadID ID = new JdwpThreadID(vmImpl);
+			ID.setValue(value);
 			mirror = new ThreadReferenceImpl(vmImpl, ID);
 			vmImpl.addCachedMirror(mirror);
 		}
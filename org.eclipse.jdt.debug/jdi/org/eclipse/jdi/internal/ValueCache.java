@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.jdi.internal.jdwp.JdwpID;
+import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
+
 /**
  * This class is used to cache values. It uses soft references to store cached
  * values. Once a value is garbage collected by the VM, the corresponding entry
@@ -32,7 +35,7 @@ import java.util.Map;
  * soft references are only used for the keys, and values may not have 'strong'
  * references to keys otherwise they will never be garbage collected.
  */
-public class ValueCache {
+public class ValueCache implements MirrorCache {
 	/**
 	 * Map to store <key, Reference> pairs, where Reference is a soft reference
 	 * to an Object.
@@ -51,6 +54,11 @@ public class ValueCache {
 	 */
 	private final ReferenceQueue<Object> refQueue = new ReferenceQueue<>();
 
+	/**
+	 * ID of each thread for lookups by the value of an ID.
+	 */
+	private final ThreadLocal<JdwpID> lookupID = ThreadLocal.withInitial(() -> new JdwpObjectID(null));
+
 	/**
 	 * Clean up all entries from the table for which the values were garbage
 	 * collected.
@@ -68,6 +76,7 @@ public class ValueCache {
 	/**
 	 * Put a new entry in the cache under the given key.
 	 */
+	@Override
 	public void put(Object key, Object value) {
 		cleanup();
 		SoftReference<Object> ref = new SoftReference<>(value, refQueue);
@@ -82,6 +91,7 @@ public class ValueCache {
 	 *         of the following is true: - The value has not been cached. - The
 	 *         value had been cached but is garbage collected.
 	 */
+	@Override
 	public Object get(Object key) {
 		cleanup();
 		Object value = null;
@@ -92,9 +102,22 @@ public class ValueCache {
 		return value;
 	}
 
+	/**
+	 * Get entry from the cache by the value of a {@link JdwpID} key. The ID
+	 * used for the lookup is reused by each thread, as IDs are equal if their
+	 * values are.
+	 */
+	@Override
+	public Object get(long key) {
+		JdwpID probe = lookupID.get();
+		probe.setValue(key);
+		return get(probe);
+	}
+
 	/**
 	 * Returns a Collection view of the values contained in this cache.
 	 */
+	@Override
 	public Collection<Object> values() {
 		cleanup();
 		List<Object> returnValues = new ArrayList<>();
@@ -117,6 +140,7 @@ public class ValueCache {
 	 * Returns a Collection view of the values contained in this cache that have
 	 * the same runtime class as the given Class.
 	 */
+	@Override
 	public Collection<Object> valuesWithType(Class<?> type) {
 		cleanup();
 		List<Object> returnValues = new ArrayList<>();
@@ -141,6 +165,7 @@ public class ValueCache {
 	 * @return Returns The value to which the key had been mapped in this
 	 *         hashtable, or null if the key did not have a mapping.
 	 */
+	@Override
 	public Object remove(Object key) {
 		cleanup();
 		Object value = null;
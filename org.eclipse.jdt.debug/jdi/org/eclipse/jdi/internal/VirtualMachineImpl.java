@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,23 +20,28 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.internal.connect.PacketReceiveManager;
 import org.eclipse.jdi.internal.connect.PacketSendManager;
 import org.eclipse.jdi.internal.event.EventQueueImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpID;
 import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
 import org.eclipse.jdi.internal.jdwp.JdwpReferenceTypeID;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdi.internal.request.EventRequestManagerImpl;
 import org.eclipse.osgi.util.NLS;
 
+import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.BooleanValue;
 import com.sun.jdi.ByteValue;
 import com.sun.jdi.CharValue;
@@ -76,6 +81,12 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 
 	protected static final String JAVA_STRATUM_NAME = "Java"; //$NON-NLS-1$
 
+	/**
+	 * System property to cache mirrors in a {@link ValueCache} instead of the
+	 * default {@link StripedValueCache}, which allows concurrent lookups.
+	 */
+	private static final boolean USE_STRIPED_VALUE_CACHE = !Boolean.getBoolean("org.eclipse.jdi.internal.StripedValueCache.disable"); //$NON-NLS-1$
+
 	/** Timeout value for requests to VM if not overridden for a particular VM. */
 	private int fRequestTimeout;
 	/** Mapping of command codes to strings. */
@@ -95,8 +106,13 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * optional: their only purpose is to speed up the debugger by being able to
 	 * use the stored results of JDWP calls.
 	 */
-	private final ValueCache fCachedReftypes = new ValueCache();
-	private final ValueCache fCachedObjects = new ValueCache();
+	private final MirrorCache fCachedReftypes = newMirrorCache();
+	private final MirrorCache fCachedObjects = newMirrorCache();
+
+	/**
+	 * Parsed source maps by SMAP, shared by the types with the same SMAP.
+	 */
+	private final ValueCache fCachedSourceMaps = new ValueCache();
 
 	/** The following are the stored results of JDWP calls. */
 	private String fVersionDescription = null; // Text information on the VM
@@ -221,6 +237,13 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return fFrameIDSize;
 	}
 
+	/**
+	 * @return Returns a new cache for mirror objects keyed by JDWP IDs.
+	 */
+	private static MirrorCache newMirrorCache() {
+		return USE_STRIPED_VALUE_CACHE ? new StripedValueCache() : new ValueCache();
+	}
+
 	/**
 	 * @return Returns cached mirror object, or null if method is not in cache.
 	 */
@@ -235,6 +258,49 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return (ObjectReferenceImpl) fCachedObjects.get(ID);
 	}
 
+	/**
+	 * Looks up a mirror by the value of its reference type ID, as read with
+	 * {@link JdwpID#readValue(int, DataInputStream)}, without creating an ID
+	 * object.
+	 *
+	 * @return Returns cached mirror object, or null if method is not in cache.
+	 */
+	public ReferenceTypeImpl getCachedRefTypeMirror(long value) {
+		return (ReferenceTypeImpl) fCachedReftypes.get(value);
+	}
+
+	/**
+	 * Looks up a mirror by the value of its object ID, as read with
+	 * {@link JdwpID#readValue(int, DataInputStream)}, without creating an ID
+	 * object.
+	 *
+	 * @return Returns cached mirror object, or null if method is not in cache.
+	 */
+	public ObjectReferenceImpl getCachedObjectMirror(long value) {
+		return (ObjectReferenceImpl) fCachedObjects.get(value);
+	}
+
+	/**
+	 * Returns the parsed source map of the given SMAP. Types with identical
+	 * SMAPs share the same source map, which is parsed once.
+	 *
+	 * @param smap
+	 *            the SMAP of a type
+	 * @return Returns the source map.
+	 * @throws AbsentInformationException
+	 *             if the SMAP is not valid
+	 */
+	ReferenceTypeImpl.SourceMap sourceMap(String smap) throws AbsentInformationException {
+		synchronized (fCachedSourceMaps) {
+			ReferenceTypeImpl.SourceMap sourceMap = (ReferenceTypeImpl.SourceMap) fCachedSourceMaps.get(smap);
+			if (sourceMap == null) {
+				sourceMap = SourceDebugExtensionParser.parse(smap);
+				fCachedSourceMaps.put(smap, sourceMap);
+			}
+			return sourceMap;
+		}
+	}
+
 	/**
 	 * Adds mirror object to cache.
 	 */
@@ -650,26 +716,9 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
-			writeString(signature, "signature", outData); //$NON-NLS-1$
-
 			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			List<ReferenceType> elements = new ArrayList<>(nrOfElements);
-			for (int i = 0; i < nrOfElements; i++) {
-				ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this,
-						replyData);
-				readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
-				if (elt == null) {
-					continue;
-				}
-				elements.add(elt);
-			}
-			return elements;
+					JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, classesBySignatureRequestData(signature));
+			return readClassesBySignature(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -678,6 +727,69 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		}
 	}
 
+	/**
+	 * Returns the loaded reference types that match each of the given names.
+	 * The requests are sent back-to-back, such that the whole batch costs a
+	 * single round trip to the VM.
+	 *
+	 * @param names
+	 *            fully qualified type names
+	 * @return the loaded types of each name, in the order of the given names
+	 */
+	public Map<String, List<ReferenceType>> classesByNames(Collection<String> names) {
+		Map<String, CompletableFuture<JdwpReplyPacket>> replies = new LinkedHashMap<>(names.size());
+		try {
+			try {
+				for (String name : names) {
+					if (!replies.containsKey(name)) {
+						replies.put(name, requestVMAsync(JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE,
+								classesBySignatureRequestData(TypeImpl.classNameToSignature(name))));
+					}
+				}
+			} catch (IOException e) {
+				defaultIOExceptionHandler(e);
+			}
+			Map<String, List<ReferenceType>> result = new LinkedHashMap<>(replies.size());
+			for (Map.Entry<String, CompletableFuture<JdwpReplyPacket>> entry : replies.entrySet()) {
+				initJdwpRequest();
+				try {
+					result.put(entry.getKey(), readClassesBySignature(waitForReply(entry.getValue())));
+				} catch (IOException e) {
+					defaultIOExceptionHandler(e);
+				} finally {
+					handledJdwpRequest();
+				}
+			}
+			return result;
+		} finally {
+			cancelReplies(replies.values());
+		}
+	}
+
+	private ByteArrayOutputStream classesBySignatureRequestData(String signature) throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		writeString(signature, "signature", outData); //$NON-NLS-1$
+		return outBytes;
+	}
+
+	private List<ReferenceType> readClassesBySignature(JdwpReplyPacket replyPacket) throws IOException {
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+		List<ReferenceType> elements = new ArrayList<>(nrOfElements);
+		for (int i = 0; i < nrOfElements; i++) {
+			ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this,
+					replyData);
+			readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
+			if (elt == null) {
+				continue;
+			}
+			elements.add(elt);
+		}
+		return elements;
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.VirtualMachine#classesByName(java.lang.String)
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,12 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdi.TimeoutException;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
@@ -45,14 +48,19 @@ public class PacketReceiveManager extends PacketManager {
 	/** List of Command packets received from Virtual Machine. */
 	private final LinkedList<JdwpCommandPacket> fCommandPackets;
 
-	/** List of Reply packets received from Virtual Machine. */
-	private final LinkedList<JdwpReplyPacket> fReplyPackets;
+	/**
+	 * Marker stored in {@link #fReplySlots} for packets that have timed out
+	 * already. Maintained so that responses can be discarded if/when they are
+	 * received.
+	 */
+	private static final CompletableFuture<JdwpReplyPacket> TIMED_OUT = new CompletableFuture<>();
 
 	/**
-	 * List of Packets that have timed out already. Maintained so that responses
-	 * can be discarded if/when they are received.
+	 * Reply packets received from, or still expected from, the Virtual
+	 * Machine keyed by packet id. Each requester waits on its own slot, so an
+	 * incoming reply only wakes the thread that is waiting for it.
 	 */
-	private final ArrayList<Integer> fTimedOutPackets;
+	private final ConcurrentHashMap<Integer, CompletableFuture<JdwpReplyPacket>> fReplySlots;
 
 	private final VirtualMachineImpl fVM;
 
@@ -63,8 +71,7 @@ public class PacketReceiveManager extends PacketManager {
 		super(connection);
 		fVM = vmImpl;
 		fCommandPackets = new LinkedList<>();
-		fReplyPackets = new LinkedList<>();
-		fTimedOutPackets = new ArrayList<>();
+		fReplySlots = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -73,8 +80,12 @@ public class PacketReceiveManager extends PacketManager {
 		synchronized (fCommandPackets) {
 			fCommandPackets.notifyAll();
 		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.notifyAll();
+		// Wake up all requesters still waiting for a reply, they will notice
+		// the disconnect
+		for (CompletableFuture<JdwpReplyPacket> slot : fReplySlots.values()) {
+			if (slot != TIMED_OUT) {
+				slot.complete(null);
+			}
 		}
 	}
 
@@ -148,56 +159,142 @@ public class PacketReceiveManager extends PacketManager {
 	 */
 	public JdwpReplyPacket getReply(int id, long timeToWait) {
 		JdwpReplyPacket packet = null;
+		CompletableFuture<JdwpReplyPacket> slot = getReplySlot(id);
 		long remainingTime = timeToWait;
-		synchronized (fReplyPackets) {
-			final long timeBeforeWait = System.currentTimeMillis();
-			// Wait until reply is available.
-			while (!VMIsDisconnected() && remainingTime > 0) {
-				packet = removeReplyPacket(id);
-				if (packet != null) {
-					break;
-				}
-				try {
-					waitForPacketAvailable(remainingTime, fReplyPackets);
-				}
-				// if the remote VM is interrupted DO NOT drop the connection -
-				// see bug 171075
-				// just stop waiting for the reply and treat it as a timeout
-				catch (InterruptedException e) {
-					if (JDIDebugOptions.DEBUG) {
-						JDIDebugOptions.trace(null, "Interrupt observed while waiting for packet: " + id, e); //$NON-NLS-1$
-					}
-					// Do not stop waiting on interrupt, this causes
-					// sporadic TimeoutException's without timeout
-					// break;
+		final long timeBeforeWait = System.currentTimeMillis();
+		// Wait until reply is available.
+		while (!VMIsDisconnected() && remainingTime > 0) {
+			try {
+				packet = slot.get(remainingTime, TimeUnit.MILLISECONDS);
+				break;
+			} catch (java.util.concurrent.TimeoutException e) {
+				break;
+			}
+			// if the remote VM is interrupted DO NOT drop the connection -
+			// see bug 171075
+			// just stop waiting for the reply and treat it as a timeout
+			catch (InterruptedException e) {
+				if (JDIDebugOptions.DEBUG) {
+					JDIDebugOptions.trace(null, "Interrupt observed while waiting for packet: " + id, e); //$NON-NLS-1$
 				}
-				long waitedTime = System.currentTimeMillis() - timeBeforeWait;
-				remainingTime = timeToWait - waitedTime;
+				// Do not stop waiting on interrupt, this causes
+				// sporadic TimeoutException's without timeout
+				// break;
+			} catch (ExecutionException e) {
+				// slots are never completed exceptionally
+				break;
 			}
+			long waitedTime = System.currentTimeMillis() - timeBeforeWait;
+			remainingTime = timeToWait - waitedTime;
 		}
 		if (packet == null) {
-			synchronized (fReplyPackets) {
-				packet = removeReplyPacket(id);
-			}
+			packet = slot.getNow(null);
 		}
 		// Check for an IO Exception.
 		if (VMIsDisconnected()) {
-
+			fReplySlots.remove(Integer.valueOf(id), slot);
 			throw new VMDisconnectedException(
 					ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2);
 
 		}
 		// Check for a timeout.
 		if (packet == null) {
-			synchronized (fTimedOutPackets) {
-				fTimedOutPackets.add(Integer.valueOf(id));
+			if (!releaseReplySlot(id, slot)) {
+				throw new TimeoutException(NLS.bind(
+						ConnectMessages.PacketReceiveManager_0, id + "")); //$NON-NLS-1$
 			}
-			throw new TimeoutException(NLS.bind(
-					ConnectMessages.PacketReceiveManager_0, id + "")); //$NON-NLS-1$
+			packet = slot.getNow(null);
 		}
+		fReplySlots.remove(Integer.valueOf(id), slot);
 		return packet;
 	}
 
+	/**
+	 * Returns a future that is completed with the reply to the given command
+	 * packet once it is received from the Virtual Machine, without blocking the
+	 * calling thread. The future completes exceptionally with a
+	 * {@link TimeoutException} if no reply is received within the request
+	 * timeout of the Virtual Machine, or with a
+	 * {@link VMDisconnectedException} if the Virtual Machine disconnects
+	 * first. The future may be cancelled if the reply is no longer needed.
+	 *
+	 * @param commandPacket
+	 *            the command packet a reply is expected for
+	 * @return future reply packet
+	 */
+	public CompletableFuture<JdwpReplyPacket> getReplyAsync(JdwpCommandPacket commandPacket) {
+		final int id = commandPacket.getId();
+		final CompletableFuture<JdwpReplyPacket> slot = getReplySlot(id);
+		// the caller continues in the default asynchronous executor, not in
+		// the thread reading packets from the Virtual Machine
+		CompletableFuture<JdwpReplyPacket> reply = slot.thenApplyAsync(packet -> {
+			fReplySlots.remove(Integer.valueOf(id), slot);
+			if (packet == null) {
+				throw new VMDisconnectedException(
+						ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2);
+			}
+			return packet;
+		});
+		reply.whenComplete((packet, e) -> {
+			// a cancelled reply is no longer waited for; drop it if it arrived
+			// in the meantime, or discard it when it is received
+			if (reply.isCancelled() && releaseReplySlot(id, slot)) {
+				fReplySlots.remove(Integer.valueOf(id), slot);
+			}
+		});
+		if (VMIsDisconnected()) {
+			slot.complete(null);
+			return reply;
+		}
+		long timeout = Math.max(0, fVM.getRequestTimeout());
+		CompletableFuture.delayedExecutor(timeout, TimeUnit.MILLISECONDS).execute(() -> {
+			// a completed slot completes the reply on its own
+			if (!releaseReplySlot(id, slot) && !slot.isDone()) {
+				reply.completeExceptionally(new TimeoutException(NLS.bind(
+						ConnectMessages.PacketReceiveManager_0, id + ""))); //$NON-NLS-1$
+			}
+		});
+		return reply;
+	}
+
+	/**
+	 * Returns the slot the reply with the given id is delivered to, creating
+	 * it if the reply has not been received yet.
+	 *
+	 * @param id
+	 *            id of the command packet the reply is expected for
+	 * @return the slot for the given id
+	 */
+	private CompletableFuture<JdwpReplyPacket> getReplySlot(int id) {
+		return fReplySlots.compute(Integer.valueOf(id), (key, slot) -> {
+			if (slot == null || slot == TIMED_OUT) {
+				return new CompletableFuture<>();
+			}
+			return slot;
+		});
+	}
+
+	/**
+	 * Gives up waiting on the given slot. If the reply arrived in the meantime
+	 * the slot is kept so the caller can still pick it up, otherwise the slot
+	 * is marked as timed out so the reply is discarded if/when it is received.
+	 *
+	 * @param id
+	 *            id of the command packet the reply is expected for
+	 * @param slot
+	 *            the slot the caller waited on
+	 * @return whether the reply has arrived after all
+	 */
+	private boolean releaseReplySlot(int id, CompletableFuture<JdwpReplyPacket> slot) {
+		CompletableFuture<JdwpReplyPacket> current = fReplySlots.computeIfPresent(Integer.valueOf(id), (key, value) -> {
+			if (value == slot && !slot.isDone()) {
+				return TIMED_OUT;
+			}
+			return value;
+		});
+		return current == slot && slot.getNow(null) != null;
+	}
+
 	/**
 	 * @return Returns a specified Reply Packet from the Virtual Machine.
 	 */
@@ -241,21 +338,6 @@ public class PacketReceiveManager extends PacketManager {
 		return null;
 	}
 
-	/**
-	 * @return Returns a specified reply packet from the reply packet list.
-	 */
-	private JdwpReplyPacket removeReplyPacket(int id) {
-		ListIterator<JdwpReplyPacket> iter = fReplyPackets.listIterator();
-		while (iter.hasNext()) {
-			JdwpReplyPacket packet = iter.next();
-			if (packet.getId() == id) {
-				iter.remove();
-				return packet;
-			}
-		}
-		return null;
-	}
-
 	/**
 	 * Add a command packet to the command packet list.
 	 */
@@ -277,25 +359,28 @@ public class PacketReceiveManager extends PacketManager {
 	 * @return whether the request for the given packet has already timed out
 	 */
 	private boolean isTimedOut(JdwpPacket packet) {
-		synchronized (fTimedOutPackets) {
-			if (fTimedOutPackets.isEmpty()) {
-				return false;
-			}
-			Integer id = Integer.valueOf(packet.getId());
-			return fTimedOutPackets.remove(id);
-		}
+		return fReplySlots.remove(Integer.valueOf(packet.getId()), TIMED_OUT);
 	}
 
 	/**
-	 * Add a reply packet to the reply packet list.
+	 * Deliver a reply packet to the requester waiting for it.
 	 */
 	private void addReplyPacket(JdwpReplyPacket packet) {
-		if (isTimedOut(packet)) {
-			return; // already timed out. No need to keep this one
-		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.add(packet);
-			fReplyPackets.notifyAll();
+		Integer id = Integer.valueOf(packet.getId());
+		CompletableFuture<JdwpReplyPacket> slot = fReplySlots.compute(id, (key, current) -> {
+			if (current == TIMED_OUT) {
+				return null; // already timed out. No need to keep this one
+			}
+			if (current == null) {
+				// reply arrived before the requester started waiting
+				return CompletableFuture.completedFuture(packet);
+			}
+			return current;
+		});
+		// completed outside of compute(), dependent actions may update the map
+		if (slot != null && slot.complete(packet)) {
+			// the requester may have given up in the meantime
+			fReplySlots.remove(id, TIMED_OUT);
 		}
 	}
 
@@ -305,8 +390,13 @@ public class PacketReceiveManager extends PacketManager {
 	 */
 	private void readAvailablePacket() throws IOException {
 		// Read a packet from the Input Stream.
-		byte[] bytes = getConnection().readPacket();
-		JdwpPacket packet = JdwpPacket.build(bytes);
+		JdwpPacket packet;
+		if (getConnection() instanceof SocketChannelConnection) {
+			packet = JdwpPacket.build(((SocketChannelConnection) getConnection()).readPacketBuffer());
+		} else {
+			byte[] bytes = getConnection().readPacket();
+			packet = JdwpPacket.build(bytes);
+		}
 		// Add packet to command or reply queue.
 		if (packet instanceof JdwpCommandPacket) {
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,10 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
 import org.eclipse.osgi.util.NLS;
@@ -28,23 +31,39 @@ import com.sun.jdi.connect.spi.Connection;
  * Machine.
  */
 public class PacketSendManager extends PacketManager {
-	/** List of packets to be sent to Virtual Machine */
-	private final LinkedList<JdwpPacket> fOutgoingPackets;
+	/** Maximum number of packets waiting to be sent to the Virtual Machine. */
+	private static final int MAX_OUTGOING_PACKETS = 1024;
+
+	/** Initial size of the buffer packets are written to before sending. */
+	private static final int INITIAL_SEND_BUFFER_SIZE = 8 * 1024;
+
+	/** Maximum size of the send buffer that is kept between flushes. */
+	private static final int MAX_RETAINED_SEND_BUFFER_SIZE = 1024 * 1024;
+
+	/** Queue of packets to be sent to Virtual Machine */
+	private final ArrayBlockingQueue<JdwpPacket> fOutgoingPackets;
+
+	/** Packets taken from the queue for the current flush. */
+	private final List<JdwpPacket> fPacketsToSend;
+
+	/** Buffer the packets of one flush are written to. */
+	private byte[] fSendBuffer;
+
+	/** Statistics of the flushes to the Virtual Machine. */
+	private volatile long fFlushCount;
+	private volatile long fPacketCount;
+	private volatile long fByteCount;
+	private volatile int fLastFlushPacketCount;
+	private volatile int fLastFlushByteCount;
 
 	/**
 	 * Create a new thread that send packets to the Virtual Machine.
 	 */
 	public PacketSendManager(Connection connection) {
 		super(connection);
-		fOutgoingPackets = new LinkedList<>();
-	}
-
-	@Override
-	public void disconnectVM() {
-		super.disconnectVM();
-		synchronized (fOutgoingPackets) {
-			fOutgoingPackets.notifyAll();
-		}
+		fOutgoingPackets = new ArrayBlockingQueue<>(MAX_OUTGOING_PACKETS);
+		fPacketsToSend = new ArrayList<>(MAX_OUTGOING_PACKETS);
+		fSendBuffer = new byte[INITIAL_SEND_BUFFER_SIZE];
 	}
 
 	/**
@@ -90,35 +109,121 @@ public class PacketSendManager extends PacketManager {
 			throw new VMDisconnectedException(message);
 		}
 
-		synchronized (fOutgoingPackets) {
-			// Add packet to list of packets to send.
-			fOutgoingPackets.add(packet);
-			// Notify PacketSendThread that data is available.
-			fOutgoingPackets.notifyAll();
+		boolean interrupted = false;
+		try {
+			// Add packet to queue of packets to send, waiting for room if
+			// the PacketSendThread is behind.
+			while (true) {
+				try {
+					if (fOutgoingPackets.offer(packet, 100, TimeUnit.MILLISECONDS)) {
+						break;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+				if (VMIsDisconnected()) {
+					throw new VMDisconnectedException(ConnectMessages.PacketSendManager_Got_IOException_from_Virtual_Machine_1);
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
 		}
 	}
 
 	/**
-	 * Send available packets to the Virtual Machine.
+	 * @return Returns the number of times packets have been flushed to the
+	 *         Virtual Machine.
+	 */
+	public long getFlushCount() {
+		return fFlushCount;
+	}
+
+	/**
+	 * @return Returns the total number of packets sent to the Virtual Machine.
+	 */
+	public long getPacketCount() {
+		return fPacketCount;
+	}
+
+	/**
+	 * @return Returns the total number of bytes sent to the Virtual Machine.
+	 */
+	public long getByteCount() {
+		return fByteCount;
+	}
+
+	/**
+	 * @return Returns the number of packets sent by the last flush.
+	 */
+	public int getLastFlushPacketCount() {
+		return fLastFlushPacketCount;
+	}
+
+	/**
+	 * @return Returns the number of bytes sent by the last flush.
+	 */
+	public int getLastFlushByteCount() {
+		return fLastFlushByteCount;
+	}
+
+	/**
+	 * Send available packets to the Virtual Machine. All packets queued at the
+	 * time are written to one buffer and flushed with a single write.
 	 */
 	private void sendAvailablePackets() throws InterruptedException,
 			IOException {
-		LinkedList<JdwpPacket> packetsToSend = new LinkedList<>();
-		synchronized (fOutgoingPackets) {
-			while (fOutgoingPackets.isEmpty()) {
-				fOutgoingPackets.wait();
-			}
-			packetsToSend.addAll(fOutgoingPackets);
-			fOutgoingPackets.clear();
+		// Wake up regularly to notice a disconnect
+		JdwpPacket first = fOutgoingPackets.poll(1, TimeUnit.SECONDS);
+		if (first == null) {
+			return;
 		}
+		fPacketsToSend.add(first);
+		fOutgoingPackets.drainTo(fPacketsToSend);
+		try {
+			Connection connection = getConnection();
+			if (!(connection instanceof SocketConnection)) {
+				// Put available packets on Output Stream.
+				for (JdwpPacket packet : fPacketsToSend) {
+					byte[] bytes = packet.getPacketAsBytes();
+					connection.writePacket(bytes);
+					recordFlush(1, bytes.length);
+				}
+				return;
+			}
 
-		// Put available packets on Output Stream.
-		while (packetsToSend.size() > 0) {
-			// Note that only JdwpPackets are added to the list, so a
-			// ClassCastException can't occur.
-			JdwpPacket packet = packetsToSend.removeFirst();
-			byte[] bytes = packet.getPacketAsBytes();
-			getConnection().writePacket(bytes);
+			int length = 0;
+			for (JdwpPacket packet : fPacketsToSend) {
+				length += packet.getLength();
+			}
+			if (length > fSendBuffer.length) {
+				fSendBuffer = new byte[Math.max(length, fSendBuffer.length * 2)];
+			}
+			int offset = 0;
+			for (JdwpPacket packet : fPacketsToSend) {
+				offset += packet.writeTo(fSendBuffer, offset);
+			}
+			((SocketConnection) connection).writePackets(fSendBuffer, 0, length);
+			recordFlush(fPacketsToSend.size(), length);
+		} finally {
+			fPacketsToSend.clear();
+			if (fSendBuffer.length > MAX_RETAINED_SEND_BUFFER_SIZE) {
+				// don't hold on to the buffer of a huge flush (e.g. class
+				// redefinition)
+				fSendBuffer = new byte[INITIAL_SEND_BUFFER_SIZE];
+			}
 		}
 	}
+
+	/**
+	 * Updates the flush statistics. Only called by the PacketSendThread.
+	 */
+	private void recordFlush(int packets, int bytes) {
+		fFlushCount++;
+		fPacketCount += packets;
+		fByteCount += bytes;
+		fLastFlushPacketCount = packets;
+		fLastFlushByteCount = bytes;
+	}
 }
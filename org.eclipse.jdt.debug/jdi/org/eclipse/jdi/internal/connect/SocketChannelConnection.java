@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.connect;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+
+/**
+ * A socket connection that performs its IO through a {@link SocketChannel}.
+ * Incoming data is read into a single reusable direct buffer from which
+ * packets are sliced without copying.
+ */
+public class SocketChannelConnection extends SocketConnection {
+
+	/** Initial size of the read buffer, grown for larger packets. */
+	private static final int INITIAL_READ_BUFFER_SIZE = 64 * 1024;
+
+	private final SocketChannel fChannel;
+
+	/**
+	 * Buffer holding the bytes read from the channel that have not been
+	 * consumed yet, between its position and limit.
+	 */
+	private ByteBuffer fReadBuffer;
+
+	private final Object fReadLock = new Object();
+
+	private final Object fWriteLock = new Object();
+
+	SocketChannelConnection(SocketChannel channel) {
+		super(channel.socket(), null, null);
+		fChannel = channel;
+		fReadBuffer = ByteBuffer.allocateDirect(INITIAL_READ_BUFFER_SIZE);
+		fReadBuffer.flip();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#readPacket()
+	 */
+	@Override
+	public byte[] readPacket() throws IOException {
+		synchronized (fReadLock) {
+			ByteBuffer packetBuffer = readPacketBuffer();
+			byte[] packet = new byte[packetBuffer.remaining()];
+			packetBuffer.get(packet);
+			return packet;
+		}
+	}
+
+	/**
+	 * Reads the next packet from the channel. The returned buffer is a read
+	 * only view on the internal read buffer holding the complete packet,
+	 * including its length header. It is only valid until the next packet is
+	 * read from this connection, so the data of packets that outlive the read
+	 * must be copied, see
+	 * {@link org.eclipse.jdi.internal.jdwp.JdwpPacket#build(ByteBuffer)}.
+	 *
+	 * @return Returns the next packet.
+	 * @throws IOException
+	 *             if the connection is closed or the packet is invalid
+	 */
+	public ByteBuffer readPacketBuffer() throws IOException {
+		if (!isOpen()) {
+			throw new ClosedConnectionException();
+		}
+		synchronized (fReadLock) {
+			fill(4);
+			int packetLength = fReadBuffer.getInt(fReadBuffer.position());
+			checkPacketLength(packetLength);
+			fill(packetLength);
+			ByteBuffer packet = fReadBuffer.slice();
+			packet.limit(packetLength);
+			fReadBuffer.position(fReadBuffer.position() + packetLength);
+			return packet.asReadOnlyBuffer();
+		}
+	}
+
+	/**
+	 * Reads from the channel until at least the given number of unconsumed
+	 * bytes are available in the read buffer.
+	 */
+	private void fill(int length) throws IOException {
+		if (fReadBuffer.remaining() >= length) {
+			return;
+		}
+		if (fReadBuffer.capacity() < length) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(length, fReadBuffer.capacity() * 2));
+			buffer.put(fReadBuffer);
+			fReadBuffer = buffer;
+		} else {
+			fReadBuffer.compact();
+		}
+		try {
+			while (fReadBuffer.position() < length) {
+				if (fChannel.read(fReadBuffer) < 0) {
+					throw new ClosedConnectionException();
+				}
+			}
+		} catch (ClosedConnectionException e) {
+			throw e;
+		} catch (IOException e) {
+			ClosedConnectionException closedConnectionException = new ClosedConnectionException();
+			closedConnectionException.initCause(e);
+			throw closedConnectionException;
+		} finally {
+			fReadBuffer.flip();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#writePacket(byte[])
+	 */
+	@Override
+	public void writePacket(byte[] packet) throws IOException {
+		// packet.length can be > packetSize. Sending too much will cause
+		// errors on the other side
+		writePackets(packet, 0, checkPacket(packet));
+	}
+
+	@Override
+	void writePackets(byte[] bytes, int offset, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+		synchronized (fWriteLock) {
+			if (!isOpen()) {
+				throw new ClosedConnectionException();
+			}
+			while (buffer.hasRemaining()) {
+				fChannel.write(buffer);
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.connect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Socket transport service that connects to the Virtual Machine through NIO
+ * channels and creates {@link SocketChannelConnection}s.
+ */
+public class SocketChannelTransportService extends SocketTransportService {
+
+	@Override
+	protected Socket openSocket(String host, int port) throws IOException {
+		return SocketChannel.open(new InetSocketAddress(host, port)).socket();
+	}
+
+	@Override
+	protected ServerSocket openServerSocket(int port) throws IOException {
+		ServerSocketChannel channel = ServerSocketChannel.open();
+		channel.bind(new InetSocketAddress(port));
+		return channel.socket();
+	}
+
+	@Override
+	protected SocketConnection createConnection(Socket socket, InputStream input, OutputStream output) {
+		SocketChannel channel = socket.getChannel();
+		if (channel == null) {
+			return super.createConnection(socket, input, output);
+		}
+		return new SocketChannelConnection(channel);
+	}
+
+	@Override
+	public String description() {
+		return "org.eclipse.jdt.debug: Socket Channel Implementation of TransportService"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String name() {
+		return "org.eclipse.jdt.debug_SocketChannelTransportService"; //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,12 @@ import com.sun.jdi.connect.spi.Connection;
 
 public class SocketConnection extends Connection {
 
+	/**
+	 * Maximum length of a packet read from the Virtual Machine. Anything
+	 * larger is a corrupt stream rather than a packet worth allocating.
+	 */
+	static final int MAX_PACKET_LENGTH = 1 << 30;
+
 	// for attaching connector
 	private Socket fSocket;
 
@@ -84,9 +90,7 @@ public class SocketConnection extends Connection {
 				throw new ClosedConnectionException();
 			}
 
-			if (packetLength < 11) {
-				throw new IOException("JDWP Packet under 11 bytes"); //$NON-NLS-1$
-			}
+			checkPacketLength(packetLength);
 
 			byte[] packet = new byte[packetLength];
 			packet[0] = (byte) ((packetLength >>> 24) & 0xFF);
@@ -109,6 +113,50 @@ public class SocketConnection extends Connection {
 		if (!isOpen()) {
 			throw new ClosedConnectionException();
 		}
+		int packetSize = checkPacket(packet);
+
+		OutputStream stream = null;
+		synchronized (this) {
+			if (!isOpen()) {
+				throw new ClosedConnectionException();
+			}
+			stream = fOutput;
+		}
+
+		synchronized (stream) {
+			// packet.length can be > packetSize. Sending too much will cause
+			// errors on the other side
+			stream.write(packet, 0, packetSize);
+		}
+	}
+
+	/**
+	 * Writes a range of bytes holding one or more complete JDWP packets with a
+	 * single write.
+	 */
+	void writePackets(byte[] bytes, int offset, int length) throws IOException {
+		OutputStream stream = null;
+		synchronized (this) {
+			if (!isOpen()) {
+				throw new ClosedConnectionException();
+			}
+			stream = fOutput;
+		}
+
+		synchronized (stream) {
+			stream.write(bytes, offset, length);
+			stream.flush();
+		}
+	}
+
+	/**
+	 * Checks that the given bytes form a valid JDWP packet.
+	 *
+	 * @return Returns the length of the packet as specified in its header.
+	 * @throws IllegalArgumentException
+	 *             if the packet is invalid
+	 */
+	int checkPacket(byte[] packet) {
 		if (packet == null) {
 			throw new IllegalArgumentException(
 					"Invalid JDWP Packet, packet cannot be null"); //$NON-NLS-1$
@@ -128,19 +176,22 @@ public class SocketConnection extends Connection {
 			throw new IllegalArgumentException(
 					"Invalid JDWP packet: Specified length is greater than actual length"); //$NON-NLS-1$
 		}
+		return packetSize;
+	}
 
-		OutputStream stream = null;
-		synchronized (this) {
-			if (!isOpen()) {
-				throw new ClosedConnectionException();
-			}
-			stream = fOutput;
+	/**
+	 * Checks the length read from the header of a packet received from the
+	 * Virtual Machine.
+	 *
+	 * @throws IOException
+	 *             if the length is not a valid packet length
+	 */
+	static void checkPacketLength(int packetLength) throws IOException {
+		if (packetLength < 11) {
+			throw new IOException("JDWP Packet under 11 bytes"); //$NON-NLS-1$
 		}
-
-		synchronized (stream) {
-			// packet.length can be > packetSize. Sending too much will cause
-			// errors on the other side
-			stream.write(packet, 0, packetSize);
+		if (packetLength > MAX_PACKET_LENGTH) {
+			throw new IOException("JDWP Packet over " + MAX_PACKET_LENGTH + " bytes: " + packetLength); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,12 @@ public class SocketTransportImpl implements Transport {
 	public static final int MIN_PORTNR = 0;
 	public static final int MAX_PORTNR = 65535;
 
+	/**
+	 * System property that can be passed down to Eclipse, to connect to the
+	 * Virtual Machine through NIO socket channels.
+	 */
+	private static final String USE_SOCKET_CHANNEL = "org.eclipse.jdi.internal.connect.SocketChannelTransportService.enable"; //$NON-NLS-1$
+
 	SocketTransportService service;
 	private ListenKey fListenKey;
 
@@ -31,7 +37,11 @@ public class SocketTransportImpl implements Transport {
 	 * Constructs new SocketTransportImpl.
 	 */
 	public SocketTransportImpl() {
-		service = new SocketTransportService();
+		if (Boolean.getBoolean(USE_SOCKET_CHANNEL)) {
+			service = new SocketChannelTransportService();
+		} else {
+			service = new SocketTransportService();
+		}
 	}
 
 	/*
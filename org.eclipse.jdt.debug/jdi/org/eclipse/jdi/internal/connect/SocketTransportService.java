@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,28 @@ public class SocketTransportService extends TransportService {
 		InputStream input = socket.getInputStream();
 		OutputStream output = socket.getOutputStream();
 		performHandshake(input, output, handshakeTimeout);
+		return createConnection(socket, input, output);
+	}
+
+	/**
+	 * Opens a socket connected to the given host and port.
+	 */
+	protected Socket openSocket(String host, int port) throws IOException {
+		return new Socket(host, port);
+	}
+
+	/**
+	 * Opens a server socket bound to the given port.
+	 */
+	protected ServerSocket openServerSocket(int port) throws IOException {
+		return new ServerSocket(port);
+	}
+
+	/**
+	 * Creates the connection for a socket after the handshake has been
+	 * performed.
+	 */
+	protected SocketConnection createConnection(Socket socket, InputStream input, OutputStream output) {
 		return new SocketConnection(socket, input, output);
 	}
 
@@ -130,11 +152,11 @@ public class SocketTransportService extends TransportService {
 			@Override
 			public void run() {
 				try {
-					Socket socket = new Socket(host, port);
+					Socket socket = openSocket(host, port);
 					InputStream input = socket.getInputStream();
 					OutputStream output = socket.getOutputStream();
 					performHandshake(input, output, handshakeTimeout);
-					result[0] = new SocketConnection(socket, input, output);
+					result[0] = createConnection(socket, input, output);
 					ex[0] = null;
 				} catch (IOException e) {
 					if (ex[0] != null) {
@@ -287,7 +309,7 @@ public class SocketTransportService extends TransportService {
 			host = "localhost"; //$NON-NLS-1$
 		}
 
-		fServerSocket = new ServerSocket(port);
+		fServerSocket = openServerSocket(port);
 		port = fServerSocket.getLocalPort();
 		ListenKey listenKey = new SocketListenKey(host + ":" + port); //$NON-NLS-1$
 		return listenKey;
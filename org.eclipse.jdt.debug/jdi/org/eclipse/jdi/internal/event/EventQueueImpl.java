@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,6 +69,9 @@ public class EventQueueImpl extends MirrorImpl implements EventQueue {
 			do {
 				JdwpCommandPacket packet = getCommandVM(
 						JdwpCommandPacket.E_COMPOSITE, timeout);
+				// the events of requests being enabled in a batch may be
+				// received before their request IDs
+				virtualMachineImpl().eventRequestManagerImpl().waitForBatches();
 				initJdwpEventSet(packet);
 				set = EventSetImpl.read(this, packet.dataInStream());
 				handledJdwpEventSet(null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,7 +68,7 @@ public abstract class JdwpID {
 	private static HashMap<Integer, String> fTypeTagMap = null;
 
 	/** Jdwp representation of null ID. */
-	protected static final int VALUE_NULL = 0;
+	public static final int VALUE_NULL = 0;
 
 	/** The value of the ID */
 	protected long fValue = VALUE_NULL;
@@ -133,13 +133,30 @@ public abstract class JdwpID {
 	 * Reads ID.
 	 */
 	public void read(DataInputStream inStream) throws IOException {
-		fValue = 0;
-		int size = getSize();
+		fValue = readValue(getSize(), inStream);
+	}
+
+	/**
+	 * Reads the value of an ID of the given size without creating an ID
+	 * object.
+	 */
+	public static long readValue(int size, DataInputStream inStream)
+			throws IOException {
+		long value = 0;
 		for (int i = 0; i < size; i++) {
 			int b = inStream.readUnsignedByte(); // Note that the byte must be
 													// treated as unsigned.
-			fValue = fValue << 8 | b;
+			value = value << 8 | b;
 		}
+		return value;
+	}
+
+	/**
+	 * Sets the value of the ID, e.g. one read with
+	 * {@link #readValue(int, DataInputStream)}.
+	 */
+	public void setValue(long value) {
+		fValue = value;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 
 /**
  * This class implements the corresponding Java Debug Wire Protocol (JDWP)
@@ -160,35 +161,86 @@ public abstract class JdwpPacket {
 		return packet;
 	}
 
+	/**
+	 * Constructs a JdwpPacket from a buffer holding a complete packet between
+	 * its position and limit. This saves the copy of the whole packet into a
+	 * new array made by {@link com.sun.jdi.connect.spi.Connection#readPacket()},
+	 * but the packet data is still copied out of the buffer: the buffer is a
+	 * view on the read buffer of the connection, which is reused for the next
+	 * packets, while the data is only read later by the thread waiting for
+	 * the packet. {@link #data()} and {@link #dataInStream()} are therefore
+	 * backed by a copy, not by the buffer.
+	 */
+	public static JdwpPacket build(ByteBuffer buffer) throws IOException {
+		int start = buffer.position();
+		int packetLength = buffer.getInt(start);
+		int id = buffer.getInt(start + 4);
+		byte flags = buffer.get(start + 8);
+
+		// Determine type: command or reply.
+		JdwpPacket packet;
+		if ((flags & FLAG_REPLY_PACKET) != 0)
+			packet = new JdwpReplyPacket();
+		else
+			packet = new JdwpCommandPacket();
+
+		// Assign generic header fields.
+		packet.setId(id);
+		packet.setFlags(flags);
+
+		// Read specific header fields and data.
+		byte[] header = new byte[MIN_PACKET_LENGTH];
+		buffer.get(start, header);
+		int index = 9;
+		index += packet.readSpecificHeaderFields(header, 9);
+		if (packetLength - MIN_PACKET_LENGTH > 0) {
+			packet.fDataBuf = new byte[packetLength - MIN_PACKET_LENGTH];
+			buffer.get(start + index, packet.fDataBuf);
+		}
+
+		return packet;
+	}
+
 	public byte[] getPacketAsBytes() throws IOException {
+		byte[] bytes = new byte[getLength()];
+		writeTo(bytes, 0);
+		return bytes;
+	}
+
+	/**
+	 * Writes the packet into the given array, which must have room for
+	 * {@link #getLength()} bytes starting at the given offset.
+	 *
+	 * @return Returns the number of bytes written.
+	 */
+	public int writeTo(byte[] bytes, int offset) throws IOException {
 		int len = getLength();
-		byte[] bytes = new byte[len];
 
 		// convert len to bytes
-		bytes[0] = (byte) (len >>> 24);
-		bytes[1] = (byte) (len >>> 16);
-		bytes[2] = (byte) (len >>> 8);
-		bytes[3] = (byte) (len >>> 0);
+		bytes[offset] = (byte) (len >>> 24);
+		bytes[offset + 1] = (byte) (len >>> 16);
+		bytes[offset + 2] = (byte) (len >>> 8);
+		bytes[offset + 3] = (byte) (len >>> 0);
 
 		// convert id to bytes
 		int id = getId();
-		bytes[4] = (byte) (id >>> 24);
-		bytes[5] = (byte) (id >>> 16);
-		bytes[6] = (byte) (id >>> 8);
-		bytes[7] = (byte) (id >>> 0);
+		bytes[offset + 4] = (byte) (id >>> 24);
+		bytes[offset + 5] = (byte) (id >>> 16);
+		bytes[offset + 6] = (byte) (id >>> 8);
+		bytes[offset + 7] = (byte) (id >>> 0);
 
 		// flags
-		bytes[8] = getFlags();
+		bytes[offset + 8] = getFlags();
 
 		// convert specific header fields
 		int index = 9;
-		index += writeSpecificHeaderFields(bytes, index);
+		index += writeSpecificHeaderFields(bytes, offset + index);
 
 		if (index < len && fDataBuf != null) {
 			// copy data
-			System.arraycopy(fDataBuf, 0, bytes, index, fDataBuf.length);
+			System.arraycopy(fDataBuf, 0, bytes, offset + index, fDataBuf.length);
 		}
-		return bytes;
+		return len;
 	}
 
 	/**
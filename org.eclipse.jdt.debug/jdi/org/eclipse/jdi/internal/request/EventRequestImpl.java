@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,13 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.internal.FieldImpl;
+import org.eclipse.jdi.internal.JDIMessages;
 import org.eclipse.jdi.internal.LocationImpl;
 import org.eclipse.jdi.internal.MirrorImpl;
 import org.eclipse.jdi.internal.ObjectReferenceImpl;
@@ -107,6 +111,18 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 	 * Reuqest Set command, null if request had not yet been enabled.
 	 */
 	protected RequestID fRequestID = null;
+
+	/**
+	 * Whether a Set command sent by {@link #enable(List)} awaits its reply.
+	 */
+	private boolean fEnablePending = false;
+
+	/**
+	 * Whether the request was disabled or deleted while its Set command was
+	 * pending, such that the request must be cleared when the reply arrives.
+	 */
+	private boolean fDisabledWhilePending = false;
+
 	/**
 	 * Determines the threads to suspend when the requested event occurs in the
 	 * target VM.
@@ -227,6 +243,9 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 	@Override
 	public synchronized void disable() {
 		if (!isEnabled()) {
+			if (fEnablePending) {
+				fDisabledWhilePending = true;
+			}
 			return;
 		}
 
@@ -261,28 +280,16 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 	 */
 	@Override
 	public synchronized void enable() {
+		fDisabledWhilePending = false;
 		if (isEnabled()) {
 			return;
 		}
 
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
-			writeByte(eventKind(),
-					"event kind", EventImpl.eventKindMap(), outData); //$NON-NLS-1$
-			writeByte(
-					suspendPolicyJDWP(),
-					"suspend policy", EventRequestImpl.suspendPolicyMap(), outData); //$NON-NLS-1$
-			writeInt(modifierCount(), "modifiers", outData); //$NON-NLS-1$
-			writeModifiers(outData);
-
 			JdwpReplyPacket replyPacket = requestVM(JdwpCommandPacket.ER_SET,
-					outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			fRequestID = RequestID.read(this, replyData);
-			virtualMachineImpl().eventRequestManagerImpl().addRequestIDMapping(this);
+					setRequestData());
+			readSetReply(replyPacket);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 		} finally {
@@ -290,6 +297,135 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 		}
 	}
 
+	/**
+	 * Enables the given event requests. All Set commands are sent before the
+	 * first reply is read, such that enabling many requests costs about one
+	 * round trip to the VM. Requests that are already enabled are left
+	 * untouched. Requests that are disabled or deleted before the reply of
+	 * their Set command is read are cleared in the VM again. Event sets are not
+	 * read from the event queue before all replies are read, such that the
+	 * events of the requests are not received before the requests are known
+	 * under their IDs.
+	 *
+	 * @param requests
+	 *            the requests to enable
+	 * @return the requests that could not be enabled, mapped to the reason of
+	 *         the failure, in the order of the given list
+	 */
+	public static Map<EventRequest, RuntimeException> enable(List<? extends EventRequest> requests) {
+		Map<EventRequest, RuntimeException> failures = new LinkedHashMap<>();
+		if (requests.isEmpty()) {
+			return failures;
+		}
+		EventRequestManagerImpl manager = ((VirtualMachineImpl) requests.get(0).virtualMachine()).eventRequestManagerImpl();
+		manager.enablingBatch();
+		try {
+			enable(requests, failures);
+		} finally {
+			manager.batchEnabled();
+		}
+		return failures;
+	}
+
+	private static void enable(List<? extends EventRequest> requests, Map<EventRequest, RuntimeException> failures) {
+		List<EventRequestImpl> sent = new ArrayList<>(requests.size());
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(requests.size());
+		for (EventRequest request : requests) {
+			try {
+				if (request instanceof EventRequestImpl requestImpl) {
+					if (!requestImpl.isEnabled()) {
+						CompletableFuture<JdwpReplyPacket> reply;
+						synchronized (requestImpl) {
+							reply = requestImpl.requestVMAsync(JdwpCommandPacket.ER_SET, requestImpl.setRequestData());
+							requestImpl.fEnablePending = true;
+							requestImpl.fDisabledWhilePending = false;
+						}
+						sent.add(requestImpl);
+						replies.add(reply);
+					}
+				} else {
+					request.enable();
+				}
+			} catch (IOException e) {
+				failures.put(request, new InternalException(JDIMessages.MirrorImpl_Got_invalid_data___2 + e));
+			} catch (RuntimeException e) {
+				failures.put(request, e);
+			}
+		}
+		for (int i = 0; i < sent.size(); i++) {
+			EventRequestImpl request = sent.get(i);
+			request.initJdwpRequest();
+			try {
+				JdwpReplyPacket replyPacket = request.waitForReply(replies.get(i));
+				synchronized (request) {
+					boolean disabled = request.fDisabledWhilePending;
+					request.fEnablePending = false;
+					request.fDisabledWhilePending = false;
+					if (request.isEnabled() || disabled) {
+						// enabled concurrently, or disabled or deleted in the
+						// meantime, drop the request in the VM
+						if (replyPacket.errorCode() == JdwpReplyPacket.NONE) {
+							request.clear(RequestID.read(request, replyPacket.dataInStream()));
+						}
+					} else {
+						request.readSetReply(replyPacket);
+					}
+				}
+			} catch (IOException e) {
+				failures.put(request, new InternalException(JDIMessages.MirrorImpl_Got_invalid_data___2 + e));
+			} catch (RuntimeException e) {
+				failures.put(request, e);
+			} finally {
+				synchronized (request) {
+					request.fEnablePending = false;
+					request.fDisabledWhilePending = false;
+				}
+				request.handledJdwpRequest();
+			}
+		}
+	}
+
+	/**
+	 * @return Returns the data of the Set command for this request.
+	 */
+	private ByteArrayOutputStream setRequestData() throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		writeByte(eventKind(),
+				"event kind", EventImpl.eventKindMap(), outData); //$NON-NLS-1$
+		writeByte(
+				suspendPolicyJDWP(),
+				"suspend policy", EventRequestImpl.suspendPolicyMap(), outData); //$NON-NLS-1$
+		writeInt(modifierCount(), "modifiers", outData); //$NON-NLS-1$
+		writeModifiers(outData);
+		return outBytes;
+	}
+
+	/**
+	 * Reads the request ID from the reply of the Set command and registers
+	 * this request under it.
+	 */
+	private void readSetReply(JdwpReplyPacket replyPacket) throws IOException {
+		defaultReplyErrorHandler(replyPacket.errorCode());
+		DataInputStream replyData = replyPacket.dataInStream();
+		fRequestID = RequestID.read(this, replyData);
+		virtualMachineImpl().eventRequestManagerImpl().addRequestIDMapping(this);
+	}
+
+	/**
+	 * Clears the request with the given ID in the VM.
+	 */
+	private void clear(RequestID requestID) throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		writeByte(eventKind(),
+				"event kind", EventImpl.eventKindMap(), outData); //$NON-NLS-1$
+		requestID.write(this, outData);
+		JdwpReplyPacket replyPacket = requestVM(JdwpCommandPacket.ER_CLEAR,
+				outBytes);
+		defaultReplyErrorHandler(replyPacket.errorCode());
+	}
+
 	/**
 	 * Clear all breakpoints (used by EventRequestManager).
 	 */
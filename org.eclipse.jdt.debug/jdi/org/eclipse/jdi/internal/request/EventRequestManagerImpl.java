@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -117,6 +117,13 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 	private final EventRequestType<MonitorWaitedRequest> MONITOR_WAITED_TYPE= new EventRequestType<>();
 	private final EventRequestType<MonitorWaitRequest> MONITOR_WAIT_TYPE= new EventRequestType<>();
 
+	/**
+	 * Number of batches of requests being enabled, guarded by
+	 * <code>fBatchLock</code>
+	 */
+	private int fPendingBatches;
+	private final Object fBatchLock = new Object();
+
 	/**
 	 * Creates new EventRequestManager.
 	 */
@@ -640,6 +647,42 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 		}
 	}
 
+	/**
+	 * Notes that a batch of requests is being enabled, before the first Set
+	 * command of the batch is sent. Until {@link #batchEnabled()} is called,
+	 * event sets are not read, because the events of a request of the batch
+	 * can be received before the reply of its Set command, and the request
+	 * is only found under the ID read from that reply.
+	 */
+	public void enablingBatch() {
+		synchronized (fBatchLock) {
+			fPendingBatches++;
+		}
+	}
+
+	/**
+	 * Notes that the replies of the Set commands of a batch of requests were
+	 * read, and their requests registered under their IDs.
+	 */
+	public void batchEnabled() {
+		synchronized (fBatchLock) {
+			if (--fPendingBatches == 0) {
+				fBatchLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Waits until no batch of requests is being enabled.
+	 */
+	public void waitForBatches() throws InterruptedException {
+		synchronized (fBatchLock) {
+			while (fPendingBatches > 0) {
+				fBatchLock.wait();
+			}
+		}
+	}
+
 	/**
 	 * Find Request that matches event.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -120,4 +120,17 @@ public interface IJavaLineBreakpoint extends IJavaBreakpoint, ILineBreakpoint {
 	public void setConditionSuspendOnTrue(boolean suspendOnTrue)
 			throws CoreException;
 
+	/**
+	 * Returns a histogram of the time taken to decide the condition of this
+	 * breakpoint each time it was hit since the condition was last set, in
+	 * this session. Element <code>0</code> counts the decisions that took less
+	 * than one microsecond, element <code>i</code> the decisions that took at
+	 * least 2<sup>i-1</sup> and less than 2<sup>i</sup> microseconds. The last
+	 * element also counts all decisions that took longer.
+	 *
+	 * @return counts of condition decisions by duration
+	 * @since 3.27
+	 */
+	public long[] getConditionEvaluationHistogram();
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -141,6 +141,24 @@ public class JDIDebugModel {
 	 */
 	public static final int DEF_SHOW_STEP_TIMEOUT = 7000;
 
+	/**
+	 * Preference key for the time (in ms) that the evaluation of a breakpoint
+	 * condition may take. When the evaluation does not complete in time, it
+	 * is terminated and the breakpoint suspends and reports the timeout as a
+	 * runtime error of the condition (0 means no timeout).
+	 *
+	 * @since 3.27
+	 */
+	public static final String PREF_CONDITION_TIMEOUT = getPluginIdentifier() + ".PREF_CONDITION_TIMEOUT"; //$NON-NLS-1$
+
+	/**
+	 * The default value for {@link #PREF_CONDITION_TIMEOUT} when no preference
+	 * is set.
+	 *
+	 * @since 3.27
+	 */
+	public static final int DEF_CONDITION_TIMEOUT = 10000;
+
 	/**
 	 * The preference key for the behavior of exception breakpoint hits recurring for the same exception instance.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,17 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,14 +36,18 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.jdi.internal.event.ExceptionEventImpl;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
+import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.event.EventIterator;
 import com.sun.jdi.event.EventQueue;
 import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.LocatableEvent;
 import com.sun.jdi.event.ThreadDeathEvent;
+import com.sun.jdi.event.ThreadStartEvent;
 import com.sun.jdi.event.VMDeathEvent;
 import com.sun.jdi.event.VMDisconnectEvent;
 import com.sun.jdi.event.VMStartEvent;
@@ -60,9 +70,47 @@ import com.sun.jdi.request.EventRequest;
  * only resumed in if all event handlers agree that the thread should be
  * resumed.
  * </p>
+ * <p>
+ * When parallel dispatch is enabled, event sets that occur in a thread, such
+ * as breakpoint, step and exception events, are dispatched by a bounded pool
+ * of dispatch threads. Event sets of the same thread are dispatched one after
+ * the other in the order they are received, event sets of different threads
+ * are dispatched concurrently. Event sets that occur while a thread evaluates
+ * an expression, such as a breakpoint condition, are dispatched in order by a
+ * job, since the dispatch of the event set that started the evaluation waits
+ * for them. VM death and disconnect are dispatched after the queued event
+ * sets. Other event sets are dispatched as before.
+ * </p>
+ * <p>
+ * Parallel dispatch is disabled by default. It is enabled by starting the
+ * workbench with the system property
+ * <code>-Dorg.eclipse.jdt.internal.debug.core.EventDispatcher.parallel.enable=true</code>,
+ * and the number of dispatch threads, 8 by default, is set with
+ * <code>-Dorg.eclipse.jdt.internal.debug.core.EventDispatcher.parallel.threads=&lt;count&gt;</code>.
+ * Whether parallel dispatch is enabled is decided when a debug target starts.
+ * </p>
  */
 
 public class EventDispatcher implements Runnable {
+
+	/**
+	 * System property enabling the dispatch of the event sets of different
+	 * threads in parallel, see {@link EventDispatcher}
+	 */
+	private static final String PARALLEL_DISPATCH = "org.eclipse.jdt.internal.debug.core.EventDispatcher.parallel.enable"; //$NON-NLS-1$
+
+	/**
+	 * Number of threads dispatching event sets when parallel dispatch is
+	 * enabled, set with a system property, see {@link EventDispatcher}
+	 */
+	private static final int DISPATCH_THREADS = Math.max(1, Integer.getInteger("org.eclipse.jdt.internal.debug.core.EventDispatcher.parallel.threads", 8).intValue()); //$NON-NLS-1$
+
+	/**
+	 * Maximum time in milliseconds to wait for queued event sets to be
+	 * dispatched when the VM dies or disconnects
+	 */
+	private static final long DRAIN_TIMEOUT = 5000;
+
 	/**
 	 * The debug target this event dispatcher belongs to.
 	 */
@@ -73,9 +121,9 @@ public class EventDispatcher implements Runnable {
 	private volatile boolean fShutdown;
 	/**
 	 * Table of event listeners. Table is a mapping of <code>EventRequest</code>
-	 * to <code>IJDIEventListener</code>.
+	 * to <code>IJDIEventListener</code>, read by concurrent dispatches.
 	 */
-	private final HashMap<EventRequest, IJDIEventListener> fEventHandlers;
+	private final Map<EventRequest, IJDIEventListener> fEventHandlers;
 
 	/**
 	 * Queue of debug model events to fire, created when processing events on
@@ -83,6 +131,33 @@ public class EventDispatcher implements Runnable {
 	 */
 	private final Map<EventSet, List<DebugEvent>> fSetToQueue = new HashMap<>();
 
+	/**
+	 * Threads dispatching event sets in parallel, or <code>null</code> if
+	 * parallel dispatch is disabled
+	 */
+	private ExecutorService fExecutor;
+
+	/**
+	 * Queue of the event sets of a thread. Event sets that occur while the
+	 * thread evaluates an expression are queued separately, such that they
+	 * are not dispatched after the event set that started the evaluation.
+	 */
+	private record Lane(ThreadReference thread, boolean evaluation) {
+	}
+
+	/**
+	 * Queues of event sets to dispatch, keyed by the thread the events
+	 * occurred in, guarded by itself. A queue is removed when it is empty.
+	 */
+	private final Map<Lane, ArrayDeque<EventSet>> fThreadQueues = new HashMap<>();
+
+	/**
+	 * Number of event sets queued for dispatch and the maximum number ever
+	 * queued
+	 */
+	private final AtomicInteger fQueueDepth = new AtomicInteger();
+	private final AtomicInteger fMaxQueueDepth = new AtomicInteger();
+
 	/**
 	 * Constructs a new event dispatcher listening for events originating from
 	 * the specified debug target's underlying VM.
@@ -91,7 +166,7 @@ public class EventDispatcher implements Runnable {
 	 *            the target this event dispatcher belongs to
 	 */
 	public EventDispatcher(JDIDebugTarget target) {
-		fEventHandlers = new HashMap<>(10);
+		fEventHandlers = new ConcurrentHashMap<>(10);
 		fTarget = target;
 		fShutdown = false;
 	}
@@ -134,7 +209,7 @@ public class EventDispatcher implements Runnable {
 				continue;
 			}
 			// Dispatch events to registered listeners, if any
-			IJDIEventListener listener = fEventHandlers.get(event.request());
+			IJDIEventListener listener = getListener(event);
 			listeners[index] = listener;
 			if (listener != null) {
 				if (listener instanceof IJavaLineBreakpoint) {
@@ -192,8 +267,7 @@ public class EventDispatcher implements Runnable {
 					continue;
 				}
 				// Dispatch events to registered listeners, if any
-				IJDIEventListener listener = fEventHandlers
-						.get(event.request());
+				IJDIEventListener listener = getListener(event);
 				if (listener != null) {
 					vote = true;
 					try {
@@ -249,6 +323,177 @@ public class EventDispatcher implements Runnable {
 		}
 	}
 
+	/**
+	 * Returns the listener registered for the request of the given event, or
+	 * <code>null</code> if none.
+	 *
+	 * @param event
+	 *            event
+	 * @return listener or <code>null</code>
+	 */
+	private IJDIEventListener getListener(Event event) {
+		EventRequest request = event.request();
+		// VM start and death events have no request
+		return request == null ? null : fEventHandlers.get(request);
+	}
+
+	/**
+	 * Returns the thread the events of the given set occurred in, or
+	 * <code>null</code> if the set is not dispatched by thread.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return the thread or <code>null</code>
+	 */
+	private static ThreadReference getThread(EventSet eventSet) {
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			if (event instanceof LocatableEvent) {
+				return ((LocatableEvent) event).thread();
+			}
+			if (event instanceof ThreadStartEvent) {
+				return ((ThreadStartEvent) event).thread();
+			}
+			if (event instanceof ThreadDeathEvent) {
+				return ((ThreadDeathEvent) event).thread();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Queues the given event set for dispatch after the event sets of the same
+	 * thread received before. While the thread evaluates an expression, and
+	 * until the event sets that occurred during the evaluation are dispatched,
+	 * event sets are queued in the evaluation lane of the thread.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @param thread
+	 *            the thread the events occurred in
+	 */
+	private void queue(EventSet eventSet, ThreadReference thread) {
+		int depth = fQueueDepth.incrementAndGet();
+		fMaxQueueDepth.accumulateAndGet(depth, Math::max);
+		boolean evaluating = isEvaluating(thread);
+		Lane lane;
+		synchronized (fThreadQueues) {
+			Lane evaluationLane = new Lane(thread, true);
+			lane = evaluating || fThreadQueues.containsKey(evaluationLane) ? evaluationLane : new Lane(thread, false);
+			ArrayDeque<EventSet> queue = fThreadQueues.get(lane);
+			if (queue != null) {
+				// the lane is being drained
+				queue.add(eventSet);
+				return;
+			}
+			queue = new ArrayDeque<>(2);
+			queue.add(eventSet);
+			fThreadQueues.put(lane, queue);
+		}
+		if (lane.evaluation()) {
+			// the dispatch threads may all wait for evaluations
+			Job job = new AbstractDispatchJob("JDI Evaluation Event Dispatch") { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					drain(lane);
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.schedule();
+		} else {
+			fExecutor.execute(() -> drain(lane));
+		}
+	}
+
+	/**
+	 * Dispatches the event sets queued in the given lane until it is empty.
+	 *
+	 * @param lane
+	 *            the lane of the thread the events occurred in
+	 */
+	private void drain(Lane lane) {
+		while (true) {
+			EventSet eventSet;
+			synchronized (fThreadQueues) {
+				ArrayDeque<EventSet> queue = fThreadQueues.get(lane);
+				eventSet = queue.peek();
+				if (eventSet == null) {
+					fThreadQueues.remove(lane);
+					fThreadQueues.notifyAll();
+					return;
+				}
+			}
+			fQueueDepth.decrementAndGet();
+			try {
+				dispatch(eventSet);
+			} catch (RuntimeException e) {
+				JDIDebugPlugin.log(e);
+			} finally {
+				synchronized (fThreadQueues) {
+					fThreadQueues.get(lane).poll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits until the queued event sets are dispatched, at most
+	 * {@link #DRAIN_TIMEOUT} milliseconds, such that they are not dispatched
+	 * after the debug target handled the death of the VM.
+	 */
+	private void awaitQueues() {
+		long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT;
+		synchronized (fThreadQueues) {
+			long remaining = DRAIN_TIMEOUT;
+			while (!fThreadQueues.isEmpty() && remaining > 0) {
+				try {
+					fThreadQueues.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				remaining = deadline - System.currentTimeMillis();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given event set reports the death or disconnection
+	 * of the VM.
+	 */
+	private static boolean isVMDeath(EventSet eventSet) {
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			if (event instanceof VMDeathEvent || event instanceof VMDisconnectEvent) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of event sets received from the VM that wait for
+	 * dispatch by a dispatch thread.
+	 *
+	 * @return number of queued event sets
+	 */
+	public int getQueueDepth() {
+		return fQueueDepth.get();
+	}
+
+	/**
+	 * Returns the maximum number of event sets that waited for dispatch by a
+	 * dispatch thread at the same time.
+	 *
+	 * @return maximum number of queued event sets
+	 */
+	public int getMaxQueueDepth() {
+		return fMaxQueueDepth.get();
+	}
+
 	private boolean requiresExpressionEvaluation(EventSet eventSet) {
 		EventIterator iter = eventSet.eventIterator();
 		while (iter.hasNext()) {
@@ -256,7 +501,7 @@ public class EventDispatcher implements Runnable {
 			if (event == null) {
 				continue;
 			}
-			IJDIEventListener listener = fEventHandlers.get(event.request());
+			IJDIEventListener listener = getListener(event);
 			if (listener instanceof IJavaLineBreakpoint) {
 				try {
 					if (((IJavaLineBreakpoint) listener).isConditionEnabled()) {
@@ -304,6 +549,13 @@ public class EventDispatcher implements Runnable {
 	public void run() {
 		VirtualMachine vm = fTarget.getVM();
 		if (vm != null) {
+			if (Boolean.getBoolean(PARALLEL_DISPATCH)) {
+				fExecutor = Executors.newFixedThreadPool(DISPATCH_THREADS, runnable -> {
+					Thread thread = new Thread(runnable, "JDI Event Dispatch"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
 			EventQueue q = vm.eventQueue();
 			while (!isShutdown()) {
 				try {
@@ -316,7 +568,13 @@ public class EventDispatcher implements Runnable {
 					}
 
 					if (eventSet != null) {
-						if (!requiresExpressionEvaluation(eventSet)) {
+						ThreadReference thread = fExecutor == null ? null : getThread(eventSet);
+						if (thread != null) {
+							queue(eventSet, thread);
+						} else if (fExecutor != null && isVMDeath(eventSet)) {
+							awaitQueues();
+							dispatch(eventSet);
+						} else if (!requiresExpressionEvaluation(eventSet)) {
 							dispatch(eventSet);
 						} else {
 							// 269231 always evaluate expressions in a separate job to avoid deadlocks
@@ -335,9 +593,32 @@ public class EventDispatcher implements Runnable {
 					break;
 				}
 			}
+			if (fExecutor != null) {
+				fExecutor.shutdown();
+				try {
+					fExecutor.awaitTermination(DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
 		}
 	}
 
+	/**
+	 * Returns whether the given thread performs an evaluation or invokes a
+	 * method. Events that occur while the thread evaluates a breakpoint
+	 * condition must not wait for the dispatch of the breakpoint event, they
+	 * are queued in the evaluation lane of the thread.
+	 *
+	 * @param thread
+	 *            thread
+	 * @return whether the thread performs an evaluation
+	 */
+	private boolean isEvaluating(ThreadReference thread) {
+		JDIThread jdiThread = fTarget.findThread(thread);
+		return jdiThread != null && (jdiThread.isPerformingEvaluation() || jdiThread.isInvokingMethod());
+	}
+
 	/**
 	 * Shutdown this event dispatcher - i.e. causes this event dispatcher to
 	 * stop reading and dispatching events from the event queue. The thread
@@ -370,7 +651,9 @@ public class EventDispatcher implements Runnable {
 	 */
 	public void addJDIEventListener(IJDIEventListener listener,
 			EventRequest request) {
-		fEventHandlers.put(request, listener);
+		if (request != null) {
+			fEventHandlers.put(request, listener);
+		}
 	}
 
 	/**
@@ -384,7 +667,9 @@ public class EventDispatcher implements Runnable {
 	 *            the event request to de-register
 	 */
 	public void removeJDIEventListener(IJDIEventListener listener, EventRequest request) {
-		fEventHandlers.remove(request);
+		if (request != null) {
+			fEventHandlers.remove(request);
+		}
 	}
 
 	/**
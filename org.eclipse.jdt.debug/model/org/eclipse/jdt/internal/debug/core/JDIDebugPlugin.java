@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointListenerManager
 import org.eclipse.jdt.internal.debug.core.hcr.JavaHotCodeReplaceManager;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -324,6 +325,7 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 					}
 				});
 		JavaHotCodeReplaceManager.getDefault().startup();
+		CompiledExpressionCache.getDefault().startup();
 		fBreakpointListeners = new ListenerList<>();
 		fJavaBreakpointManager = new BreakpointListenerManager();
 		IEclipsePreferences node = getInstancePreferences();
@@ -371,6 +373,7 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 			if(node != null) {
 				node.removePreferenceChangeListener(this);
 			}
+			CompiledExpressionCache.getDefault().shutdown();
 			JavaHotCodeReplaceManager.getDefault().shutdown();
 			ILaunchManager launchManager = DebugPlugin.getDefault()
 					.getLaunchManager();
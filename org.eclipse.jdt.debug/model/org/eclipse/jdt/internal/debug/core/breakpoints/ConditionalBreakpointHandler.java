@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2024 IBM Corporation and others.
+ * Copyright (c) 2024, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,14 @@
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
 import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
@@ -37,16 +39,23 @@ import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaType;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
-import org.eclipse.jdt.debug.eval.IEvaluationListener;
 import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
+import org.eclipse.jdt.internal.debug.eval.IAbandonableEvaluationListener;
+import org.eclipse.jdt.internal.debug.eval.RemoteEvaluator;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.ASTEvaluationEngine;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.SimpleCondition;
 
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
 
 /**
@@ -56,6 +65,14 @@ import com.sun.jdi.VMDisconnectedException;
  */
 public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 
+	/**
+	 * Whether conditions that are a single side effect free expression are
+	 * compiled into a class injected into the target VM, such that each
+	 * evaluation is a single method invocation rather than an interpretation
+	 * of the condition over JDWP
+	 */
+	private static final boolean REMOTE_CONDITIONS = Boolean.getBoolean("org.eclipse.jdt.internal.debug.core.breakpoints.ConditionalBreakpointHandler.remote.enable"); //$NON-NLS-1$
+
 	/**
 	 * Whether the condition had compile or runtime errors
 	 */
@@ -65,7 +82,7 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 	 * Listens for evaluation completion for condition evaluation. If an evaluation evaluates <code>true</code> or has an error, this breakpoint will
 	 * suspend the thread in which the breakpoint was hit. If the evaluation returns <code>false</code>, the thread is resumed.
 	 */
-	class EvaluationListener implements IEvaluationListener {
+	class EvaluationListener implements IAbandonableEvaluationListener {
 
 		/**
 		 * Lock for synchronizing evaluation
@@ -77,19 +94,43 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 		 */
 		private final JavaLineBreakpoint fBreakpoint;
 
+		/**
+		 * Whether the condition is evaluated by a class injected into the
+		 * target VM
+		 */
+		private final boolean fRemote;
+
+		/**
+		 * Whether the class evaluating the condition could not be injected
+		 */
+		private boolean fRemoteFailed;
+
 		/**
 		 * Result of the vote
 		 */
 		private int fVote;
 
-		EvaluationListener(JavaLineBreakpoint breakpoint) {
+		/**
+		 * Whether the evaluation completed, guarded by the lock
+		 */
+		private boolean fComplete;
+
+		/**
+		 * Whether the condition timed out, in which case the evaluation must
+		 * not start once the thread was reported suspended
+		 */
+		private volatile boolean fAbandoned;
+
+		EvaluationListener(JavaLineBreakpoint breakpoint, boolean remote) {
 			fBreakpoint = breakpoint;
+			fRemote = remote;
 		}
 
 		@Override
 		public void evaluationComplete(IEvaluationResult result) {
 			fVote = determineVote(result);
 			synchronized (fLock) {
+				fComplete = true;
 				fLock.notifyAll();
 			}
 		}
@@ -109,6 +150,11 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 			JDIThread thread = (JDIThread) result.getThread();
 			if (result.hasErrors()) {
 				DebugException exception = result.getException();
+				if (fRemote && exception != null && exception.getStatus().getCode() == RemoteEvaluator.INJECTION_FAILED) {
+					// the condition is interpreted instead
+					fRemoteFailed = true;
+					return SUSPEND;
+				}
 				if (exception == null) {
 					return DONT_SUSPEND;
 				}
@@ -179,6 +225,42 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 			return fVote;
 		}
 
+		@Override
+		public boolean isAbandoned() {
+			return fAbandoned;
+		}
+
+		/**
+		 * Stops waiting for the result of the evaluation, such that it does not
+		 * start if it is still queued in the thread.
+		 */
+		void abandon() {
+			fAbandoned = true;
+		}
+
+		/**
+		 * Returns whether the evaluation completed. The caller must hold the
+		 * lock.
+		 *
+		 * @return whether the evaluation completed
+		 */
+		boolean isComplete() {
+			return fComplete;
+		}
+
+		/**
+		 * Returns whether the condition was to be evaluated by a class injected
+		 * into the target VM and the class could not be defined or
+		 * instantiated. Errors of the evaluation itself are reported as for
+		 * interpreted conditions.
+		 *
+		 * @return whether the class evaluating the condition could not be
+		 *         injected
+		 */
+		boolean isRemoteFailed() {
+			return fRemoteFailed;
+		}
+
 		/**
 		 * Returns the lock object to synchronize this evaluation.
 		 *
@@ -208,13 +290,14 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 	public int breakpointHit(IJavaThread thread, IJavaBreakpoint breakpoint) {
 		if (breakpoint instanceof IJavaLineBreakpoint) {
 			JavaLineBreakpoint lineBreakpoint = (JavaLineBreakpoint) breakpoint;
+			long start = System.nanoTime();
+			boolean hasCondition = false;
 			try {
 				final String condition = lineBreakpoint.getCondition();
 				if (condition == null) {
 					return SUSPEND;
 				}
-				EvaluationListener listener = new EvaluationListener(
-						lineBreakpoint);
+				hasCondition = true;
 				IJavaStackFrame frame = (IJavaStackFrame) thread
 						.getTopStackFrame();
 				IJavaProject project = lineBreakpoint.getJavaProject(frame);
@@ -248,6 +331,13 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 						.getExpression(thread);
 				if (expression == null) {
 					expression = engine.getCompiledExpression(condition, frame);
+					if (REMOTE_CONDITIONS && !expression.hasErrors() && lineBreakpoint.isConditionSuspendOnTrue()
+							&& engine instanceof ASTEvaluationEngine && SimpleCondition.analyze(expression) == null) {
+						ICompiledExpression remote = ((ASTEvaluationEngine) engine).getRemoteCompiledCondition(condition, frame);
+						if (remote != null) {
+							expression = remote;
+						}
+					}
 					lineBreakpoint.setExpression(thread, expression);
 				}
 				if (expression.hasErrors()) {
@@ -255,26 +345,26 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 							getMessages(expression));
 					return SUSPEND;
 				}
-				Object lock = listener.getLock();
-				synchronized (lock) {
-					engine.evaluateExpression(expression, frame, listener,
-							DebugEvent.EVALUATION_IMPLICIT, false);
-					// TODO: timeout?
-					try {
-						lock.wait();
-					} catch (InterruptedException e) {
-						fireConditionHasRuntimeErrors(
-								lineBreakpoint,
-								new DebugException(
-										new Status(
-												IStatus.ERROR,
-												JDIDebugPlugin
-														.getUniqueIdentifier(),
-												JDIDebugBreakpointMessages.ConditionalBreakpointHandler_0,
-												e)));
-						return SUSPEND;
+				if (lineBreakpoint.isConditionSuspendOnTrue()) {
+					SimpleCondition simpleCondition = SimpleCondition.analyze(expression);
+					if (simpleCondition != null) {
+						pushConditionFilters(lineBreakpoint, simpleCondition, (JDIDebugTarget) target);
+						Boolean simpleResult = evaluateSimpleCondition(simpleCondition, frame);
+						if (simpleResult != null) {
+							return simpleResult.booleanValue() ? SUSPEND : DONT_SUSPEND;
+						}
 					}
 				}
+				EvaluationListener listener = evaluateCondition(lineBreakpoint, engine, expression, frame);
+				if (listener != null && listener.isRemoteFailed()) {
+					// the class could not be injected, interpret the condition
+					expression = engine.getCompiledExpression(condition, frame);
+					lineBreakpoint.setExpression(thread, expression);
+					listener = evaluateCondition(lineBreakpoint, engine, expression, frame);
+				}
+				if (listener == null) {
+					return SUSPEND;
+				}
 				return listener.getVote();
 			} catch (CoreException e) {
 				DebugException de = null;
@@ -284,6 +374,10 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 					de = new DebugException(e.getStatus());
 				}
 				fireConditionHasRuntimeErrors(lineBreakpoint, de);
+			} finally {
+				if (hasCondition) {
+					lineBreakpoint.recordConditionEvaluation(System.nanoTime() - start);
+				}
 			}
 		}
 		return SUSPEND;
@@ -305,6 +399,123 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 		return 0;
 	}
 
+	/**
+	 * Evaluates the condition in the given frame and waits for the result, at
+	 * most for the time set by {@link JDIDebugModel#PREF_CONDITION_TIMEOUT}.
+	 * When the evaluation does not complete in time, it is terminated and the
+	 * timeout is reported as a runtime error of the condition.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint that was hit
+	 * @param engine
+	 *            the evaluation engine
+	 * @param expression
+	 *            the compiled condition
+	 * @param frame
+	 *            the frame in which the breakpoint was hit
+	 * @return the listener holding the vote or <code>null</code> if waiting for
+	 *         the result was interrupted or timed out
+	 * @throws DebugException
+	 *             if the evaluation cannot be started
+	 */
+	private EvaluationListener evaluateCondition(JavaLineBreakpoint breakpoint, IAstEvaluationEngine engine, ICompiledExpression expression, IJavaStackFrame frame) throws DebugException {
+		EvaluationListener listener = new EvaluationListener(breakpoint, ASTEvaluationEngine.isRemoteCondition(expression));
+		Object lock = listener.getLock();
+		int timeout = Platform.getPreferencesService().getInt(JDIDebugPlugin.getUniqueIdentifier(), JDIDebugModel.PREF_CONDITION_TIMEOUT, JDIDebugModel.DEF_CONDITION_TIMEOUT, null);
+		synchronized (lock) {
+			engine.evaluateExpression(expression, frame, listener,
+					DebugEvent.EVALUATION_IMPLICIT, false);
+			try {
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+				while (!listener.isComplete()) {
+					if (timeout <= 0) {
+						lock.wait();
+						continue;
+					}
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						// a queued evaluation does not start, a running one
+						// stops before its next instruction, a method
+						// invocation in progress is not interrupted
+						listener.abandon();
+						((IJavaThread) frame.getThread()).terminateEvaluation();
+						fireConditionHasRuntimeErrors(breakpoint, new DebugException(new Status(IStatus.ERROR, JDIDebugPlugin.getUniqueIdentifier(), MessageFormat.format(JDIDebugBreakpointMessages.ConditionalBreakpointHandler_2, Integer.toString(timeout)))));
+						return null;
+					}
+					TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+				}
+			} catch (InterruptedException e) {
+				listener.abandon();
+				fireConditionHasRuntimeErrors(
+						breakpoint,
+						new DebugException(
+								new Status(
+										IStatus.ERROR,
+										JDIDebugPlugin
+												.getUniqueIdentifier(),
+										JDIDebugBreakpointMessages.ConditionalBreakpointHandler_0,
+										e)));
+				return null;
+			}
+		}
+		return listener;
+	}
+
+	/**
+	 * Restricts the requests of the breakpoint to the instance or the thread a
+	 * simple condition, such as <code>this == Type.INSTANCE</code>, can hold
+	 * for, such that the target does not report the other hits. The condition
+	 * is still decided for the reported hits.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint that was hit
+	 * @param condition
+	 *            the simple condition of the breakpoint
+	 * @param target
+	 *            the target the breakpoint was hit in
+	 */
+	private void pushConditionFilters(JavaLineBreakpoint breakpoint, SimpleCondition condition, JDIDebugTarget target) {
+		try {
+			if (breakpoint.hasConditionFilters(target) || breakpoint.getHitCount() > 0) {
+				// recreating the requests would restart the hit count
+				return;
+			}
+			IJavaObject instance = condition.getInstanceFilter(target);
+			IJavaObject thread = condition.getThreadFilter(target);
+			if (instance == null && thread == null) {
+				return;
+			}
+			ObjectReference threadObject = thread == null ? null : ((JDIObjectValue) thread).getUnderlyingObject();
+			if (thread != null && !(threadObject instanceof ThreadReference)) {
+				return;
+			}
+			breakpoint.setConditionFilters(target, instance == null ? null : ((JDIObjectValue) instance).getUnderlyingObject(), (ThreadReference) threadObject);
+		} catch (CoreException e) {
+			// the condition is decided for each hit
+		}
+	}
+
+	/**
+	 * Decides a simple condition, such as <code>i == 42</code>, from the values
+	 * of the given frame without running an evaluation in the thread. Returns
+	 * <code>null</code> if the condition cannot be decided from the values of
+	 * the frame.
+	 *
+	 * @param condition
+	 *            the simple condition
+	 * @param frame
+	 *            the frame in which the breakpoint was hit
+	 * @return whether the condition holds or <code>null</code>
+	 */
+	private Boolean evaluateSimpleCondition(SimpleCondition condition, IJavaStackFrame frame) {
+		try {
+			return condition.evaluate(frame);
+		} catch (DebugException e) {
+			// the evaluation reports the error, if any
+			return null;
+		}
+	}
+
 	/**
 	 * Returns an evaluation engine for evaluating this breakpoint's condition
 	 * in the given target and project context.
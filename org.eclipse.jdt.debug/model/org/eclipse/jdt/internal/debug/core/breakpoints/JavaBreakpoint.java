@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jdt.internal.debug.core.breakpoints;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -45,6 +46,7 @@ import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIType;
+import org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex;
 
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
@@ -628,22 +630,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		if (referenceTypeName == null || enclosingTypeName == null) {
 			return;
 		}
-		// create request to listen to class loads
-		if (referenceTypeName.indexOf('$') == -1) {
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName), target);
-			// register to ensure we hear about local and anonymous inner
-			// classes
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName + "$*"), target); //$NON-NLS-1$
-		} else {
-			registerRequest(
-					target.createClassPrepareRequest(referenceTypeName), target);
-			// register to ensure we hear about local and anonymous inner
-			// classes
-			registerRequest(target.createClassPrepareRequest(enclosingTypeName
-					+ "$*", referenceTypeName), target); //$NON-NLS-1$
-		}
+		addClassPrepareListeners(target, referenceTypeName, enclosingTypeName);
 
 		// create breakpoint requests for each class currently loaded
 		List<ReferenceType> classes = target.jdiClassesByName(referenceTypeName);
@@ -665,6 +652,54 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		}
 	}
 
+	/**
+	 * Listens to the loading of the given type and its nested types in the
+	 * given target. The requests are shared with other breakpoints.
+	 */
+	private void addClassPrepareListeners(JDIDebugTarget target, String referenceTypeName, String enclosingTypeName) throws CoreException {
+		if (referenceTypeName.indexOf('$') == -1) {
+			target.addClassPrepareListener(this, enclosingTypeName, null, null);
+			// register to ensure we hear about local and anonymous inner
+			// classes
+			target.addClassPrepareListener(this, enclosingTypeName + "$*", null, null); //$NON-NLS-1$
+		} else {
+			target.addClassPrepareListener(this, referenceTypeName, null, null);
+			// register to ensure we hear about local and anonymous inner
+			// classes
+			target.addClassPrepareListener(this, enclosingTypeName + "$*", referenceTypeName, null); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Prepares the installation of this breakpoint in the given target as part
+	 * of a batch. The class prepare listeners of this breakpoint are
+	 * registered, such that the types returned can be looked up for the whole
+	 * batch before {@link #addToTarget(JDIDebugTarget)} is called without
+	 * missing types loaded in between.
+	 *
+	 * @param target
+	 *            the target this breakpoint is about to be added to
+	 * @return names of the types {@link #addToTarget(JDIDebugTarget)} looks up
+	 *         in the target, possibly empty
+	 * @exception CoreException
+	 *                if unable to register the listeners
+	 */
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		if (target.isTerminated() || shouldSkipBreakpoint()) {
+			return Collections.emptyList();
+		}
+		String referenceTypeName = getTypeName();
+		String enclosingTypeName = getEnclosingReferenceTypeName();
+		if (referenceTypeName == null || enclosingTypeName == null) {
+			return Collections.emptyList();
+		}
+		addClassPrepareListeners(target, referenceTypeName, enclosingTypeName);
+		if (referenceTypeName.equals(enclosingTypeName)) {
+			return List.of(referenceTypeName);
+		}
+		return List.of(referenceTypeName, enclosingTypeName);
+	}
+
 	/**
 	 * Local types (types defined in methods) are handled specially due to the
 	 * different types that the local type is associated with as well as the
@@ -683,8 +718,10 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 */
 	protected void addToTargetForLocalType(JDIDebugTarget target, String enclosingTypeName) throws CoreException {
 		List<ReferenceType> classes = target.jdiClassesByName(enclosingTypeName);
+		LoadedTypeIndex index = target.getLoadedTypeIndex();
 		for(ReferenceType type : classes) {
-			for(ReferenceType nestedType : type.nestedTypes()) {
+			List<ReferenceType> nestedTypes = index != null ? index.getNestedTypes(type) : type.nestedTypes();
+			for(ReferenceType nestedType : nestedTypes) {
 				if (createRequest(target, nestedType)) {
 					break;
 				}
@@ -781,6 +818,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		// removing was previously done is a workspace runnable, but that is
 		// not possible since it can be a resource callback (marker deletion)
 		// that causes a breakpoint to be removed
+		target.removeClassPrepareListener(this);
 		ArrayList<EventRequest> requests = new ArrayList<>(getRequests(target));
 		// Iterate over a copy of the requests since this list of requests
 		// can be changed in other threads which would cause an
@@ -831,7 +869,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 			try {
 				// if the request has expired, do not disable.
 				// BreakpointRequests that have expired cannot be deleted.
-				if (!isExpired(request)) {
+				if (!isExpired(request) && !(enabled && target.deferEnable(request))) {
 					request.setEnabled(enabled);
 				}
 			} catch (VMDisconnectedException e) {
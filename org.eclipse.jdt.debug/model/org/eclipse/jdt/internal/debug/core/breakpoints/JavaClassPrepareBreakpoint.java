@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -110,6 +112,17 @@ public class JavaClassPrepareBreakpoint extends JavaBreakpoint implements
 	public JavaClassPrepareBreakpoint() {
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This breakpoint only listens to the loading of its types, which are not looked up by name.
+	 * </p>
+	 */
+	@Override
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Creates event requests for the given target
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -118,6 +120,32 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 	 */
 	private final Map<IDebugTarget, IValue> fConditionValues = new HashMap<>();
 
+	/**
+	 * Instance and thread filters derived from the condition of this
+	 * breakpoint, either of which may be <code>null</code>
+	 */
+	private record ConditionFilters(ObjectReference instance, ThreadReference thread) {
+	}
+
+	/**
+	 * The filters derived from the condition of this breakpoint, keyed by
+	 * debug target. This value must be cleared every time the condition
+	 * changes.
+	 */
+	private final Map<JDIDebugTarget, ConditionFilters> fConditionFilters = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of elements of the histogram of condition decision times, see
+	 * {@link IJavaLineBreakpoint#getConditionEvaluationHistogram()}
+	 */
+	private static final int CONDITION_HISTOGRAM_SIZE = 32;
+
+	/**
+	 * Counts of condition decisions by duration, see
+	 * {@link IJavaLineBreakpoint#getConditionEvaluationHistogram()}
+	 */
+	private volatile AtomicLongArray fConditionHistogram = new AtomicLongArray(CONDITION_HISTOGRAM_SIZE);
+
 	/**
 	 * Status code indicating that a request to create a breakpoint in a type
 	 * with no line number attributes has occurred.
@@ -185,6 +213,7 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		clearCachedExpressionFor(target);
 		clearCachedSuspendEvents(target);
 		fConditionValues.remove(target);
+		fConditionFilters.remove(target);
 		super.removeFromTarget(target);
 	}
 
@@ -529,6 +558,8 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		fCompiledExpressions.clear();
 		fConditionValues.clear();
 		fSuspendEvents.clear();
+		fConditionFilters.clear();
+		fConditionHistogram = new AtomicLongArray(CONDITION_HISTOGRAM_SIZE);
 		if (condition != null && condition.trim().length() == 0) {
 			condition = null;
 		}
@@ -576,6 +607,7 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 			throws CoreException {
 		setAttributes(new String[] { CONDITION_ENABLED },
 				new Object[] { Boolean.valueOf(conditionEnabled) });
+		fConditionFilters.clear();
 		recreate();
 	}
 
@@ -608,6 +640,61 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		}
 	}
 
+	/**
+	 * Also adds the filters derived from the condition of this breakpoint.
+	 *
+	 * @see JavaBreakpoint#configureInstanceFilters(EventRequest, JDIDebugTarget)
+	 */
+	@Override
+	protected void configureInstanceFilters(EventRequest request,
+			JDIDebugTarget target) {
+		super.configureInstanceFilters(request, target);
+		ConditionFilters filters = fConditionFilters.get(target);
+		if (filters != null && request instanceof BreakpointRequest) {
+			if (filters.instance() != null) {
+				addInstanceFilter(request, filters.instance());
+			}
+			if (filters.thread() != null) {
+				setRequestThreadFilter(request, filters.thread());
+			}
+		}
+	}
+
+	/**
+	 * Returns whether filters derived from the condition of this breakpoint
+	 * are set for the given target.
+	 *
+	 * @param target
+	 *            debug target
+	 * @return whether condition filters are set
+	 */
+	protected boolean hasConditionFilters(JDIDebugTarget target) {
+		return fConditionFilters.containsKey(target);
+	}
+
+	/**
+	 * Restricts the requests of this breakpoint in the given target to the
+	 * given instance and thread, for which the condition of this breakpoint
+	 * can be true, and recreates the requests. The filters are dropped when
+	 * the condition changes.
+	 *
+	 * @param target
+	 *            debug target
+	 * @param instance
+	 *            the only instance the condition holds for or
+	 *            <code>null</code>
+	 * @param thread
+	 *            the only thread the condition holds in or <code>null</code>
+	 * @throws CoreException
+	 *             if the requests cannot be recreated
+	 */
+	protected void setConditionFilters(JDIDebugTarget target,
+			ObjectReference instance, ThreadReference thread)
+			throws CoreException {
+		fConditionFilters.put(target, new ConditionFilters(instance, thread));
+		recreate(target);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -633,6 +720,7 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 			setAttributes(new String[] { CONDITION_SUSPEND_ON_TRUE },
 					new Object[] { Boolean.valueOf(suspendOnTrue) });
 			fConditionValues.clear();
+			fConditionFilters.clear();
 			recreate();
 		}
 	}
@@ -679,4 +767,27 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		return prev;
 	}
 
+	/**
+	 * Records the time taken to decide the condition of this breakpoint when
+	 * it was hit.
+	 *
+	 * @param nanos
+	 *            duration of the decision in nanoseconds
+	 */
+	protected void recordConditionEvaluation(long nanos) {
+		long micros = nanos / 1000;
+		int index = micros <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(micros), CONDITION_HISTOGRAM_SIZE - 1);
+		fConditionHistogram.incrementAndGet(index);
+	}
+
+	@Override
+	public long[] getConditionEvaluationHistogram() {
+		AtomicLongArray histogram = fConditionHistogram;
+		long[] counts = new long[histogram.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = histogram.get(i);
+		}
+		return counts;
+	}
+
 }
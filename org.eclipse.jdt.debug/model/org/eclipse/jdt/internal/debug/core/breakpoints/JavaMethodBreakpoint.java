@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -727,6 +729,20 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Types matched by a pattern are not looked up by name.
+	 * </p>
+	 */
+	@Override
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		if (usesTypePattern()) {
+			return Collections.emptyList();
+		}
+		return super.prepareForInstall(target);
+	}
+
 	/**
 	 * @see JavaBreakpoint#addToTarget(JDIDebugTarget)
 	 */
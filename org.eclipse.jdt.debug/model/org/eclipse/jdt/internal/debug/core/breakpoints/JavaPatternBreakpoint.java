@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.eclipse.jdt.debug.core.IJavaPatternBreakpoint;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex;
 
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ReferenceType;
@@ -178,6 +180,17 @@ public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
 		return (String) ensureMarker().getAttribute(SOURCE_NAME);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The types of this breakpoint are matched by a pattern, which are not looked up by name.
+	 * </p>
+	 */
+	@Override
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		return Collections.emptyList();
+	}
+
 	@Override
 	protected void createRequests(JDIDebugTarget target) throws CoreException {
 		if (target.isTerminated() || shouldSkipBreakpoint()) {
@@ -194,8 +207,7 @@ public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
 		if (!referenceTypeName.endsWith("*")) { //$NON-NLS-1$
 			classPrepareTypeName = classPrepareTypeName + '*';
 		}
-		registerRequest(target.createClassPrepareRequest(classPrepareTypeName),
-				target);
+		target.addClassPrepareListener(this, classPrepareTypeName, null, null);
 
 		// create breakpoint requests for each class currently loaded
 		VirtualMachine vm = target.getVM();
@@ -206,7 +218,8 @@ public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
 		}
 		List<ReferenceType> classes = null;
 		try {
-			classes = vm.allClasses();
+			LoadedTypeIndex index = target.getLoadedTypeIndex();
+			classes = index != null ? index.getTypesWithPrefix(referenceTypeName) : vm.allClasses();
 		} catch (RuntimeException e) {
 			target.targetRequestFailed(
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_0, e);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2003, 2012 IBM Corporation and others.
+ *  Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@ import org.eclipse.debug.core.IStatusHandler;
 import org.eclipse.jdt.debug.core.IJavaStratumLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex;
 
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ClassNotPreparedException;
@@ -360,6 +362,17 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		return (String) ensureMarker().getAttribute(SOURCE_PATH);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The types of this breakpoint are matched by a pattern and source name, which are not looked up by name.
+	 * </p>
+	 */
+	@Override
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		return Collections.emptyList();
+	}
+
 	@Override
 	protected void createRequests(JDIDebugTarget target) throws CoreException {
 		if (target.isTerminated() || shouldSkipBreakpoint()) {
@@ -378,8 +391,7 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		for (String classPrepareTypeName : patterns) {
 			// create request to listen to class loads
 			// name may only be partially resolved
-			registerRequest(target.createClassPrepareRequest(
-					classPrepareTypeName, null, true, sourceName), target);
+			target.addClassPrepareListener(this, classPrepareTypeName, null, sourceName);
 		}
 
 		// create breakpoint requests for each class currently loaded
@@ -391,7 +403,20 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		}
 		List<ReferenceType> classes = null;
 		try {
-			classes = vm.allClasses();
+			LoadedTypeIndex index = target.getLoadedTypeIndex();
+			if (index == null) {
+				classes = vm.allClasses();
+			} else if (sourceName == null) {
+				classes = index.getAllTypes();
+			} else {
+				classes = index.getTypesBySourceName(getStratum(), sourceName, typeName -> {
+					try {
+						return validType(typeName);
+					} catch (CoreException e) {
+						return false;
+					}
+				});
+			}
 		} catch (RuntimeException e) {
 			target.targetRequestFailed(
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_0, e);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import org.eclipse.jdt.debug.core.IJavaTargetPatternBreakpoint;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex;
 
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ReferenceType;
@@ -77,6 +79,18 @@ public class JavaTargetPatternBreakpoint extends JavaLineBreakpoint implements
 		run(getMarkerRule(resource), wr);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The types of this breakpoint are matched by a pattern, which are not
+	 * looked up by name.
+	 * </p>
+	 */
+	@Override
+	public List<String> prepareForInstall(JDIDebugTarget target) throws CoreException {
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Creates the event requests to:
 	 * <ul>
@@ -101,13 +115,13 @@ public class JavaTargetPatternBreakpoint extends JavaLineBreakpoint implements
 		if (!referenceTypeName.endsWith("*")) { //$NON-NLS-1$
 			classPrepareTypeName = classPrepareTypeName + '*';
 		}
-		registerRequest(target.createClassPrepareRequest(classPrepareTypeName),
-				target);
+		target.addClassPrepareListener(this, classPrepareTypeName, null, null);
 
 		// create breakpoint requests for each class currently loaded
 		VirtualMachine vm = target.getVM();
 		if (vm != null) {
-			List<ReferenceType> classes = vm.allClasses();
+			LoadedTypeIndex index = target.getLoadedTypeIndex();
+			List<ReferenceType> classes = index != null ? index.getTypesWithPrefix(referenceTypeName) : vm.allClasses();
 			if (classes != null) {
 				String typeName = null;
 				for(ReferenceType type : classes) {
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.jdi.internal.ReferenceTypeImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.request.EventRequestImpl;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.internal.debug.core.JDIDebugOptions;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
+
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.request.EventRequest;
+
+/**
+ * Installs a batch of breakpoints in a debug target, as done when the target
+ * starts or when breakpoints are imported.
+ * <p>
+ * Rather than installing one breakpoint after the other, the installation is
+ * done in phases, each of which costs about one round trip to the VM:
+ * <ol>
+ * <li>the class prepare listeners of all breakpoints are registered</li>
+ * <li>the loaded types named by the breakpoints are looked up</li>
+ * <li>the line tables of the types with line breakpoints are read</li>
+ * <li>the event requests are created, without enabling them</li>
+ * <li>the event requests are enabled</li>
+ * </ol>
+ * The duration of the phases is traced with the
+ * {@link JDIDebugOptions#DEBUG_BREAKPOINT_INSTALL_FLAG} option.
+ * </p>
+ */
+class BreakpointInstallBatch {
+
+	private final JDIDebugTarget fTarget;
+
+	private final List<JavaBreakpoint> fBreakpoints;
+
+	/**
+	 * Loaded types by name, looked up for the whole batch
+	 */
+	private final Map<String, List<ReferenceType>> fTypes = new HashMap<>();
+
+	/**
+	 * Requests to enable once all requests are created
+	 */
+	private final List<EventRequest> fRequestsToEnable = new ArrayList<>();
+
+	/**
+	 * Constructs a batch installing the given breakpoints in the given target.
+	 *
+	 * @param target
+	 *            the debug target
+	 * @param breakpoints
+	 *            the breakpoints to install, none of which is installed yet
+	 */
+	BreakpointInstallBatch(JDIDebugTarget target, List<JavaBreakpoint> breakpoints) {
+		fTarget = target;
+		fBreakpoints = breakpoints;
+	}
+
+	/**
+	 * Installs the breakpoints of this batch. Must be called by the thread this
+	 * batch is registered for in the target, see
+	 * {@link JDIDebugTarget#jdiClassesByName(String)} and
+	 * {@link JDIDebugTarget#deferEnable(EventRequest)}.
+	 */
+	void install() {
+		long start = System.currentTimeMillis();
+		Set<String> typeNames = new LinkedHashSet<>();
+		Set<String> lineTypeNames = new LinkedHashSet<>();
+		for (JavaBreakpoint breakpoint : fBreakpoints) {
+			try {
+				List<String> names = breakpoint.prepareForInstall(fTarget);
+				typeNames.addAll(names);
+				if (breakpoint instanceof IJavaLineBreakpoint) {
+					lineTypeNames.addAll(names);
+				}
+			} catch (CoreException e) {
+				fTarget.logError(e);
+			}
+		}
+		long listened = System.currentTimeMillis();
+
+		resolveTypes(typeNames);
+		long resolved = System.currentTimeMillis();
+
+		List<ReferenceType> lineTypes = new ArrayList<>();
+		for (String name : lineTypeNames) {
+			List<ReferenceType> types = fTypes.get(name);
+			if (types != null) {
+				lineTypes.addAll(types);
+			}
+		}
+		try {
+			ReferenceTypeImpl.prefetchLineTables(lineTypes);
+		} catch (VMDisconnectedException e) {
+			return;
+		} catch (RuntimeException e) {
+			// the line tables are read again when needed
+			fTarget.logError(e);
+		}
+		long prefetched = System.currentTimeMillis();
+
+		for (JavaBreakpoint breakpoint : fBreakpoints) {
+			fTarget.installBreakpoint(breakpoint);
+		}
+		long created = System.currentTimeMillis();
+
+		enableRequests();
+		long enabled = System.currentTimeMillis();
+
+		if (JDIDebugOptions.DEBUG_BREAKPOINT_INSTALL) {
+			JDIDebugOptions.trace("Installed " + fBreakpoints.size() + " breakpoints in " + (enabled - start) + "ms: listeners " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ (listened - start) + "ms, " + typeNames.size() + " type names " + (resolved - listened) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ lineTypes.size() + " line tables " + (prefetched - resolved) + "ms, requests " + (created - prefetched) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ fRequestsToEnable.size() + " enabled " + (enabled - created) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Looks up the loaded types with the given names, from the loaded type
+	 * index when enabled or else with pipelined requests.
+	 */
+	private void resolveTypes(Set<String> typeNames) {
+		if (typeNames.isEmpty()) {
+			return;
+		}
+		try {
+			LoadedTypeIndex index = fTarget.getLoadedTypeIndex();
+			if (index != null) {
+				for (String name : typeNames) {
+					fTypes.put(name, index.getTypes(name));
+				}
+				return;
+			}
+			VirtualMachine vm = fTarget.getVM();
+			if (vm instanceof VirtualMachineImpl vmImpl) {
+				fTypes.putAll(vmImpl.classesByNames(typeNames));
+			}
+		} catch (VMDisconnectedException e) {
+			// the breakpoints are not installed
+		} catch (RuntimeException e) {
+			// the types are looked up again one by one
+			fTypes.clear();
+			fTarget.logError(e);
+		}
+	}
+
+	/**
+	 * Returns the loaded types with the given name looked up for this batch or
+	 * <code>null</code> if the name was not looked up.
+	 *
+	 * @param name
+	 *            fully qualified name of the type
+	 * @return the loaded types or <code>null</code>
+	 */
+	List<ReferenceType> getTypes(String name) {
+		return fTypes.get(name);
+	}
+
+	/**
+	 * Defers the enabling of the given request to the end of this batch.
+	 *
+	 * @param request
+	 *            the request to enable
+	 */
+	void deferEnable(EventRequest request) {
+		fRequestsToEnable.add(request);
+	}
+
+	private void enableRequests() {
+		if (fRequestsToEnable.isEmpty() || !fTarget.isAvailable()) {
+			return;
+		}
+		// skip the requests of breakpoints removed, disabled or skipped in the
+		// meantime
+		Set<Object> installed;
+		List<IBreakpoint> breakpoints = fTarget.getBreakpoints();
+		synchronized (breakpoints) {
+			installed = new HashSet<>(breakpoints);
+		}
+		Map<JavaBreakpoint, Boolean> active = new HashMap<>();
+		List<EventRequest> requests = new ArrayList<>(fRequestsToEnable.size());
+		for (EventRequest request : fRequestsToEnable) {
+			Object property = request.getProperty(JavaBreakpoint.JAVA_BREAKPOINT_PROPERTY);
+			if (property == null) {
+				requests.add(request);
+			} else if (property instanceof JavaBreakpoint breakpoint && installed.contains(breakpoint)) {
+				Boolean enable = active.get(breakpoint);
+				if (enable == null) {
+					enable = Boolean.valueOf(isActive(breakpoint));
+					active.put(breakpoint, enable);
+				}
+				if (enable.booleanValue()) {
+					requests.add(request);
+				}
+			}
+		}
+		Map<EventRequest, RuntimeException> failures = EventRequestImpl.enable(requests);
+		for (RuntimeException e : failures.values()) {
+			if (e instanceof VMDisconnectedException) {
+				return;
+			}
+			fTarget.internalError(e);
+		}
+	}
+
+	/**
+	 * Returns whether the requests of the given breakpoint should still be
+	 * enabled.
+	 */
+	private boolean isActive(JavaBreakpoint breakpoint) {
+		try {
+			return breakpoint.isEnabled() && !breakpoint.shouldSkipBreakpoint();
+		} catch (CoreException e) {
+			fTarget.logError(e);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventIterator;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Shares class prepare requests among the listeners of a debug target.
+ * <p>
+ * One request is installed per distinct class pattern and source name, no
+ * matter how many listeners are interested in it. Class exclusion patterns are
+ * applied in the IDE, such that listeners that differ only in exclusions share
+ * a request. When all listeners of a request exclude the same classes, the
+ * exclusion is also added to the request, so the VM does not report these
+ * classes. Class prepare events are routed to the interested listeners with a
+ * trie of the class patterns. A listener is notified once per prepared type,
+ * even if the type matches several of its patterns.
+ * </p>
+ */
+public class ClassPrepareMultiplexer implements IJDIEventListener {
+
+	/**
+	 * Key of a shared request
+	 */
+	private record RequestKey(String classPattern, String sourceName) {
+	}
+
+	/**
+	 * Interest of a listener in the preparation of classes
+	 */
+	private record Subscription(IJDIEventListener listener, String classPattern, String classExclusionPattern, String sourceName) {
+
+		RequestKey key() {
+			return new RequestKey(classPattern, sourceName);
+		}
+	}
+
+	/**
+	 * Request shared by the subscriptions with the same key
+	 */
+	private static class SharedRequest {
+
+		EventRequest fRequest;
+
+		/**
+		 * Class exclusion filter of the request or <code>null</code>
+		 */
+		String fExclusion;
+
+		final List<Subscription> fSubscriptions = new ArrayList<>(1);
+	}
+
+	/**
+	 * Node of the trie of class patterns, keyed by the characters of the
+	 * patterns
+	 */
+	private static class Node {
+
+		final Map<Character, Node> fChildren = new HashMap<>(2);
+
+		/**
+		 * Subscriptions whose pattern ends at this node, with and without a
+		 * trailing '*'
+		 */
+		final List<Subscription> fExact = new ArrayList<>(1);
+		final List<Subscription> fPrefix = new ArrayList<>(1);
+
+		boolean isEmpty() {
+			return fChildren.isEmpty() && fExact.isEmpty() && fPrefix.isEmpty();
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Root of the trie of exact and prefix patterns
+	 */
+	private final Node fRoot = new Node();
+
+	/**
+	 * Subscriptions with suffix patterns, which start with '*'
+	 */
+	private final List<Subscription> fSuffixes = new ArrayList<>();
+
+	/**
+	 * Shared requests and their subscriptions
+	 */
+	private final Map<RequestKey, SharedRequest> fRequests = new HashMap<>();
+
+	/**
+	 * Listeners notified of an event, until the event set is complete
+	 */
+	private final Map<Event, List<IJDIEventListener>> fNotified = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a multiplexer for the given target.
+	 *
+	 * @param target
+	 *            the debug target
+	 */
+	public ClassPrepareMultiplexer(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Registers the given listener for the preparation of classes matching the
+	 * given pattern. A request for the pattern is created if none exists yet,
+	 * and replaced if its class exclusion filter no longer applies to all its
+	 * listeners. Registering the same listener with the same arguments again has no
+	 * effect.
+	 *
+	 * @param listener
+	 *            the listener to notify of class prepare events
+	 * @param classPattern
+	 *            pattern of class names, may begin with a '*', end with a '*',
+	 *            or be an exact match
+	 * @param classExclusionPattern
+	 *            pattern of class names to exclude or <code>null</code>
+	 * @param sourceName
+	 *            source name pattern to match or <code>null</code>
+	 * @exception CoreException
+	 *                if unable to create the request
+	 */
+	public synchronized void addListener(IJDIEventListener listener, String classPattern, String classExclusionPattern, String sourceName) throws CoreException {
+		Subscription subscription = new Subscription(listener, classPattern, classExclusionPattern, sourceName);
+		SharedRequest shared = fRequests.computeIfAbsent(subscription.key(), key -> new SharedRequest());
+		if (shared.fSubscriptions.contains(subscription)) {
+			return;
+		}
+		shared.fSubscriptions.add(subscription);
+		insert(subscription);
+		try {
+			update(subscription.key(), shared);
+		} catch (CoreException e) {
+			shared.fSubscriptions.remove(subscription);
+			delete(subscription);
+			if (shared.fSubscriptions.isEmpty()) {
+				fRequests.remove(subscription.key());
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Installs the request of the given key, with the class exclusion filter
+	 * shared by all its subscriptions. An installed request with another
+	 * exclusion is replaced, as JDI cannot remove filters. The new request is
+	 * installed before the old one is deleted, such that no class prepare event
+	 * is missed in between.
+	 */
+	private void update(RequestKey key, SharedRequest shared) throws CoreException {
+		String exclusion = getCommonExclusion(shared.fSubscriptions);
+		if (shared.fRequest != null && Objects.equals(exclusion, shared.fExclusion)) {
+			return;
+		}
+		EventRequest request = fTarget.createClassPrepareRequest(key.classPattern(), exclusion, true, key.sourceName());
+		fTarget.addJDIEventListener(this, request);
+		EventRequest old = shared.fRequest;
+		shared.fRequest = request;
+		shared.fExclusion = exclusion;
+		if (old != null) {
+			deleteRequest(old);
+		}
+	}
+
+	/**
+	 * Returns the class exclusion pattern of the given subscriptions, or
+	 * <code>null</code> if they do not all have the same.
+	 */
+	private static String getCommonExclusion(List<Subscription> subscriptions) {
+		String exclusion = subscriptions.get(0).classExclusionPattern();
+		for (Subscription subscription : subscriptions) {
+			if (!Objects.equals(exclusion, subscription.classExclusionPattern())) {
+				return null;
+			}
+		}
+		return exclusion;
+	}
+
+	/**
+	 * Removes all registrations of the given listener. Requests without
+	 * remaining listeners are deleted, requests whose remaining listeners
+	 * share a class exclusion pattern are replaced to apply it.
+	 *
+	 * @param listener
+	 *            the listener to remove
+	 */
+	public synchronized void removeListener(IJDIEventListener listener) {
+		Iterator<Map.Entry<RequestKey, SharedRequest>> iter = fRequests.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry<RequestKey, SharedRequest> entry = iter.next();
+			SharedRequest shared = entry.getValue();
+			boolean removed = false;
+			Iterator<Subscription> subscriptionIter = shared.fSubscriptions.iterator();
+			while (subscriptionIter.hasNext()) {
+				Subscription subscription = subscriptionIter.next();
+				if (subscription.listener() == listener) {
+					subscriptionIter.remove();
+					delete(subscription);
+					removed = true;
+				}
+			}
+			if (shared.fSubscriptions.isEmpty()) {
+				iter.remove();
+				deleteRequest(shared.fRequest);
+			} else if (removed && fTarget.isAvailable()) {
+				try {
+					update(entry.getKey(), shared);
+				} catch (CoreException e) {
+					// the installed request has a wider filter and remains valid
+					fTarget.logError(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deletes all requests and registrations.
+	 */
+	public synchronized void dispose() {
+		for (SharedRequest shared : fRequests.values()) {
+			deleteRequest(shared.fRequest);
+		}
+		fRequests.clear();
+		fRoot.fChildren.clear();
+		fRoot.fExact.clear();
+		fRoot.fPrefix.clear();
+		fSuffixes.clear();
+		fNotified.clear();
+	}
+
+	private void deleteRequest(EventRequest request) {
+		fTarget.removeJDIEventListener(this, request);
+		EventRequestManager manager = fTarget.getEventRequestManager();
+		if (manager != null && fTarget.isAvailable()) {
+			try {
+				manager.deleteEventRequest(request);
+			} catch (RuntimeException e) {
+				fTarget.logError(e);
+			}
+		}
+	}
+
+	private void insert(Subscription subscription) {
+		String pattern = subscription.classPattern();
+		if (pattern.startsWith("*")) { //$NON-NLS-1$
+			fSuffixes.add(subscription);
+			return;
+		}
+		boolean prefix = pattern.endsWith("*"); //$NON-NLS-1$
+		int length = prefix ? pattern.length() - 1 : pattern.length();
+		Node node = fRoot;
+		for (int i = 0; i < length; i++) {
+			node = node.fChildren.computeIfAbsent(Character.valueOf(pattern.charAt(i)), c -> new Node());
+		}
+		(prefix ? node.fPrefix : node.fExact).add(subscription);
+	}
+
+	private void delete(Subscription subscription) {
+		String pattern = subscription.classPattern();
+		if (pattern.startsWith("*")) { //$NON-NLS-1$
+			fSuffixes.remove(subscription);
+			return;
+		}
+		boolean prefix = pattern.endsWith("*"); //$NON-NLS-1$
+		int length = prefix ? pattern.length() - 1 : pattern.length();
+		Node[] path = new Node[length + 1];
+		path[0] = fRoot;
+		for (int i = 0; i < length; i++) {
+			path[i + 1] = path[i].fChildren.get(Character.valueOf(pattern.charAt(i)));
+			if (path[i + 1] == null) {
+				return;
+			}
+		}
+		(prefix ? path[length].fPrefix : path[length].fExact).remove(subscription);
+		// prune nodes that lead to no pattern
+		for (int i = length; i > 0 && path[i].isEmpty(); i--) {
+			path[i - 1].fChildren.remove(Character.valueOf(pattern.charAt(i - 1)));
+		}
+	}
+
+	/**
+	 * Returns the subscriptions whose pattern matches the given class name.
+	 */
+	private List<Subscription> match(String className) {
+		List<Subscription> matches = new ArrayList<>();
+		Node node = fRoot;
+		matches.addAll(node.fPrefix);
+		for (int i = 0; i < className.length(); i++) {
+			node = node.fChildren.get(Character.valueOf(className.charAt(i)));
+			if (node == null) {
+				break;
+			}
+			matches.addAll(node.fPrefix);
+			if (i == className.length() - 1) {
+				matches.addAll(node.fExact);
+			}
+		}
+		for (Subscription subscription : fSuffixes) {
+			if (className.endsWith(subscription.classPattern().substring(1))) {
+				matches.add(subscription);
+			}
+		}
+		return matches;
+	}
+
+	private static boolean matches(String pattern, String className) {
+		if (pattern.startsWith("*")) { //$NON-NLS-1$
+			return className.endsWith(pattern.substring(1));
+		}
+		if (pattern.endsWith("*")) { //$NON-NLS-1$
+			return className.startsWith(pattern.substring(0, pattern.length() - 1));
+		}
+		return className.equals(pattern);
+	}
+
+	/**
+	 * Returns the listeners to notify of the given event. Listeners with a
+	 * source name filter are only notified of the events of their own request,
+	 * as only the VM knows the source names of the class. Listeners already
+	 * notified of an earlier event of the same set for the same type are not
+	 * notified again.
+	 */
+	private synchronized List<IJDIEventListener> getListeners(ClassPrepareEvent event, EventSet eventSet) {
+		String className = event.referenceType().name();
+		Set<IJDIEventListener> listeners = new LinkedHashSet<>();
+		for (Subscription subscription : match(className)) {
+			if (subscription.sourceName() != null) {
+				SharedRequest shared = fRequests.get(subscription.key());
+				if (shared == null || shared.fRequest != event.request()) {
+					continue;
+				}
+			}
+			String exclusion = subscription.classExclusionPattern();
+			if (exclusion != null && matches(exclusion, className)) {
+				continue;
+			}
+			listeners.add(subscription.listener());
+		}
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext() && !listeners.isEmpty()) {
+			Event other = iter.nextEvent();
+			List<IJDIEventListener> notified = fNotified.get(other);
+			if (other != event && notified != null && other instanceof ClassPrepareEvent
+					&& Objects.equals(((ClassPrepareEvent) other).referenceType(), event.referenceType())) {
+				listeners.removeAll(notified);
+			}
+		}
+		List<IJDIEventListener> result = new ArrayList<>(listeners);
+		fNotified.put(event, result);
+		return result;
+	}
+
+	@Override
+	public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
+		boolean resume = true;
+		for (IJDIEventListener listener : getListeners((ClassPrepareEvent) event, eventSet)) {
+			try {
+				resume = listener.handleEvent(event, target, suspendVote || !resume, eventSet) && resume;
+			} catch (RuntimeException e) {
+				JDIDebugPlugin.log(e);
+			}
+		}
+		return resume;
+	}
+
+	@Override
+	public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
+		List<IJDIEventListener> listeners;
+		synchronized (this) {
+			listeners = fNotified.remove(event);
+		}
+		if (listeners != null) {
+			for (IJDIEventListener listener : listeners) {
+				listener.eventSetComplete(event, target, suspend, eventSet);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of requests installed in the target, for testing.
+	 *
+	 * @return number of shared requests
+	 */
+	public synchronized int getRequestCount() {
+		return fRequests.size();
+	}
+
+	/**
+	 * Returns the class exclusion filter of the request for the given pattern
+	 * and source name, for testing.
+	 *
+	 * @param classPattern
+	 *            pattern of class names
+	 * @param sourceName
+	 *            source name pattern or <code>null</code>
+	 * @return class exclusion filter of the request or <code>null</code> if the
+	 *         request has none or does not exist
+	 */
+	public synchronized String getClassExclusionFilter(String classPattern, String sourceName) {
+		SharedRequest shared = fRequests.get(new RequestKey(classPattern, sourceName));
+		return shared == null ? null : shared.fExclusion;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IIndexedValue;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaArray;
+import org.eclipse.jdi.internal.ArrayReferenceImpl;
 import org.eclipse.jdt.debug.core.IJavaValue;
 
 import com.sun.jdi.ArrayReference;
@@ -304,4 +305,48 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		setValues(0, length, values, 0);
 	}
 
+	/**
+	 * Replaces the components of this <code>byte</code> array with the given
+	 * bytes. The bytes are transferred without creating a value for each of
+	 * them when the underlying array supports it.
+	 *
+	 * @param values
+	 *            replacement values
+	 * @throws DebugException
+	 *             if this is not a <code>byte</code> array or the values
+	 *             cannot be set
+	 */
+	public void setByteValues(byte[] values) throws DebugException {
+		int length = Math.min(values.length, getSize());
+		ArrayReference array = getArrayReference();
+		if (!(array instanceof ArrayReferenceImpl)) {
+			IJavaValue[] javaValues = new IJavaValue[length];
+			for (int i = 0; i < length; i++) {
+				javaValues[i] = getJavaDebugTarget().newValue(values[i]);
+			}
+			setValues(0, length, javaValues, 0);
+			return;
+		}
+		try {
+			((ArrayReferenceImpl) array).setByteValues(0, values, 0, length);
+		} catch (IndexOutOfBoundsException e) {
+			throw e;
+		} catch (InvalidTypeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		} catch (ClassNotLoadedException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		} catch (RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		}
+	}
+
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,6 +31,7 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
@@ -54,6 +56,7 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBreakpointManager;
 import org.eclipse.debug.core.IBreakpointManagerListener;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -66,6 +69,8 @@ import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.ReferenceTypeImpl;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -82,6 +87,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaClassObject;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
 import org.eclipse.jdt.debug.core.IJavaObject;
@@ -105,6 +111,7 @@ import com.sun.jdi.Location;
 import com.sun.jdi.Method;
 import com.sun.jdi.ObjectCollectedException;
 import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
 import com.sun.jdi.ThreadGroupReference;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
@@ -130,13 +137,23 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		IDebugEventSetListener {
 
 	/**
-	 * Threads contained in this debug target. When a thread starts it is added
-	 * to the list. When a thread ends it is removed from the list.
+	 * Threads contained in this debug target by the unique ID of their
+	 * underlying thread. When a thread starts it is added to the map. When a
+	 * thread ends it is removed from the map. Modified while holding the lock
+	 * on the map, along with {@link #fThreadSnapshot}.
+	 *
+	 * @see #findThread(ThreadReference)
+	 */
+	private final ConcurrentMap<Long, JDIThread> fThreads = new ConcurrentHashMap<>();
+
+	/**
+	 * The threads contained in this debug target in the order they were
+	 * added. The array is replaced rather than modified when a thread is added
+	 * or removed, so that it can be iterated without copying.
 	 *
-	 * TODO investigate making this a synchronized collection, to remove all this copying
 	 * @see #getThreadIterator()
 	 */
-	private final List<JDIThread> fThreads;
+	private volatile JDIThread[] fThreadSnapshot = new JDIThread[0];
 
 	/**
 	 * List of thread groups in this target.
@@ -244,12 +261,25 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	/** Number of extra VM.resume operations needed due SUSPEND_VM breakpoints */
 	private final AtomicInteger extraResumeCount = new AtomicInteger(0);
 
+	/**
+	 * Number of threads refreshed by one batch of requests after the VM
+	 * suspended, see {@link #refreshSuspendedThreads()}
+	 */
+	private static final int SUSPEND_REFRESH_BATCH_SIZE = 128;
+
 	/**
 	 * Evaluation engine cache by Java project. Engines are disposed when this
 	 * target terminates.
 	 */
 	private final ConcurrentMap<IJavaProject, IAstEvaluationEngine> fEngines = new ConcurrentHashMap<>(2);
 
+	/**
+	 * Classes defined in this target by evaluations, keyed by an evaluation
+	 * specific key, such that repeated evaluations do not look up or define
+	 * them again. Cleared when this target terminates.
+	 */
+	private final Map<Object, IJavaClassObject> fDefinedClasses = new ConcurrentHashMap<>();
+
 	/**
 	 * List of step filters - each string is a pattern/fully qualified name of a
 	 * type to filter.
@@ -346,6 +376,47 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	private volatile boolean fIsStatementOnlyStepping;
 
+	/**
+	 * Index of the loaded types or <code>null</code> if types are looked up
+	 * in the VM
+	 */
+	private volatile LoadedTypeIndex fLoadedTypeIndex;
+
+	/**
+	 * Class prepare requests shared by breakpoints
+	 */
+	private final ClassPrepareMultiplexer fClassPrepareMultiplexer = new ClassPrepareMultiplexer(this);
+
+	/**
+	 * Batch of breakpoints being installed by the current thread, if any
+	 */
+	private final ThreadLocal<BreakpointInstallBatch> fInstallBatch = new ThreadLocal<>();
+
+	/**
+	 * Listens to the breakpoint manager, such that breakpoints added together
+	 * are installed in a batch
+	 */
+	private final IBreakpointsListener fBreakpointsListener = new IBreakpointsListener() {
+		@Override
+		public void breakpointsAdded(IBreakpoint[] breakpoints) {
+			installBreakpoints(breakpoints);
+		}
+
+		@Override
+		public void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			for (int i = 0; i < breakpoints.length; i++) {
+				breakpointRemoved(breakpoints[i], deltas[i]);
+			}
+		}
+
+		@Override
+		public void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			for (int i = 0; i < breakpoints.length; i++) {
+				breakpointChanged(breakpoints[i], deltas[i]);
+			}
+		}
+	};
+
 	/**
 	 * Returns the hcrDebugErrors boolean to decide whether HCR error pop-up should be shown or not for a debugging session dispatcher per debug
 	 * target.
@@ -401,7 +472,6 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		setName(name);
 		fScope = prepareBreakpointsSearchScope();
 		fBreakpoints = Collections.synchronizedList(new ArrayList<>(5));
-		fThreads = Collections.synchronizedList(new ArrayList<>());
 		fGroups = Collections.synchronizedList(new ArrayList<>(5));
 		fOutOfSynchTypes = Collections.synchronizedSet(new HashSet<>());
 		setHCROccurred(false);
@@ -478,18 +548,60 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	/**
 	 * Returns an iterator over the collection of threads. The returned iterator
-	 * is made on a copy of the thread list so that it is thread safe. This
-	 * method should always be used instead of getThreadList().iterator()
+	 * is made on a snapshot of the threads so that it is thread safe.
 	 *
 	 * @return an iterator over the collection of threads
 	 */
 	private Iterator<JDIThread> getThreadIterator() {
-		List<JDIThread> threadList;
+		return Arrays.asList(fThreadSnapshot).iterator();
+	}
+
+	/**
+	 * Adds the given thread to this target's collection of threads, unless a
+	 * thread for the same underlying thread has already been added.
+	 *
+	 * @param thread
+	 *            the thread to add
+	 * @return the thread that has been added before for the same underlying
+	 *         thread, or <code>null</code> if the given thread was added
+	 */
+	private JDIThread addThread(JDIThread thread) {
 		synchronized (fThreads) {
-			//TODO investigate making fThreads be a synchronized collection, to remove all this copying
-			threadList = new ArrayList<>(fThreads);
+			JDIThread existing = fThreads.putIfAbsent(getThreadKey(thread.getUnderlyingThread()), thread);
+			if (existing == null) {
+				JDIThread[] snapshot = fThreadSnapshot;
+				JDIThread[] threads = Arrays.copyOf(snapshot, snapshot.length + 1);
+				threads[snapshot.length] = thread;
+				fThreadSnapshot = threads;
+			}
+			return existing;
 		}
-		return threadList.iterator();
+	}
+
+	/**
+	 * Removes the given thread from this target's collection of threads.
+	 *
+	 * @param thread
+	 *            the thread to remove
+	 */
+	private void removeThread(JDIThread thread) {
+		synchronized (fThreads) {
+			if (fThreads.remove(getThreadKey(thread.getUnderlyingThread()), thread)) {
+				JDIThread[] snapshot = fThreadSnapshot;
+				JDIThread[] threads = new JDIThread[snapshot.length - 1];
+				int index = 0;
+				for (JDIThread other : snapshot) {
+					if (other != thread) {
+						threads[index++] = other;
+					}
+				}
+				fThreadSnapshot = threads;
+			}
+		}
+	}
+
+	private static Long getThreadKey(ThreadReference thread) {
+		return Long.valueOf(thread.uniqueID());
 	}
 
 	/**
@@ -617,6 +729,59 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		setThreadStartHandler(new ThreadStartHandler());
 		setThreadNameChangeHandler(new ThreadNameChangeHandler());
 		new ThreadDeathHandler();
+		if (LoadedTypeIndex.ENABLED) {
+			fLoadedTypeIndex = new LoadedTypeIndex(this);
+		}
+	}
+
+	/**
+	 * Registers the given listener for the preparation of classes matching the
+	 * given pattern. Listeners interested in the same pattern share a class
+	 * prepare request, which is created on demand.
+	 *
+	 * @param listener
+	 *            the listener to notify of class prepare events
+	 * @param classPattern
+	 *            pattern of class names, may begin with a '*', end with a '*',
+	 *            or be an exact match
+	 * @param classExclusionPattern
+	 *            pattern of class names to exclude or <code>null</code>
+	 * @param sourceName
+	 *            source name pattern to match or <code>null</code>
+	 * @exception CoreException
+	 *                if unable to create the request
+	 */
+	public void addClassPrepareListener(IJDIEventListener listener, String classPattern, String classExclusionPattern, String sourceName) throws CoreException {
+		fClassPrepareMultiplexer.addListener(listener, classPattern, classExclusionPattern, sourceName);
+	}
+
+	/**
+	 * Removes all class prepare registrations of the given listener.
+	 *
+	 * @param listener
+	 *            the listener to remove
+	 */
+	public void removeClassPrepareListener(IJDIEventListener listener) {
+		fClassPrepareMultiplexer.removeListener(listener);
+	}
+
+	/**
+	 * Returns the multiplexer of the class prepare requests of breakpoints.
+	 *
+	 * @return class prepare multiplexer
+	 */
+	public ClassPrepareMultiplexer getClassPrepareMultiplexer() {
+		return fClassPrepareMultiplexer;
+	}
+
+	/**
+	 * Returns the index of the types loaded in this target or
+	 * <code>null</code> if the index is disabled.
+	 *
+	 * @return loaded type index or <code>null</code>
+	 */
+	public LoadedTypeIndex getLoadedTypeIndex() {
+		return fLoadedTypeIndex;
 	}
 
 	/**
@@ -626,19 +791,66 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	protected void initializeBreakpoints() {
 		IBreakpointManager manager = DebugPlugin.getDefault()
 				.getBreakpointManager();
-		manager.addBreakpointListener(this);
-		IBreakpoint[] bps = manager.getBreakpoints(JDIDebugModel
-				.getPluginIdentifier());
-		for (IBreakpoint bp : bps) {
-			if (bp instanceof IJavaBreakpoint) {
-				breakpointAdded(bp);
+		manager.addBreakpointListener(fBreakpointsListener);
+		installBreakpoints(manager.getBreakpoints(JDIDebugModel
+				.getPluginIdentifier()));
+	}
+
+	/**
+	 * Installs the given breakpoints that are supported by this target and
+	 * not installed yet. Several breakpoints are installed in a batch, see
+	 * {@link BreakpointInstallBatch}.
+	 *
+	 * @param breakpoints
+	 *            the breakpoints added to the breakpoint manager
+	 */
+	protected void installBreakpoints(IBreakpoint[] breakpoints) {
+		if (!isAvailable()) {
+			return;
+		}
+		List<JavaBreakpoint> toInstall = new ArrayList<>(breakpoints.length);
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (supportsBreakpoint(breakpoint) && !getBreakpoints().contains(breakpoint)) {
+				toInstall.add((JavaBreakpoint) breakpoint);
+			}
+		}
+		if (toInstall.size() < 2 || fInstallBatch.get() != null) {
+			for (JavaBreakpoint breakpoint : toInstall) {
+				breakpointAdded(breakpoint);
 			}
+			return;
+		}
+		BreakpointInstallBatch batch = new BreakpointInstallBatch(this, toInstall);
+		fInstallBatch.set(batch);
+		try {
+			batch.install();
+		} finally {
+			fInstallBatch.remove();
+		}
+	}
+
+	/**
+	 * Defers the enabling of the given request when the current thread is
+	 * installing a batch of breakpoints. The requests of the batch are
+	 * enabled together once all of them are created.
+	 *
+	 * @param request
+	 *            a request to enable
+	 * @return whether the enabling of the request is deferred
+	 */
+	public boolean deferEnable(EventRequest request) {
+		BreakpointInstallBatch batch = fInstallBatch.get();
+		if (batch == null) {
+			return false;
 		}
+		batch.deferEnable(request);
+		return true;
 	}
 
 	/**
 	 * Creates, adds and returns a thread for the given underlying thread
-	 * reference. A creation event is fired for the thread. Returns
+	 * reference. A creation event is fired for the thread. Returns the
+	 * existing thread if the underlying thread is already known, or
 	 * <code>null</code> if during the creation of the thread this target is set
 	 * to the disconnected state.
 	 *
@@ -647,6 +859,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return model thread
 	 */
 	protected JDIThread createThread(ThreadReference thread) {
+		// creating a thread costs several round trips to the VM, look up
+		// known threads by unique ID first
+		JDIThread known = findThread(thread);
+		if (known != null) {
+			return known;
+		}
 		JDIThread jdiThread = newThread(thread);
 		if (jdiThread == null) {
 			return null;
@@ -654,8 +872,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (isDisconnected()) {
 			return null;
 		}
-		synchronized (fThreads) {
-			fThreads.add(jdiThread);
+		JDIThread existing = addThread(jdiThread);
+		if (existing != null) {
+			return existing;
 		}
 		jdiThread.fireCreationEvent();
 		return jdiThread;
@@ -681,23 +900,22 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public IThread[] getThreads() {
-		synchronized (fThreads) {
-			IThread[] threads = new IThread[fThreads.size()];
-			int index = 0;
-			for (JDIThread thread : fThreads) {
-				if (!thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
+		JDIThread[] snapshot = fThreadSnapshot;
+		IThread[] threads = new IThread[snapshot.length];
+		int index = 0;
+		for (JDIThread thread : snapshot) {
+			if (!thread.isSystemThread()) {
+				threads[index] = thread;
+				++index;
 			}
-			for (JDIThread thread : fThreads) {
-				if (thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
+		}
+		for (JDIThread thread : snapshot) {
+			if (thread.isSystemThread()) {
+				threads[index] = thread;
+				++index;
 			}
-			return threads;
 		}
+		return threads;
 	}
 
 	@Override
@@ -1014,12 +1232,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return the associated model thread
 	 */
 	public JDIThread findThread(ThreadReference tr) {
-		Iterator<JDIThread> iter = getThreadIterator();
-		while (iter.hasNext()) {
-			JDIThread thread = iter.next();
-			if (thread.getUnderlyingThread().equals(tr)) {
-				return thread;
-			}
+		if (tr == null) {
+			return null;
+		}
+		JDIThread thread = fThreads.get(getThreadKey(tr));
+		if (thread != null && thread.getUnderlyingThread().equals(tr)) {
+			return thread;
 		}
 		return null;
 	}
@@ -1583,23 +1801,30 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (!isAvailable()) {
 			return;
 		}
-		if (supportsBreakpoint(breakpoint)) {
-			try {
-				JavaBreakpoint javaBreakpoint = (JavaBreakpoint) breakpoint;
-				if (!getBreakpoints().contains(breakpoint)) {
-					if (!javaBreakpoint.shouldSkipBreakpoint()) {
-						// If the breakpoint should be skipped, don't add the
-						// breakpoint
-						// request to the VM. Just add the breakpoint to the
-						// collection so
-						// we have it if the manager is later enabled.
-						javaBreakpoint.addToTarget(this);
-					}
-					getBreakpoints().add(breakpoint);
-				}
-			} catch (CoreException e) {
-				logError(e);
+		if (supportsBreakpoint(breakpoint) && !getBreakpoints().contains(breakpoint)) {
+			installBreakpoint((JavaBreakpoint) breakpoint);
+		}
+	}
+
+	/**
+	 * Installs the given breakpoint, which is not installed yet.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint to install
+	 */
+	void installBreakpoint(JavaBreakpoint breakpoint) {
+		try {
+			if (!breakpoint.shouldSkipBreakpoint()) {
+				// If the breakpoint should be skipped, don't add the
+				// breakpoint
+				// request to the VM. Just add the breakpoint to the
+				// collection so
+				// we have it if the manager is later enabled.
+				breakpoint.addToTarget(this);
 			}
+			getBreakpoints().add(breakpoint);
+		} catch (CoreException e) {
+			logError(e);
 		}
 	}
 
@@ -1732,16 +1957,98 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	protected void suspendedByBreakpoint(JavaBreakpoint breakpoint,
 			boolean queueEvent, EventSet set) {
+		List<JDIThread> renamed = refreshSuspendedThreads();
 		if (queueEvent) {
 			queueSuspendEvent(DebugEvent.BREAKPOINT, set);
-		} else {
+			for (JDIThread thread : renamed) {
+				queueEvent(new DebugEvent(thread, DebugEvent.CHANGE, DebugEvent.STATE), set);
+			}
+		} else if (renamed.isEmpty()) {
 			fireSuspendEvent(DebugEvent.BREAKPOINT);
+		} else {
+			incrementSuspendCount(DebugEvent.BREAKPOINT);
+			DebugEvent[] events = new DebugEvent[renamed.size() + 1];
+			events[0] = new DebugEvent(this, DebugEvent.SUSPEND, DebugEvent.BREAKPOINT);
+			for (int i = 0; i < renamed.size(); i++) {
+				events[i + 1] = new DebugEvent(renamed.get(i), DebugEvent.CHANGE, DebugEvent.STATE);
+			}
+			DebugPlugin plugin = DebugPlugin.getDefault();
+			if (plugin != null) {
+				plugin.fireDebugEventSet(events);
+			}
 		}
 		// We need to remember how many times VM was suspended, to call
 		// resume as many times as needed
 		extraResumeCount.incrementAndGet();
 	}
 
+	/**
+	 * Retrieves the name, frame count and top frame of all suspended threads
+	 * after the VM suspended, instead of each thread retrieving them when it
+	 * is presented. The threads are refreshed in batches of
+	 * {@value #SUSPEND_REFRESH_BATCH_SIZE}, each batch pipelining its
+	 * requests. Gives up after the request timeout, threads that are not
+	 * refreshed by then retrieve their data on their own.
+	 *
+	 * @return the threads whose name changed since it was last retrieved
+	 */
+	private List<JDIThread> refreshSuspendedThreads() {
+		List<JDIThread> threads = new ArrayList<>();
+		Iterator<JDIThread> iter = getThreadIterator();
+		while (iter.hasNext()) {
+			JDIThread thread = iter.next();
+			if (thread.isSuspended() && !thread.isTerminated() && thread.getUnderlyingThread() instanceof ThreadReferenceImpl) {
+				threads.add(thread);
+			}
+		}
+		List<JDIThread> renamed = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getRequestTimeout());
+		try {
+			for (int start = 0; start < threads.size() && System.nanoTime() < deadline; start += SUSPEND_REFRESH_BATCH_SIZE) {
+				refreshSuspendedThreads(threads.subList(start, Math.min(threads.size(), start + SUSPEND_REFRESH_BATCH_SIZE)), renamed);
+			}
+		} catch (VMDisconnectedException e) {
+			// the threads are gone
+		} catch (RuntimeException e) {
+			// the remaining threads retrieve their data on their own
+			JDIDebugPlugin.log(e);
+		}
+		return renamed;
+	}
+
+	/**
+	 * Refreshes the given batch of threads, see
+	 * {@link #refreshSuspendedThreads()}. The methods of the declaring types
+	 * of the top frames are retrieved in bulk, the top frames become the top
+	 * stack frames of the threads.
+	 *
+	 * @param threads
+	 *            the threads to refresh
+	 * @param renamed
+	 *            collects the threads whose name changed
+	 */
+	private void refreshSuspendedThreads(List<JDIThread> threads, List<JDIThread> renamed) {
+		List<ThreadReference> underlyingThreads = new ArrayList<>(threads.size());
+		for (JDIThread thread : threads) {
+			underlyingThreads.add(thread.getUnderlyingThread());
+		}
+		List<String> names = ThreadReferenceImpl.names(underlyingThreads);
+		int[] frameCounts = ThreadReferenceImpl.frameCounts(underlyingThreads);
+		List<StackFrame> topFrames = ThreadReferenceImpl.topFrames(underlyingThreads);
+		Set<ReferenceType> types = new LinkedHashSet<>();
+		for (StackFrame frame : topFrames) {
+			if (frame != null) {
+				types.add(frame.location().declaringType());
+			}
+		}
+		ReferenceTypeImpl.prefetchMethods(new ArrayList<>(types));
+		for (int i = 0; i < threads.size(); i++) {
+			if (threads.get(i).suspendRefreshed(names.get(i), frameCounts[i], topFrames.get(i))) {
+				renamed.add(threads.get(i));
+			}
+		}
+	}
+
 	/**
 	 * Notifies this VM suspension has been cancelled
 	 *
@@ -1832,17 +2139,24 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	protected void cleanup() {
 		removeAllThreads();
 		DebugPlugin plugin = DebugPlugin.getDefault();
-		plugin.getBreakpointManager().removeBreakpointListener(this);
+		plugin.getBreakpointManager().removeBreakpointListener(fBreakpointsListener);
 		plugin.getLaunchManager().removeLaunchListener(this);
 		plugin.getBreakpointManager().removeBreakpointManagerListener(this);
 		plugin.removeDebugEventListener(this);
 		removeAllBreakpoints();
 		DebugPlugin.getDefault().getBreakpointManager().enableTriggerPoints(null, true);
 		fOutOfSynchTypes.clear();
+		fClassPrepareMultiplexer.dispose();
+		LoadedTypeIndex index = fLoadedTypeIndex;
+		if (index != null) {
+			fLoadedTypeIndex = null;
+			index.dispose();
+		}
 		fEngines.values().removeIf((IAstEvaluationEngine engine) -> {
 			engine.dispose();
 			return true;
 		});
+		fDefinedClasses.clear();
 		fVirtualMachine = null;
 		setThreadStartHandler(null);
 		setEventDispatcher(null);
@@ -1865,6 +2179,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 		synchronized (fThreads) {
 			fThreads.clear();
+			fThreadSnapshot = new JDIThread[0];
 		}
 	}
 
@@ -1904,6 +2219,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	/**
 	 * Returns VirtualMachine.classesByName(String), logging any JDI exceptions.
+	 * The types are looked up in the loaded type index when enabled, or among
+	 * the types looked up for the batch of breakpoints being installed.
 	 *
 	 * @see com.sun.jdi.VirtualMachine
 	 */
@@ -1911,6 +2228,17 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		VirtualMachine vm = getVM();
 		if (vm != null) {
 			try {
+				BreakpointInstallBatch batch = fInstallBatch.get();
+				if (batch != null) {
+					List<ReferenceType> types = batch.getTypes(className);
+					if (types != null) {
+						return types;
+					}
+				}
+				LoadedTypeIndex index = fLoadedTypeIndex;
+				if (index != null) {
+					return index.getTypes(className);
+				}
 				return vm.classesByName(className);
 			} catch (VMDisconnectedException e) {
 				if (!isAvailable()) {
@@ -2301,7 +2629,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	class ThreadDeathHandler implements IJDIEventListener {
 
-		// terminated threads marked for removal from the fThreads list
+		// terminated threads marked for removal from the fThreads map
 		private final Map<Event, JDIThread> toRemove = Collections.synchronizedMap(new HashMap<>());
 
 		protected ThreadDeathHandler() {
@@ -2364,9 +2692,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
 			JDIThread thread = toRemove.remove(event);
 			if (thread != null) {
-				synchronized (fThreads) {
-					fThreads.remove(thread);
-				}
+				removeThread(thread);
 			}
 		}
 
@@ -2765,7 +3091,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public boolean hasThreads() {
-		return fThreads.size() > 0;
+		return !fThreads.isEmpty();
 	}
 
 	@Override
@@ -2813,6 +3139,32 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return engine;
 	}
 
+	/**
+	 * Returns the class defined in this target by an evaluation with the given
+	 * key or <code>null</code> if none.
+	 *
+	 * @param key
+	 *            key of the class, see {@link #putDefinedClass(Object, IJavaClassObject)}
+	 * @return the defined class or <code>null</code>
+	 */
+	public IJavaClassObject getDefinedClass(Object key) {
+		return fDefinedClasses.get(key);
+	}
+
+	/**
+	 * Remembers a class defined in this target by an evaluation, until this
+	 * target terminates.
+	 *
+	 * @param key
+	 *            key of the class, equal for the same class loader, name and
+	 *            class file
+	 * @param definedClass
+	 *            the defined class
+	 */
+	public void putDefinedClass(Object key, IJavaClassObject definedClass) {
+		fDefinedClasses.put(key, definedClass);
+	}
+
 	@Override
 	public boolean supportsMonitorInformation() {
 		if (!isAvailable()) {
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IValue;
@@ -213,6 +214,33 @@ public class JDIObjectValue extends JDIValue implements IJavaObject {
 		return (ObjectReference) getUnderlyingValue();
 	}
 
+	/**
+	 * Returns the values of the given fields of this object, retrieved from the
+	 * target VM with a single request.
+	 *
+	 * @param fields
+	 *            field variables of this object
+	 * @return the values of the fields, in the order of the given fields
+	 * @throws DebugException
+	 *             if the values cannot be retrieved
+	 */
+	public List<IJavaValue> getValues(List<JDIFieldVariable> fields) throws DebugException {
+		List<Field> underlyingFields = new ArrayList<>(fields.size());
+		for (JDIFieldVariable field : fields) {
+			underlyingFields.add(field.getField());
+		}
+		List<IJavaValue> values = new ArrayList<>(fields.size());
+		try {
+			Map<Field, Value> underlyingValues = getUnderlyingObject().getValues(underlyingFields);
+			for (Field field : underlyingFields) {
+				values.add(JDIValue.createValue((JDIDebugTarget) getDebugTarget(), underlyingValues.get(field)));
+			}
+		} catch (RuntimeException e) {
+			targetRequestFailed(MessageFormat.format(JDIDebugModelMessages.JDIObjectValue_exception_retrieving_field, e.toString()), e);
+		}
+		return values;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
@@ -74,6 +75,7 @@ import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.StackFrame;
 import com.sun.jdi.Type;
+import com.sun.jdi.Value;
 import com.sun.jdi.VirtualMachine;
 
 /**
@@ -1027,6 +1029,19 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		}
 	}
 
+	/**
+	 * Sets 'this' of the underlying stack frame when it was retrieved in bulk
+	 * for all frames of the thread, <code>null</code> for static stack frames.
+	 *
+	 * @param thisObject
+	 *            'this' of the underlying stack frame
+	 */
+	void setUnderlyingThisObject(ObjectReference thisObject) {
+		synchronized (fThread) {
+			fThisObject = thisObject;
+		}
+	}
+
 	/**
 	 * @see IAdaptable#getAdapter(Class)
 	 */
@@ -1364,8 +1379,8 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 							JDIDebugModelMessages.JDIStackFrame_25, new IllegalStateException()));
 				}
 				if (fThread.isSuspended()) {
-					// re-index stack frames - See Bug 47198
-					fThread.computeStackFrames();
+					// re-index stack frames down to this frame - See Bug 47198
+					fThread.loadStackFrames(fDepth);
 					if (fDepth == -1) {
 						// try it once more before throwing error
 						fThread.computeStackFrames();
@@ -1422,6 +1437,36 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		return locals;
 	}
 
+	/**
+	 * Returns the values of the given local variables of this stack frame,
+	 * retrieved from the target VM with a single request.
+	 *
+	 * @param locals
+	 *            local variables of this stack frame
+	 * @return the values of the local variables, in the order of the given
+	 *         variables
+	 * @throws DebugException
+	 *             if the values cannot be retrieved
+	 */
+	public List<IJavaValue> getValues(List<JDILocalVariable> locals) throws DebugException {
+		List<LocalVariable> variables = new ArrayList<>(locals.size());
+		for (JDILocalVariable local : locals) {
+			variables.add(local.getLocal());
+		}
+		List<IJavaValue> values = new ArrayList<>(locals.size());
+		synchronized (fThread) {
+			try {
+				Map<LocalVariable, Value> underlyingValues = getUnderlyingStackFrame().getValues(variables);
+				for (LocalVariable variable : variables) {
+					values.add(JDIValue.createValue((JDIDebugTarget) getDebugTarget(), underlyingValues.get(variable)));
+				}
+			} catch (RuntimeException e) {
+				targetRequestFailed(MessageFormat.format(JDIDebugModelMessages.JDIVariable_exception_retrieving, e.toString()), e);
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * @see IJavaStackFrame#getThis()
 	 */
@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+
+import com.sun.jdi.StackFrame;
+
+/**
+ * The stack frames of a suspended thread, starting at the top of the stack.
+ * Frames are retrieved from the VM lazily: the number of frames along with the
+ * top frame when only those are asked for, and all remaining frames in a
+ * single request when the whole stack is asked for. The list contains the
+ * frames retrieved so far.
+ * <p>
+ * Like before, frames are identified by their depth from the bottom of the
+ * stack: all frames that were retrieved before the thread was resumed are
+ * kept and re-bound to the frame at the same depth when it is retrieved
+ * after the thread suspended again.
+ * </p>
+ * <p>
+ * Frames are retrieved without holding the lock of the thread. Each suspend
+ * starts a new generation of the list, frames retrieved for an older
+ * generation are dropped.
+ * </p>
+ */
+class JDIStackFrameList extends AbstractList<IJavaStackFrame> implements RandomAccess {
+
+	private final JDIThread fThread;
+
+	/**
+	 * The frames retrieved so far, starting at the top of the stack.
+	 */
+	private final List<JDIStackFrame> fFrames = new ArrayList<>();
+
+	/**
+	 * Frames of a previous suspend that have not been re-bound yet, by depth.
+	 */
+	private final Map<Integer, JDIStackFrame> fPreservedFrames = new HashMap<>();
+
+	/**
+	 * Number of frames on the stack, or -1 if not retrieved yet.
+	 */
+	private int fStackDepth = -1;
+
+	/**
+	 * Incremented whenever the retrieved frames become stale.
+	 */
+	private int fGeneration;
+
+	JDIStackFrameList(JDIThread thread) {
+		fThread = thread;
+	}
+
+	/**
+	 * Marks the frames as stale after the thread suspended again. Frames that
+	 * were retrieved on a previous suspend are kept, to be re-bound when their
+	 * depth is retrieved, unless they are deeper than the current stack.
+	 */
+	void refresh() {
+		synchronized (fThread) {
+			for (int i = 0; i < fFrames.size(); i++) {
+				fPreservedFrames.put(fStackDepth - 1 - i, fFrames.get(i));
+			}
+			if (!fFrames.isEmpty()) {
+				fFrames.get(0).setIsTop(false);
+			}
+			fFrames.clear();
+			fStackDepth = -1;
+			fGeneration++;
+			modCount++;
+		}
+	}
+
+	/**
+	 * Unbinds the retrieved frames from the underlying frames before the
+	 * thread is resumed. Frames still being retrieved are dropped.
+	 */
+	void preserve() {
+		synchronized (fThread) {
+			fGeneration++;
+			for (JDIStackFrame frame : fFrames) {
+				frame.setUnderlyingStackFrame(null);
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of frames and the top frame, retrieved along with those
+	 * of other threads, unless retrieved already.
+	 *
+	 * @param stackDepth
+	 *            the number of frames on the stack
+	 * @param topFrame
+	 *            the top frame or <code>null</code> if the stack is empty
+	 */
+	void setTop(int stackDepth, StackFrame topFrame) {
+		synchronized (fThread) {
+			if (fStackDepth < 0) {
+				setStackDepth(stackDepth);
+				bind(0, topFrame == null ? Collections.emptyList() : Collections.singletonList(topFrame));
+			}
+		}
+	}
+
+	/**
+	 * Returns the top frame, retrieving it along with the number of frames if
+	 * not retrieved yet.
+	 *
+	 * @return the top frame or <code>null</code> if the stack is empty
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	IJavaStackFrame top() throws DebugException {
+		while (true) {
+			loadTop();
+			synchronized (fThread) {
+				if (fStackDepth >= 0) {
+					return fFrames.isEmpty() ? null : fFrames.get(0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of frames on the stack, retrieving it along with the
+	 * top frame if not retrieved yet.
+	 *
+	 * @return the number of frames on the stack
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	int depth() throws DebugException {
+		while (true) {
+			loadTop();
+			synchronized (fThread) {
+				if (fStackDepth >= 0) {
+					return fStackDepth;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the given range of frames, retrieving the frames from the top of
+	 * the stack down to the end of the range if not retrieved yet.
+	 *
+	 * @param index
+	 *            index of the first frame to return
+	 * @param length
+	 *            maximum number of frames to return
+	 * @return the frames in the range, possibly none
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	List<IJavaStackFrame> frames(int index, int length) throws DebugException {
+		load((int) Math.min((long) index + length, Integer.MAX_VALUE));
+		synchronized (fThread) {
+			int end = Math.min(fFrames.size(), index + length);
+			if (index >= end) {
+				return Collections.emptyList();
+			}
+			return new ArrayList<>(fFrames.subList(index, end));
+		}
+	}
+
+	/**
+	 * Retrieves all frames on the stack, if not retrieved yet.
+	 *
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	void loadAll() throws DebugException {
+		load(-1);
+	}
+
+	/**
+	 * Retrieves the frames from the top of the stack down to the given
+	 * depth, if not retrieved yet.
+	 *
+	 * @param depth
+	 *            depth on the stack (0 is bottom)
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	void loadDepth(int depth) throws DebugException {
+		if (depth >= 0) {
+			int stackDepth = depth();
+			if (depth < stackDepth) {
+				load(stackDepth - depth);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of frames and the top frame in a single round trip,
+	 * if not retrieved yet.
+	 */
+	private void loadTop() throws DebugException {
+		int generation;
+		synchronized (fThread) {
+			if (fStackDepth >= 0) {
+				return;
+			}
+			generation = fGeneration;
+		}
+		List<StackFrame> topFrame = new ArrayList<>(1);
+		int stackDepth = fThread.getUnderlyingFrameCount(topFrame);
+		synchronized (fThread) {
+			if (generation == fGeneration && fStackDepth < 0) {
+				setStackDepth(stackDepth);
+				bind(0, topFrame);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the frames from the top of the stack up to the given number
+	 * of frames, or all frames if the number is negative, in a single request.
+	 * When all frames are retrieved at once, the number of frames is not
+	 * retrieved separately.
+	 */
+	private void load(int count) throws DebugException {
+		while (true) {
+			int generation;
+			int start;
+			int length;
+			synchronized (fThread) {
+				generation = fGeneration;
+				start = fFrames.size();
+				if (fStackDepth >= 0) {
+					int end = count < 0 ? fStackDepth : Math.min(count, fStackDepth);
+					if (end <= start) {
+						return;
+					}
+					length = count < 0 ? -1 : end - start;
+				} else if (count < 0) {
+					length = -1;
+				} else {
+					length = 0;
+				}
+			}
+			if (length == 0) {
+				// the range depends on the number of frames
+				loadTop();
+				continue;
+			}
+			List<StackFrame> frames = fThread.getUnderlyingFrames(start, length);
+			List<JDIStackFrame> loaded;
+			synchronized (fThread) {
+				if (generation != fGeneration) {
+					// suspended again in the meantime
+					continue;
+				}
+				if (fStackDepth < 0) {
+					setStackDepth(frames.size());
+				}
+				// skip frames retrieved by another request in the meantime
+				int skip = Math.min(fFrames.size() - start, frames.size());
+				frames = frames.subList(skip, frames.size());
+				loaded = bind(start + skip, frames);
+			}
+			fThread.prefetchStackFrameData(frames, loaded);
+			return;
+		}
+	}
+
+	/**
+	 * Sets the number of frames on the stack, dropping the preserved frames
+	 * that are deeper than the stack.
+	 */
+	private void setStackDepth(int stackDepth) {
+		Iterator<Map.Entry<Integer, JDIStackFrame>> iter = fPreservedFrames.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry<Integer, JDIStackFrame> entry = iter.next();
+			if (entry.getKey().intValue() >= stackDepth) {
+				entry.getValue().bind(null, -1);
+				iter.remove();
+			}
+		}
+		fStackDepth = stackDepth;
+	}
+
+	/**
+	 * Appends the given underlying frames at the given index, re-binding the
+	 * preserved frames at the same depth.
+	 *
+	 * @return the appended frames
+	 */
+	private List<JDIStackFrame> bind(int start, List<StackFrame> frames) {
+		List<JDIStackFrame> loaded = new ArrayList<>(frames.size());
+		for (int i = 0; i < frames.size(); i++) {
+			int depth = fStackDepth - 1 - (start + i);
+			StackFrame frame = frames.get(i);
+			JDIStackFrame preserved = fPreservedFrames.remove(Integer.valueOf(depth));
+			loaded.add(preserved == null ? fThread.newJDIStackFrame(frame, depth) : preserved.bind(frame, depth));
+		}
+		if (start == 0 && !loaded.isEmpty()) {
+			loaded.get(0).setIsTop(true);
+		}
+		fFrames.addAll(loaded);
+		modCount++;
+		return loaded;
+	}
+
+	@Override
+	public IJavaStackFrame get(int index) {
+		synchronized (fThread) {
+			return fFrames.get(index);
+		}
+	}
+
+	@Override
+	public int size() {
+		synchronized (fThread) {
+			return fFrames.size();
+		}
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		synchronized (fThread) {
+			return fFrames.indexOf(o);
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		synchronized (fThread) {
+			return fFrames.toArray();
+		}
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		synchronized (fThread) {
+			return fFrames.toArray(a);
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (fThread) {
+			fFrames.clear();
+			fPreservedFrames.clear();
+			fStackDepth = -1;
+			fGeneration++;
+			modCount++;
+		}
+	}
+}
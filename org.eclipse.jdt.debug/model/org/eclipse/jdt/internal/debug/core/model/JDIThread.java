@@ -17,6 +17,7 @@
 package org.eclipse.jdt.internal.debug.core.model;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +44,10 @@ import org.eclipse.debug.core.model.IStepFilter;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.ITerminate;
 import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdi.internal.ObjectReferenceImpl;
+import org.eclipse.jdi.internal.ReferenceTypeImpl;
+import org.eclipse.jdi.internal.StackFrameImpl;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.debug.core.IEvaluationRunnable;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
@@ -72,6 +77,7 @@ import com.sun.jdi.Field;
 import com.sun.jdi.IncompatibleThreadStateException;
 import com.sun.jdi.IntegerValue;
 import com.sun.jdi.InterfaceType;
+import com.sun.jdi.InternalException;
 import com.sun.jdi.InvalidStackFrameException;
 import com.sun.jdi.InvalidTypeException;
 import com.sun.jdi.InvocationException;
@@ -142,10 +148,15 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 * Cache of previous name, used in case thread is garbage collected.
 	 */
 	private String fPreviousName;
+	/**
+	 * Whether {@link #fPreviousName} has been retrieved since this thread last
+	 * suspended, see {@link #suspendRefreshed(String)}.
+	 */
+	private volatile boolean fNameRefreshed;
 	/**
 	 * Collection of stack frames
 	 */
-	private volatile List<IJavaStackFrame> fStackFrames;
+	private volatile JDIStackFrameList fStackFrames;
 	/**
 	 * Underlying thread group, cached on first access.
 	 */
@@ -375,7 +386,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *                initialized
 	 */
 	protected void initialize() throws ObjectCollectedException {
-		fStackFrames = new Vector<>();
+		fStackFrames = new JDIStackFrameList(this);
 		// system thread
 		try {
 			determineIfSystemThread();
@@ -634,9 +645,8 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 * @see IThread#getStackFrames()
 	 */
 	@Override
-	public synchronized IStackFrame[] getStackFrames() throws DebugException {
-		List<IJavaStackFrame> list = computeStackFrames();
-		return list.toArray(new IStackFrame[list.size()]);
+	public IStackFrame[] getStackFrames() throws DebugException {
+		return computeStackFrames().toArray(new IStackFrame[0]);
 	}
 
 	/**
@@ -649,58 +659,78 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 * @throws DebugException
 	 *             if an exception occurs retrieving frames
 	 */
-	protected synchronized List<IJavaStackFrame> computeStackFrames(boolean refreshChildren)
+	protected List<IJavaStackFrame> computeStackFrames(boolean refreshChildren)
 			throws DebugException {
-		if (isSuspended()) {
-			if (isTerminated()) {
-				fStackFrames.clear();
-			} else if (refreshChildren) {
-				List<StackFrame> frames = getUnderlyingFrames();
-				int oldSize = fStackFrames.size();
-				if (oldSize > 0) {
-					((JDIStackFrame) fStackFrames.get(0)).setIsTop(false);
-				}
-				int newSize = frames.size();
-				int discard = oldSize - newSize; // number of old frames to
-													// discard, if any
-				for (int i = 0; i < discard; i++) {
-					JDIStackFrame invalid = (JDIStackFrame) fStackFrames
-							.remove(0);
-					invalid.bind(null, -1);
-				}
-				int newFrames = newSize - oldSize; // number of frames to
-													// create, if any
-				int depth = oldSize;
-				for (int i = newFrames - 1; i >= 0; i--) {
-					fStackFrames.add(0, newJDIStackFrame(frames.get(i), depth));
-					depth++;
-				}
-				int numToRebind = Math.min(newSize, oldSize); // number of
-																// frames to
-																// attempt to
-																// re-bind
-				int offset = newSize - 1;
-				for (depth = 0; depth < numToRebind; depth++) {
-					JDIStackFrame oldFrame = (JDIStackFrame) fStackFrames
-							.get(offset);
-					StackFrame frame = frames.get(offset);
-					JDIStackFrame newFrame = oldFrame.bind(frame, depth);
-					if (newFrame != oldFrame) {
-						fStackFrames.set(offset, newFrame);
-					}
-					offset--;
-				}
-				if (newSize > 0) {
-					((JDIStackFrame) fStackFrames.get(0)).setIsTop(true);
-				}
-			}
-			fRefreshChildren = false;
-		} else {
+		if (!prepareStackFrames(refreshChildren)) {
 			return Collections.EMPTY_LIST;
 		}
+		// all frames are needed, retrieve them in a single request
+		fStackFrames.loadAll();
 		return fStackFrames;
 	}
 
+	/**
+	 * Marks the stack frames as stale if this thread suspended since they were
+	 * retrieved, such that they are retrieved again when accessed. Does not
+	 * communicate with the VM.
+	 *
+	 * @param refreshChildren
+	 *            whether the stack frames must be retrieved again in any case
+	 * @return whether this thread is suspended and not terminated, such that
+	 *         its stack frames can be retrieved
+	 */
+	private synchronized boolean prepareStackFrames(boolean refreshChildren) {
+		if (!isSuspended()) {
+			return false;
+		}
+		if (isTerminated()) {
+			fStackFrames.clear();
+		} else if (refreshChildren || fRefreshChildren) {
+			fStackFrames.refresh();
+		}
+		fRefreshChildren = false;
+		return !isTerminated();
+	}
+
+	/**
+	 * Retrieves the data needed to present the given frames in bulk: the
+	 * 'this' objects of the frames, their types and the signatures of the
+	 * declaring and receiving types. Each kind of data costs a single round
+	 * trip to the VM instead of one per frame. The methods of the declaring
+	 * types are already retrieved in bulk when the frames are read.
+	 *
+	 * @param frames
+	 *            the underlying frames
+	 * @param stackFrames
+	 *            the stack frames bound to the underlying frames
+	 */
+	void prefetchStackFrameData(List<StackFrame> frames, List<JDIStackFrame> stackFrames) {
+		if (frames.size() < 2 || !(frames.get(0) instanceof StackFrameImpl)) {
+			return;
+		}
+		try {
+			List<ObjectReference> thisObjects = StackFrameImpl.thisObjects(frames);
+			List<ObjectReference> receivers = new ArrayList<>(thisObjects.size());
+			List<ReferenceType> types = new ArrayList<>(frames.size() * 2);
+			for (int i = 0; i < frames.size(); i++) {
+				types.add(frames.get(i).location().declaringType());
+				ObjectReference thisObject = thisObjects.get(i);
+				if (thisObject != null) {
+					receivers.add(thisObject);
+				}
+			}
+			types.addAll(ObjectReferenceImpl.referenceTypes(receivers));
+			ReferenceTypeImpl.prefetchSignatures(types);
+			for (int i = 0; i < frames.size(); i++) {
+				stackFrames.get(i).setUnderlyingThisObject(thisObjects.get(i));
+			}
+		} catch (VMDisconnectedException | ObjectCollectedException | InternalException e) {
+			// the frames retrieve their data on their own
+		} catch (RuntimeException e) {
+			JDIDebugPlugin.log(e);
+		}
+	}
+
 	/**
 	 * Creates new {@link JDIStackFrame} linked to current thread
 	 *
@@ -742,8 +772,8 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *                exception responsible for the failure.</li>
 	 *                </ul>
 	 */
-	public synchronized List<IJavaStackFrame> computeStackFrames() throws DebugException {
-		return computeStackFrames(fRefreshChildren);
+	public List<IJavaStackFrame> computeStackFrames() throws DebugException {
+		return computeStackFrames(false);
 	}
 
 	/**
@@ -762,7 +792,55 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		return computeStackFrames(true);
 	}
 
-	private List<StackFrame> getUnderlyingFrames() throws DebugException {
+	/**
+	 * Returns the given range of this thread's current stack frames, starting
+	 * at the top of the stack. Only the frames in the range are retrieved from
+	 * the VM, if not retrieved yet. Returns an empty array if this thread is
+	 * not currently suspended.
+	 *
+	 * @param index
+	 *            index of the first frame to return
+	 * @param length
+	 *            maximum number of frames to return
+	 * @return the stack frames in the range
+	 * @throws DebugException
+	 *             if an exception occurs retrieving frames
+	 */
+	public IStackFrame[] getStackFrames(int index, int length) throws DebugException {
+		if (!prepareStackFrames(false)) {
+			return new IStackFrame[0];
+		}
+		return fStackFrames.frames(index, length).toArray(new IStackFrame[0]);
+	}
+
+	/**
+	 * Retrieves the current stack frames from the top of the stack down to the
+	 * given depth, if not retrieved yet.
+	 *
+	 * @param depth
+	 *            depth on the stack (0 is bottom)
+	 * @throws DebugException
+	 *             if an exception occurs retrieving frames
+	 */
+	void loadStackFrames(int depth) throws DebugException {
+		if (prepareStackFrames(false)) {
+			fStackFrames.loadDepth(depth);
+		}
+	}
+
+	/**
+	 * Returns the given range of underlying frames, starting at the top of the
+	 * stack.
+	 *
+	 * @param start
+	 *            index of the first frame to retrieve
+	 * @param length
+	 *            number of frames to retrieve
+	 * @return the underlying frames
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	List<StackFrame> getUnderlyingFrames(int start, int length) throws DebugException {
 		if (!isSuspended()) {
 			// Checking isSuspended here eliminates a race condition in resume
 			// between the time stack frames are preserved and the time the
@@ -772,7 +850,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 					null, IJavaThread.ERR_THREAD_NOT_SUSPENDED);
 		}
 		try {
-			return fThread.frames();
+			return fThread.frames(start, length);
 		} catch (IncompatibleThreadStateException e) {
 			requestFailed(
 					JDIDebugModelMessages.JDIThread_Unable_to_retrieve_stack_frame___thread_not_suspended__1,
@@ -793,6 +871,47 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		return null;
 	}
 
+	/**
+	 * Returns the number of frames on the stack from the underlying thread and
+	 * adds the top frame, if any, to the given list. Both are retrieved in a
+	 * single round trip to the VM.
+	 *
+	 * @param topFrame
+	 *            receives the top frame, unless the stack is empty
+	 * @return number of frames on the stack
+	 * @throws DebugException
+	 *             if the frames cannot be retrieved
+	 */
+	int getUnderlyingFrameCount(List<StackFrame> topFrame) throws DebugException {
+		if (!isSuspended()) {
+			requestFailed(
+					JDIDebugModelMessages.JDIThread_Unable_to_retrieve_stack_frame___thread_not_suspended__1,
+					null, IJavaThread.ERR_THREAD_NOT_SUSPENDED);
+		}
+		try {
+			if (fThread instanceof ThreadReferenceImpl threadImpl) {
+				return threadImpl.frameCount(topFrame);
+			}
+			int frameCount = fThread.frameCount();
+			if (frameCount > 0) {
+				topFrame.addAll(fThread.frames(0, 1));
+			}
+			return frameCount;
+		} catch (IncompatibleThreadStateException e) {
+			requestFailed(
+					JDIDebugModelMessages.JDIThread_Unable_to_retrieve_stack_frame___thread_not_suspended__1,
+					e, IJavaThread.ERR_THREAD_NOT_SUSPENDED);
+		} catch (RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIThread_exception_retrieving_frame_count,
+							e.toString()), e);
+		}
+		// execution will not reach this line, as
+		// #targetRequestFailed will thrown an exception
+		return -1;
+	}
+
 	/**
 	 * Returns the number of frames on the stack from the underlying thread.
 	 *
@@ -1313,7 +1432,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		setRequestTimeout(restoreTimeout);
 		// update preserved stack frames
 		try {
-			computeStackFrames();
+			getTopStackFrame();
 		} catch (DebugException e) {
 			logError(e);
 		}
@@ -1321,6 +1440,9 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 
 	@Override
 	public String getName() throws DebugException {
+		if (fNameRefreshed && !fRunning) {
+			return fPreviousName;
+		}
 		try {
 			fPreviousName = fThread.name();
 		} catch (RuntimeException e) {
@@ -1385,12 +1507,11 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	}
 
 	@Override
-	public synchronized IStackFrame getTopStackFrame() throws DebugException {
-		List<IJavaStackFrame> c = computeStackFrames();
-		if (c.isEmpty()) {
+	public IStackFrame getTopStackFrame() throws DebugException {
+		if (!prepareStackFrames(false)) {
 			return null;
 		}
-		return c.get(0);
+		return fStackFrames.top();
 	}
 
 	/**
@@ -1770,6 +1891,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	protected void setRunning(boolean running) {
 		fRunning = running;
+		fNameRefreshed = false;
 		if (running) {
 			synchronized (breakpointAcessLock) {
 				fCurrentBreakpoints.clear();
@@ -1791,9 +1913,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	protected synchronized void preserveStackFrames() {
 		fRefreshChildren = true;
-		for(IJavaStackFrame frame : fStackFrames) {
-			((JDIStackFrame)frame).setUnderlyingStackFrame(null);
-		}
+		fStackFrames.preserve();
 	}
 
 	/**
@@ -2100,6 +2220,39 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		setRunning(false);
 	}
 
+	/**
+	 * Notifies this thread that its name, frame count and top frame were
+	 * retrieved along with the data of all other threads after the VM
+	 * suspended. The name is returned by {@link #getName()} until this thread
+	 * resumes, the top frame becomes the top stack frame of this thread.
+	 *
+	 * @param name
+	 *            the name of the underlying thread or <code>null</code> if
+	 *            it could not be retrieved
+	 * @param frameCount
+	 *            the number of frames on the stack of the underlying thread
+	 *            or -1 if it could not be retrieved
+	 * @param topFrame
+	 *            the top frame of the underlying thread or <code>null</code>
+	 *            if it could not be retrieved
+	 * @return whether the name differs from the name previously retrieved
+	 */
+	synchronized boolean suspendRefreshed(String name, int frameCount, StackFrame topFrame) {
+		if (fRunning) {
+			return false;
+		}
+		if (frameCount >= 0 && (frameCount == 0 || topFrame != null) && prepareStackFrames(false)) {
+			fStackFrames.setTop(frameCount, topFrame);
+		}
+		if (name == null) {
+			return false;
+		}
+		String previous = fPreviousName;
+		fPreviousName = name;
+		fNameRefreshed = true;
+		return previous != null && !previous.equals(name);
+	}
+
 	/**
 	 * Notifies this thread that is about to be resumed due to a VM resume.
 	 *
@@ -2469,7 +2622,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 				}
 				Location location = frame.location();
 				setOriginalStepLocation(location);
-				setOriginalStepStackDepth(computeStackFrames().size());
+				setOriginalStepStackDepth(getFrameCount());
 				setStepRequest(createStepRequest());
 				setPendingStepHandler(this);
 				addJDIEventListener(this, getStepRequest());
@@ -3681,6 +3834,10 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 
 	@Override
 	public int getFrameCount() throws DebugException {
+		if (prepareStackFrames(false)) {
+			// the frame count is retrieved along with the top frame
+			return fStackFrames.depth();
+		}
 		return getUnderlyingFrameCount();
 	}
 
@@ -0,0 +1,534 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ClassNotPreparedException;
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.ClassUnloadEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Index of the types loaded in a debug target. The index is seeded once with
+ * all classes of the target VM and is kept current from class prepare and class
+ * unload events, such that breakpoints and hot code replace can look up types
+ * without a round trip to the VM.
+ * <p>
+ * The index can lag behind the VM by the events that have not been dispatched
+ * yet. Lookups of exact names that miss the index are therefore answered by
+ * the VM. When a class is unloaded, the VM only reports the name of the class;
+ * the types of that name are dropped from the index and the name is looked up
+ * again by the next query.
+ * </p>
+ * <p>
+ * Debug targets do not create an index by default, they look up types in the
+ * VM. Indexes are created by starting the workbench with the system property
+ * <code>-Dorg.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex.enable=true</code>,
+ * which is read once, for all debug targets of the session.
+ * </p>
+ * <p>
+ * Locking: queries are serialized by a query lock and the state of the index
+ * is guarded by the index itself. The query lock is always acquired before
+ * the index and never while holding it. The index is only held to read or
+ * update its state, never during a round trip to the VM or a call to the debug
+ * target, and the event dispatcher only acquires the index. Queries thus never
+ * delay the dispatch of events, and class prepare and unload events are
+ * indexed while a query waits for the VM.
+ * </p>
+ */
+public class LoadedTypeIndex implements IJDIEventListener {
+
+	/**
+	 * Whether debug targets index their loaded types, see
+	 * {@link LoadedTypeIndex}
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("org.eclipse.jdt.internal.debug.core.model.LoadedTypeIndex.enable"); //$NON-NLS-1$
+
+	/**
+	 * Source names of the indexed types in one stratum. Source names are
+	 * retrieved from the VM on demand, types that have not been queried yet are
+	 * pending.
+	 */
+	private static class SourceNames {
+
+		/**
+		 * Types by source name
+		 */
+		final Map<String, List<ReferenceType>> fTypes = new HashMap<>();
+
+		/**
+		 * Source names by type, empty if the type has no source information
+		 */
+		final Map<ReferenceType, List<String>> fNames = new HashMap<>();
+
+		/**
+		 * Types whose source names have not been retrieved yet
+		 */
+		final Set<ReferenceType> fPending = new LinkedHashSet<>();
+
+		void remove(ReferenceType type) {
+			fPending.remove(type);
+			List<String> names = fNames.remove(type);
+			if (names != null) {
+				for (String name : names) {
+					List<ReferenceType> types = fTypes.get(name);
+					if (types != null && types.remove(type) && types.isEmpty()) {
+						fTypes.remove(name);
+					}
+				}
+			}
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Class prepare and class unload requests, <code>null</code> until the
+	 * index is seeded
+	 */
+	private EventRequest fPrepareRequest;
+	private EventRequest fUnloadRequest;
+
+	/**
+	 * Loaded types by fully qualified name, sorted such that nested types
+	 * follow their enclosing type
+	 */
+	private final NavigableMap<String, List<ReferenceType>> fTypesByName = new TreeMap<>();
+
+	/**
+	 * Names of unloaded classes that have to be looked up again, as other types
+	 * of the same name may still be loaded
+	 */
+	private final Set<String> fUnloadedNames = new HashSet<>();
+
+	/**
+	 * Number of unload events handled, used to detect unloads during a lookup
+	 */
+	private int fUnloadCount;
+
+	/**
+	 * Source names of the indexed types by stratum, the empty string is the key
+	 * of the default stratum
+	 */
+	private final Map<String, SourceNames> fSourceNames = new HashMap<>();
+
+	private boolean fSeeded;
+	private boolean fDisposed;
+
+	/**
+	 * Serializes queries that communicate with the VM. Updates from events are
+	 * synchronized on the index itself, such that the event dispatcher does not
+	 * wait for round trips of queries. Acquired before the index, see
+	 * {@link LoadedTypeIndex}.
+	 */
+	private final Object fQueryLock = new Object();
+
+	/**
+	 * Constructs an empty index for the given target. The index is seeded by
+	 * the first query.
+	 *
+	 * @param target
+	 *            the debug target
+	 */
+	public LoadedTypeIndex(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Returns the loaded types of the given fully qualified name.
+	 *
+	 * @param name
+	 *            fully qualified type name, nested types separated by '$'
+	 * @return loaded types of the given name, possibly empty
+	 */
+	public List<ReferenceType> getTypes(String name) {
+		synchronized (fQueryLock) {
+			seed();
+			int unloadCount;
+			synchronized (this) {
+				if (!fUnloadedNames.contains(name)) {
+					List<ReferenceType> types = fTypesByName.get(name);
+					if (types != null) {
+						return new ArrayList<>(types);
+					}
+				}
+				unloadCount = fUnloadCount;
+			}
+			// not prepared yet, or the event has not been dispatched yet
+			VirtualMachine vm = fTarget.getVM();
+			if (vm == null) {
+				return Collections.emptyList();
+			}
+			List<ReferenceType> types = vm.classesByName(name);
+			synchronized (this) {
+				if (fUnloadedNames.contains(name) && unloadCount == fUnloadCount) {
+					fUnloadedNames.remove(name);
+					for (ReferenceType type : types) {
+						add(type);
+					}
+				}
+			}
+			return types;
+		}
+	}
+
+	/**
+	 * Returns the loaded types whose fully qualified name starts with the given
+	 * prefix.
+	 *
+	 * @param prefix
+	 *            prefix of fully qualified type names
+	 * @return loaded types with the given prefix, possibly empty
+	 */
+	public List<ReferenceType> getTypesWithPrefix(String prefix) {
+		synchronized (fQueryLock) {
+			seed();
+			lookupUnloadedNames();
+			synchronized (this) {
+				return collect(fTypesByName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+			}
+		}
+	}
+
+	/**
+	 * Returns the loaded types nested in the given type, including local and
+	 * anonymous types and types nested in nested types.
+	 *
+	 * @param type
+	 *            enclosing type
+	 * @return the nested types that are loaded by the class loader of the given
+	 *         type
+	 */
+	public List<ReferenceType> getNestedTypes(ReferenceType type) {
+		List<ReferenceType> nestedTypes = getTypesWithPrefix(type.name() + '$');
+		Iterator<ReferenceType> iter = nestedTypes.iterator();
+		while (iter.hasNext()) {
+			ReferenceType nestedType = iter.next();
+			try {
+				if (!sameClassLoader(type, nestedType)) {
+					iter.remove();
+				}
+			} catch (ObjectCollectedException e) {
+				iter.remove();
+			}
+		}
+		return nestedTypes;
+	}
+
+	/**
+	 * Returns all loaded types.
+	 *
+	 * @return all loaded types
+	 */
+	public List<ReferenceType> getAllTypes() {
+		synchronized (fQueryLock) {
+			seed();
+			lookupUnloadedNames();
+			synchronized (this) {
+				return collect(fTypesByName.values());
+			}
+		}
+	}
+
+	/**
+	 * Returns the loaded types whose source names in the given stratum contain
+	 * the given source name. Source names of types are retrieved from the VM
+	 * once and are remembered for later queries; only the types accepted by
+	 * the given filter are considered.
+	 *
+	 * @param stratum
+	 *            the stratum or <code>null</code> for the default stratum of
+	 *            each type
+	 * @param sourceName
+	 *            source name to match
+	 * @param typeNameFilter
+	 *            filter on fully qualified type names or <code>null</code> to
+	 *            consider all types
+	 * @return matching loaded types, possibly empty
+	 */
+	public List<ReferenceType> getTypesBySourceName(String stratum, String sourceName, Predicate<String> typeNameFilter) {
+		synchronized (fQueryLock) {
+			seed();
+			lookupUnloadedNames();
+			String key = stratum == null ? "" : stratum; //$NON-NLS-1$
+			List<ReferenceType> pending = new ArrayList<>();
+			synchronized (this) {
+				SourceNames names = fSourceNames.get(key);
+				if (names == null) {
+					names = new SourceNames();
+					for (List<ReferenceType> types : fTypesByName.values()) {
+						names.fPending.addAll(types);
+					}
+					fSourceNames.put(key, names);
+				}
+				Iterator<ReferenceType> iter = names.fPending.iterator();
+				while (iter.hasNext()) {
+					ReferenceType type = iter.next();
+					if (typeNameFilter == null || typeNameFilter.test(type.name())) {
+						pending.add(type);
+						iter.remove();
+					}
+				}
+			}
+			// retrieve source names without blocking the event dispatcher
+			Map<ReferenceType, List<String>> resolved = new HashMap<>(pending.size());
+			for (ReferenceType type : pending) {
+				resolved.put(type, getSourceNames(type, stratum));
+			}
+			synchronized (this) {
+				SourceNames names = fSourceNames.get(key);
+				for (Map.Entry<ReferenceType, List<String>> entry : resolved.entrySet()) {
+					ReferenceType type = entry.getKey();
+					List<ReferenceType> indexed = fTypesByName.get(type.name());
+					if (indexed == null || !indexed.contains(type)) {
+						// unloaded in the meantime
+						continue;
+					}
+					names.fNames.put(type, entry.getValue());
+					for (String name : entry.getValue()) {
+						names.fTypes.computeIfAbsent(name, n -> new ArrayList<>(1)).add(type);
+					}
+				}
+				List<ReferenceType> types = names.fTypes.get(sourceName);
+				if (types == null) {
+					return Collections.emptyList();
+				}
+				List<ReferenceType> result = new ArrayList<>(types.size());
+				for (ReferenceType type : types) {
+					if (typeNameFilter == null || typeNameFilter.test(type.name())) {
+						result.add(type);
+					}
+				}
+				return result;
+			}
+		}
+	}
+
+	/**
+	 * Seeds this index with all classes of the VM, if not done yet. The
+	 * requests are created before the classes are listed, such that no class
+	 * is missed. Classes reported by both are indexed once.
+	 */
+	private void seed() {
+		synchronized (this) {
+			if (fSeeded || fDisposed) {
+				return;
+			}
+		}
+		VirtualMachine vm = fTarget.getVM();
+		EventRequestManager manager = fTarget.getEventRequestManager();
+		if (vm == null || manager == null) {
+			return;
+		}
+		EventRequest prepareRequest = manager.createClassPrepareRequest();
+		EventRequest unloadRequest = manager.createClassUnloadRequest();
+		List<ReferenceType> types;
+		try {
+			prepareRequest.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+			fTarget.addJDIEventListener(this, prepareRequest);
+			prepareRequest.enable();
+			unloadRequest.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+			fTarget.addJDIEventListener(this, unloadRequest);
+			unloadRequest.enable();
+			types = vm.allClasses();
+		} catch (RuntimeException e) {
+			fTarget.removeJDIEventListener(this, prepareRequest);
+			fTarget.removeJDIEventListener(this, unloadRequest);
+			try {
+				manager.deleteEventRequest(prepareRequest);
+				manager.deleteEventRequest(unloadRequest);
+			} catch (RuntimeException e2) {
+				// the VM is gone or the requests could not be created
+			}
+			throw e;
+		}
+		synchronized (this) {
+			fPrepareRequest = prepareRequest;
+			fUnloadRequest = unloadRequest;
+			for (ReferenceType type : types) {
+				add(type);
+			}
+			fSeeded = true;
+		}
+	}
+
+	/**
+	 * Looks up the names of unloaded classes again, as the VM may still have
+	 * types of that name loaded by other class loaders.
+	 */
+	private void lookupUnloadedNames() {
+		List<String> names;
+		int unloadCount;
+		synchronized (this) {
+			if (fUnloadedNames.isEmpty()) {
+				return;
+			}
+			names = new ArrayList<>(fUnloadedNames);
+			unloadCount = fUnloadCount;
+		}
+		VirtualMachine vm = fTarget.getVM();
+		if (vm == null) {
+			return;
+		}
+		Map<String, List<ReferenceType>> types = new HashMap<>(names.size());
+		for (String name : names) {
+			types.put(name, vm.classesByName(name));
+		}
+		synchronized (this) {
+			if (unloadCount != fUnloadCount) {
+				// more classes were unloaded, look up again by the next query
+				return;
+			}
+			for (Map.Entry<String, List<ReferenceType>> entry : types.entrySet()) {
+				fUnloadedNames.remove(entry.getKey());
+				for (ReferenceType type : entry.getValue()) {
+					add(type);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the given type to this index if not indexed yet.
+	 */
+	private void add(ReferenceType type) {
+		String name;
+		try {
+			name = type.name();
+		} catch (ObjectCollectedException e) {
+			return;
+		}
+		List<ReferenceType> types = fTypesByName.computeIfAbsent(name, n -> new ArrayList<>(1));
+		if (!types.contains(type)) {
+			types.add(type);
+			for (SourceNames names : fSourceNames.values()) {
+				names.fPending.add(type);
+			}
+		}
+	}
+
+	/**
+	 * Removes all types of the given name from this index.
+	 */
+	private void remove(String name) {
+		List<ReferenceType> types = fTypesByName.remove(name);
+		if (types != null) {
+			for (ReferenceType type : types) {
+				for (SourceNames names : fSourceNames.values()) {
+					names.remove(type);
+				}
+			}
+		}
+		fUnloadedNames.add(name);
+		fUnloadCount++;
+	}
+
+	private static List<ReferenceType> collect(Collection<List<ReferenceType>> values) {
+		List<ReferenceType> result = new ArrayList<>();
+		for (List<ReferenceType> types : values) {
+			result.addAll(types);
+		}
+		return result;
+	}
+
+	private static List<String> getSourceNames(ReferenceType type, String stratum) {
+		try {
+			return type.sourceNames(stratum);
+		} catch (AbsentInformationException | ObjectCollectedException | ClassNotPreparedException e) {
+			return Collections.emptyList();
+		}
+	}
+
+	private static boolean sameClassLoader(ReferenceType type, ReferenceType other) {
+		return type.classLoader() == null ? other.classLoader() == null : type.classLoader().equals(other.classLoader());
+	}
+
+	@Override
+	public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
+		synchronized (this) {
+			if (!fDisposed) {
+				if (event instanceof ClassPrepareEvent) {
+					add(((ClassPrepareEvent) event).referenceType());
+				} else if (event instanceof ClassUnloadEvent) {
+					remove(((ClassUnloadEvent) event).className());
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
+		// do nothing
+	}
+
+	/**
+	 * Removes the requests of this index and clears the index.
+	 */
+	public void dispose() {
+		EventRequest prepareRequest;
+		EventRequest unloadRequest;
+		synchronized (this) {
+			fDisposed = true;
+			prepareRequest = fPrepareRequest;
+			unloadRequest = fUnloadRequest;
+			fPrepareRequest = null;
+			fUnloadRequest = null;
+			fTypesByName.clear();
+			fUnloadedNames.clear();
+			fSourceNames.clear();
+		}
+		if (prepareRequest != null) {
+			fTarget.removeJDIEventListener(this, prepareRequest);
+		}
+		if (unloadRequest != null) {
+			fTarget.removeJDIEventListener(this, unloadRequest);
+		}
+		EventRequestManager manager = fTarget.getEventRequestManager();
+		if (manager != null) {
+			try {
+				if (prepareRequest != null) {
+					manager.deleteEventRequest(prepareRequest);
+				}
+				if (unloadRequest != null) {
+					manager.deleteEventRequest(unloadRequest);
+				}
+			} catch (RuntimeException e) {
+				fTarget.logError(e);
+			}
+		}
+	}
+}